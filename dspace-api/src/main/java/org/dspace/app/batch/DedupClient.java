@@ -35,7 +35,7 @@ import org.dspace.utils.DSpace;
 /**
  * CLI Tool used to populate the deduplication index of solr dedup core.
  * 
- * Usage: ./dspace index-deduplication [-chfueto[r <item handle/uuid>]]
+ * Usage: ./dspace index-deduplication [-chfuetos[r <item handle/uuid>]]
  */
 public class DedupClient {
     private static Logger log = LogManager.getLogger(DedupClient.class);
@@ -59,7 +59,7 @@ public class DedupClient {
         Context context = new Context();
         context.turnOffAuthorisationSystem();
 
-        String usage = "./dspace index-deduplication [-chfueo[r <item handle/uuid>]]"
+        String usage = "./dspace index-deduplication [-chfueos[r <item handle/uuid>]]"
                 + " or nothing to update/clean an existing index.";
         Options options = new Options();
         HelpFormatter formatter = new HelpFormatter();
@@ -84,6 +84,9 @@ public class DedupClient {
 
         options.addOption(OptionBuilder.isRequired(false).withDescription("optimize search core").create("o"));
 
+        options.addOption(OptionBuilder.isRequired(false)
+                .withDescription("find and score again the potential matches of all the items").create("s"));
+
         options.addOption("e", "readfile", true, "Read the identifier from a file");
 
         try {
@@ -120,6 +123,9 @@ public class DedupClient {
         } else if (line.hasOption("o")) {
             log.info("Optimizing dedup core.");
             indexer.optimize();
+        } else if (line.hasOption("s")) {
+            log.info("Updating the potential matches");
+            indexer.updateMatches(context);
         } else if (line.hasOption("u")) {
             String optionValue = line.getOptionValue("u");
             String[] identifiers = optionValue.split("\\s*,\\s*");
@@ -26,6 +26,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.BitstreamDispatcher;
 import org.dspace.checker.CheckerCommand;
+import org.dspace.checker.ConcurrentDispatcher;
 import org.dspace.checker.HandleDispatcher;
 import org.dspace.checker.IteratorDispatcher;
 import org.dspace.checker.LimitedCountDispatcher;
@@ -38,6 +39,7 @@ import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Command line access to the checksum checker. Options are listed in the
@@ -79,6 +81,8 @@ public final class ChecksumChecker {
      * <dd>Report only errors in the logs</dd>
      * <dt>-p</dt>
      * <dd>Don't prune results before running checker</dd>
+     * <dt>-t</dt>
+     * <dd>number of threads checking bitstreams at the same time</dd>
      * </dl>
      *
      * @param args the command line arguments given
@@ -100,6 +104,7 @@ public final class ChecksumChecker {
         options.addOption("c", "count", true, "Check count");
         options.addOption("a", "handle", true, "Specify a handle to check");
         options.addOption("v", "verbose", false, "Report all processing");
+        options.addOption("t", "threads", true, "Number of threads checking bitstreams at the same time");
 
         Option option;
 
@@ -151,14 +156,24 @@ public final class ChecksumChecker {
 
             Date processStart = Calendar.getInstance().getTime();
 
+            int threads = 1;
+            if (line.hasOption('t')) {
+                try {
+                    threads = Integer.parseInt(line.getOptionValue('t'));
+                } catch (NumberFormatException nfe) {
+                    System.err.println("The number of threads " + line.getOptionValue('t') + " is not an integer");
+                    System.exit(1);
+                }
+            }
+
             BitstreamDispatcher dispatcher = null;
 
             // process should loop infinitely through
             // most_recent_checksum table
             if (line.hasOption('l')) {
-                dispatcher = new SimpleDispatcher(context, processStart, false);
+                dispatcher = newDispatcher(context, processStart, false, threads);
             } else if (line.hasOption('L')) {
-                dispatcher = new SimpleDispatcher(context, processStart, true);
+                dispatcher = newDispatcher(context, processStart, true, threads);
             } else if (line.hasOption('b')) {
                 // check only specified bitstream(s)
                 String[] ids = line.getOptionValues('b');
@@ -180,7 +195,7 @@ public final class ChecksumChecker {
                 // run checker process for specified duration
                 try {
                     dispatcher = new LimitedDurationDispatcher(
-                        new SimpleDispatcher(context, processStart, true), new Date(
+                        newDispatcher(context, processStart, true, threads), new Date(
                         System.currentTimeMillis()
                             + Utils.parseDuration(line
                                                       .getOptionValue('d'))));
@@ -193,11 +208,11 @@ public final class ChecksumChecker {
                 int count = Integer.valueOf(line.getOptionValue('c'));
 
                 // run checker process for specified number of bitstreams
-                dispatcher = new LimitedCountDispatcher(new SimpleDispatcher(
-                    context, processStart, false), count);
+                dispatcher = new LimitedCountDispatcher(newDispatcher(
+                    context, processStart, false, threads), count);
             } else {
-                dispatcher = new LimitedCountDispatcher(new SimpleDispatcher(
-                    context, processStart, false), 1);
+                dispatcher = new LimitedCountDispatcher(newDispatcher(
+                    context, processStart, false, threads), 1);
             }
 
             ResultsLogger logger = new ResultsLogger(processStart);
@@ -210,7 +225,11 @@ public final class ChecksumChecker {
             checker.setProcessStartDate(processStart);
             checker.setDispatcher(dispatcher);
             checker.setCollector(logger);
+            checker.setThreads(threads);
             checker.process();
+            System.out.println("Checked " + checker.getCheckedCount() + " bitstreams, "
+                                   + checker.getCheckedBytes() + " bytes in " + checker.getElapsedTime() / 1000.0
+                                   + " seconds (" + checker.getThroughput() + " bytes/s)");
             context.complete();
             context = null;
         } finally {
@@ -220,6 +239,25 @@ public final class ChecksumChecker {
         }
     }
 
+    /**
+     * Create the dispatcher of the bitstreams in the order that they were last checked, which can be shared by
+     * several threads if needed, reading {@code checker.threads.dispatch-batch-size} records at once.
+     *
+     * @param context   Context
+     * @param startTime timestamp for beginning of checker process
+     * @param looping   whether the checker should loop infinitely through the bitstreams
+     * @param threads   number of threads checking bitstreams at the same time
+     * @return the dispatcher
+     */
+    private static BitstreamDispatcher newDispatcher(Context context, Date startTime, boolean looping, int threads) {
+        if (threads > 1) {
+            int batchSize = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                 .getIntProperty("checker.threads.dispatch-batch-size", 100);
+            return new ConcurrentDispatcher(context, startTime, looping, batchSize);
+        }
+        return new SimpleDispatcher(context, startTime, looping);
+    }
+
     /**
      * Print the help options for the user
      *
@@ -238,6 +276,7 @@ public final class ChecksumChecker {
                                + "ChecksumChecker -l");
         System.out.println("\nLoop continuously through all bitstreams: ChecksumChecker -L");
         System.out.println("\nCheck a defined number of bitstreams: ChecksumChecker -c 10");
+        System.out.println("\nCheck the bitstreams with 4 threads: ChecksumChecker -l -t 4");
         System.out.println("\nReport all processing (verbose)(default reports only errors): ChecksumChecker -v");
         System.out.println("\nDefault (no arguments) is equivalent to '-c 1'");
         System.exit(0);
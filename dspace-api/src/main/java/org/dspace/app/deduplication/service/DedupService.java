@@ -39,6 +39,14 @@ public interface DedupService {
 
     public void updateIndex(Context context, boolean b);
 
+    /**
+     * Find again the potential matches of all the items from the signatures in the index, e.g. to score the
+     * candidate near duplicates with new settings, without rebuilding the documents of the items.
+     *
+     * @param context the DSpace Context object
+     */
+    public void updateMatches(Context context);
+
     public void optimize();
 
     public void unIndexContent(Context context, String handleOrUuid) throws IllegalStateException, SQLException;
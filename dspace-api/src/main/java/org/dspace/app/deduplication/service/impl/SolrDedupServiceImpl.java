@@ -37,6 +37,7 @@ import org.apache.solr.client.solrj.response.UpdateResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.dspace.app.deduplication.model.DuplicateDecisionObjectRest;
 import org.dspace.app.deduplication.model.DuplicateDecisionType;
 import org.dspace.app.deduplication.model.DuplicateDecisionValue;
@@ -45,6 +46,7 @@ import org.dspace.app.deduplication.service.SearchDeduplication;
 import org.dspace.app.deduplication.service.SolrDedupServiceIndexPlugin;
 import org.dspace.app.deduplication.utils.DuplicateItemInfo;
 import org.dspace.app.deduplication.utils.IDedupUtils;
+import org.dspace.app.deduplication.utils.MinHashSignature;
 import org.dspace.app.deduplication.utils.Signature;
 import org.dspace.app.util.Util;
 import org.dspace.authorize.AuthorizeException;
@@ -358,60 +360,110 @@ public class SolrDedupServiceImpl implements DedupService {
         }
     }
 
+    /**
+     * Build the potential matches of the given item with all the candidates sharing one of its signatures. The
+     * candidates are read page by page: the bands of a near duplicate signature put many false positives in the
+     * same bucket, and a true near duplicate may be anywhere among them.
+     */
     private void buildPotentialMatch(Context ctx, Item iu, Map<String, List<String>> tmpMapFilter,
             List<String> tmpFilter, SearchDeduplication searchSignature) throws SearchServiceException {
         tmpFilter.add("+" + RESOURCE_FLAG_FIELD + ":" + DeduplicationFlag.FAKE.getDescription());
         // select all fake not in reject and build the potential match
         String[] tmpArrayFilter = new String[tmpFilter.size()];
-        QueryResponse response = find("*:*", tmpFilter.toArray(tmpArrayFilter));
-        SolrDocumentList list = response.getResults();
-        external: for (SolrDocument resultDoc : list) {
+        SolrQuery solrQuery = new SolrQuery("*:*");
+        solrQuery.addFilterQuery(tmpFilter.toArray(tmpArrayFilter));
+        solrQuery.setRows(Math.max(1, configurationService.getIntProperty("deduplication.potential-match.page-size",
+                                                                          500)));
+        // the cursor needs a sort on the unique key
+        solrQuery.setSort(UNIQUE_ID_FIELD, SolrQuery.ORDER.asc);
+        Map<String, MinHashSignature> nearDuplicateSignatures = getNearDuplicateSignatures();
+
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        while (true) {
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = search(solrQuery);
+            for (SolrDocument resultDoc : response.getResults()) {
+                buildPotentialMatch(ctx, iu, resultDoc, tmpMapFilter, searchSignature, nearDuplicateSignatures);
+            }
+            if (cursorMark.equals(response.getNextCursorMark())) {
+                break;
+            }
+            cursorMark = response.getNextCursorMark();
+        }
+    }
 
-            // build the MATCH identifier
-            Collection<Object> matchIds = (Collection<Object>) resultDoc.getFieldValues(RESOURCE_IDS_FIELD);
-            UUID matchId = iu.getID();
+    private void buildPotentialMatch(Context ctx, Item iu, SolrDocument resultDoc,
+            Map<String, List<String>> tmpMapFilter, SearchDeduplication searchSignature,
+            Map<String, MinHashSignature> nearDuplicateSignatures) throws SearchServiceException {
 
-            internal: for (Object matchIdObj : matchIds) {
-                try {
-                    matchId = UUID.fromString((String) matchIdObj);
+        // build the MATCH identifier
+        Collection<Object> matchIds = (Collection<Object>) resultDoc.getFieldValues(RESOURCE_IDS_FIELD);
+        UUID matchId = iu.getID();
 
-                    if (!iu.getID().equals(matchId)) {
-                        break internal;
-                    }
-                } catch (IllegalArgumentException ie) {
-                    log.error("Match ids: " + matchId + ". Id " + matchId + " is not an UUID");
+        internal: for (Object matchIdObj : matchIds) {
+            try {
+                matchId = UUID.fromString((String) matchIdObj);
+
+                if (!iu.getID().equals(matchId)) {
+                    break internal;
                 }
+            } catch (IllegalArgumentException ie) {
+                log.error("Match ids: " + matchId + ". Id " + matchId + " is not an UUID");
             }
+        }
 
-            if (matchId.equals(iu.getID()) || areDifferentVersionsOfSameItem(ctx, iu, matchId)
-                || isNotLastVersion(ctx, matchId)) {
-                continue external;
-            }
+        if (matchId.equals(iu.getID()) || areDifferentVersionsOfSameItem(ctx, iu, matchId)
+            || isNotLastVersion(ctx, matchId)) {
+            return;
+        }
 
-            Map<String, List<String>> tmp = new HashMap<String, List<String>>();
+        Map<String, List<String>> tmp = new HashMap<String, List<String>>();
 
-            for (String field : resultDoc.getFieldNames()) {
-                List<String> valueResult = new ArrayList<String>();
-                if (field.endsWith("_signature")) {
+        for (String field : resultDoc.getFieldNames()) {
+            List<String> valueResult = new ArrayList<String>();
+            if (field.endsWith("_signature")) {
 
-                    List<String> valueCurrentSignature = tmpMapFilter.get(field);
-                    Collection<Object> valuesSignature = (Collection<Object>) resultDoc.getFieldValues(field);
-                    if (valueCurrentSignature != null && !valueCurrentSignature.isEmpty()) {
-                        for (Object valSign : valuesSignature) {
-                            if (valueCurrentSignature.contains((String) valSign)) {
-                                valueResult.add((String) valSign);
-                            }
+                List<String> valueCurrentSignature = tmpMapFilter.get(field);
+                Collection<Object> valuesSignature = (Collection<Object>) resultDoc.getFieldValues(field);
+                if (valueCurrentSignature != null && !valueCurrentSignature.isEmpty()) {
+                    for (Object valSign : valuesSignature) {
+                        if (valueCurrentSignature.contains((String) valSign)) {
+                            valueResult.add((String) valSign);
                         }
                     }
                 }
-                if (!valueResult.isEmpty()) {
-                    tmp.put(field, valueResult);
+                MinHashSignature nearDuplicateSignature = nearDuplicateSignatures.get(field);
+                if (!valueResult.isEmpty() && nearDuplicateSignature != null) {
+                    double similarity = MinHashSignature.estimateSimilarity(valueCurrentSignature,
+                                                                            valuesSignature);
+                    log.debug("Estimated similarity of " + iu.getID() + " and " + matchId + ": " + similarity);
+                    if (similarity < nearDuplicateSignature.getThreshold()) {
+                        // the items share a bucket but are not similar enough
+                        valueResult.clear();
+                    }
                 }
             }
+            if (!valueResult.isEmpty()) {
+                tmp.put(field, valueResult);
+            }
+        }
 
-            build(ctx, iu.getID(), matchId, DeduplicationFlag.MATCH, tmp, searchSignature, null);
+        if (tmp.isEmpty()) {
+            return;
+        }
 
+        build(ctx, iu.getID(), matchId, DeduplicationFlag.MATCH, tmp, searchSignature, null);
+    }
+
+    /**
+     * @return the near duplicate signatures, by the field of their values
+     */
+    private Map<String, MinHashSignature> getNearDuplicateSignatures() {
+        Map<String, MinHashSignature> signatures = new HashMap<String, MinHashSignature>();
+        for (MinHashSignature signature : dspace.getServiceManager().getServicesByType(MinHashSignature.class)) {
+            signatures.put(signature.getSignatureType() + "_signature", signature);
         }
+        return signatures;
     }
 
     private boolean isNotLastVersion(Context context, UUID itemId) {
@@ -672,6 +724,17 @@ public class SolrDedupServiceImpl implements DedupService {
         }
     }
 
+    @Override
+    public void updateMatches(Context context) {
+        try {
+            delete(RESOURCE_FLAG_FIELD + ":" + DeduplicationFlag.MATCH.getDescription());
+            startMultiThreadIndex(context, false, null);
+            commit();
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void optimize() {
         try {
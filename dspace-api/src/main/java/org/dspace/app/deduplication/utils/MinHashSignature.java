@@ -0,0 +1,261 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.ibm.icu.text.Transliterator;
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.external.model.ExternalDataObject;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Signature finding the near duplicates of an item, i.e. the items whose title, authors and year are similar
+ * without being equal: a subtitle, punctuation or a transliterated author name don't prevent the match.
+ *
+ * The item is described by the character shingles of its title, the family names of its authors and its year. A
+ * MinHash sketch of {@code bands * rows} values estimates the Jaccard similarity of these descriptions, and is
+ * split in {@code bands} tokens of {@code rows} values (locality-sensitive hashing): the tokens are stored as the
+ * signature in the dedup core, so that the candidates, which share at least one token, are found by the usual
+ * query on the signatures. As each token holds its values, the whole sketch of a candidate is read back from the
+ * core to estimate its similarity, the candidates below {@code threshold} being discarded.
+ *
+ * The signature is computed only if {@code deduplication.near-duplicate.enabled} is true.
+ */
+public class MinHashSignature extends MD5ValueSignature {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private static final ThreadLocal<Transliterator> TRANSLITERATOR =
+        ThreadLocal.withInitial(() -> Transliterator.getInstance("Any-Latin; Latin-ASCII"));
+
+    private String authorMetadata = "dc.contributor.author";
+
+    private String yearMetadata = "dc.date.issued";
+
+    private int shingleSize = 3;
+
+    private int bands = 20;
+
+    private int rows = 5;
+
+    private double threshold = 0.5;
+
+    private ConfigurationService configurationService;
+
+    @Override
+    public List<String> getSignature(DSpaceObject item, Context context) {
+        if (!isEnabled()) {
+            return new ArrayList<String>();
+        }
+        return getBands(getFeatures(getMultiValue(item, getMetadata()), getMultiValue(item, authorMetadata),
+                                    getMultiValue(item, yearMetadata)));
+    }
+
+    @Override
+    public List<String> getPlainSignature(DSpaceObject item, Context context) {
+        return new ArrayList<String>();
+    }
+
+    @Override
+    public List<String> getSignature(ExternalDataObject object) {
+        if (!isEnabled()) {
+            return new ArrayList<String>();
+        }
+        return getBands(getFeatures(getMultiValue(object, getMetadata()), getMultiValue(object, authorMetadata),
+                                    getMultiValue(object, yearMetadata)));
+    }
+
+    /**
+     * @return the shingles of the titles, the family names of the authors and the years
+     */
+    protected Set<String> getFeatures(List<String> titles, List<String> authors, List<String> years) {
+        Set<String> features = new LinkedHashSet<String>();
+        for (String title : titles) {
+            String norm = StringUtils.remove(normalize(title), ' ');
+            for (int i = 0; i + shingleSize <= norm.length(); i++) {
+                features.add("t:" + norm.substring(i, i + shingleSize));
+            }
+            if (norm.length() > 0 && norm.length() < shingleSize) {
+                features.add("t:" + norm);
+            }
+        }
+        for (String author : authors) {
+            String familyName = StringUtils.contains(author, ',') ? StringUtils.substringBefore(author, ",")
+                : StringUtils.substringAfterLast(" " + StringUtils.trim(author), " ");
+            String norm = StringUtils.remove(normalize(familyName), ' ');
+            if (StringUtils.isNotEmpty(norm)) {
+                features.add("a:" + norm);
+            }
+        }
+        for (String year : years) {
+            if (StringUtils.length(year) >= 4) {
+                features.add("y:" + year.substring(0, 4));
+            }
+        }
+        return features;
+    }
+
+    /**
+     * @return the value transliterated to ASCII and lower cased, the punctuation being replaced by spaces
+     */
+    protected String normalize(String value) {
+        if (StringUtils.isBlank(value)) {
+            return StringUtils.EMPTY;
+        }
+        String ascii = TRANSLITERATOR.get().transliterate(value).toLowerCase();
+        return StringUtils.normalizeSpace(ascii.replaceAll("[^a-z0-9]", " "));
+    }
+
+    /**
+     * @return the tokens of the MinHash sketch of the features, an empty list if there is no feature
+     */
+    protected List<String> getBands(Set<String> features) {
+        List<String> result = new ArrayList<String>();
+        if (features.isEmpty()) {
+            return result;
+        }
+        int[] sketch = new int[bands * rows];
+        Arrays.fill(sketch, Integer.MAX_VALUE);
+        for (String feature : features) {
+            long hash = HASH_FUNCTION.hashString(feature, StandardCharsets.UTF_8).asLong();
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            // the i-th hash function is derived from two independent hashes (Kirsch-Mitzenmacher)
+            for (int i = 0; i < sketch.length; i++) {
+                sketch[i] = Math.min(sketch[i], mix(h1 + i * h2));
+            }
+        }
+        for (int band = 0; band < bands; band++) {
+            StringBuilder token = new StringBuilder("b").append(band).append('x');
+            for (int row = 0; row < rows; row++) {
+                token.append(String.format("%08x", sketch[band * rows + row]));
+            }
+            result.add(token.toString());
+        }
+        return result;
+    }
+
+    private static int mix(int h) {
+        // finalization step of MurmurHash3, so that the derived hashes look independent
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Estimate the Jaccard similarity of two items from the tokens of their sketches, i.e. the fraction of the
+     * MinHash values they have in common. Only the bands present in both sketches are compared, so that the
+     * sketches built with different settings can still be compared.
+     *
+     * @param tokens      the tokens of the signature of the first item
+     * @param otherTokens the tokens of the signature of the second item
+     * @return the estimated similarity, between 0 and 1
+     */
+    public static double estimateSimilarity(Collection<?> tokens, Collection<?> otherTokens) {
+        Map<String, String> bands = toBands(tokens);
+        int compared = 0;
+        int equal = 0;
+        for (Map.Entry<String, String> otherBand : toBands(otherTokens).entrySet()) {
+            String band = bands.get(otherBand.getKey());
+            if (band == null || band.length() != otherBand.getValue().length()) {
+                continue;
+            }
+            for (int i = 0; i < band.length(); i += 8) {
+                compared++;
+                if (band.regionMatches(i, otherBand.getValue(), i, 8)) {
+                    equal++;
+                }
+            }
+        }
+        return compared > 0 ? (double) equal / compared : 0;
+    }
+
+    private static Map<String, String> toBands(Collection<?> tokens) {
+        Map<String, String> bands = new HashMap<String, String>();
+        for (Object token : tokens) {
+            String value = String.valueOf(token);
+            int separator = value.indexOf('x');
+            if (value.startsWith("b") && separator > 1 && (value.length() - separator - 1) % 8 == 0) {
+                bands.put(value.substring(1, separator), value.substring(separator + 1));
+            }
+        }
+        return bands;
+    }
+
+    private boolean isEnabled() {
+        if (configurationService == null) {
+            configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        }
+        return configurationService.getBooleanProperty("deduplication.near-duplicate.enabled", false);
+    }
+
+    public String getAuthorMetadata() {
+        return authorMetadata;
+    }
+
+    public void setAuthorMetadata(String authorMetadata) {
+        this.authorMetadata = authorMetadata;
+    }
+
+    public String getYearMetadata() {
+        return yearMetadata;
+    }
+
+    public void setYearMetadata(String yearMetadata) {
+        this.yearMetadata = yearMetadata;
+    }
+
+    public int getShingleSize() {
+        return shingleSize;
+    }
+
+    public void setShingleSize(int shingleSize) {
+        this.shingleSize = shingleSize;
+    }
+
+    public int getBands() {
+        return bands;
+    }
+
+    public void setBands(int bands) {
+        this.bands = bands;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+}
@@ -7,14 +7,18 @@
  */
 package org.dspace.app.mediafilter;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 
+import org.apache.commons.io.input.BoundedReader;
+import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -69,10 +73,15 @@ public class TikaTextExtractionFilter
             return extractUsingTempFile(source, verbose);
         }
 
-        // Not using temporary file. We'll use Tika's default in-memory parsing.
         // Get maximum characters to extract. Default is 100,000 chars, which is also Tika's default setting.
-        String extractedText;
         int maxChars = configurationService.getIntProperty("textextractor.max-chars", 100000);
+        if (configurationService.getBooleanProperty("textextractor.streaming", false)) {
+            // Extract text while it is read, without holding it in memory
+            return extractUsingStream(source, maxChars, verbose);
+        }
+
+        // Not using temporary file. We'll use Tika's default in-memory parsing.
+        String extractedText;
         try {
             // Use Tika to extract text from input. Tika will automatically detect the file type.
             Tika tika = new Tika();
@@ -105,6 +114,38 @@ public class TikaTextExtractionFilter
         return null;
     }
 
+    /**
+     * Extracts the text out of a given source InputStream while the returned stream is read. Tika parses the source
+     * in a background thread, writing the text to a bounded character pipe, so that neither the whole text nor a
+     * temporary file is needed: the text is written to the bitstore as it is extracted.
+     * @param source source InputStream
+     * @param maxChars maximum number of characters to extract, -1 for no maximum
+     * @param verbose verbose mode enabled/disabled
+     * @return InputStream of the extracted text in UTF-8, or null if there is no text
+     * @throws IOException if the text could not be extracted
+     */
+    private InputStream extractUsingStream(InputStream source, int maxChars, boolean verbose) throws IOException {
+        // the parsing errors are thrown when the text is read
+        Reader text = new Tika().parse(source);
+        if (maxChars >= 0) {
+            text = new BoundedReader(text, maxChars);
+        }
+        BufferedReader reader = new BufferedReader(text);
+
+        // wait for the first characters to find out whether there is any text
+        reader.mark(1);
+        if (reader.read() < 0) {
+            reader.close();
+            return null;
+        }
+        reader.reset();
+
+        if (verbose) {
+            System.out.println("(Verbose mode) Extracted text is written to the bitstream while it is extracted");
+        }
+        return ReaderInputStream.builder().setReader(reader).setCharset(StandardCharsets.UTF_8).get();
+    }
+
     /**
      * Extracts the text out of a given source InputStream, using a temporary file. This decreases the amount of memory
      * necessary for text extraction, but can be slower as it requires writing extracted text to a temporary file.
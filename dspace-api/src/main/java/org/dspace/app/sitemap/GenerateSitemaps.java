@@ -181,7 +181,6 @@ public class GenerateSitemaps {
         }
 
         Context c = new Context(Context.Mode.READ_ONLY);
-        int offset = 0;
         long commsCount = 0;
         long collsCount = 0;
         long itemsCount = 0;
@@ -190,9 +189,11 @@ public class GenerateSitemaps {
             DiscoverQuery discoveryQuery = new DiscoverQuery();
             discoveryQuery.setMaxResults(PAGE_SIZE);
             discoveryQuery.setQuery("search.resourcetype:Community");
+            // the pages are read with a cursor, whose cost doesn't grow with the position of the page
+            discoveryQuery.setCursorMark(DiscoverQuery.CURSOR_MARK_START);
+            DiscoverResult discoverResult;
             do {
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
+                discoverResult = searchService.search(c, discoveryQuery);
                 List<IndexableObject> docs = discoverResult.getIndexableObjects();
                 commsCount = discoverResult.getTotalSearchResults();
 
@@ -207,16 +208,14 @@ public class GenerateSitemaps {
                         sitemapsOrg.addURL(url, null);
                     }
                 }
-                offset += PAGE_SIZE;
-            } while (offset < commsCount);
+            } while (discoveryQuery.moveCursor(discoverResult));
 
-            offset = 0;
             discoveryQuery = new DiscoverQuery();
             discoveryQuery.setMaxResults(PAGE_SIZE);
             discoveryQuery.setQuery("search.resourcetype:Collection");
+            discoveryQuery.setCursorMark(DiscoverQuery.CURSOR_MARK_START);
             do {
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
+                discoverResult = searchService.search(c, discoveryQuery);
                 List<IndexableObject> docs = discoverResult.getIndexableObjects();
                 collsCount = discoverResult.getTotalSearchResults();
 
@@ -231,18 +230,15 @@ public class GenerateSitemaps {
                         sitemapsOrg.addURL(url, null);
                     }
                 }
-                offset += PAGE_SIZE;
-            } while (offset < collsCount);
+            } while (discoveryQuery.moveCursor(discoverResult));
 
-            offset = 0;
             discoveryQuery = new DiscoverQuery();
             discoveryQuery.setMaxResults(PAGE_SIZE);
             discoveryQuery.setQuery("search.resourcetype:Item");
             discoveryQuery.addSearchField("search.entitytype");
+            discoveryQuery.setCursorMark(DiscoverQuery.CURSOR_MARK_START);
             do {
-
-                discoveryQuery.setStart(offset);
-                DiscoverResult discoverResult = searchService.search(c, discoveryQuery);
+                discoverResult = searchService.search(c, discoveryQuery);
                 List<IndexableObject> docs = discoverResult.getIndexableObjects();
                 itemsCount = discoverResult.getTotalSearchResults();
 
@@ -266,8 +262,7 @@ public class GenerateSitemaps {
                         sitemapsOrg.addURL(url, null);
                     }
                 }
-                offset += PAGE_SIZE;
-            } while (offset < itemsCount);
+            } while (discoveryQuery.moveCursor(discoverResult));
 
             if (makeHTMLMap) {
                 int files = html.finish();
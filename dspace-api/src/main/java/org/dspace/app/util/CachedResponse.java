@@ -0,0 +1,31 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.util;
+
+/**
+ * A serialized response kept by the {@link org.dspace.app.util.service.ResponseCacheService}.
+ */
+public class CachedResponse {
+
+    private final String contentType;
+
+    private final byte[] body;
+
+    public CachedResponse(String contentType, byte[] body) {
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+}
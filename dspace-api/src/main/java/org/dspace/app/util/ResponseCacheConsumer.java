@@ -0,0 +1,102 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.app.util.factory.UtilServiceFactory;
+import org.dspace.app.util.service.ResponseCacheService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+
+/**
+ * This consumer is used to invalidate the responses of the {@link ResponseCacheService} about modified objects.
+ * The changes of the bundles and bitstreams invalidate the responses about their items, as they may be embedded in
+ * them. The changes of the collections, communities and groups invalidate all the responses, as they may change the
+ * embedded parents or the access rights of the anonymous users.
+ *
+ * The responses are invalidated when the events are dispatched, and once again after the commit, in case another
+ * request cached the previous state in between.
+ */
+public class ResponseCacheConsumer implements Consumer {
+
+    // When true all entries will be cleared from cache.
+    private boolean clearAll = false;
+
+    // Collects the ids of the modified objects.
+    private final Set<UUID> toInvalidate = new HashSet<>();
+
+    private ResponseCacheService responseCacheService;
+
+    @Override
+    public void initialize() throws Exception {
+        responseCacheService = UtilServiceFactory.getInstance().getResponseCacheService();
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (!responseCacheService.isEnabled() || clearAll) {
+            return;
+        }
+        int st = event.getSubjectType();
+        if (st == Constants.GROUP || st == Constants.COLLECTION || st == Constants.COMMUNITY) {
+            clearAll = true;
+            return;
+        }
+        if (event.getSubjectID() != null) {
+            toInvalidate.add(event.getSubjectID());
+        }
+        if (event.getObjectID() != null) {
+            toInvalidate.add(event.getObjectID());
+        }
+        if (st == Constants.BUNDLE || st == Constants.BITSTREAM) {
+            DSpaceObject subject = event.getSubject(ctx);
+            if (subject instanceof Bundle) {
+                addItems((Bundle) subject);
+            } else if (subject instanceof Bitstream) {
+                for (Bundle bundle : ((Bitstream) subject).getBundles()) {
+                    addItems(bundle);
+                }
+            }
+        }
+    }
+
+    private void addItems(Bundle bundle) {
+        for (Item item : bundle.getItems()) {
+            toInvalidate.add(item.getID());
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (clearAll) {
+            responseCacheService.invalidateAll();
+            ctx.runAfterCommit(responseCacheService::invalidateAll);
+        } else if (!toInvalidate.isEmpty()) {
+            Set<UUID> ids = new HashSet<>(toInvalidate);
+            responseCacheService.invalidate(ids);
+            ctx.runAfterCommit(() -> responseCacheService.invalidate(ids));
+        }
+        clearAll = false;
+        toInvalidate.clear();
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+        // No-op
+    }
+
+}
@@ -0,0 +1,113 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.util;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.dspace.app.util.service.ResponseCacheService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link ResponseCacheService} backed by a concurrent Guava
+ * cache of at most {@code rest.cache.anonymous.max-size} megabytes of
+ * responses, each expiring {@code rest.cache.anonymous.ttl} seconds after it
+ * was stored.
+ */
+public class ResponseCacheServiceImpl implements ResponseCacheService, InitializingBean {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private Cache<Key, CachedResponse> cache;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        cache = CacheBuilder.newBuilder()
+                            .maximumWeight(configurationService.getLongProperty("rest.cache.anonymous.max-size", 64)
+                                               * 1024 * 1024)
+                            .weigher((Key key, CachedResponse response) -> response.getBody().length)
+                            .expireAfterWrite(configurationService.getLongProperty("rest.cache.anonymous.ttl", 300),
+                                              TimeUnit.SECONDS)
+                            .recordStats()
+                            .build();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("rest.cache.anonymous.enabled", false);
+    }
+
+    @Override
+    public CachedResponse get(UUID dsoId, String variant) {
+        return isEnabled() ? cache.getIfPresent(new Key(dsoId, variant)) : null;
+    }
+
+    @Override
+    public void put(UUID dsoId, String variant, CachedResponse response) {
+        if (isEnabled()) {
+            cache.put(new Key(dsoId, variant), response);
+        }
+    }
+
+    @Override
+    public void invalidate(Set<UUID> dsoIds) {
+        if (!dsoIds.isEmpty()) {
+            cache.asMap().keySet().removeIf(key -> dsoIds.contains(key.dsoId));
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private static final class Key {
+        private final UUID dsoId;
+        private final String variant;
+
+        private Key(UUID dsoId, String variant) {
+            this.dsoId = dsoId;
+            this.variant = variant;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return dsoId.equals(key.dsoId) && variant.equals(key.variant);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dsoId, variant);
+        }
+    }
+}
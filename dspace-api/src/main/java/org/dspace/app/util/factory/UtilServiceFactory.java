@@ -10,6 +10,7 @@ package org.dspace.app.util.factory;
 import org.dspace.app.util.service.DSpaceObjectUtils;
 import org.dspace.app.util.service.MetadataExposureService;
 import org.dspace.app.util.service.OpenSearchService;
+import org.dspace.app.util.service.ResponseCacheService;
 import org.dspace.app.util.service.WebAppService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
@@ -28,6 +29,8 @@ public abstract class UtilServiceFactory {
 
     public abstract DSpaceObjectUtils getDSpaceObjectUtils();
 
+    public abstract ResponseCacheService getResponseCacheService();
+
     public static UtilServiceFactory getInstance() {
         return DSpaceServicesFactory.getInstance().getServiceManager()
                                     .getServiceByName("appUtilServiceFactory", UtilServiceFactory.class);
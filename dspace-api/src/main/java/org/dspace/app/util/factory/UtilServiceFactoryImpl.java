@@ -10,6 +10,7 @@ package org.dspace.app.util.factory;
 import org.dspace.app.util.service.DSpaceObjectUtils;
 import org.dspace.app.util.service.MetadataExposureService;
 import org.dspace.app.util.service.OpenSearchService;
+import org.dspace.app.util.service.ResponseCacheService;
 import org.dspace.app.util.service.WebAppService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -29,6 +30,8 @@ public class UtilServiceFactoryImpl extends UtilServiceFactory {
     private WebAppService webAppService;
     @Autowired(required = true)
     private DSpaceObjectUtils dSpaceObjectUtils;
+    @Autowired(required = true)
+    private ResponseCacheService responseCacheService;
 
     @Override
     public WebAppService getWebAppService() {
@@ -49,4 +52,9 @@ public class UtilServiceFactoryImpl extends UtilServiceFactory {
     public DSpaceObjectUtils getDSpaceObjectUtils() {
         return dSpaceObjectUtils;
     }
+
+    @Override
+    public ResponseCacheService getResponseCacheService() {
+        return responseCacheService;
+    }
 }
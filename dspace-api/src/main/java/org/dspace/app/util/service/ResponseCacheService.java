@@ -0,0 +1,68 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.util.service;
+
+import java.util.Set;
+import java.util.UUID;
+
+import com.google.common.cache.CacheStats;
+import org.dspace.app.util.CachedResponse;
+
+/**
+ * Service caching the serialized responses sent to anonymous users for an object, so that the repeated reads of the
+ * same object are not converted and serialized again.
+ *
+ * The responses are keyed by object and by variant, the variant identifying the version of the object and the
+ * request (user, parameters, language...) the response was made for. The entries are bounded in size and in age,
+ * and are invalidated by the {@link org.dspace.app.util.ResponseCacheConsumer} when the objects or the groups change.
+ */
+public interface ResponseCacheService {
+
+    /**
+     * @return true if the cache is enabled by {@code rest.cache.anonymous.enabled}
+     */
+    boolean isEnabled();
+
+    /**
+     * @param dsoId   the id of the object
+     * @param variant the variant of the response
+     * @return the cached response, or null if it isn't cached
+     */
+    CachedResponse get(UUID dsoId, String variant);
+
+    /**
+     * Cache a response.
+     *
+     * @param dsoId    the id of the object
+     * @param variant  the variant of the response
+     * @param response the response
+     */
+    void put(UUID dsoId, String variant, CachedResponse response);
+
+    /**
+     * Remove the responses about the given objects.
+     *
+     * @param dsoIds the ids of the objects
+     */
+    void invalidate(Set<UUID> dsoIds);
+
+    /**
+     * Remove all the cached responses.
+     */
+    void invalidateAll();
+
+    /**
+     * @return the number of cached responses
+     */
+    long size();
+
+    /**
+     * @return the hit, miss and eviction counts of the cache
+     */
+    CacheStats getStats();
+}
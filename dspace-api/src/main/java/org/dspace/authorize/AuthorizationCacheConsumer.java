@@ -0,0 +1,97 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizationCacheService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+
+/**
+ * This consumer is used to invalidate the decisions of the {@link AuthorizationCacheService} about modified objects.
+ * The policy changes are seen as MODIFY events of their objects. The group changes invalidate all the decisions, as
+ * they may change the groups inherited by the anonymous and special groups.
+ *
+ * The decisions are invalidated when the events are dispatched, and once again after the commit, in case another
+ * context cached the previous state in between.
+ */
+public class AuthorizationCacheConsumer implements Consumer {
+
+    // When true all entries will be cleared from cache.
+    private boolean clearAll = false;
+
+    // Collects the ids of the modified objects.
+    private final Set<UUID> toInvalidate = new HashSet<>();
+
+    private AuthorizationCacheService authorizationCacheService;
+
+    @Override
+    public void initialize() throws Exception {
+        authorizationCacheService = AuthorizeServiceFactory.getInstance().getAuthorizationCacheService();
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (!authorizationCacheService.isEnabled() || clearAll) {
+            return;
+        }
+        if (event.getSubjectType() == Constants.GROUP) {
+            clearAll = true;
+            return;
+        }
+        if (event.getSubjectID() != null) {
+            toInvalidate.add(event.getSubjectID());
+        }
+        if (event.getObjectID() != null) {
+            toInvalidate.add(event.getObjectID());
+        }
+        // the custom policies of the bundles and bitstreams are only considered once the item is installed
+        int et = event.getEventType();
+        if (event.getSubjectType() == Constants.ITEM && (et == Event.INSTALL || et == Event.MODIFY)) {
+            DSpaceObject subject = event.getSubject(ctx);
+            if (subject != null) {
+                for (Bundle bundle : ((Item) subject).getBundles()) {
+                    toInvalidate.add(bundle.getID());
+                    for (Bitstream bitstream : bundle.getBitstreams()) {
+                        toInvalidate.add(bitstream.getID());
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (clearAll) {
+            authorizationCacheService.invalidateAll();
+            ctx.runAfterCommit(authorizationCacheService::invalidateAll);
+        } else if (!toInvalidate.isEmpty()) {
+            Set<UUID> ids = new HashSet<>(toInvalidate);
+            authorizationCacheService.invalidate(ids);
+            ctx.runAfterCommit(() -> authorizationCacheService.invalidate(ids));
+        }
+        clearAll = false;
+        toInvalidate.clear();
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+        // No-op
+    }
+
+}
@@ -0,0 +1,146 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.dspace.authorize.service.AuthorizationCacheService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link AuthorizationCacheService} backed by a concurrent
+ * Guava cache of at most {@code authorization.cache.max-size} decisions, each
+ * expiring {@code authorization.cache.ttl} seconds after it was computed.
+ *
+ * A context with changes which were not dispatched yet neither reads nor feeds
+ * the cache, as its decisions may rely on uncommitted policies.
+ */
+public class AuthorizationCacheServiceImpl implements AuthorizationCacheService, InitializingBean {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private Cache<Key, Boolean> cache;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        cache = CacheBuilder.newBuilder()
+                            .maximumSize(configurationService.getLongProperty("authorization.cache.max-size", 10000))
+                            .expireAfterWrite(configurationService.getLongProperty("authorization.cache.ttl", 60),
+                                              TimeUnit.SECONDS)
+                            .recordStats()
+                            .build();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("authorization.cache.enabled", false);
+    }
+
+    @Override
+    public Boolean getCachedResult(Context context, DSpaceObject dso, int action, EPerson eperson,
+                                   boolean useInheritance) throws SQLException {
+        Key key = getKey(context, dso, action, eperson, useInheritance);
+        return key != null ? cache.getIfPresent(key) : null;
+    }
+
+    @Override
+    public void cacheResult(Context context, DSpaceObject dso, int action, EPerson eperson, boolean useInheritance,
+                            boolean result) throws SQLException {
+        Key key = getKey(context, dso, action, eperson, useInheritance);
+        if (key != null) {
+            cache.put(key, result);
+        }
+    }
+
+    /**
+     * @return the key of the decision, or null if it must not be shared
+     */
+    private Key getKey(Context context, DSpaceObject dso, int action, EPerson eperson, boolean useInheritance)
+        throws SQLException {
+        // the decisions of an authenticated user also depend on its own policies and on its admin rights
+        if (!isEnabled() || eperson != null || context.getCurrentUser() != null || context.hasEvents()
+            || dso == null || dso.getID() == null) {
+            return null;
+        }
+        Set<UUID> specialGroups = new HashSet<>();
+        for (Group group : context.getSpecialGroups()) {
+            specialGroups.add(group.getID());
+        }
+        return new Key(dso.getID(), action, useInheritance, specialGroups);
+    }
+
+    @Override
+    public void invalidate(Set<UUID> dsoIds) {
+        if (!dsoIds.isEmpty()) {
+            cache.asMap().keySet().removeIf(key -> dsoIds.contains(key.dsoId));
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private static final class Key {
+        private final UUID dsoId;
+        private final int action;
+        private final boolean useInheritance;
+        private final Set<UUID> groups;
+
+        private Key(UUID dsoId, int action, boolean useInheritance, Set<UUID> groups) {
+            this.dsoId = dsoId;
+            this.action = action;
+            this.useInheritance = useInheritance;
+            this.groups = Collections.unmodifiableSet(groups);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return action == key.action && useInheritance == key.useInheritance && dsoId.equals(key.dsoId)
+                && groups.equals(key.groups);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dsoId, action, useInheritance, groups);
+        }
+    }
+}
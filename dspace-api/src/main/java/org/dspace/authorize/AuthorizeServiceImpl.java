@@ -14,15 +14,19 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.relationship.RelationshipAuthorizer;
+import org.dspace.authorize.service.AuthorizationCacheService;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.content.Bitstream;
@@ -73,6 +77,11 @@ public class AuthorizeServiceImpl implements AuthorizeService {
 
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * Maximum number of objects whose policies are read with a single query
+     */
+    private static final int PRELOAD_BATCH_SIZE = 1000;
+
     @Autowired(required = true)
     protected BitstreamService bitstreamService;
     @Autowired(required = true)
@@ -86,6 +95,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     @Autowired(required = true)
     protected WorkflowItemService workflowItemService;
     @Autowired(required = true)
+    protected AuthorizationCacheService authorizationCacheService;
+    @Autowired(required = true)
     private SearchService searchService;
     @Autowired(required = true)
     private List<RelationshipAuthorizer> relationshipAuthorizers;
@@ -257,6 +268,12 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             return cachedResult;
         }
 
+        // Anonymous decisions are also shared between contexts
+        cachedResult = authorizationCacheService.getCachedResult(c, o, action, e, useInheritance);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
         // is eperson set? if not, userToCheck = null (anonymous)
         EPerson userToCheck = null;
         if (e != null) {
@@ -330,6 +347,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                     // group was set, and eperson is a member
                     // of that group
                     c.cacheAuthorizedAction(o, action, e, useInheritance, true, rp);
+                    authorizationCacheService.cacheResult(c, o, action, e, useInheritance, true);
                     return true;
                 }
             }
@@ -353,6 +371,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         }
         // default authorization is denial
         c.cacheAuthorizedAction(o, action, e, useInheritance, false, null);
+        authorizationCacheService.cacheResult(c, o, action, e, useInheritance, false);
         return false;
     }
 
@@ -520,9 +539,48 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     @Override
     public List<ResourcePolicy> getPoliciesActionFilter(Context c, DSpaceObject o,
                                                         int actionID) throws SQLException {
+        List<ResourcePolicy> preloaded = c.getCachedResourcePolicies(o);
+        if (preloaded != null) {
+            List<ResourcePolicy> policies = new ArrayList<>();
+            for (ResourcePolicy rp : preloaded) {
+                if (rp.getAction() == actionID) {
+                    policies.add(rp);
+                }
+            }
+            return policies;
+        }
         return resourcePolicyService.find(c, o, actionID);
     }
 
+    @Override
+    public void preloadPolicies(Context c, List<? extends DSpaceObject> objects) throws SQLException {
+        if (!c.isReadOnly() || CollectionUtils.isEmpty(objects)) {
+            return;
+        }
+
+        // the admin rights are inherited from the parents, which are mostly shared by the objects
+        Map<UUID, List<ResourcePolicy>> policies = new LinkedHashMap<>();
+        for (DSpaceObject object : objects) {
+            DSpaceObject current = object;
+            while (current != null && !policies.containsKey(current.getID())
+                && c.getCachedResourcePolicies(current) == null) {
+                policies.put(current.getID(), new ArrayList<>());
+                current = serviceFactory.getDSpaceObjectService(current).getParentObject(c, current);
+            }
+        }
+
+        List<UUID> dsoIds = new ArrayList<>(policies.keySet());
+        for (List<UUID> batch : ListUtils.partition(dsoIds, PRELOAD_BATCH_SIZE)) {
+            for (ResourcePolicy rp : resourcePolicyService.findByDsoIds(c, batch)) {
+                policies.get(rp.getdSpaceObject().getID()).add(rp);
+            }
+        }
+        policies.forEach(c::cacheResourcePolicies);
+
+        // the group memberships are then checked against the groups of the user
+        groupService.allMemberGroupsSet(c, c.getCurrentUser());
+    }
+
     @Override
     public List<ResourcePolicyOwnerVO> getValidPolicyOwnersActionFilter(Context c, List<UUID> dsoIds, int actionID)
         throws SQLException {
@@ -429,4 +429,9 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         throws SQLException {
         return resourcePolicyDAO.findValidPolicyOwners(c, dsoIds, actionID);
     }
+
+    @Override
+    public List<ResourcePolicy> findByDsoIds(Context c, List<UUID> dsoIds) throws SQLException {
+        return resourcePolicyDAO.findByDsoIds(c, dsoIds);
+    }
 }
@@ -450,4 +450,22 @@ public class ResourcePolicyDAOImpl extends AbstractHibernateDAO<ResourcePolicy>
         return query.getResultList();
 
     }
+
+    @Override
+    public List<ResourcePolicy> findByDsoIds(Context context, List<UUID> dsoIds) throws SQLException {
+
+        if (CollectionUtils.isEmpty(dsoIds)) {
+            return emptyList();
+        }
+
+        String sqlQuery = ""
+            + " SELECT policy FROM ResourcePolicy policy "
+            + "   LEFT JOIN FETCH policy.epersonGroup "
+            + "   LEFT JOIN FETCH policy.eperson "
+            + "  WHERE policy.dSpaceObject.id in (:dsoIds) ";
+
+        Query query = createQuery(context, sqlQuery);
+        query.setParameter("dsoIds", dsoIds);
+        return query.getResultList();
+    }
 }
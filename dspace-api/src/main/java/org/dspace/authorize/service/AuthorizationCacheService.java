@@ -0,0 +1,87 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize.service;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.UUID;
+
+import com.google.common.cache.CacheStats;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+
+/**
+ * Service caching the authorization decisions across contexts, unlike the
+ * {@link org.dspace.core.ContextReadOnlyCache} which lives as long as a single
+ * read-only context.
+ *
+ * Only the decisions taken for anonymous users are cached. They are keyed by
+ * object, action and the special groups of the context, so that all the
+ * anonymous requests coming from the same IP ranges share them. The entries are
+ * bounded in number and in age, and are invalidated by the
+ * {@link org.dspace.authorize.AuthorizationCacheConsumer} when the objects, their
+ * policies or the groups change.
+ */
+public interface AuthorizationCacheService {
+
+    /**
+     * @return true if the cache is enabled by {@code authorization.cache.enabled}
+     */
+    boolean isEnabled();
+
+    /**
+     * Get the cached decision.
+     *
+     * @param context        the DSpace Context object
+     * @param dso            the object on which the action is attempted
+     * @param action         the action, from {@link org.dspace.core.Constants}
+     * @param eperson        the user attempting the action, null for anonymous
+     * @param useInheritance whether ADMIN rights on the parent objects were considered
+     * @return the cached decision, or null if it isn't cached or can't be cached for this user and context
+     * @throws SQLException if a problem with the database occurs
+     */
+    Boolean getCachedResult(Context context, DSpaceObject dso, int action, EPerson eperson, boolean useInheritance)
+        throws SQLException;
+
+    /**
+     * Cache a decision, if it can be shared with the other contexts.
+     *
+     * @param context        the DSpace Context object
+     * @param dso            the object on which the action is attempted
+     * @param action         the action, from {@link org.dspace.core.Constants}
+     * @param eperson        the user attempting the action, null for anonymous
+     * @param useInheritance whether ADMIN rights on the parent objects were considered
+     * @param result         the decision
+     * @throws SQLException if a problem with the database occurs
+     */
+    void cacheResult(Context context, DSpaceObject dso, int action, EPerson eperson, boolean useInheritance,
+                     boolean result) throws SQLException;
+
+    /**
+     * Remove the decisions taken on the given objects.
+     *
+     * @param dsoIds the ids of the objects
+     */
+    void invalidate(Set<UUID> dsoIds);
+
+    /**
+     * Remove all the cached decisions.
+     */
+    void invalidateAll();
+
+    /**
+     * @return the number of cached decisions
+     */
+    long size();
+
+    /**
+     * @return the hit, miss and eviction counts of the cache
+     */
+    CacheStats getStats();
+}
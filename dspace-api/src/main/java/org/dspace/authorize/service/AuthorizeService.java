@@ -315,6 +315,17 @@ public interface AuthorizeService {
      */
     public List<ResourcePolicy> getPoliciesActionFilter(Context c, DSpaceObject o, int actionID) throws SQLException;
 
+    /**
+     * Load in a few queries the policies of the given objects and of their parents, and the groups of the current
+     * user, so that the following authorization checks on these objects don't query them one by one. They are kept
+     * in the read-only cache of the context, so this method does nothing if the context isn't in READ_ONLY mode.
+     *
+     * @param c       context in READ_ONLY mode
+     * @param objects the objects about to be checked
+     * @throws SQLException if there's a database problem
+     */
+    public void preloadPolicies(Context c, List<? extends DSpaceObject> objects) throws SQLException;
+
     /**
      * Return a list of date valid policy owners for a list of object that match the
      * action.
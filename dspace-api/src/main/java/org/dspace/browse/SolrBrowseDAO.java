@@ -323,6 +323,7 @@ public class SolrBrowseDAO implements BrowseDAO {
         query.setQuery("search.resourceid:" + itemID
                            + " AND search.resourcetype:" + IndexableItem.TYPE);
         query.setMaxResults(1);
+        query.setIndexOnly(true);
         DiscoverResult resp = null;
         try {
             resp = searcher.search(context, query);
@@ -49,4 +49,14 @@ public interface BitstreamDispatcher {
      * @throws SQLException if database error
      */
     public Bitstream next() throws SQLException;
+
+    /**
+     * Called once the result of the check of a bitstream returned by
+     * <code>next()</code> is committed, so that dispatchers handing bitstreams
+     * out to several workers know it is no longer being checked.
+     *
+     * @param bitstream the checked bitstream
+     */
+    public default void release(Bitstream bitstream) {
+    }
 }
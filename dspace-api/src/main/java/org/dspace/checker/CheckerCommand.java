@@ -9,17 +9,38 @@ package org.dspace.checker;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
 
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.factory.CheckerServiceFactory;
 import org.dspace.checker.service.ChecksumHistoryService;
 import org.dspace.checker.service.ChecksumResultService;
 import org.dspace.checker.service.MostRecentChecksumService;
 import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 
@@ -78,6 +99,18 @@ public final class CheckerCommand {
      */
     private boolean reportVerbose = false;
 
+    /**
+     * Number of threads checking bitstreams at the same time
+     */
+    private int threads = 1;
+
+    /**
+     * Number of bitstreams checked, and their size, by the last run
+     */
+    private final AtomicLong checkedCount = new AtomicLong();
+    private final AtomicLong checkedBytes = new AtomicLong();
+    private long elapsedTime = 0;
+
     /**
      * Default constructor uses DSpace plugin manager to construct dependencies.
      *
@@ -120,19 +153,231 @@ public final class CheckerCommand {
         // bitstream table - this always done.
         checksumService.updateMissingBitstreams(context);
 
-        Bitstream bitstream = dispatcher.next();
+        checkedCount.set(0);
+        checkedBytes.set(0);
+        long start = System.currentTimeMillis();
+
+        if (threads > 1) {
+            // the workers don't see the uncommitted changes of this context
+            context.commit();
+            processConcurrently();
+        } else {
+            Bitstream bitstream = dispatcher.next();
+
+            while (bitstream != null) {
+                LOG.debug("Processing bitstream id = " + bitstream.getID());
+                MostRecentChecksum info = checkBitstream(bitstream);
+                count(info);
+
+                if (reportVerbose
+                    || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+                    collector.collect(context, info);
+                }
+
+                context.uncacheEntity(bitstream);
+                dispatcher.release(bitstream);
+                bitstream = dispatcher.next();
+            }
+        }
+
+        elapsedTime = System.currentTimeMillis() - start;
+        LOG.info("Checked {} bitstreams, {} bytes in {} ms ({} bytes/s)", checkedCount.get(), checkedBytes.get(),
+                 elapsedTime, getThroughput());
+    }
+
+    /**
+     * Check the bitstreams of the dispatcher with {@link #threads} workers, each one with its own context and
+     * committing its results every {@code checker.threads.commit-batch-size} bitstreams. The dispatcher is only
+     * called by the current thread, with the context of this command, which hands the bitstreams over to the
+     * workers: the workers only release them. The number of workers reading from the same assetstore is limited by
+     * {@code checker.threads.max-per-store}. When a worker or the dispatcher fails, the workers commit the results
+     * of their current batch and stop.
+     *
+     * @throws SQLException if database error
+     */
+    protected void processConcurrently() throws SQLException {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        int commitBatchSize = Math.max(1, configurationService.getIntProperty("checker.threads.commit-batch-size",
+                                                                              100));
+        int maxPerStore = configurationService.getIntProperty("checker.threads.max-per-store", threads);
+        ConcurrentMap<Integer, Semaphore> storeLimits = new ConcurrentHashMap<>();
+        AtomicBoolean stopped = new AtomicBoolean();
+        // the bitstreams handed over to the workers, an empty value telling a worker that there are no more
+        BlockingQueue<Optional<Bitstream>> work = new ArrayBlockingQueue<>(threads);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+            new BasicThreadFactory.Builder().namingPattern("checker-%d").build());
+        try {
+            List<Future<Void>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    try {
+                        runWorker(work, commitBatchSize, storeNumber -> storeLimits.computeIfAbsent(storeNumber,
+                            n -> new Semaphore(Math.max(1, configurationService.getIntProperty(
+                                "checker.threads.max-per-store." + n, maxPerStore)))), stopped);
+                    } catch (Exception | Error e) {
+                        stopped.set(true);
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+            try {
+                dispatch(work, stopped);
+            } catch (SQLException | RuntimeException e) {
+                // the workers commit the results of their current batch before stopping
+                stopped.set(true);
+                for (Future<Void> worker : workers) {
+                    try {
+                        worker.get();
+                    } catch (ExecutionException ee) {
+                        LOG.error("Error checking bitstreams", ee.getCause());
+                    }
+                }
+                throw e;
+            }
+            for (Future<Void> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking bitstreams", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new IllegalStateException("Error checking bitstreams", e.getCause());
+        } finally {
+            stopped.set(true);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Hand the bitstreams of the dispatcher over to the workers until there is none left or the workers are
+     * stopped, then tell each worker that there are no more.
+     *
+     * @param work    the queue read by the workers
+     * @param stopped whether the workers are stopped
+     * @throws SQLException         if database error
+     * @throws InterruptedException if interrupted while waiting for a worker
+     */
+    private void dispatch(BlockingQueue<Optional<Bitstream>> work, AtomicBoolean stopped)
+        throws SQLException, InterruptedException {
+        Bitstream next;
+        while (!stopped.get() && (next = dispatcher.next()) != null) {
+            if (!handOver(work, Optional.of(next), stopped)) {
+                dispatcher.release(next);
+            }
+        }
+        for (int i = 0; i < threads; i++) {
+            handOver(work, Optional.empty(), stopped);
+        }
+    }
+
+    /**
+     * @return false if the workers were stopped before one of them took the value
+     */
+    private boolean handOver(BlockingQueue<Optional<Bitstream>> work, Optional<Bitstream> value,
+                             AtomicBoolean stopped) throws InterruptedException {
+        while (!stopped.get()) {
+            if (work.offer(value, 100, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the next bitstream to check, null if there are no more or the workers are stopped
+     */
+    private Bitstream takeOver(BlockingQueue<Optional<Bitstream>> work, AtomicBoolean stopped)
+        throws InterruptedException {
+        while (!stopped.get()) {
+            Optional<Bitstream> next = work.poll(100, TimeUnit.MILLISECONDS);
+            if (next != null) {
+                return next.orElse(null);
+            }
+        }
+        return null;
+    }
 
-        while (bitstream != null) {
-            LOG.debug("Processing bitstream id = " + bitstream.getID());
-            MostRecentChecksum info = checkBitstream(bitstream);
+    /**
+     * Check the bitstreams handed over by the dispatching thread in a new context until there is none left or the
+     * workers are stopped. The changes of each check are flushed before taking the next bitstream.
+     *
+     * @param work            the queue of the bitstreams to check
+     * @param commitBatchSize number of bitstreams whose results are committed together
+     * @param storeLimits     the semaphore limiting the workers reading from an assetstore, by store number
+     * @param stopped         whether the workers must stop, once the results of their current batch are committed
+     * @throws SQLException         if database error
+     * @throws InterruptedException if interrupted while waiting for a bitstream
+     */
+    private void runWorker(BlockingQueue<Optional<Bitstream>> work, int commitBatchSize,
+                           IntFunction<Semaphore> storeLimits, AtomicBoolean stopped)
+        throws SQLException, InterruptedException {
+        BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+        Context workerContext = new Context();
+        try {
+            CheckerCommand worker = new CheckerCommand(workerContext);
+            List<Bitstream> checked = new ArrayList<>(commitBatchSize);
+            List<Bitstream> loaded = new ArrayList<>(commitBatchSize);
+            boolean done = false;
+            while (!done) {
+                Bitstream next = takeOver(work, stopped);
+                done = next == null;
+                if (next != null) {
+                    LOG.debug("Processing bitstream id = " + next.getID());
+                    Bitstream bitstream = bitstreamService.find(workerContext, next.getID());
+                    MostRecentChecksum info;
+                    if (bitstream == null) {
+                        info = worker.checkBitstream(next);
+                    } else {
+                        loaded.add(bitstream);
+                        Semaphore storeLimit = storeLimits.apply(bitstream.getStoreNumber());
+                        storeLimit.acquireUninterruptibly();
+                        try {
+                            info = worker.checkBitstream(bitstream);
+                        } finally {
+                            storeLimit.release();
+                        }
+                    }
+                    count(info);
+
+                    if (reportVerbose
+                        || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+                        synchronized (collector) {
+                            collector.collect(workerContext, info);
+                        }
+                    }
+                    checked.add(next);
+                    workerContext.flush();
+                }
 
-            if (reportVerbose
-                || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
-                collector.collect(context, info);
+                if (done || checked.size() >= commitBatchSize) {
+                    workerContext.commit();
+                    for (Bitstream bitstream : checked) {
+                        dispatcher.release(bitstream);
+                    }
+                    checked.clear();
+                    for (Bitstream bitstream : loaded) {
+                        workerContext.uncacheEntity(bitstream);
+                    }
+                    loaded.clear();
+                }
+            }
+            workerContext.complete();
+        } finally {
+            if (workerContext.isValid()) {
+                workerContext.abort();
             }
+        }
+    }
 
-            context.uncacheEntity(bitstream);
-            bitstream = dispatcher.next();
+    private void count(MostRecentChecksum info) {
+        checkedCount.incrementAndGet();
+        if (info.isBitstreamFound() && info.getBitstream() != null) {
+            checkedBytes.addAndGet(info.getBitstream().getSizeBytes());
         }
     }
 
@@ -362,4 +607,52 @@ public final class CheckerCommand {
     public void setReportVerbose(boolean reportVerbose) {
         this.reportVerbose = reportVerbose;
     }
+
+    /**
+     * Get the number of threads checking bitstreams at the same time.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the number of threads checking bitstreams at the same time. With more than one thread, the dispatcher
+     * must not dispatch a bitstream again before it is released, as the {@link ConcurrentDispatcher}: it is called
+     * by the thread running {@link #process()} only, but the workers release the bitstreams.
+     *
+     * @param threads the number of threads
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * @return the number of bitstreams checked by the last run
+     */
+    public long getCheckedCount() {
+        return checkedCount.get();
+    }
+
+    /**
+     * @return the size of the bitstreams checked by the last run, in bytes
+     */
+    public long getCheckedBytes() {
+        return checkedBytes.get();
+    }
+
+    /**
+     * @return the duration of the last run, in milliseconds
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * @return the number of bytes checked per second by the last run
+     */
+    public long getThroughput() {
+        return elapsedTime > 0 ? checkedBytes.get() * 1000 / elapsedTime : checkedBytes.get();
+    }
 }
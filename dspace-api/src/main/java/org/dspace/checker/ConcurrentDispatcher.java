@@ -0,0 +1,134 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.core.Context;
+
+/**
+ * The equivalent of the {@link SimpleDispatcher} for several workers checking
+ * bitstreams at the same time: it selects bitstreams in the order that they
+ * were last checked, but never hands out a bitstream which is still being
+ * checked by a worker, that is until the worker calls
+ * {@link #release(Bitstream)} once the new result is committed.
+ *
+ * The oldest records are read in batches, with the given context, which must
+ * belong to the thread calling {@link #next()}, while the workers only call
+ * {@link #release(Bitstream)}: the {@link CheckerCommand} hands the bitstreams
+ * over to its workers, which load them in their own contexts. The context is
+ * cleared before reading the next batch, so that it does not keep all the
+ * records read during the run.
+ */
+public class ConcurrentDispatcher implements BitstreamDispatcher {
+
+    /**
+     * Should this dispatcher keep on dispatching around the collection?
+     */
+    protected boolean loopContinuously = false;
+
+    /**
+     * Date this dispatcher started dispatching.
+     */
+    protected Date processStartTime = null;
+
+    /**
+     * Number of records read at once.
+     */
+    protected int batchSize;
+
+    /**
+     * Access for bitstream information
+     */
+    protected MostRecentChecksumService checksumService;
+
+    protected Context context;
+
+    /**
+     * The bitstreams read and not dispatched yet.
+     */
+    private final Deque<Bitstream> queue = new ArrayDeque<>();
+
+    /**
+     * The ids of the bitstreams dispatched and not released yet.
+     */
+    private final Set<UUID> inFlight = new HashSet<>();
+
+    /**
+     * Whether a batch was read with the context.
+     */
+    private boolean batchRead = false;
+
+    /**
+     * Creates a new ConcurrentDispatcher.
+     *
+     * @param context   Context used to read the records, in the thread calling
+     *                  {@link #next()}, without uncommitted changes as it is
+     *                  cleared
+     * @param startTime timestamp for beginning of checker process
+     * @param looping   indicates whether checker should loop infinitely through
+     *                  most_recent_checksum table
+     * @param batchSize number of records read at once
+     */
+    public ConcurrentDispatcher(Context context, Date startTime, boolean looping, int batchSize) {
+        checksumService = CheckerServiceFactory.getInstance().getMostRecentChecksumService();
+        this.context = context;
+        this.processStartTime = (startTime == null ? null : new Date(startTime.getTime()));
+        this.loopContinuously = looping;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Selects the next candidate bitstream which is not being checked.
+     *
+     * @throws SQLException if database error
+     * @see org.dspace.checker.BitstreamDispatcher#next()
+     */
+    @Override
+    public synchronized Bitstream next() throws SQLException {
+        if (queue.isEmpty()) {
+            if (batchRead) {
+                // the workers load the bitstreams of the previous batches in their own contexts
+                context.clear();
+            }
+            batchRead = true;
+
+            // the bitstreams being checked are still the oldest ones until their results are committed
+            Date lessThanDate = !loopContinuously ? processStartTime : null;
+            List<MostRecentChecksum> records = checksumService.findOldestRecords(context, lessThanDate,
+                                                                                 batchSize + inFlight.size());
+            for (MostRecentChecksum record : records) {
+                Bitstream bitstream = record.getBitstream();
+                if (!inFlight.contains(bitstream.getID())) {
+                    queue.add(bitstream);
+                }
+            }
+        }
+
+        Bitstream bitstream = queue.poll();
+        if (bitstream != null) {
+            inFlight.add(bitstream.getID());
+        }
+        return bitstream;
+    }
+
+    @Override
+    public synchronized void release(Bitstream bitstream) {
+        inFlight.remove(bitstream.getID());
+    }
+}
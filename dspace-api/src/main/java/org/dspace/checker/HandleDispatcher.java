@@ -118,7 +118,7 @@ public class HandleDispatcher implements BitstreamDispatcher {
      * @see org.dspace.checker.BitstreamDispatcher#next()
      */
     @Override
-    public Bitstream next() throws SQLException {
+    public synchronized Bitstream next() throws SQLException {
         if (!init) {
             init();
         }
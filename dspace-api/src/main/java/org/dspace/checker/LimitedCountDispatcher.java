@@ -66,7 +66,7 @@ public class LimitedCountDispatcher implements BitstreamDispatcher {
      * @throws SQLException if database error
      */
     @Override
-    public Bitstream next() throws SQLException {
+    public synchronized Bitstream next() throws SQLException {
         if (remaining > 0) {
             remaining--;
 
@@ -75,4 +75,9 @@ public class LimitedCountDispatcher implements BitstreamDispatcher {
             return null;
         }
     }
+
+    @Override
+    public void release(Bitstream bitstream) {
+        delegate.release(bitstream);
+    }
 }
@@ -68,4 +68,9 @@ public class LimitedDurationDispatcher implements BitstreamDispatcher {
     public Bitstream next() throws SQLException {
         return (System.currentTimeMillis() > end) ? null : delegate.next();
     }
+
+    @Override
+    public void release(Bitstream bitstream) {
+        delegate.release(bitstream);
+    }
 }
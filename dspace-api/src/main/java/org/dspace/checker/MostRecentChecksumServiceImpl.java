@@ -179,6 +179,21 @@ public class MostRecentChecksumServiceImpl implements MostRecentChecksumService
         return mostRecentChecksumDAO.getOldestRecord(context, lessThanDate);
     }
 
+    /**
+     * Returns the oldest bitstreams to be processed, in the order they should be checked.
+     *
+     * @param context      context
+     * @param lessThanDate if not null, only the bitstreams whose last check started before this date are returned
+     * @param limit        the maximum number of bitstreams
+     * @return the oldest MostRecentChecksum records
+     * @throws SQLException if database error
+     */
+    @Override
+    public List<MostRecentChecksum> findOldestRecords(Context context, Date lessThanDate, int limit)
+        throws SQLException {
+        return mostRecentChecksumDAO.getOldestRecords(context, lessThanDate, limit);
+    }
+
     @Override
     public List<MostRecentChecksum> findNotInHistory(Context context) throws SQLException {
         return mostRecentChecksumDAO.findNotInHistory(context);
@@ -76,6 +76,12 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
     @Transient
     private boolean modifiedMetadata = false;
 
+    /**
+     * Index of the metadata values by field, built on the first lookup and dropped when the metadata are modified
+     */
+    @Transient
+    private MetadataIndex metadataIndex;
+
     /**
      * Flag set when data is modified, for events
      */
@@ -176,6 +182,18 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     public void setMetadata(List<MetadataValue> metadata) {
         this.metadata = metadata;
+        this.metadataIndex = null;
+    }
+
+    /**
+     * @return the index of the metadata values of this object, built if needed
+     */
+    MetadataIndex getMetadataIndex() {
+        List<MetadataValue> metadata = getMetadata();
+        if (metadataIndex == null || !metadataIndex.isIndexOf(metadata)) {
+            metadataIndex = new MetadataIndex(metadata);
+        }
+        return metadataIndex;
     }
 
     protected void removeMetadata(MetadataValue metadataValue) {
@@ -205,6 +223,7 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     protected void setMetadataModified() {
         this.modifiedMetadata = true;
+        this.metadataIndex = null;
     }
 
     public boolean isModified() {
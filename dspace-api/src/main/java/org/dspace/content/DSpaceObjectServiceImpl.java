@@ -124,13 +124,9 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
 
     @Override
     public List<MetadataValue> getMetadata(T dso, String schema, String element, String qualifier, String lang) {
-        // Build up list of matching values
-        List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : dso.getMetadata()) {
-            if (match(schema, element, qualifier, dcv)) {
-                values.add(dcv);
-            }
-        }
+        // Build up list of matching values, only looking at the values of the matching fields
+        List<MetadataValue> values = dso.getMetadataIndex().find(schema, element, qualifier,
+            dcv -> match(schema, element, qualifier, dcv));
 
         values = getFilteredMetadataValuesByLanguage(values, lang);
 
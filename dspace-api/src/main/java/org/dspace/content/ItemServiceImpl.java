@@ -1908,6 +1908,14 @@ prevent the generation of resource policy entry values with null dspace_object a
                 ids.stream().map(uuid -> UUID.fromString(uuid)).distinct().collect(Collectors.toList()));
     }
 
+    @Override
+    public List<Item> findAllByIds(Context context, List<UUID> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemDAO.findAllByIds(context, ids);
+    }
+
     @Override
     public int countItems(Context context, Collection collection) throws SQLException {
         return itemDAO.countItems(context, collection, true, false);
@@ -2074,12 +2082,8 @@ prevent the generation of resource policy entry values with null dspace_object a
 
         log.debug("Called getMetadata for " + item.getID() + " based on cache");
         // Build up list of matching values based on the cache
-        List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : item.getCachedMetadata()) {
-            if (match(schema, element, qualifier, dcv)) {
-                values.add(dcv);
-            }
-        }
+        List<MetadataValue> values = item.getCachedMetadataIndex().find(schema, element, qualifier,
+            dcv -> match(schema, element, qualifier, dcv));
 
         values = getFilteredMetadataValuesByLanguage(values, lang);
 
@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Index of a list of metadata values by metadata field, so that the values of a field are found without going
+ * through all the values of the object. It is built lazily by {@link DSpaceObject#getMetadataIndex()} and dropped
+ * whenever the metadata of the object are modified.
+ *
+ * The values are returned in the order of the indexed list, also when they belong to several fields.
+ */
+final class MetadataIndex {
+
+    private final List<MetadataValue> metadata;
+    private final int size;
+
+    /**
+     * The values of each field, by schema.element.qualifier name
+     */
+    private final Map<String, FieldValues> byField = new LinkedHashMap<>();
+
+    MetadataIndex(List<MetadataValue> metadata) {
+        this.metadata = metadata;
+        this.size = metadata.size();
+        int position = 0;
+        for (MetadataValue metadataValue : metadata) {
+            byField.computeIfAbsent(metadataValue.getMetadataField().toString('.'), name -> new FieldValues())
+                   .add(metadataValue, position++);
+        }
+    }
+
+    /**
+     * Check that this index still matches the given list. The list itself can be modified without going through
+     * {@link DSpaceObject#setMetadataModified()}, comparing the sizes catches most of these changes.
+     *
+     * @param metadata the current list of metadata values
+     * @return true if this index was built from that list and its size didn't change
+     */
+    boolean isIndexOf(List<MetadataValue> metadata) {
+        return this.metadata == metadata && size == metadata.size();
+    }
+
+    /**
+     * Find the values of the fields matching the given schema, element and qualifier.
+     *
+     * @param schema    the schema name, or {@link Item#ANY}
+     * @param element   the element, or {@link Item#ANY}
+     * @param qualifier the qualifier, {@link Item#ANY}, or null or empty for the unqualified field
+     * @param matcher   the test of the fields, evaluated on the first value of each field when a wildcard is used
+     * @return the matching values, in the order of the indexed list
+     */
+    List<MetadataValue> find(String schema, String element, String qualifier, Predicate<MetadataValue> matcher) {
+        if (!Item.ANY.equals(schema) && !Item.ANY.equals(element) && !Item.ANY.equals(qualifier)) {
+            FieldValues fieldValues = byField.get(StringUtils.isBlank(qualifier) ? schema + "." + element
+                                                     : schema + "." + element + "." + qualifier);
+            return fieldValues != null ? new ArrayList<>(fieldValues.values) : new ArrayList<>();
+        }
+
+        List<FieldValues> matching = new ArrayList<>();
+        for (FieldValues fieldValues : byField.values()) {
+            if (matcher.test(fieldValues.values.get(0))) {
+                matching.add(fieldValues);
+            }
+        }
+        if (matching.size() == 1) {
+            return new ArrayList<>(matching.get(0).values);
+        }
+
+        // merge the values of the fields back in the order of the list
+        List<int[]> positions = new ArrayList<>();
+        List<MetadataValue> values = new ArrayList<>();
+        for (FieldValues fieldValues : matching) {
+            for (int i = 0; i < fieldValues.values.size(); i++) {
+                positions.add(new int[] {fieldValues.positions.get(i), values.size()});
+                values.add(fieldValues.values.get(i));
+            }
+        }
+        positions.sort(Comparator.comparingInt(position -> position[0]));
+        List<MetadataValue> result = new ArrayList<>(values.size());
+        for (int[] position : positions) {
+            result.add(values.get(position[1]));
+        }
+        return result;
+    }
+
+    private static final class FieldValues {
+
+        private final List<MetadataValue> values = new ArrayList<>();
+        private final List<Integer> positions = new ArrayList<>();
+
+        private void add(MetadataValue metadataValue, int position) {
+            values.add(metadataValue);
+            positions.add(position);
+        }
+    }
+}
@@ -238,5 +238,14 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findByIds(Context context, List<UUID> ids) throws SQLException;
 
+    /**
+     * Load all the Items matching the given ids with their metadata, in a single query per thousand ids.
+     * @param context          context
+     * @param ids              the list of ids
+     * @return the items found, in no particular order
+     * @throws SQLException
+     */
+    List<Item> findAllByIds(Context context, List<UUID> ids) throws SQLException;
+
 
 }
@@ -24,6 +24,7 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 
+import org.apache.commons.collections4.ListUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
 import org.dspace.content.DSpaceObject_;
@@ -40,6 +41,7 @@ import org.dspace.core.Context;
 import org.dspace.core.UUIDIterator;
 import org.dspace.eperson.EPerson;
 import org.dspace.util.JpaCriteriaBuilderKit;
+import org.hibernate.jpa.QueryHints;
 
 /**
  * Hibernate implementation of the Database Access Object interface class for the Item object.
@@ -493,4 +495,18 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return new UUIDIterator<Item>(context, ids, Item.class, this);
     }
 
+    @Override
+    public List<Item> findAllByIds(Context context, List<UUID> ids) throws SQLException {
+        List<Item> items = new ArrayList<>(ids.size());
+        for (List<UUID> partition : ListUtils.partition(ids, 1000)) {
+            // the metadata are fetched with the items rather than by one query per item
+            Query query = createQuery(context, "SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.metadata"
+                + " WHERE i.id IN (:ids)");
+            query.setParameter("ids", partition);
+            query.setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false);
+            items.addAll(list(query));
+        }
+        return items;
+    }
+
 }
@@ -1027,6 +1027,16 @@ public interface ItemService
      */
     Iterator<Item> findByIds(Context context, List<String> ids) throws SQLException;
 
+    /**
+     * Load all the items matching the given list of ids, with their metadata, in as few queries as possible.
+     *
+     * @param context         DSpace context object
+     * @param ids             the ids of the items
+     * @return the items found, in no particular order
+     * @throws SQLException   if database error
+     */
+    List<Item> findAllByIds(Context context, List<UUID> ids) throws SQLException;
+
     /**
      * Retrieve the label of the entity type of the given item.
      * @param  item the item.
@@ -10,10 +10,12 @@ package org.dspace.core;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
@@ -31,6 +33,8 @@ import org.dspace.event.Dispatcher;
 import org.dspace.event.Event;
 import org.dspace.event.factory.EventServiceFactory;
 import org.dspace.event.service.EventService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.rdbms.DatabaseConfigVO;
 import org.dspace.storage.rdbms.DatabaseUtils;
 import org.dspace.utils.DSpace;
@@ -111,6 +115,35 @@ public class Context implements AutoCloseable {
      */
     private LinkedList<Event> events = null;
 
+    /**
+     * The last pending event of each subject, into which the following events of the subject are coalesced
+     */
+    private Map<String, Event> lastEvents = null;
+
+    /**
+     * The pending MODIFY_METADATA events by subject and object, once the transaction holds so many events that
+     * they are summarized, see {@link #addEvent(Event)}
+     */
+    private Map<String, Event> summarizedEvents = null;
+
+    /**
+     * Whether the events are coalesced, null until the first event is added
+     */
+    private Boolean coalesceEvents = null;
+
+    private int eventsSummarizeThreshold;
+
+    /**
+     * The number of events added to this context, and the number of those coalesced into previous events
+     */
+    private long rawEventCount = 0;
+    private long coalescedEventCount = 0;
+
+    /**
+     * Tasks to run once the current transaction is committed
+     */
+    private List<Runnable> afterCommitTasks = null;
+
     /**
      * Event dispatcher name
      */
@@ -451,6 +484,34 @@ public class Context implements AutoCloseable {
                 reloadContextBoundEntities();
             }
         }
+        runAfterCommitTasks();
+    }
+
+    /**
+     * Run a task once the current transaction is committed, e.g. to hand over its changes to another thread which
+     * must see them in the database. The task is discarded if the transaction is rolled back.
+     *
+     * @param task the task to run after the commit, in the committing thread
+     */
+    public void runAfterCommit(Runnable task) {
+        if (afterCommitTasks == null) {
+            afterCommitTasks = new ArrayList<>();
+        }
+        afterCommitTasks.add(task);
+    }
+
+    private void runAfterCommitTasks() {
+        List<Runnable> tasks = afterCommitTasks;
+        afterCommitTasks = null;
+        if (tasks != null) {
+            for (Runnable task : tasks) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Error running a task after the commit", e);
+                }
+            }
+        }
     }
 
     public void clear() {
@@ -476,12 +537,16 @@ public class Context implements AutoCloseable {
                 if (dispName == null) {
                     dispName = EventService.DEFAULT_DISPATCHER;
                 }
+                if (log.isDebugEnabled()) {
+                    log.debug("Dispatching " + events.size() + " events, " + coalescedEventCount
+                                  + " of the " + rawEventCount + " events added to the context were coalesced");
+                }
 
                 dispatcher = eventService.getDispatcher(dispName);
                 dispatcher.dispatch(this);
             }
         } finally {
-            events = null;
+            clearEvents();
             if (dispatcher != null) {
                 eventService.returnDispatcher(dispName, dispatcher);
             }
@@ -504,6 +569,13 @@ public class Context implements AutoCloseable {
     /**
      * Add an event to be dispatched when this context is committed.
      * NOTE: Read-only Contexts cannot add events, as they cannot modify objects.
+     * <p>
+     * Unless {@code context.events.coalesce} is false, an event is merged into the pending event of the same subject
+     * which precedes it, if the consumers would learn nothing more from it (see {@link Event#coalesce(Event)}):
+     * e.g. the MODIFY_METADATA events of the successive updates of an item. Once more than
+     * {@code context.events.summarize-threshold} events are pending, the MODIFY_METADATA events of an object are all
+     * merged into its first pending one, even if other events of the object came in between, so that the memory
+     * used by a huge transaction is bounded by the number of modified objects rather than by the number of changes.
      *
      * @param event event to be dispatched
      */
@@ -519,9 +591,87 @@ public class Context implements AutoCloseable {
             events = new LinkedList<>();
         }
 
+        rawEventCount++;
+        if (isCoalescingEvents() && coalesceEvent(event)) {
+            coalescedEventCount++;
+            return;
+        }
         events.add(event);
     }
 
+    private boolean isCoalescingEvents() {
+        if (coalesceEvents == null) {
+            ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+            coalesceEvents = configurationService.getBooleanProperty("context.events.coalesce", true);
+            eventsSummarizeThreshold = configurationService.getIntProperty("context.events.summarize-threshold",
+                                                                           10000);
+        }
+        return coalesceEvents;
+    }
+
+    /**
+     * @return true if the event was merged into a pending event, otherwise it is now the last event of its subject
+     */
+    private boolean coalesceEvent(Event event) {
+        if (lastEvents == null) {
+            lastEvents = new HashMap<>();
+        }
+        String subject = event.getSubjectType() + "-" + event.getSubjectID();
+        Event previous = summarizedEvents != null && event.getEventType() == Event.MODIFY_METADATA
+            ? summarizedEvents.get(getSummaryKey(event)) : lastEvents.get(subject);
+        if (previous != null && previous.coalesce(event)) {
+            return true;
+        }
+
+        lastEvents.put(subject, event);
+        if (summarizedEvents != null) {
+            if (event.getEventType() == Event.MODIFY_METADATA) {
+                summarizedEvents.put(getSummaryKey(event), event);
+            }
+        } else if (events.size() >= eventsSummarizeThreshold) {
+            log.info("More than " + eventsSummarizeThreshold + " events pending, summarizing the next ones");
+            summarizedEvents = new HashMap<>();
+            for (Event pending : events) {
+                if (pending.getEventType() == Event.MODIFY_METADATA) {
+                    summarizedEvents.putIfAbsent(getSummaryKey(pending), pending);
+                }
+            }
+            if (event.getEventType() == Event.MODIFY_METADATA) {
+                summarizedEvents.putIfAbsent(getSummaryKey(event), event);
+            }
+        }
+        return false;
+    }
+
+    private String getSummaryKey(Event event) {
+        return event.getSubjectType() + "-" + event.getSubjectID() + "-" + event.getObjectType() + "-"
+            + event.getObjectID();
+    }
+
+    /**
+     * Forget the pending events, e.g. once they are dispatched.
+     */
+    private void clearEvents() {
+        events = null;
+        lastEvents = null;
+        summarizedEvents = null;
+    }
+
+    /**
+     * @return the number of events added to this context since it was created, including the coalesced ones
+     */
+    public long getRawEventCount() {
+        return rawEventCount;
+    }
+
+    /**
+     * @return the number of events added to this context since it was created which were merged into a previous
+     *         event rather than dispatched
+     */
+    public long getCoalescedEventCount() {
+        return coalescedEventCount;
+    }
+
     /**
      * Get the current event list. If there is a separate list of events from
      * already-committed operations combine that with current list.
@@ -547,7 +697,16 @@ public class Context implements AutoCloseable {
      */
     public Event pollEvent() {
         if (hasEvents()) {
-            return events.poll();
+            Event event = events.poll();
+            // the events added from now on must not be coalesced into a dispatched event
+            String subject = event.getSubjectType() + "-" + event.getSubjectID();
+            if (lastEvents != null && lastEvents.get(subject) == event) {
+                lastEvents.remove(subject);
+            }
+            if (summarizedEvents != null && summarizedEvents.get(getSummaryKey(event)) == event) {
+                summarizedEvents.remove(getSummaryKey(event));
+            }
+            return event;
         } else {
             return null;
         }
@@ -579,7 +738,8 @@ public class Context implements AutoCloseable {
                 reloadContextBoundEntities();
             }
         } finally {
-            events = null;
+            clearEvents();
+            afterCommitTasks = null;
         }
     }
 
@@ -617,7 +777,8 @@ public class Context implements AutoCloseable {
             } catch (Exception ex) {
                 log.error("Error closing the database connection", ex);
             }
-            events = null;
+            clearEvents();
+            afterCommitTasks = null;
         }
     }
 
@@ -972,6 +1133,24 @@ public class Context implements AutoCloseable {
         }
     }
 
+    public void cacheResourcePolicies(UUID dspaceObjectId, List<ResourcePolicy> policies) {
+        if (isReadOnly()) {
+            readOnlyCache.cacheResourcePolicies(dspaceObjectId, policies);
+        }
+    }
+
+    /**
+     * @param dspaceObject the object
+     * @return all the resource policies of the object if they were preloaded, otherwise null
+     */
+    public List<ResourcePolicy> getCachedResourcePolicies(DSpaceObject dspaceObject) {
+        if (isReadOnly()) {
+            return readOnlyCache.getCachedResourcePolicies(dspaceObject);
+        } else {
+            return null;
+        }
+    }
+
     /**
      * Reload all entities related to this context.
      *
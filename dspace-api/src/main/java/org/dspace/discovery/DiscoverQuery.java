@@ -28,6 +28,11 @@ import org.dspace.discovery.configuration.DiscoverySearchFilterFacet;
  */
 public class DiscoverQuery {
 
+    /**
+     * The cursor mark of the first page of the results, see {@link #setCursorMark(String)}
+     */
+    public static final String CURSOR_MARK_START = "*";
+
     /**
      * Main attributes for the discovery query
      **/
@@ -37,6 +42,8 @@ public class DiscoverQuery {
     private final List<String> fieldPresentQueries;
     private boolean spellCheck;
     private boolean includeNotDiscoverableOrWithdrawn;
+    private boolean indexOnly;
+    private String cursorMark;
 
     private int start = 0;
     private int maxResults = -1;
@@ -115,6 +122,37 @@ public class DiscoverQuery {
         this.start = start;
     }
 
+    public String getCursorMark() {
+        return cursorMark;
+    }
+
+    /**
+     * Page through the results with a cursor rather than with an offset, so that the cost of a page doesn't grow
+     * with its position in the results: the first page is requested with {@link #CURSOR_MARK_START}, the next ones
+     * with the cursor mark returned with the previous page, see {@link #moveCursor(DiscoverResult)}. The start of
+     * the query is ignored, and the results are sorted on their unique id after the sort field, if any.
+     *
+     * @param cursorMark the cursor mark of the page, null to page with the start of the query
+     */
+    public void setCursorMark(String cursorMark) {
+        this.cursorMark = cursorMark;
+    }
+
+    /**
+     * Move the cursor of the query to the page following the given page of its results.
+     *
+     * @param result the page of the results returned for the current cursor mark
+     * @return false if the given page was the last one
+     */
+    public boolean moveCursor(DiscoverResult result) {
+        String nextCursorMark = result.getNextCursorMark();
+        if (nextCursorMark == null || nextCursorMark.equals(cursorMark)) {
+            return false;
+        }
+        cursorMark = nextCursorMark;
+        return true;
+    }
+
     public void setSortField(String sortField, SORT_ORDER sortOrder) {
         this.sortField = sortField;
         this.sortOrder = sortOrder;
@@ -366,6 +404,25 @@ public class DiscoverQuery {
         this.spellCheck = spellCheck;
     }
 
+    /**
+     * @return true if the results are built from the search index only, without loading their entities from the
+     *         database
+     */
+    public boolean isIndexOnly() {
+        return indexOnly;
+    }
+
+    /**
+     * Build the results from the search index only, as
+     * {@link org.dspace.discovery.indexobject.IndexableSolrDocument}s: for the callers which only read the search
+     * fields of the results. The stale results are not detected.
+     *
+     * @param indexOnly whether the entities of the results must not be loaded from the database
+     */
+    public void setIndexOnly(boolean indexOnly) {
+        this.indexOnly = indexOnly;
+    }
+
     public void addYearRangeFacet(DiscoverySearchFilterFacet facet, FacetYearRange facetYearRange) {
         if (facetYearRange.isValid()) {
 
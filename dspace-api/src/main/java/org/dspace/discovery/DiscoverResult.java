@@ -47,6 +47,7 @@ public class DiscoverResult {
     private int searchTime;
     private Map<String, IndexableObjectHighlightResult> highlightedResults;
     private String spellCheckQuery;
+    private String nextCursorMark;
 
     public DiscoverResult() {
         indexableObjects = new ArrayList<IndexableObject>();
@@ -324,6 +325,17 @@ public class DiscoverResult {
         this.spellCheckQuery = spellCheckQuery;
     }
 
+    /**
+     * @return the cursor mark of the next page of the results, null if the query was not paged with a cursor
+     */
+    public String getNextCursorMark() {
+        return nextCursorMark;
+    }
+
+    public void setNextCursorMark(String nextCursorMark) {
+        this.nextCursorMark = nextCursorMark;
+    }
+
     /**
      * An utility class to represent the highlighting section of a Discovery Search
      *
@@ -68,6 +68,11 @@ public class DiscoverResultIterator<T extends ReloadableEntity, PK extends Seria
         this.uncacheEntitites = uncacheEntities;
         this.maxResults = maxResults;
 
+        // page with a cursor, whose cost doesn't grow with the position of the page, unless a start is required
+        if (discoverQuery.getStart() <= 0 && discoverQuery.getCursorMark() == null) {
+            discoverQuery.setCursorMark(DiscoverQuery.CURSOR_MARK_START);
+        }
+
         updateCurrentSlotIterator();
     }
 
@@ -80,7 +85,11 @@ public class DiscoverResultIterator<T extends ReloadableEntity, PK extends Seria
             return true;
         }
 
-        this.discoverQuery.setStart(iteratorCounter);
+        if (discoverQuery.getCursorMark() == null) {
+            this.discoverQuery.setStart(iteratorCounter);
+        } else if (!discoverQuery.moveCursor(currentDiscoverResult)) {
+            return false;
+        }
 
         if (uncacheEntitites) {
             uncacheEntitites();
@@ -105,6 +105,7 @@ public class FacetYearRange {
         yearRangeQuery.setSortField(dateFacet + "_sort", DiscoverQuery.SORT_ORDER.asc);
         yearRangeQuery.addFilterQueries(filterQueries.toArray(new String[filterQueries.size()]));
         yearRangeQuery.addSearchField(dateFacet);
+        yearRangeQuery.setIndexOnly(true);
         boolean isRelatedEntity =
             StringUtils.isNotBlank(parentQuery.getDiscoveryConfigurationName()) &&
             parentQuery.getDiscoveryConfigurationName().toUpperCase().startsWith("RELATION");
@@ -7,6 +7,9 @@
  */
 package org.dspace.discovery;
 
+import static org.dspace.discovery.IndexClientOptions.BATCH_SIZE_OPTION;
+import static org.dspace.discovery.IndexClientOptions.RESUME_OPTION;
+import static org.dspace.discovery.IndexClientOptions.THREADS_OPTION;
 import static org.dspace.discovery.IndexClientOptions.TYPE_OPTION;
 
 import java.io.IOException;
@@ -36,6 +39,7 @@ import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.metrics.UpdateCrisMetricsInSolrDocService;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
@@ -51,6 +55,10 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
 
     private IndexClientOptions indexClientOptions;
 
+    private int threads;
+    private int batchSize;
+    private boolean resume;
+
     private UpdateCrisMetricsInSolrDocService updateCrisMetricsInSolrDocService;
 
     @Override
@@ -137,8 +145,12 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                 handler.logWarning(String.format("Type option, %s, not applicable for entire index rebuild option, b" +
                         ", type will be ignored", TYPE_OPTION));
             }
-            indexer.deleteIndex();
-            indexer.createIndex(context);
+            if (resume) {
+                handler.logInfo("Resuming the interrupted (re)build of the index");
+            } else {
+                indexer.deleteIndex();
+            }
+            indexer.updateIndex(context, true, null, threads, batchSize, resume);
             if (indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
                 checkRebuildSpellCheck(commandLine, indexer);
             }
@@ -157,14 +169,14 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
         } else if (indexClientOptions == IndexClientOptions.UPDATE ||
             indexClientOptions == IndexClientOptions.UPDATEANDSPELLCHECK) {
             handler.logInfo("Updating Index");
-            indexer.updateIndex(context, false, type);
+            indexer.updateIndex(context, false, type, threads, batchSize, resume);
             if (indexClientOptions == IndexClientOptions.UPDATEANDSPELLCHECK) {
                 checkRebuildSpellCheck(commandLine, indexer);
             }
         } else if (indexClientOptions == IndexClientOptions.FORCEUPDATE ||
             indexClientOptions == IndexClientOptions.FORCEUPDATEANDSPELLCHECK) {
             handler.logInfo("Updating Index");
-            indexer.updateIndex(context, true, type);
+            indexer.updateIndex(context, true, type, threads, batchSize, resume);
             if (indexClientOptions == IndexClientOptions.FORCEUPDATEANDSPELLCHECK) {
                 checkRebuildSpellCheck(commandLine, indexer);
             }
@@ -188,9 +200,31 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             throw new ParseException("Unable to create a new DSpace Context: " + e.getMessage());
         }
         indexClientOptions = IndexClientOptions.getIndexClientOption(commandLine);
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        threads = getIntOption(THREADS_OPTION, configurationService.getIntProperty("discovery.reindex.threads", 1));
+        batchSize = getIntOption(BATCH_SIZE_OPTION,
+                                 configurationService.getIntProperty("discovery.reindex.batch-size", 100));
+        resume = commandLine.hasOption(RESUME_OPTION);
         updateCrisMetricsInSolrDocService = new DSpace().getServiceManager().getServiceByName(
                 UpdateCrisMetricsInSolrDocService.class.getName(), UpdateCrisMetricsInSolrDocService.class);
     }
+
+    private int getIntOption(String option, int defaultValue) throws ParseException {
+        if (!commandLine.hasOption(option)) {
+            return defaultValue;
+        }
+        String value = commandLine.getOptionValue(option);
+        try {
+            int intValue = Integer.parseInt(value);
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new ParseException("The -" + option + " option must be a positive number, not " + value);
+    }
+
     /**
      * Indexes the given object and all children, if applicable.
      *
@@ -35,6 +35,9 @@ public enum IndexClientOptions {
     HELP;
 
     public static final String TYPE_OPTION = "t";
+    public static final String THREADS_OPTION = "j";
+    public static final String BATCH_SIZE_OPTION = "n";
+    public static final String RESUME_OPTION = "u";
 
     /**
      * This method resolves the CommandLine parameters to figure out which action the index-discovery script should
@@ -95,6 +98,12 @@ public enum IndexClientOptions {
         options.addOption("s", "spellchecker", false, "Rebuild the spellchecker, can be combined with -b and -f.");
         options.addOption("f", "force", false,
                           "if updating existing index, force each handle to be reindexed even if uptodate");
+        options.addOption(THREADS_OPTION, "threads", true,
+                          "number of threads building the documents when (re)building or updating the index");
+        options.addOption(BATCH_SIZE_OPTION, "batch-size", true,
+                          "number of documents sent to the index in a single request, when using several threads");
+        options.addOption(RESUME_OPTION, "resume", false,
+                          "resume an interrupted (re)build or update of the index, from its checkpoint file");
         options.addOption("h", "help", false, "print this help message");
         return options;
     }
@@ -8,10 +8,18 @@
 package org.dspace.discovery;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bundle;
 import org.dspace.content.DSpaceObject;
@@ -21,6 +29,7 @@ import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.event.Consumer;
 import org.dspace.event.Event;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
@@ -50,6 +59,13 @@ public class IndexEventConsumer implements Consumer {
 
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
+    private static ExecutorService asyncExecutor;
+
+    /**
+     * The room left in the queue of the indexing thread.
+     */
+    private static Semaphore asyncRoom;
+
     @Override
     public void initialize() throws Exception {
 
@@ -206,66 +222,201 @@ public class IndexEventConsumer implements Consumer {
      * Process sets of objects to add, update, and delete in index. Correct for
      * interactions between the sets -- e.g. objects which were deleted do not
      * need to be added or updated, new objects don't also need an update, etc.
+     *
+     * The documents are sent to the index in batches of {@code discovery.consumer.batch-size}. When
+     * {@code discovery.consumer.async} is enabled, the indexing is handed over to a background thread, so that the
+     * committing transaction doesn't wait for it. When {@code discovery.consumer.queue} is enabled, the changes are
+     * only queued in the database, see {@link IndexQueueService}.
      */
     @Override
     public void end(Context ctx) throws Exception {
+        if (objectsToUpdate.isEmpty() && uniqueIdsToDelete.isEmpty() && createdItemsToUpdate.isEmpty()) {
+            return;
+        }
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        int batchSize = Math.max(1, configurationService.getIntProperty("discovery.consumer.batch-size", 100));
+
+        try {
+            if (configurationService.getBooleanProperty("discovery.consumer.queue", false)) {
+                enqueue(ctx);
+            } else if (configurationService.getBooleanProperty("discovery.consumer.async", false)) {
+                AsyncIndexing indexing = new AsyncIndexing(uniqueIdsToDelete, objectsToUpdate, createdItemsToUpdate,
+                                                           batchSize);
+                // the events are dispatched before the commit, the changes must be visible to the indexing thread
+                ctx.runAfterCommit(() -> indexAsynchronously(configurationService, indexing));
+            } else {
+                index(ctx, uniqueIdsToDelete, objectsToUpdate, createdItemsToUpdate, batchSize);
+            }
+        } finally {
+            // "free" the resources
+            objectsToUpdate.clear();
+            uniqueIdsToDelete.clear();
+            createdItemsToUpdate.clear();
+        }
+    }
 
+    /**
+     * Queue the changes in the database, in the transaction which made them, see {@link IndexQueueService}.
+     */
+    private void enqueue(Context ctx) throws SQLException {
+        IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+        for (String uid : uniqueIdsToDelete) {
+            indexQueueService.enqueueUnindex(ctx, uid);
+        }
+        for (IndexableObject iu : objectsToUpdate) {
+            indexQueueService.enqueueIndex(ctx, iu.getUniqueIndexID(), false);
+        }
+        for (IndexableObject iu : createdItemsToUpdate) {
+            indexQueueService.enqueueIndex(ctx, iu.getUniqueIndexID(), true);
+        }
+    }
+
+    private void index(Context ctx, Set<String> uniqueIdsToDelete, Set<IndexableObject> objectsToUpdate,
+                       Set<IndexableObject> createdItemsToUpdate, int batchSize) throws SearchServiceException {
         // Change the mode to readonly to improve performance
         Context.Mode originalMode = ctx.getCurrentMode();
         ctx.setMode(Context.Mode.READ_ONLY);
 
         try {
-            for (String uid : uniqueIdsToDelete) {
-                try {
-                    indexer.unIndexContent(ctx, uid, false);
-                    if (log.isDebugEnabled()) {
-                        log.debug("UN-Indexed Item, handle=" + uid);
-                    }
-                } catch (Exception e) {
-                    log.error("Failed while UN-indexing object: " + uid, e);
+            try {
+                indexer.unIndexContent(ctx, uniqueIdsToDelete, batchSize);
+                if (log.isDebugEnabled()) {
+                    log.debug("UN-Indexed objects " + uniqueIdsToDelete);
                 }
+            } catch (Exception e) {
+                log.error("Failed while UN-indexing objects: " + uniqueIdsToDelete, e);
             }
             // update the changed Items not deleted because they were on create list
-            for (IndexableObject iu : objectsToUpdate) {
-                indexObject(ctx, iu, false);
-            }
+            indexObjects(ctx, objectsToUpdate, false, batchSize);
             // update the created Items with a pre-db status
-            for (IndexableObject iu : createdItemsToUpdate) {
-                indexObject(ctx, iu, true);
-            }
+            indexObjects(ctx, createdItemsToUpdate, true, batchSize);
         } finally {
-            if (!objectsToUpdate.isEmpty() || !uniqueIdsToDelete.isEmpty()) {
-
-                indexer.commit();
-
-                // "free" the resources
-                objectsToUpdate.clear();
-                uniqueIdsToDelete.clear();
-                createdItemsToUpdate.clear();
-            }
-
+            indexer.commit();
             ctx.setMode(originalMode);
         }
     }
 
-    private void indexObject(Context ctx, IndexableObject iu, boolean preDb) throws SQLException {
+    private void indexObjects(Context ctx, Set<IndexableObject> indexableObjects, boolean preDb, int batchSize) {
         /* we let all types through here and
          * allow the search indexer to make
          * decisions on indexing and/or removal
          */
-        iu.setIndexedObject(ctx.reloadEntity(iu.getIndexedObject()));
-        String uniqueIndexID = iu.getUniqueIndexID();
-        if (uniqueIndexID != null) {
+        List<IndexableObject> toIndex = new ArrayList<>(indexableObjects.size());
+        for (IndexableObject iu : indexableObjects) {
             try {
-                indexer.indexContent(ctx, iu, true, false, preDb);
-                log.debug("Indexed "
-                        + iu.getTypeText()
-                        + ", id=" + iu.getID()
-                        + ", unique_id=" + uniqueIndexID);
+                iu.setIndexedObject(ctx.reloadEntity(iu.getIndexedObject()));
+                if (iu.getUniqueIndexID() != null) {
+                    toIndex.add(iu);
+                }
             } catch (Exception e) {
                 log.error("Failed while indexing object: ", e);
             }
         }
+        try {
+            indexer.indexContent(ctx, toIndex, true, preDb, batchSize);
+            log.debug("Indexed " + toIndex.size() + " objects");
+        } catch (Exception e) {
+            log.error("Failed while indexing objects: ", e);
+        }
+    }
+
+    /**
+     * Hand the changes of a committed transaction over to the indexing thread. When too many changes are waiting,
+     * the committing thread waits for room: it never indexes them itself, as the context of the indexing would share
+     * and close the Hibernate session of the committing context.
+     */
+    private static void indexAsynchronously(ConfigurationService configurationService, AsyncIndexing indexing) {
+        ExecutorService executor = getAsyncExecutor(configurationService);
+        try {
+            asyncRoom.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting for room, the changes of a committed transaction are not indexed");
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    indexing.run();
+                } finally {
+                    asyncRoom.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            asyncRoom.release();
+            log.error("The changes of a committed transaction are not indexed", e);
+        }
+    }
+
+    /**
+     * The single thread indexing the changes handed over by the consumers, in the order of the commits.
+     */
+    private static synchronized ExecutorService getAsyncExecutor(ConfigurationService configurationService) {
+        if (asyncExecutor == null) {
+            int queueSize = Math.max(1, configurationService.getIntProperty("discovery.consumer.async.queue-size",
+                                                                            1000));
+            // the queue itself is not bounded, the room left in it is
+            asyncRoom = new Semaphore(queueSize);
+            asyncExecutor = Executors.newSingleThreadExecutor(
+                new BasicThreadFactory.Builder().namingPattern("discovery-consumer-%d").daemon(true).build());
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * Changes of a transaction, indexed in a new context once the transaction is committed. The objects are
+     * identified by their type and identifier, and loaded again by that context.
+     */
+    private class AsyncIndexing implements Runnable {
+        private final List<String> uniqueIdsToDelete;
+        private final List<String> uniqueIdsToUpdate;
+        private final List<String> createdItemsToUpdate;
+        private final int batchSize;
+
+        AsyncIndexing(Set<String> uniqueIdsToDelete, Set<IndexableObject> objectsToUpdate,
+                      Set<IndexableObject> createdItemsToUpdate, int batchSize) {
+            this.uniqueIdsToDelete = new ArrayList<>(uniqueIdsToDelete);
+            this.uniqueIdsToUpdate = toUniqueIds(objectsToUpdate);
+            this.createdItemsToUpdate = toUniqueIds(createdItemsToUpdate);
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void run() {
+            try (Context context = new Context(Context.Mode.READ_ONLY)) {
+                context.turnOffAuthorisationSystem();
+                index(context, new HashSet<>(uniqueIdsToDelete), findIndexableObjects(context, uniqueIdsToUpdate),
+                      findIndexableObjects(context, createdItemsToUpdate), batchSize);
+            } catch (Exception e) {
+                log.error("Failed while indexing the changes of a committed transaction", e);
+            }
+        }
+
+        private List<String> toUniqueIds(Set<IndexableObject> indexableObjects) {
+            List<String> uniqueIds = new ArrayList<>(indexableObjects.size());
+            for (IndexableObject indexableObject : indexableObjects) {
+                uniqueIds.add(indexableObject.getUniqueIndexID());
+            }
+            return uniqueIds;
+        }
+
+        private Set<IndexableObject> findIndexableObjects(Context context, List<String> uniqueIds)
+            throws SQLException {
+            Set<IndexableObject> indexableObjects = new HashSet<>();
+            for (String uniqueId : uniqueIds) {
+                // The unique identifier of an IndexableObject is {type}-{identifier}
+                IndexFactory indexableObjectService = indexObjectServiceFactory.getIndexableObjectFactory(uniqueId);
+                Optional<IndexableObject> indexableObject = indexableObjectService
+                    .findIndexableObject(context, StringUtils.substringAfter(uniqueId, "-"));
+                if (indexableObject.isPresent()) {
+                    indexableObjects.add(indexableObject.get());
+                } else {
+                    log.warn("Cannot resolve " + uniqueId + ", perhaps it has been deleted.");
+                }
+            }
+            return indexableObjects;
+        }
     }
 
     @Override
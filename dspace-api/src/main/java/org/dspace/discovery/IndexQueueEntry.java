@@ -0,0 +1,104 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.Date;
+
+/**
+ * A change waiting in the discovery index queue. All the changes of the same object are coalesced in a single
+ * entry: its documents are first removed from the index if {@link #isUnindex()}, then it is indexed again if
+ * {@link #isReindex()} and it still exists.
+ *
+ * @see IndexQueueService
+ */
+public class IndexQueueEntry {
+
+    private final String uniqueId;
+    private final boolean unindex;
+    private final boolean reindex;
+    private final boolean preDb;
+    private final int revision;
+    private final int attempts;
+    private final Date dateQueued;
+    private final Date nextAttempt;
+
+    public IndexQueueEntry(String uniqueId, boolean unindex, boolean reindex, boolean preDb, int revision,
+                           int attempts, Date dateQueued, Date nextAttempt) {
+        this.uniqueId = uniqueId;
+        this.unindex = unindex;
+        this.reindex = reindex;
+        this.preDb = preDb;
+        this.revision = revision;
+        this.attempts = attempts;
+        this.dateQueued = dateQueued;
+        this.nextAttempt = nextAttempt;
+    }
+
+    /**
+     * @return the search unique id of the object, {type}-{identifier}
+     */
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    /**
+     * @return true if the documents of the object must be removed from the index
+     */
+    public boolean isUnindex() {
+        return unindex;
+    }
+
+    /**
+     * @return true if the object must be indexed
+     */
+    public boolean isReindex() {
+        return reindex;
+    }
+
+    /**
+     * @return true if the item must be indexed with a "preDB" status
+     */
+    public boolean isPreDb() {
+        return preDb;
+    }
+
+    /**
+     * @return the number of times the entry was queued, used to detect changes queued while it is processed
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return the number of failed attempts to apply the change
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return when the change was first queued
+     */
+    public Date getDateQueued() {
+        return dateQueued;
+    }
+
+    /**
+     * @return when the change can be tried again after a failed attempt, null if it was never tried
+     */
+    public Date getNextAttempt() {
+        return nextAttempt;
+    }
+
+    @Override
+    public String toString() {
+        return uniqueId + (unindex ? " unindex" : "") + (reindex ? " reindex" : "") + (preDb ? " predb" : "")
+            + " queued " + dateQueued + (attempts > 0 ? ", " + attempts + " failed attempts" : "")
+            + (nextAttempt != null ? ", next attempt " + nextAttempt : "");
+    }
+}
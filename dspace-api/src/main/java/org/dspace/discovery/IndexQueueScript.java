@@ -0,0 +1,99 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.Date;
+
+import org.apache.commons.cli.ParseException;
+import org.dspace.core.Context;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+
+/**
+ * Script to inspect the discovery index queue, and to apply or retry its changes. Without option, it prints the
+ * state of the queue.
+ *
+ * @see IndexQueueService
+ */
+public class IndexQueueScript extends DSpaceRunnable<IndexQueueScriptConfiguration> {
+
+    private IndexQueueService indexQueueService;
+
+    private int listSize;
+    private boolean process;
+    private boolean retry;
+
+    @Override
+    public IndexQueueScriptConfiguration getScriptConfiguration() {
+        return new DSpace().getServiceManager().getServiceByName("index-queue", IndexQueueScriptConfiguration.class);
+    }
+
+    @Override
+    public void setup() throws ParseException {
+        indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+        if (commandLine.hasOption('l')) {
+            try {
+                listSize = Integer.parseInt(commandLine.getOptionValue('l'));
+            } catch (NumberFormatException e) {
+                throw new ParseException("The -l option must be a number, not " + commandLine.getOptionValue('l'));
+            }
+        }
+        process = commandLine.hasOption('p');
+        retry = commandLine.hasOption('r');
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+        if (commandLine.hasOption('h')) {
+            printHelp();
+            return;
+        }
+
+        Context context = new Context();
+        try {
+            context.turnOffAuthorisationSystem();
+            if (retry) {
+                int retried = indexQueueService.retryFailed(context);
+                context.commit();
+                handler.logInfo(retried + " failed changes will be retried");
+            }
+            if (process) {
+                long start = System.currentTimeMillis();
+                long processed = 0;
+                int count;
+                while ((count = indexQueueService.process(context)) > 0) {
+                    processed += count;
+                }
+                handler.logInfo("Applied " + processed + " changes in "
+                                    + (System.currentTimeMillis() - start) / 1000 + " seconds");
+            }
+            printStatus(context);
+            if (listSize > 0) {
+                for (IndexQueueEntry entry : indexQueueService.findAll(context, listSize, 0)) {
+                    handler.logInfo(entry.toString());
+                }
+            }
+        } finally {
+            context.restoreAuthSystemState();
+            context.complete();
+        }
+    }
+
+    private void printStatus(Context context) throws Exception {
+        Date oldest = indexQueueService.findOldestDateQueued(context);
+        handler.logInfo("Queued changes: " + indexQueueService.countPending(context));
+        handler.logInfo("Changes left aside after too many failed attempts: "
+                            + indexQueueService.countFailed(context));
+        if (oldest != null) {
+            handler.logInfo("Oldest change queued " + oldest + ", "
+                                + (System.currentTimeMillis() - oldest.getTime()) / 1000 + " seconds ago");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+
+import org.dspace.core.Context;
+
+/**
+ * Service managing the durable queue of the changes waiting to be applied to the discovery index.
+ *
+ * When {@code discovery.consumer.queue} is enabled, the {@link IndexEventConsumer} queues the changes in the
+ * database, in the transaction which made them, instead of indexing them. The queue is drained by
+ * {@link #process(Context)}, called by a scheduled poller or by the {@code index-queue} script, so that the
+ * changes are applied even if Solr was unavailable when they were committed. The changes of the same object are
+ * coalesced in a single entry.
+ */
+public interface IndexQueueService {
+
+    /**
+     * Queue the indexing of an object, in the transaction of the given context.
+     *
+     * @param context  the DSpace Context object
+     * @param uniqueId the search unique id of the object
+     * @param preDb    whether the item must be indexed with a "preDB" status
+     * @throws SQLException if a problem with the database occurs
+     */
+    void enqueueIndex(Context context, String uniqueId, boolean preDb) throws SQLException;
+
+    /**
+     * Queue the removal of the documents of an object, in the transaction of the given context.
+     *
+     * @param context  the DSpace Context object
+     * @param uniqueId the search unique id of the object
+     * @throws SQLException if a problem with the database occurs
+     */
+    void enqueueUnindex(Context context, String uniqueId) throws SQLException;
+
+    /**
+     * Apply the oldest changes of the queue to the index, at most {@code discovery.index-queue.batch-size} of them,
+     * and remove them from the queue. The changes which could not be applied stay in the queue and are tried again
+     * by the calls made after an increasing delay, up to {@code discovery.index-queue.max-attempts} times.
+     *
+     * @param context the DSpace Context object, committed by this method
+     * @return the number of changes applied, 0 if the queue is empty or none of the changes could be applied: the
+     *         callers draining the queue stop there
+     * @throws SQLException if a problem with the database occurs
+     */
+    int process(Context context) throws SQLException;
+
+    /**
+     * @param context the DSpace Context object
+     * @param limit   the maximum number of entries
+     * @param offset  the number of entries to skip
+     * @return the queued changes, older first
+     * @throws SQLException if a problem with the database occurs
+     */
+    List<IndexQueueEntry> findAll(Context context, int limit, int offset) throws SQLException;
+
+    /**
+     * @param context the DSpace Context object
+     * @return the number of queued changes
+     * @throws SQLException if a problem with the database occurs
+     */
+    long countPending(Context context) throws SQLException;
+
+    /**
+     * @param context the DSpace Context object
+     * @return the number of queued changes left aside after too many failed attempts
+     * @throws SQLException if a problem with the database occurs
+     */
+    long countFailed(Context context) throws SQLException;
+
+    /**
+     * @param context the DSpace Context object
+     * @return when the oldest queued change was committed, or null if the queue is empty
+     * @throws SQLException if a problem with the database occurs
+     */
+    Date findOldestDateQueued(Context context) throws SQLException;
+
+    /**
+     * Make the changes which failed too many times eligible for processing again.
+     *
+     * @param context the DSpace Context object
+     * @return the number of changes to retry
+     * @throws SQLException if a problem with the database occurs
+     */
+    int retryFailed(Context context) throws SQLException;
+}
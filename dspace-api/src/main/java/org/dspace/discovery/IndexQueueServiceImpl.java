@@ -0,0 +1,235 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.discovery.dao.IndexQueueDAO;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link IndexQueueService}.
+ *
+ * A batch of queued changes is split among {@code discovery.index-queue.workers} threads according to the search
+ * unique id of the objects. Each thread applies its changes in its own read-only context, the documents being sent
+ * to Solr in batches. The changes are removed from the queue once Solr committed them, unless they were queued
+ * again in the meantime. The changes which could not be applied are tried again after
+ * {@code discovery.index-queue.retry-delay} milliseconds, the delay doubling after each failed attempt, so that an
+ * outage of Solr doesn't use up their attempts.
+ */
+public class IndexQueueServiceImpl implements IndexQueueService, InitializingBean, DisposableBean {
+
+    private static final Logger log = LogManager.getLogger(IndexQueueServiceImpl.class);
+
+    @Autowired
+    private IndexQueueDAO indexQueueDAO;
+
+    @Autowired
+    private IndexingService indexingService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private int workers;
+    private ExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        workers = Math.max(1, configurationService.getIntProperty("discovery.index-queue.workers", 1));
+        // even with a single worker, the changes are not applied by the calling thread, whose Hibernate session would
+        // be closed with the context of the worker
+        executor = Executors.newFixedThreadPool(workers,
+            new BasicThreadFactory.Builder().namingPattern("discovery-index-queue-%d").daemon(true).build());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void enqueueIndex(Context context, String uniqueId, boolean preDb) throws SQLException {
+        indexQueueDAO.enqueue(context, uniqueId, false, true, preDb);
+    }
+
+    @Override
+    public void enqueueUnindex(Context context, String uniqueId) throws SQLException {
+        indexQueueDAO.enqueue(context, uniqueId, true, false, false);
+    }
+
+    @Override
+    public int process(Context context) throws SQLException {
+        Date now = new Date();
+        List<IndexQueueEntry> entries = indexQueueDAO.findOldest(context, getBatchSize(), getMaxAttempts(), now);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        // the changes of an object are always applied by the same worker
+        List<List<IndexQueueEntry>> partitions = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (IndexQueueEntry entry : entries) {
+            partitions.get(Math.floorMod(entry.getUniqueId().hashCode(), workers)).add(entry);
+        }
+
+        boolean[] applied = new boolean[workers];
+        List<Future<Boolean>> results = new ArrayList<>(workers);
+        for (List<IndexQueueEntry> partition : partitions) {
+            results.add(executor.submit(() -> apply(partition)));
+        }
+        for (int i = 0; i < workers; i++) {
+            applied[i] = waitFor(results.get(i));
+        }
+
+        try {
+            indexingService.commit();
+        } catch (SearchServiceException e) {
+            log.error("Error committing the changes of the index queue", e);
+            applied = new boolean[workers];
+        }
+
+        int appliedEntries = 0;
+        long retryDelay = getRetryDelay();
+        for (int i = 0; i < workers; i++) {
+            for (IndexQueueEntry entry : partitions.get(i)) {
+                if (applied[i]) {
+                    indexQueueDAO.delete(context, entry);
+                    appliedEntries++;
+                } else {
+                    long delay = retryDelay << Math.min(entry.getAttempts(), 20);
+                    indexQueueDAO.incrementAttempts(context, entry, new Date(now.getTime() + delay));
+                }
+            }
+        }
+        context.commit();
+        return appliedEntries;
+    }
+
+    private boolean waitFor(Future<Boolean> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Error applying the changes of the index queue", e.getCause());
+        }
+        return false;
+    }
+
+    /**
+     * Apply the queued changes in a new context, in a thread of the executor: remove the documents of the objects,
+     * then index the objects which still exist.
+     *
+     * @return true if all the changes were applied
+     */
+    private boolean apply(List<IndexQueueEntry> entries) {
+        if (entries.isEmpty()) {
+            return true;
+        }
+        int batchSize = getBatchSize();
+        try (Context context = new Context(Context.Mode.READ_ONLY)) {
+            context.turnOffAuthorisationSystem();
+            List<String> toUnindex = new ArrayList<>();
+            List<IndexableObject> toIndex = new ArrayList<>();
+            List<IndexableObject> toIndexPreDb = new ArrayList<>();
+            for (IndexQueueEntry entry : entries) {
+                if (entry.isUnindex()) {
+                    toUnindex.add(entry.getUniqueId());
+                }
+                if (entry.isReindex()) {
+                    Optional<IndexableObject> indexableObject = find(context, entry.getUniqueId());
+                    if (indexableObject.isPresent()) {
+                        (entry.isPreDb() ? toIndexPreDb : toIndex).add(indexableObject.get());
+                    }
+                }
+            }
+            int failed = indexingService.unIndexContent(context, toUnindex, batchSize);
+            failed += indexingService.indexContent(context, toIndex, true, false, batchSize);
+            failed += indexingService.indexContent(context, toIndexPreDb, true, true, batchSize);
+            if (failed > 0) {
+                log.warn("{} of {} changes of the index queue could not be applied", failed, entries.size());
+            }
+            return failed == 0;
+        } catch (Exception e) {
+            log.error("Error applying {} changes of the index queue", entries.size(), e);
+            return false;
+        }
+    }
+
+    private Optional<IndexableObject> find(Context context, String uniqueId) throws SQLException {
+        // The unique identifier of an IndexableObject is {type}-{identifier}
+        IndexFactory indexableObjectService = IndexObjectFactoryFactory.getInstance()
+                                                                       .getIndexableObjectFactory(uniqueId);
+        if (indexableObjectService == null) {
+            log.warn("Unknown type of indexable object: " + uniqueId);
+            return Optional.empty();
+        }
+        return indexableObjectService.findIndexableObject(context, StringUtils.substringAfter(uniqueId, "-"));
+    }
+
+    @Override
+    public List<IndexQueueEntry> findAll(Context context, int limit, int offset) throws SQLException {
+        return indexQueueDAO.findAll(context, limit, offset);
+    }
+
+    @Override
+    public long countPending(Context context) throws SQLException {
+        return indexQueueDAO.count(context, 0);
+    }
+
+    @Override
+    public long countFailed(Context context) throws SQLException {
+        return indexQueueDAO.count(context, getMaxAttempts());
+    }
+
+    @Override
+    public Date findOldestDateQueued(Context context) throws SQLException {
+        return indexQueueDAO.findOldestDateQueued(context);
+    }
+
+    public void setIndexingService(IndexingService indexingService) {
+        this.indexingService = indexingService;
+    }
+
+    @Override
+    public int retryFailed(Context context) throws SQLException {
+        return indexQueueDAO.resetAttempts(context);
+    }
+
+    private int getBatchSize() {
+        return Math.max(1, configurationService.getIntProperty("discovery.index-queue.batch-size", 100));
+    }
+
+    private long getRetryDelay() {
+        return Math.max(0, configurationService.getLongProperty("discovery.index-queue.retry-delay", 60000));
+    }
+
+    private int getMaxAttempts() {
+        return Math.max(1, configurationService.getIntProperty("discovery.index-queue.max-attempts", 5));
+    }
+}
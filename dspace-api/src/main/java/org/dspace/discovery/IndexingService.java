@@ -9,6 +9,7 @@ package org.dspace.discovery;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -46,6 +47,19 @@ public interface IndexingService {
     void indexContent(Context context, IndexableObject dso,
                       boolean force, boolean commit, boolean preDb) throws SQLException, SearchServiceException;
 
+    /**
+     * Index the given objects, sending their documents to the index in batches rather than one by one. The changes
+     * are not committed.
+     * @param context           The DSpace Context
+     * @param indexableObjects  The objects to index
+     * @param force             Force update even if not stale
+     * @param preDb             Add a "preDB" status to the index (only applicable to Items)
+     * @param batchSize         The number of documents sent to the index in a single request
+     * @return                  The number of objects which could not be indexed
+     */
+    int indexContent(Context context, Collection<IndexableObject> indexableObjects,
+                      boolean force, boolean preDb, int batchSize) throws SQLException;
+
     void unIndexContent(Context context, IndexableObject dso)
         throws SQLException, IOException;
 
@@ -58,6 +72,17 @@ public interface IndexingService {
     void unIndexContent(Context context, String uniqueSearchID, boolean commit)
         throws IOException;
 
+    /**
+     * Remove the documents with the given unique search IDs from the index, in batches rather than one by one. The
+     * changes are not committed.
+     * @param context           The DSpace Context
+     * @param uniqueSearchIDs   The unique search IDs of the documents to remove
+     * @param batchSize         The number of documents removed in a single request
+     * @return                  The number of documents which could not be removed
+     */
+    int unIndexContent(Context context, Collection<String> uniqueSearchIDs, int batchSize)
+        throws IOException;
+
     void reIndexContent(Context context, IndexableObject dso)
         throws SQLException, IOException;
 
@@ -69,6 +94,19 @@ public interface IndexingService {
 
     void updateIndex(Context context, boolean force, String type);
 
+    /**
+     * Update the index with several threads, each building the documents of batches of objects and sending them to
+     * the index in a single request.
+     *
+     * @param context   the DSpace context used to iterate over the objects
+     * @param force     whether to index the objects even if they are up to date
+     * @param type      the type of the objects to index, or null for all of them
+     * @param threads   the number of threads building the documents
+     * @param batchSize the number of documents sent to the index in a single request
+     * @param resume    whether to skip the objects already indexed by a previous run that was interrupted
+     */
+    void updateIndex(Context context, boolean force, String type, int threads, int batchSize, boolean resume);
+
     void cleanIndex() throws IOException, SQLException, SearchServiceException;
 
     void deleteIndex();
@@ -0,0 +1,336 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+
+/**
+ * Updates the discovery index with several threads.
+ *
+ * The calling thread iterates over the objects of each {@link IndexFactory} and puts their identifiers, in batches,
+ * in a bounded queue. The worker threads, each with its own read-only {@link Context}, load the objects of a batch,
+ * build their documents and send them to Solr in a single request.
+ *
+ * The position of the last batch indexed, such that all the preceding ones were indexed as well, is saved in a
+ * checkpoint file, so that an interrupted run can be resumed. The items are iterated in the order of their UUID,
+ * so their indexing resumes after the last indexed item, the other types are indexed again from their first object.
+ * The checkpoint file is removed when the run completes.
+ */
+public class ParallelIndexer {
+
+    private static final Logger log = LogManager.getLogger(ParallelIndexer.class);
+
+    /* Interval between two progress reports, in milliseconds */
+    private static final long PROGRESS_INTERVAL = 30000;
+
+    private static final Batch END = new Batch(-1, null, List.of());
+
+    private final SolrServiceImpl searchService;
+    private final SolrClient solr;
+    private final List<IndexFactory> indexFactories;
+    private final boolean force;
+    private final int threads;
+    private final int batchSize;
+    private final Path checkpointFile;
+
+    private final BlockingQueue<Batch> queue;
+    private final TreeMap<Long, Batch> completedBatches = new TreeMap<>();
+    private long nextBatchToCheckpoint = 0;
+    private volatile boolean aborted = false;
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong indexedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * Identifiers of objects of the same type, indexed together.
+     */
+    private static class Batch {
+        private final long sequence;
+        private final IndexFactory indexFactory;
+        private final List<String> ids;
+
+        Batch(long sequence, IndexFactory indexFactory, List<String> ids) {
+            this.sequence = sequence;
+            this.indexFactory = indexFactory;
+            this.ids = ids;
+        }
+    }
+
+    /**
+     * @param searchService  the search service, used to check whether an object needs to be indexed
+     * @param solr           the client of the search core
+     * @param indexFactories the factories of the types to index, in the order they are indexed
+     * @param force          whether to index the objects even if they are up to date
+     * @param threads        the number of worker threads
+     * @param batchSize      the number of documents sent to Solr in a single request
+     * @param checkpointFile the file recording the progress
+     */
+    public ParallelIndexer(SolrServiceImpl searchService, SolrClient solr, List<IndexFactory> indexFactories,
+                           boolean force, int threads, int batchSize, File checkpointFile) {
+        this.searchService = searchService;
+        this.solr = solr;
+        this.indexFactories = indexFactories;
+        this.force = force;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+        this.checkpointFile = checkpointFile.toPath();
+        this.queue = new ArrayBlockingQueue<>(this.threads * 2);
+    }
+
+    /**
+     * Index all the objects of the factories.
+     *
+     * @param context the context used to iterate over the objects
+     * @param resume  whether to skip the objects indexed by a previous run, according to the checkpoint file
+     * @throws SQLException        if database error
+     * @throws IOException         if the checkpoint file can't be read or written
+     * @throws SolrServerException if Solr failed to commit
+     * @throws IllegalStateException if the indexing was interrupted, because a batch could not be sent to Solr
+     */
+    public void run(Context context, boolean resume) throws SQLException, IOException, SolrServerException {
+        Properties checkpoint = resume ? readCheckpoint() : new Properties();
+        String resumeType = checkpoint.getProperty("type");
+        String resumeId = checkpoint.getProperty("id");
+        if (resumeType != null) {
+            log.info("Resuming the indexing after {} {}", resumeType, resumeId);
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads,
+            new BasicThreadFactory.Builder().namingPattern("discovery-indexer-%d").daemon(true).build());
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::work);
+        }
+
+        long start = System.currentTimeMillis();
+        long lastReport = start;
+        long sequence = 0;
+        boolean skipping = resumeType != null;
+        try {
+            for (IndexFactory indexFactory : indexFactories) {
+                if (aborted) {
+                    break;
+                }
+                String type = indexFactory.getType();
+                if (skipping && !type.equals(resumeType)) {
+                    // indexed by the previous run
+                    continue;
+                }
+                boolean resumeInType = skipping && resumeId != null && IndexableItem.TYPE.equals(type);
+                skipping = false;
+
+                List<String> ids = new ArrayList<>(batchSize);
+                Iterator<IndexableObject> indexableObjects = indexFactory.findAll(context);
+                while (indexableObjects.hasNext() && !aborted) {
+                    IndexableObject indexableObject = indexableObjects.next();
+                    String id = String.valueOf(indexableObject.getID());
+                    context.uncacheEntity(indexableObject.getIndexedObject());
+                    if (resumeInType && compareUuids(id, resumeId) <= 0) {
+                        continue;
+                    }
+                    ids.add(id);
+                    if (ids.size() == batchSize) {
+                        enqueue(new Batch(sequence++, indexFactory, ids));
+                        ids = new ArrayList<>(batchSize);
+                    }
+                    if (System.currentTimeMillis() - lastReport > PROGRESS_INTERVAL) {
+                        lastReport = System.currentTimeMillis();
+                        reportProgress(type, start);
+                    }
+                }
+                if (!ids.isEmpty()) {
+                    enqueue(new Batch(sequence++, indexFactory, ids));
+                }
+            }
+            // the workers stop when they take the end marker, once the queued batches are indexed
+            for (int i = 0; i < threads; i++) {
+                queue.put(END);
+            }
+            workers.shutdown();
+            while (!workers.awaitTermination(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS)) {
+                reportProgress("last batches", start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aborted = true;
+        } finally {
+            // stops the workers if the iteration failed
+            workers.shutdownNow();
+        }
+
+        solr.commit();
+        reportProgress("all types", start);
+        if (aborted) {
+            throw new IllegalStateException("The indexing was interrupted, it can be resumed from the checkpoint "
+                                                + "file " + checkpointFile);
+        }
+        Files.deleteIfExists(checkpointFile);
+    }
+
+    private void enqueue(Batch batch) throws InterruptedException {
+        // a worker may abort while the queue is full
+        while (!aborted) {
+            if (queue.offer(batch, 1, TimeUnit.SECONDS)) {
+                queuedCount.addAndGet(batch.ids.size());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Loop of the worker threads: index the queued batches until the end marker is taken.
+     */
+    private void work() {
+        try (Context context = new Context(Context.Mode.READ_ONLY)) {
+            context.turnOffAuthorisationSystem();
+            Batch batch;
+            while ((batch = queue.take()) != END) {
+                if (aborted) {
+                    continue;
+                }
+                try {
+                    index(context, batch);
+                    completed(batch);
+                } catch (IOException | SolrServerException | RuntimeException e) {
+                    log.error("Error sending {} documents to Solr, stopping the indexing", batch.ids.size(), e);
+                    aborted = true;
+                } finally {
+                    context.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aborted = true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void index(Context context, Batch batch) throws IOException, SolrServerException {
+        IndexFactory indexFactory = batch.indexFactory;
+        List<SolrInputDocument> documents = new ArrayList<>(batch.ids.size());
+        for (String id : batch.ids) {
+            try {
+                Optional<IndexableObject> found = indexFactory.findIndexableObject(context, id);
+                if (found.isEmpty()) {
+                    // deleted since the batch was queued
+                    continue;
+                }
+                IndexableObject indexableObject = found.get();
+                if (force || searchService.requiresIndexing(indexableObject.getUniqueIndexID(),
+                                                            indexableObject.getLastModified())) {
+                    SolrInputDocument document = indexFactory.buildDocument(context, indexableObject);
+                    try {
+                        indexFactory.prepareDocument(context, indexableObject, document);
+                    } catch (IOException e) {
+                        // as when written alone, the document is indexed without its full text
+                        log.warn("Indexing {} {} without its full text", batch.indexFactory.getType(), id);
+                    }
+                    documents.add(document);
+                }
+            } catch (SQLException | IOException | SearchServiceException | RuntimeException e) {
+                failedCount.incrementAndGet();
+                log.error("Error building the document of {} {}", indexFactory.getType(), id, e);
+            }
+        }
+        if (!documents.isEmpty()) {
+            solr.add(documents);
+        }
+        indexedCount.addAndGet(documents.size());
+    }
+
+    /**
+     * Record the completion of a batch, and move the checkpoint to the last batch such that all the preceding ones
+     * are completed.
+     */
+    private synchronized void completed(Batch batch) throws IOException {
+        completedBatches.put(batch.sequence, batch);
+        Batch checkpoint = null;
+        while (!completedBatches.isEmpty() && completedBatches.firstKey() == nextBatchToCheckpoint) {
+            checkpoint = completedBatches.pollFirstEntry().getValue();
+            nextBatchToCheckpoint++;
+        }
+        if (checkpoint != null) {
+            writeCheckpoint(checkpoint.indexFactory.getType(), checkpoint.ids.get(checkpoint.ids.size() - 1));
+        }
+    }
+
+    private void reportProgress(String type, long start) {
+        long seconds = Math.max(1, (System.currentTimeMillis() - start) / 1000);
+        log.info("Indexing {}: {} objects queued, {} indexed ({}/s), {} failed", type, queuedCount.get(),
+                 indexedCount.get(), indexedCount.get() / seconds, failedCount.get());
+    }
+
+    private Properties readCheckpoint() throws IOException {
+        Properties checkpoint = new Properties();
+        if (Files.exists(checkpointFile)) {
+            try (InputStream in = Files.newInputStream(checkpointFile)) {
+                checkpoint.load(in);
+            }
+        } else {
+            log.warn("No checkpoint file {}, indexing everything", checkpointFile);
+        }
+        return checkpoint;
+    }
+
+    private void writeCheckpoint(String type, String id) throws IOException {
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty("type", type);
+        checkpoint.setProperty("id", id);
+        Path parent = checkpointFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "checkpoint", ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            checkpoint.store(out, "Last indexed object of the interrupted discovery indexing");
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Compare two UUIDs as the database orders them, byte by byte.
+     */
+    static int compareUuids(String first, String second) {
+        UUID firstUuid = UUID.fromString(first);
+        UUID secondUuid = UUID.fromString(second);
+        int result = Long.compareUnsigned(firstUuid.getMostSignificantBits(), secondUuid.getMostSignificantBits());
+        if (result == 0) {
+            result = Long.compareUnsigned(firstUuid.getLeastSignificantBits(),
+                                          secondUuid.getLeastSignificantBits());
+        }
+        return result;
+    }
+}
@@ -14,6 +14,7 @@ import static org.dspace.discovery.configuration.GraphDiscoverSearchFilterFacet.
 import static org.dspace.discovery.indexobject.ItemIndexFactoryImpl.STATUS_FIELD;
 import static org.dspace.discovery.indexobject.ItemIndexFactoryImpl.STATUS_FIELD_PREDB;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -37,6 +38,7 @@ import java.util.stream.Collectors;
 import javax.mail.MessagingException;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.Transformer;
 import org.apache.commons.lang3.StringUtils;
@@ -54,6 +56,7 @@ import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.HighlightParams;
 import org.apache.solr.common.params.MoreLikeThisParams;
@@ -83,6 +86,7 @@ import org.dspace.discovery.configuration.GraphDiscoverSearchFilterFacet;
 import org.dspace.discovery.indexobject.IndexableCollection;
 import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.IndexableSolrDocument;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.eperson.Group;
@@ -287,6 +291,101 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    @Override
+    public int unIndexContent(Context context, java.util.Collection<String> searchUniqueIDs, int batchSize)
+        throws IOException {
+        if (solrSearchCore.getSolr() == null || searchUniqueIDs.isEmpty()) {
+            return 0;
+        }
+        // the items have their in progress submissions removed too, group the identifiers by type
+        Map<IndexFactory, List<String>> identifiersByFactory = new LinkedHashMap<>();
+        for (String searchUniqueID : searchUniqueIDs) {
+            IndexFactory index = indexObjectServiceFactory.getIndexableObjectFactory(searchUniqueID);
+            if (index != null) {
+                identifiersByFactory.computeIfAbsent(index, factory -> new ArrayList<>()).add(searchUniqueID);
+            } else {
+                log.warn("Object not found in Solr index: " + searchUniqueID);
+            }
+        }
+        int failed = 0;
+        for (Map.Entry<IndexFactory, List<String>> entry : identifiersByFactory.entrySet()) {
+            for (List<String> batch : ListUtils.partition(entry.getValue(), Math.max(1, batchSize))) {
+                try {
+                    entry.getKey().delete(batch);
+                } catch (SolrServerException | SolrException e) {
+                    log.error(e.getMessage(), e);
+                    failed += batch.size();
+                }
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public int indexContent(Context context, java.util.Collection<IndexableObject> indexableObjects,
+                            boolean force, boolean preDb, int batchSize) throws SQLException {
+        if (solrSearchCore.getSolr() == null || indexableObjects.isEmpty()) {
+            return 0;
+        }
+        int failed = 0;
+        List<SolrInputDocument> documents = new ArrayList<>(Math.min(indexableObjects.size(), batchSize));
+        for (IndexableObject indexableObject : indexableObjects) {
+            try {
+                final IndexFactory indexableObjectFactory = indexObjectServiceFactory.
+                        getIndexableObjectFactory(indexableObject);
+                if (force || requiresIndexing(indexableObject.getUniqueIndexID(), indexableObject.getLastModified())) {
+                    final SolrInputDocument solrInputDocument = preDb
+                        ? indexableObjectFactory.buildNewDocument(context, indexableObject)
+                        : indexableObjectFactory.buildDocument(context, indexableObject);
+                    try {
+                        indexableObjectFactory.prepareDocument(context, indexableObject, solrInputDocument);
+                    } catch (IOException e) {
+                        // as when written alone, the document is indexed without its full text
+                        log.warn("Indexing {} without its full text", indexableObject.getUniqueIndexID());
+                    }
+                    documents.add(solrInputDocument);
+                    log.info(LogHelper.getHeader(context, "indexed_object", indexableObject.getUniqueIndexID()));
+                }
+            } catch (IOException | SQLException | SearchServiceException | RuntimeException e) {
+                log.error("Failed while indexing object: " + indexableObject.getUniqueIndexID(), e);
+                failed++;
+            }
+            if (documents.size() >= batchSize) {
+                failed += addDocuments(documents);
+                documents.clear();
+            }
+        }
+        return failed + addDocuments(documents);
+    }
+
+    /**
+     * Send the documents to the index in a single request. If the request fails, the documents are sent again one
+     * by one, so that a single invalid document doesn't prevent the others from being indexed.
+     *
+     * @return the number of documents which could not be indexed
+     */
+    private int addDocuments(List<SolrInputDocument> documents) {
+        if (documents.isEmpty()) {
+            return 0;
+        }
+        int failed = 0;
+        try {
+            solrSearchCore.getSolr().add(documents);
+        } catch (IOException | SolrServerException | SolrException e) {
+            log.warn("Failed to index {} documents at once, indexing them one by one", documents.size(), e);
+            for (SolrInputDocument document : documents) {
+                try {
+                    solrSearchCore.getSolr().add(document);
+                } catch (IOException | SolrServerException | SolrException ex) {
+                    log.error("Failed while indexing object: " + document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID),
+                              ex);
+                    failed++;
+                }
+            }
+        }
+        return failed;
+    }
+
     /**
      * reIndexContent removes something from the index, then re-indexes it
      *
@@ -354,6 +453,17 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
     @Override
     public void updateIndex(Context context, boolean force, String type) {
+        updateIndex(context, force, type, configurationService.getIntProperty("discovery.reindex.threads", 1),
+                    configurationService.getIntProperty("discovery.reindex.batch-size", 100), false);
+    }
+
+    @Override
+    public void updateIndex(Context context, boolean force, String type, int threads, int batchSize,
+                            boolean resume) {
+        if (threads > 1 || resume) {
+            updateIndexInParallel(context, force, type, threads, batchSize, resume);
+            return;
+        }
         try {
             final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.
                 getIndexFactories();
@@ -376,6 +486,29 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    /**
+     * Update the index with a {@link ParallelIndexer}, which records its progress in the
+     * {@code discovery.reindex.checkpoint} file.
+     */
+    protected void updateIndexInParallel(Context context, boolean force, String type, int threads, int batchSize,
+                                         boolean resume) {
+        if (solrSearchCore.getSolr() == null) {
+            return;
+        }
+        final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.getIndexFactories().stream()
+            .filter(indexFactory -> type == null || StringUtils.equals(indexFactory.getType(), type))
+            .collect(Collectors.toList());
+        final File checkpointFile = new File(configurationService.getProperty("discovery.reindex.checkpoint",
+            configurationService.getProperty("dspace.dir") + "/var/discovery-reindex.checkpoint"));
+        log.info("Updating the index with {} threads, in batches of {} documents", threads, batchSize);
+        try {
+            new ParallelIndexer(this, solrSearchCore.getSolr(), indexableObjectServices, force, threads, batchSize,
+                                checkpointFile).run(context, resume);
+        } catch (IOException | SQLException | SolrServerException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Removes all documents from the Lucene index
      */
@@ -410,34 +543,27 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 return;
             }
 
-            // First, we'll just get a count of the total results
-            SolrQuery countQuery = new SolrQuery("*:*");
-            countQuery.setRows(0); // don't actually request any data
-            // Get the total amount of results
-            QueryResponse totalResponse = solrSearchCore.getSolr().query(countQuery,
-                solrSearchCore.REQUEST_METHOD);
-            long total = totalResponse.getResults().getNumFound();
-
-            int start = 0;
             int batch = 100;
 
-            // Now get actual Solr Documents in batches
+            // Get the Solr Documents in batches, with a cursor as documents are deleted meanwhile
             SolrQuery query = new SolrQuery();
             query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD,
                 SearchUtils.RESOURCE_TYPE_FIELD);
             query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
             query.setQuery("*:*");
             query.setRows(batch);
-            // Keep looping until we hit the total number of Solr docs
-            while (start < total) {
-                query.setStart(start);
+            String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+            // Keep looping until the cursor doesn't move anymore
+            while (true) {
+                query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
                 QueryResponse rsp = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
                 SolrDocumentList docs = rsp.getResults();
+                List<IndexableObject> indexableObjects = findIndexableObjects(context, docs);
 
-                for (SolrDocument doc : docs) {
-                    String uniqueID = (String) doc.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID);
+                for (int i = 0; i < docs.size(); i++) {
+                    String uniqueID = (String) docs.get(i).getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID);
 
-                    IndexableObject o = findIndexableObject(context, doc);
+                    IndexableObject o = indexableObjects.get(i);
                     if (o == null) {
                         log.info("Deleting: " + uniqueID);
                         /*
@@ -449,9 +575,12 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                         log.debug("Keeping: " + o.getUniqueIndexID());
                     }
                 }
-            }
 
-            start += batch;
+                if (cursorMark.equals(rsp.getNextCursorMark())) {
+                    break;
+                }
+                cursorMark = rsp.getNextCursorMark();
+            }
 
         } catch (IOException | SQLException | SolrServerException e) {
             log.error("Error cleaning discovery index: " + e.getMessage(), e);
@@ -828,6 +957,9 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 pagesize = 10;
             }
             discoverQuery.setMaxResults(pagesize);
+            if (discoverQuery.getStart() <= 0 && discoverQuery.getCursorMark() == null) {
+                discoverQuery.setCursorMark(DiscoverQuery.CURSOR_MARK_START);
+            }
             this.discoverResult = search(context, dso, discoverQuery);
         }
 
@@ -844,7 +976,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 int offset = absoluteCursor;
                 // reset the position counter for getting element relativecursor on a page
                 relativeCursor = 0;
-                discoverQuery.setStart(offset);
+                if (discoverQuery.getCursorMark() != null) {
+                    discoverQuery.moveCursor(discoverResult);
+                } else {
+                    discoverQuery.setStart(offset);
+                }
                 try {
                     discoverResult = search(context, dso, discoverQuery);
                 } catch (SearchServiceException e) {
@@ -1005,6 +1141,16 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             searchPlugin.additionalSearchParameters(context, discoveryQuery, solrQuery);
         }
 
+        if (discoveryQuery.getCursorMark() != null) {
+            // a cursor needs a total order of the results, the unique key breaks the ties
+            solrQuery.setStart(0);
+            if (solrQuery.getSorts().stream()
+                         .noneMatch(sort -> SearchUtils.RESOURCE_UNIQUE_ID.equals(sort.getItem()))) {
+                solrQuery.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+            }
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, discoveryQuery.getCursorMark());
+        }
+
         return solrQuery;
     }
 
@@ -1030,13 +1176,24 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 result.setStart(query.getStart());
                 result.setMaxResults(query.getMaxResults());
                 result.setTotalSearchResults(solrQueryResponse.getResults().getNumFound());
+                result.setNextCursorMark(solrQueryResponse.getNextCursorMark());
 
                 List<String> searchFields = query.getSearchFields();
-                for (SolrDocument doc : solrQueryResponse.getResults()) {
-                    IndexableObject indexableObject = findIndexableObject(context, doc);
+                SolrDocumentList docs = solrQueryResponse.getResults();
+                List<IndexableObject> indexableObjects = query.isIndexOnly() ? toIndexableSolrDocuments(docs)
+                    : findIndexableObjects(context, docs);
+                for (int i = 0; i < docs.size(); i++) {
+                    SolrDocument doc = docs.get(i);
+                    IndexableObject indexableObject = indexableObjects.get(i);
 
                     if (indexableObject != null) {
                         result.addIndexableObject(indexableObject);
+                    } else if (doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD) == null) {
+                        // not the document of an object, it can't be stale
+                        log.warn(LogHelper.getHeader(context, "Skipped a search result without "
+                            + SearchUtils.RESOURCE_TYPE_FIELD, "Unique identifier: "
+                            + doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID)));
+                        continue;
                     } else {
                         // log has warn because we try to fix the issue
                         log.warn(LogHelper.getHeader(context,
@@ -1305,6 +1462,68 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         return indexableObject.orElse(null);
     }
 
+    /**
+     * Find the objects of the given search results, with a single query per type of object for the types whose
+     * factory supports it, rather than a query per result.
+     *
+     * @param context
+     *            DSpace context object
+     * @param docs
+     *            the solr documents of the results
+     * @return the objects in the order of the documents, null for the documents whose object was not found,
+     *         including the documents without type or id and those of a type without factory
+     * @throws SQLException
+     *             An exception that provides information on a database access error or other errors.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<IndexableObject> findIndexableObjects(Context context, List<SolrDocument> docs)
+        throws SQLException {
+        Map<String, List<String>> idsByType = new LinkedHashMap<>();
+        for (SolrDocument doc : docs) {
+            String type = (String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD);
+            String id = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+            if (type != null && id != null) {
+                idsByType.computeIfAbsent(type, t -> new ArrayList<>()).add(id);
+            }
+        }
+        Map<String, Map<String, IndexableObject>> indexableObjectsByType = new HashMap<>();
+        for (Map.Entry<String, List<String>> ids : idsByType.entrySet()) {
+            IndexFactory indexableObjectService = indexObjectServiceFactory.getIndexFactoryByType(ids.getKey());
+            if (indexableObjectService != null) {
+                indexableObjectsByType.put(ids.getKey(),
+                                           indexableObjectService.findIndexableObjects(context, ids.getValue()));
+            }
+        }
+
+        List<IndexableObject> indexableObjects = new ArrayList<>(docs.size());
+        for (SolrDocument doc : docs) {
+            String type = (String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD);
+            String id = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+            Map<String, IndexableObject> indexableObjectsOfType = indexableObjectsByType.get(type);
+            IndexableObject indexableObject = indexableObjectsOfType != null ? indexableObjectsOfType.get(id) : null;
+            if (indexableObject == null) {
+                log.warn("Not able to retrieve object RESOURCE_ID:" + id + " - RESOURCE_TYPE_ID:" + type);
+            }
+            indexableObjects.add(indexableObject);
+        }
+        return indexableObjects;
+    }
+
+    /**
+     * @param docs the solr documents of the results
+     * @return the lightweight objects of the results, built from their documents only, null for the documents
+     *         without type or id
+     */
+    protected List<IndexableObject> toIndexableSolrDocuments(List<SolrDocument> docs) {
+        List<IndexableObject> indexableObjects = new ArrayList<>(docs.size());
+        for (SolrDocument doc : docs) {
+            String type = (String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD);
+            String id = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+            indexableObjects.add(type != null && id != null ? new IndexableSolrDocument(type, id) : null);
+        }
+        return indexableObjects;
+    }
+
     public List<IndexableObject> search(Context context, String query, int offset, int max,
             String... filterquery) {
         return search(context, query, null, true, offset, max, filterquery);
@@ -1334,11 +1553,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             QueryResponse rsp = solrSearchCore.getSolr().query(solrQuery, solrSearchCore.REQUEST_METHOD);
             SolrDocumentList docs = rsp.getResults();
 
-            Iterator iter = docs.iterator();
             List<IndexableObject> result = new ArrayList<>();
-            while (iter.hasNext()) {
-                SolrDocument doc = (SolrDocument) iter.next();
-                IndexableObject o = findIndexableObject(context, doc);
+            for (IndexableObject o : findIndexableObjects(context, docs)) {
                 if (o != null) {
                     result.add(o);
                 }
@@ -1706,6 +1922,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         //Set sorting so our last value will appear on top
         maxQuery.setSortField(sortField, sortOrder);
         maxQuery.addSearchField(valueField);
+        maxQuery.setIndexOnly(true);
         DiscoverResult maxResult = this.search(context,maxQuery);
         if (0 < maxResult.getIndexableObjects().size()) {
             List<DiscoverResult.SearchDocument> searchDocuments = maxResult
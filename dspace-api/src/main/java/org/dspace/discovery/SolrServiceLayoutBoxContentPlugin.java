@@ -0,0 +1,52 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.dspace.layout.service.CrisLayoutBoxService.BOX_CONTENT_FIELD;
+
+import java.util.Map;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.layout.service.CrisLayoutBoxService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link SolrServiceIndexPlugin} to store whether the layout
+ * boxes of an archived item, whose content is costly to find and the same for
+ * every user, have content, so that the item page doesn't have to find it
+ * again.
+ *
+ * @see CrisLayoutBoxService#computeCostlyContent(Context, Item)
+ */
+public class SolrServiceLayoutBoxContentPlugin implements SolrServiceIndexPlugin {
+
+    @Autowired
+    private CrisLayoutBoxService crisLayoutBoxService;
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void additionalIndex(Context context, IndexableObject dso, SolrInputDocument document) {
+        if (!(dso instanceof IndexableItem)) {
+            return;
+        }
+
+        Item item = ((IndexableItem) dso).getIndexedObject();
+        if (!item.isArchived()) {
+            return;
+        }
+
+        Map<String, Boolean> content = crisLayoutBoxService.computeCostlyContent(context, item);
+        for (Map.Entry<String, Boolean> entry : content.entrySet()) {
+            document.addField(BOX_CONTENT_FIELD, entry.getKey() + "=" + entry.getValue());
+        }
+    }
+
+}
@@ -20,6 +20,9 @@ import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.discovery.DiscoverQuery;
 import org.dspace.discovery.DiscoverResultIterator;
+import org.dspace.discovery.SearchService;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.discovery.SearchUtils;
 import org.dspace.discovery.indexobject.IndexableItem;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -36,17 +39,48 @@ public class DiscoveryConfigurationUtilsService {
     private DiscoveryConfigurationService searchConfigurationService;
 
     public Iterator<Item> findByRelation(Context context, Item item, String relationName) {
+        DiscoverQuery discoverQuery = buildRelationQuery(item, relationName);
+        if (discoverQuery == null) {
+            return emptyIterator();
+        }
+        return new DiscoverResultIterator<Item, UUID>(context, discoverQuery);
+    }
+
+    /**
+     * Check if the item has related items visible to the current user, with a search returning no item.
+     *
+     * @param context      the DSpace Context, whose user the search results are restricted to
+     * @param item         the item
+     * @param relationName the name of the relation
+     * @return true if at least one related item is found
+     */
+    public boolean hasRelatedItems(Context context, Item item, String relationName) {
+        DiscoverQuery discoverQuery = buildRelationQuery(item, relationName);
+        if (discoverQuery == null) {
+            return false;
+        }
+        discoverQuery.setMaxResults(0);
+        discoverQuery.setIndexOnly(true);
+        SearchService searchService = SearchUtils.getSearchService();
+        try {
+            return searchService.search(context, discoverQuery).getTotalSearchResults() > 0;
+        } catch (SearchServiceException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    private DiscoverQuery buildRelationQuery(Item item, String relationName) {
         String entityType = itemService.getMetadataFirstValue(item, "dspace", "entity", "type", Item.ANY);
         if (entityType == null) {
             log.warn("The item with id " + item.getID() + " has no dspace.entity.type. No related items is found.");
-            return emptyIterator();
+            return null;
         }
 
         DiscoveryConfiguration discoveryConfiguration = findDiscoveryConfiguration(entityType, relationName);
         if (discoveryConfiguration == null) {
             log.warn("No discovery configuration found for relation " + relationName + " for item with id "
                 + item.getID() + " and type " + entityType + ". No related items is found.");
-            return emptyIterator();
+            return null;
         }
 
         DiscoverQuery discoverQuery = new DiscoverQuery();
@@ -57,8 +91,7 @@ public class DiscoveryConfigurationUtilsService {
         for (String defaultFilterQuery : defaultFilterQueries) {
             discoverQuery.addFilterQueries(MessageFormat.format(defaultFilterQuery, item.getID()));
         }
-
-        return new DiscoverResultIterator<Item, UUID>(context, discoverQuery);
+        return discoverQuery;
     }
 
     private DiscoveryConfiguration findDiscoveryConfiguration(String entityType, String relationName) {
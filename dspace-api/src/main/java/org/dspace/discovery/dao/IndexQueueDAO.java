@@ -0,0 +1,103 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.dao;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueEntry;
+
+/**
+ * Database Access Object interface for the discovery_index_queue table. This class should only be accessed from
+ * the {@link org.dspace.discovery.IndexQueueService}.
+ */
+public interface IndexQueueDAO {
+
+    /**
+     * Queue a change of the object with the given search unique id. If the object is already queued, the change is
+     * merged in its entry, whose revision is incremented.
+     *
+     * @param context  the DSpace Context object
+     * @param uniqueId the search unique id of the object
+     * @param unindex  whether the documents of the object must be removed
+     * @param reindex  whether the object must be indexed
+     * @param preDb    whether the item must be indexed with a "preDB" status
+     * @throws SQLException if a problem with the database occurs
+     */
+    void enqueue(Context context, String uniqueId, boolean unindex, boolean reindex, boolean preDb)
+        throws SQLException;
+
+    /**
+     * Find the oldest entries which failed less than the given number of times, and whose next attempt is due.
+     *
+     * @param context     the DSpace Context object
+     * @param limit       the maximum number of entries
+     * @param maxAttempts the number of failed attempts after which the entries are left aside
+     * @param now         the current time, the entries to try again later are skipped
+     * @return the entries, older first
+     * @throws SQLException if a problem with the database occurs
+     */
+    List<IndexQueueEntry> findOldest(Context context, int limit, int maxAttempts, Date now) throws SQLException;
+
+    /**
+     * Find the entries, older first.
+     *
+     * @param context the DSpace Context object
+     * @param limit   the maximum number of entries
+     * @param offset  the number of entries to skip
+     * @return the entries
+     * @throws SQLException if a problem with the database occurs
+     */
+    List<IndexQueueEntry> findAll(Context context, int limit, int offset) throws SQLException;
+
+    /**
+     * Remove the entry, unless it was queued again since it was read.
+     *
+     * @param context the DSpace Context object
+     * @param entry   the processed entry
+     * @return true if the entry was removed
+     * @throws SQLException if a problem with the database occurs
+     */
+    boolean delete(Context context, IndexQueueEntry entry) throws SQLException;
+
+    /**
+     * Increment the number of failed attempts of the entry.
+     *
+     * @param context     the DSpace Context object
+     * @param entry       the entry which could not be processed
+     * @param nextAttempt when the entry can be processed again
+     * @throws SQLException if a problem with the database occurs
+     */
+    void incrementAttempts(Context context, IndexQueueEntry entry, Date nextAttempt) throws SQLException;
+
+    /**
+     * Reset the number of failed attempts of all the entries, so that they are processed again.
+     *
+     * @param context the DSpace Context object
+     * @return the number of entries which had failed
+     * @throws SQLException if a problem with the database occurs
+     */
+    int resetAttempts(Context context) throws SQLException;
+
+    /**
+     * @param context     the DSpace Context object
+     * @param minAttempts the minimum number of failed attempts
+     * @return the number of entries which failed at least the given number of times
+     * @throws SQLException if a problem with the database occurs
+     */
+    long count(Context context, int minAttempts) throws SQLException;
+
+    /**
+     * @param context the DSpace Context object
+     * @return when the oldest entry was queued, or null if the queue is empty
+     * @throws SQLException if a problem with the database occurs
+     */
+    Date findOldestDateQueued(Context context) throws SQLException;
+}
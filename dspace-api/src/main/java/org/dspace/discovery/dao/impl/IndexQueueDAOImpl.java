@@ -0,0 +1,162 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.dao.impl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.persistence.TemporalType;
+
+import org.dspace.core.Context;
+import org.dspace.core.DBConnection;
+import org.dspace.discovery.IndexQueueEntry;
+import org.dspace.discovery.dao.IndexQueueDAO;
+import org.dspace.services.ConfigurationService;
+import org.dspace.utils.DSpace;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Hibernate implementation of the {@link IndexQueueDAO}, with native queries as the queue entries are not
+ * entities.
+ */
+public class IndexQueueDAOImpl implements IndexQueueDAO {
+
+    private static final String COLUMNS =
+        "unique_id, unindex, reindex, predb, revision, attempts, date_queued, next_attempt";
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public void enqueue(Context context, String uniqueId, boolean unindex, boolean reindex, boolean preDb)
+        throws SQLException {
+        Session session = getHibernateSession();
+        if ("org.h2.Driver".equals(configurationService.getProperty("db.driver"))) {
+            // H2 doesn't support the INSERT ON CONFLICT statement so let's do in two steps
+            NativeQuery<?> update = session.createNativeQuery("UPDATE discovery_index_queue"
+                + " SET unindex = unindex OR :unindex, reindex = reindex OR :reindex, predb = predb OR :predb,"
+                + " revision = revision + 1, attempts = 0, next_attempt = NULL"
+                + " WHERE unique_id = :uniqueId");
+            setChange(update, uniqueId, unindex, reindex, preDb);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+            NativeQuery<?> insert = session.createNativeQuery("INSERT INTO discovery_index_queue (" + COLUMNS + ")"
+                + " VALUES (:uniqueId, :unindex, :reindex, :predb, 0, 0, CURRENT_TIMESTAMP, NULL)");
+            setChange(insert, uniqueId, unindex, reindex, preDb);
+            insert.executeUpdate();
+        } else {
+            // the entry keeps the date it was first queued, so that the lag of the queue is measured from it
+            NativeQuery<?> upsert = session.createNativeQuery("INSERT INTO discovery_index_queue (" + COLUMNS + ")"
+                + " VALUES (:uniqueId, :unindex, :reindex, :predb, 0, 0, CURRENT_TIMESTAMP, NULL)"
+                + " ON CONFLICT (unique_id) DO UPDATE"
+                + " SET unindex = discovery_index_queue.unindex OR EXCLUDED.unindex,"
+                + " reindex = discovery_index_queue.reindex OR EXCLUDED.reindex,"
+                + " predb = discovery_index_queue.predb OR EXCLUDED.predb,"
+                + " revision = discovery_index_queue.revision + 1, attempts = 0, next_attempt = NULL");
+            setChange(upsert, uniqueId, unindex, reindex, preDb);
+            upsert.executeUpdate();
+        }
+    }
+
+    private void setChange(NativeQuery<?> query, String uniqueId, boolean unindex, boolean reindex, boolean preDb) {
+        query.setParameter("uniqueId", uniqueId);
+        query.setParameter("unindex", unindex);
+        query.setParameter("reindex", reindex);
+        query.setParameter("predb", preDb);
+    }
+
+    @Override
+    public List<IndexQueueEntry> findOldest(Context context, int limit, int maxAttempts, Date now)
+        throws SQLException {
+        NativeQuery<?> query = getHibernateSession().createNativeQuery("SELECT " + COLUMNS
+            + " FROM discovery_index_queue WHERE attempts < :maxAttempts"
+            + " AND (next_attempt IS NULL OR next_attempt <= :now) ORDER BY date_queued ASC");
+        query.setParameter("maxAttempts", maxAttempts);
+        query.setParameter("now", now, TemporalType.TIMESTAMP);
+        query.setMaxResults(limit);
+        return toEntries(query.getResultList());
+    }
+
+    @Override
+    public List<IndexQueueEntry> findAll(Context context, int limit, int offset) throws SQLException {
+        NativeQuery<?> query = getHibernateSession().createNativeQuery("SELECT " + COLUMNS
+            + " FROM discovery_index_queue ORDER BY date_queued ASC");
+        query.setFirstResult(offset);
+        query.setMaxResults(limit);
+        return toEntries(query.getResultList());
+    }
+
+    @Override
+    public boolean delete(Context context, IndexQueueEntry entry) throws SQLException {
+        NativeQuery<?> query = getHibernateSession().createNativeQuery("DELETE FROM discovery_index_queue"
+            + " WHERE unique_id = :uniqueId AND revision = :revision");
+        query.setParameter("uniqueId", entry.getUniqueId());
+        query.setParameter("revision", entry.getRevision());
+        return query.executeUpdate() > 0;
+    }
+
+    @Override
+    public void incrementAttempts(Context context, IndexQueueEntry entry, Date nextAttempt) throws SQLException {
+        NativeQuery<?> query = getHibernateSession().createNativeQuery("UPDATE discovery_index_queue"
+            + " SET attempts = attempts + 1, next_attempt = :nextAttempt"
+            + " WHERE unique_id = :uniqueId AND revision = :revision");
+        query.setParameter("nextAttempt", nextAttempt, TemporalType.TIMESTAMP);
+        query.setParameter("uniqueId", entry.getUniqueId());
+        query.setParameter("revision", entry.getRevision());
+        query.executeUpdate();
+    }
+
+    @Override
+    public int resetAttempts(Context context) throws SQLException {
+        return getHibernateSession().createNativeQuery("UPDATE discovery_index_queue"
+            + " SET attempts = 0, next_attempt = NULL WHERE attempts > 0").executeUpdate();
+    }
+
+    @Override
+    public long count(Context context, int minAttempts) throws SQLException {
+        NativeQuery<?> query = getHibernateSession().createNativeQuery("SELECT COUNT(*) FROM discovery_index_queue"
+            + " WHERE attempts >= :minAttempts");
+        query.setParameter("minAttempts", minAttempts);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public Date findOldestDateQueued(Context context) throws SQLException {
+        Object oldest = getHibernateSession().createNativeQuery("SELECT MIN(date_queued) FROM discovery_index_queue")
+                                             .getSingleResult();
+        return oldest != null ? new Date(((Date) oldest).getTime()) : null;
+    }
+
+    private List<IndexQueueEntry> toEntries(List<?> rows) {
+        List<IndexQueueEntry> entries = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            entries.add(new IndexQueueEntry((String) columns[0], (Boolean) columns[1], (Boolean) columns[2],
+                                            (Boolean) columns[3], ((Number) columns[4]).intValue(),
+                                            ((Number) columns[5]).intValue(),
+                                            new Date(((Date) columns[6]).getTime()),
+                                            columns[7] != null ? new Date(((Date) columns[7]).getTime()) : null));
+        }
+        return entries;
+    }
+
+    /**
+     * The Hibernate Session used in the current thread
+     *
+     * @return the current Session.
+     * @throws SQLException
+     */
+    private Session getHibernateSession() throws SQLException {
+        DBConnection dbConnection = new DSpace().getServiceManager().getServiceByName(null, DBConnection.class);
+        return ((Session) dbConnection.getSession());
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import org.dspace.core.ReloadableEntity;
+import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.IndexableObject;
+
+/**
+ * Lightweight {@link IndexableObject} built from the stored fields of a search result, without loading its entity
+ * from the database: returned by the searches of an {@link DiscoverQuery#isIndexOnly() index-only} query, whose
+ * callers only read the search fields of the results. Its {@link #getIndexedObject() indexed object} is always
+ * null: such results must not be handed to the code that reads or reloads the entities of the results.
+ */
+public class IndexableSolrDocument implements IndexableObject<ReloadableEntity<String>, String> {
+
+    private final String type;
+
+    private final String id;
+
+    public IndexableSolrDocument(String type, String id) {
+        this.type = type;
+        this.id = id;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public String getID() {
+        return id;
+    }
+
+    /**
+     * @return null, the entity is not loaded
+     */
+    @Override
+    public ReloadableEntity<String> getIndexedObject() {
+        return null;
+    }
+
+    /**
+     * Does nothing: the result stays bound to its document only, so that {@link #getIndexedObject()} keeps
+     * returning null.
+     *
+     * @param object ignored
+     */
+    @Override
+    public void setIndexedObject(ReloadableEntity<String> object) {
+    }
+
+    @Override
+    public String getTypeText() {
+        return type.toUpperCase();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof IndexableObject
+            && getUniqueIndexID().equals(((IndexableObject<?, ?>) obj).getUniqueIndexID());
+    }
+
+    @Override
+    public int hashCode() {
+        return getUniqueIndexID().hashCode();
+    }
+}
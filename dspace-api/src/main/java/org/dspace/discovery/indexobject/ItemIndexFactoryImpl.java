@@ -24,6 +24,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -745,6 +746,12 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         writeDocument(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
     }
 
+    @Override
+    public void prepareDocument(Context context, IndexableItem indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException {
+        addFullText(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableItem indexableDSpaceObject)
             throws SQLException {
@@ -790,6 +797,16 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         deleteInProgressData(indexableObjectIdentifier);
     }
 
+    @Override
+    public void delete(List<String> indexableObjectIdentifiers) throws IOException, SolrServerException {
+        super.delete(indexableObjectIdentifiers);
+        String query = indexableObjectIdentifiers.stream()
+            .map(indexableObjectIdentifier -> "\"" + indexableObjectIdentifier + "\"")
+            .collect(Collectors.joining(" OR ", "inprogress.item:(", ")"));
+        log.debug("Try to delete all in progress submission [DELETEBYQUERY]:" + query);
+        solrSearchCore.getSolr().deleteByQuery(query);
+    }
+
     @Override
     public boolean supports(Object object) {
         return object instanceof Item;
@@ -829,6 +846,16 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         return item == null ? Optional.empty() : Optional.of(new IndexableItem(item));
     }
 
+    @Override
+    public Map<String, IndexableItem> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        List<UUID> uuids = ids.stream().map(UUID::fromString).distinct().collect(Collectors.toList());
+        Map<String, IndexableItem> indexableItems = new HashMap<>();
+        for (Item item : itemService.findAllByIds(context, uuids)) {
+            indexableItems.put(item.getID().toString(), new IndexableItem(item));
+        }
+        return indexableItems;
+    }
+
     /**
      * Handles indexing when discoverySearchFilter is of type facet.
      *
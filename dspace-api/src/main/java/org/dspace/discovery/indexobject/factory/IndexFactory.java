@@ -9,8 +9,10 @@ package org.dspace.discovery.indexobject.factory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.apache.solr.client.solrj.SolrServerException;
@@ -66,6 +68,18 @@ public interface IndexFactory<T extends IndexableObject, S> {
     void writeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException;
 
+    /**
+     * Complete the provided document with the content that {@link #writeDocument} adds when it writes it, e.g. the
+     * full text of the items, so that the document can be sent to the search core along with other documents
+     * @param context               DSpace context object
+     * @param indexableObject       The indexable object the document was built for
+     * @param solrInputDocument     Solr input document built for the indexable object
+     * @throws SQLException         If database error
+     * @throws IOException          If IO error, the document may still be written
+     */
+    void prepareDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException;
+
     /**
      * Remove the provided indexable object from the solr core
      * @param indexableObject       The indexable object that we want to remove from the search core
@@ -82,6 +96,14 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     void delete(String indexableObjectIdentifier) throws IOException, SolrServerException;
 
+    /**
+     * Remove the provided indexable objects from the solr core in a single request
+     * @param indexableObjectIdentifiers The identifiers that we want to remove from the search core
+     * @throws IOException              If IO error
+     * @throws SolrServerException      If the solr documents could not be removed from the search core
+     */
+    void delete(List<String> indexableObjectIdentifiers) throws IOException, SolrServerException;
+
     /**
      * Remove all indexable objects of the implementing type from the search core
      * @throws IOException          If IO error
@@ -98,6 +120,22 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     Optional<T> findIndexableObject(Context context, String id) throws SQLException;
 
+    /**
+     * Retrieve several indexable objects using the provided identifiers. The factories of the most searched types
+     * load them in a single query instead of one query per identifier.
+     * @param context       DSpace context object
+     * @param ids           The identifiers for which we want to retrieve our indexable objects
+     * @return              The indexable objects found, by identifier
+     * @throws SQLException If database error
+     */
+    default Map<String, T> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        Map<String, T> indexableObjects = new HashMap<>();
+        for (String id : ids) {
+            findIndexableObject(context, id).ifPresent(indexableObject -> indexableObjects.put(id, indexableObject));
+        }
+        return indexableObjects;
+    }
+
     /**
      * Determine whether the class can handle the factory implementation
      * @param object        The object which we want to check
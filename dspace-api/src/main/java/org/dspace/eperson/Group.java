@@ -85,6 +85,12 @@ public class Group extends DSpaceObject implements DSpaceObjectLegacySupport {
     @Transient
     private boolean groupsChanged;
 
+    /**
+     * Memberships of this group, or in this group, not yet applied to the group2groupcache table
+     */
+    @Transient
+    private final List<Group2GroupChange> group2GroupChanges = new ArrayList<>();
+
     /**
      * Protected constructor, create object using:
      * {@link org.dspace.eperson.service.GroupService#create(Context)}
@@ -113,6 +119,7 @@ public class Group extends DSpaceObject implements DSpaceObjectLegacySupport {
     void addMember(Group g) {
         getMemberGroups().add(g);
         groupsChanged = true;
+        addGroup2GroupChange(g, true);
     }
 
     void addParentGroup(Group group) {
@@ -131,7 +138,21 @@ public class Group extends DSpaceObject implements DSpaceObjectLegacySupport {
 
     boolean remove(Group g) {
         groupsChanged = true;
-        return getMemberGroups().remove(g);
+        boolean removed = getMemberGroups().remove(g);
+        if (removed) {
+            addGroup2GroupChange(g, false);
+        }
+        return removed;
+    }
+
+    private void addGroup2GroupChange(Group child, boolean added) {
+        Group2GroupChange change = new Group2GroupChange(this, child, added);
+        group2GroupChanges.add(change);
+        child.getGroup2GroupChanges().add(change);
+    }
+
+    List<Group2GroupChange> getGroup2GroupChanges() {
+        return group2GroupChanges;
     }
 
     boolean contains(Group g) {
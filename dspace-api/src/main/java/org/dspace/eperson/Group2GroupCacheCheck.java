@@ -0,0 +1,70 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * The result of the comparison of the group2groupcache table with the transitive closure of the group memberships.
+ *
+ * @see org.dspace.eperson.service.GroupService#checkGroupCache(org.dspace.core.Context)
+ */
+public class Group2GroupCacheCheck {
+
+    private final List<Pair<UUID, UUID>> memberships;
+    private final int expected;
+    private final Set<Pair<UUID, UUID>> missing;
+    private final Set<Pair<UUID, UUID>> stale;
+
+    public Group2GroupCacheCheck(List<Pair<UUID, UUID>> memberships, int expected, Set<Pair<UUID, UUID>> missing,
+                                 Set<Pair<UUID, UUID>> stale) {
+        this.memberships = memberships;
+        this.expected = expected;
+        this.missing = missing;
+        this.stale = stale;
+    }
+
+    /**
+     * @return the direct (parent, child) memberships the closure was computed from
+     */
+    public List<Pair<UUID, UUID>> getMemberships() {
+        return memberships;
+    }
+
+    /**
+     * @return the number of (ancestor, descendant) pairs the cache should contain
+     */
+    public int getExpected() {
+        return expected;
+    }
+
+    /**
+     * @return the (ancestor, descendant) pairs missing from the cache
+     */
+    public Set<Pair<UUID, UUID>> getMissing() {
+        return missing;
+    }
+
+    /**
+     * @return the pairs of the cache which are not (ancestor, descendant) pairs
+     */
+    public Set<Pair<UUID, UUID>> getStale() {
+        return stale;
+    }
+
+    /**
+     * @return true if the cache contains exactly the transitive closure of the memberships
+     */
+    public boolean isConsistent() {
+        return missing.isEmpty() && stale.isEmpty();
+    }
+}
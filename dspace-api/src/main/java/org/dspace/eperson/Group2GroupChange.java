@@ -0,0 +1,40 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+/**
+ * A membership of a group in another group which was added or removed, and which is not yet applied to the
+ * group2groupcache table. It is kept by both groups until one of them is updated.
+ */
+class Group2GroupChange {
+
+    private final Group parent;
+    private final Group child;
+    private final boolean added;
+
+    Group2GroupChange(Group parent, Group child, boolean added) {
+        this.parent = parent;
+        this.child = child;
+        this.added = added;
+    }
+
+    Group getParent() {
+        return parent;
+    }
+
+    Group getChild() {
+        return child;
+    }
+
+    /**
+     * @return true if the child group was added to the parent group, false if it was removed from it
+     */
+    boolean isAdded() {
+        return added;
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.tuple.Pair;
+import org.dspace.core.Context;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.utils.DSpace;
+
+/**
+ * Script to verify that the group2groupcache table, maintained incrementally, is the transitive closure of the
+ * group memberships, and to rebuild it if it is not. It can also compare the time taken by the incremental updates
+ * with the time of a full rebuild on the actual groups; the changes made for this comparison are rolled back.
+ *
+ * @see GroupService#checkGroupCache(Context)
+ */
+public class GroupCacheScript extends DSpaceRunnable<GroupCacheScriptConfiguration> {
+
+    private GroupService groupService;
+
+    private boolean rebuild;
+    private int benchmarkSize;
+
+    @Override
+    public GroupCacheScriptConfiguration getScriptConfiguration() {
+        return new DSpace().getServiceManager().getServiceByName("group-cache", GroupCacheScriptConfiguration.class);
+    }
+
+    @Override
+    public void setup() throws ParseException {
+        groupService = EPersonServiceFactory.getInstance().getGroupService();
+        rebuild = commandLine.hasOption('r');
+        if (commandLine.hasOption('b')) {
+            try {
+                benchmarkSize = Integer.parseInt(commandLine.getOptionValue('b'));
+            } catch (NumberFormatException e) {
+                throw new ParseException("The -b option must be a number, not " + commandLine.getOptionValue('b'));
+            }
+        }
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+        if (commandLine.hasOption('h')) {
+            printHelp();
+            return;
+        }
+
+        Context context = new Context();
+        try {
+            context.turnOffAuthorisationSystem();
+            if (benchmarkSize > 0) {
+                benchmark(context);
+                return;
+            }
+            Group2GroupCacheCheck check = check(context);
+            if (!check.isConsistent() && rebuild) {
+                long start = System.currentTimeMillis();
+                groupService.rebuildGroupCache(context);
+                context.commit();
+                handler.logInfo("Rebuilt the group cache in " + (System.currentTimeMillis() - start) + " ms");
+                check(context);
+            }
+        } finally {
+            context.restoreAuthSystemState();
+            if (context.isValid()) {
+                context.complete();
+            }
+        }
+    }
+
+    private Group2GroupCacheCheck check(Context context) throws Exception {
+        long start = System.currentTimeMillis();
+        Group2GroupCacheCheck check = groupService.checkGroupCache(context);
+        handler.logInfo(check.getMemberships().size() + " group memberships make " + check.getExpected()
+                            + " ancestor/descendant pairs, checked in " + (System.currentTimeMillis() - start)
+                            + " ms");
+        if (check.isConsistent()) {
+            handler.logInfo("The group cache is consistent");
+        } else {
+            handler.logWarning("The group cache misses " + check.getMissing().size() + " pairs and has "
+                                   + check.getStale().size() + " stale pairs");
+            for (Pair<UUID, UUID> pair : check.getMissing()) {
+                handler.logDebug("Missing: " + pair.getLeft() + " -> " + pair.getRight());
+            }
+            for (Pair<UUID, UUID> pair : check.getStale()) {
+                handler.logDebug("Stale: " + pair.getLeft() + " -> " + pair.getRight());
+            }
+        }
+        return check;
+    }
+
+    /**
+     * Remove and add again random group memberships, then rebuild the whole cache, timing each step. The context is
+     * aborted at the end so that nothing is saved.
+     */
+    private void benchmark(Context context) throws Exception {
+        Group2GroupCacheCheck check = check(context);
+        if (!check.isConsistent()) {
+            handler.logError("The incremental updates can't be timed on an inconsistent group cache, use -r first");
+            context.abort();
+            return;
+        }
+        List<Pair<UUID, UUID>> memberships = new ArrayList<>(check.getMemberships());
+        Collections.shuffle(memberships);
+
+        long removeTime = 0;
+        long addTime = 0;
+        int count = 0;
+        for (Pair<UUID, UUID> membership : memberships) {
+            if (count == benchmarkSize) {
+                break;
+            }
+            Group parent = groupService.find(context, membership.getLeft());
+            Group child = groupService.find(context, membership.getRight());
+            long start = System.nanoTime();
+            try {
+                groupService.removeMember(context, parent, child);
+            } catch (IllegalStateException e) {
+                // workflow groups with tasks can't lose their only member
+                continue;
+            }
+            groupService.update(context, parent);
+            removeTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            groupService.addMember(context, parent, child);
+            groupService.update(context, parent);
+            addTime += System.nanoTime() - start;
+            count++;
+        }
+        // the incremental updates must have left the cache consistent
+        check(context);
+
+        long start = System.nanoTime();
+        groupService.rebuildGroupCache(context);
+        long rebuildTime = System.nanoTime() - start;
+
+        if (count > 0) {
+            handler.logInfo("Incremental removal of a membership: " + removeTime / count / 1000
+                                + " microseconds on average");
+            handler.logInfo("Incremental addition of a membership: " + addTime / count / 1000
+                                + " microseconds on average");
+        }
+        handler.logInfo("Full rebuild of the group cache: " + rebuildTime / 1000 + " microseconds");
+        context.abort();
+    }
+}
@@ -8,7 +8,9 @@
 package org.dspace.eperson;
 
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -20,6 +22,7 @@ import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
@@ -66,6 +69,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements GroupService {
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * Maximum number of group ids in the IN clause of a query on the group memberships
+     */
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
     @Autowired(required = true)
     protected GroupDAO groupDAO;
 
@@ -560,6 +568,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         // Remove any ResourcePolicies that reference this group
         authorizeService.removeGroupPolicies(context, group);
 
+        List<Group> memberGroups = new ArrayList<>(group.getMemberGroups());
         group.getMemberGroups().clear();
         group.getParentGroups().clear();
 
@@ -571,11 +580,14 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             ePerson.getGroups().remove(group);
         }
 
-        // empty out group2groupcache table (if we do it after we delete our object we get an issue with references)
-        group2GroupCacheDAO.deleteAll(context);
+        // the ancestors of this group are no longer ancestors of its subgroups, unless through another group
+        for (Group memberGroup : memberGroups) {
+            removeFromGroupCache(context, group, memberGroup);
+        }
+        // (if we do it after we delete our object we get an issue with references)
+        group2GroupCacheDAO.deleteByGroup(context, group);
         // Remove ourself
         groupDAO.delete(context, group);
-        rethinkGroupCache(context, false);
 
         log.info(LogHelper.getHeader(context, "delete_group", "group_id="
             + group.getID()));
@@ -666,7 +678,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
 
         if (group.isGroupsChanged()) {
-            rethinkGroupCache(context, true);
+            updateGroupCache(context, group);
             group.clearGroupsChanged();
         }
 
@@ -691,9 +703,42 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
      */
     protected void rethinkGroupCache(Context context, boolean flushQueries) throws SQLException {
 
+        Map<UUID, Set<UUID>> parents = computeGroupClosure(groupDAO.getGroup2GroupResults(context, flushQueries));
+
+        // empty out group2groupcache table
+        group2GroupCacheDAO.deleteAll(context);
+
+        // write out new one
+        for (Map.Entry<UUID, Set<UUID>> parent : parents.entrySet()) {
+            UUID key = parent.getKey();
+
+            for (UUID child : parent.getValue()) {
+
+                Group parentGroup = find(context, key);
+                Group childGroup = find(context, child);
+
+
+                if (parentGroup != null && childGroup != null && group2GroupCacheDAO
+                    .find(context, parentGroup, childGroup) == null) {
+                    Group2GroupCache group2GroupCache = group2GroupCacheDAO.create(context, new Group2GroupCache());
+                    group2GroupCache.setParent(parentGroup);
+                    group2GroupCache.setChild(childGroup);
+                    group2GroupCacheDAO.save(context, group2GroupCache);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute the transitive closure of the given group memberships.
+     *
+     * @param group2groupResults the direct parent - child relations
+     * @return the ids of all the direct and indirect subgroups of each parent group
+     */
+    protected Map<UUID, Set<UUID>> computeGroupClosure(List<Pair<UUID, UUID>> group2groupResults) {
+
         Map<UUID, Set<UUID>> parents = new HashMap<>();
 
-        List<Pair<UUID, UUID>> group2groupResults = groupDAO.getGroup2GroupResults(context, flushQueries);
         for (Pair<UUID, UUID> group2groupResult : group2groupResults) {
             UUID parent = group2groupResult.getLeft();
             UUID child = group2groupResult.getRight();
@@ -722,29 +767,145 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             Set<UUID> myChildren = getChildren(parents, parent.getKey());
             parent.getValue().addAll(myChildren);
         }
+        return parents;
+    }
 
-        // empty out group2groupcache table
-        group2GroupCacheDAO.deleteAll(context);
+    /**
+     * Apply to the group cache AKA the group2groupcache table the groups added to or removed from the given group,
+     * and the groups it was added to or removed from. Only the pairs of the ancestors and descendants of the changed
+     * memberships are inserted or deleted.
+     *
+     * @param context The relevant DSpace Context.
+     * @param group   the updated group
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void updateGroupCache(Context context, Group group) throws SQLException {
+        for (Group2GroupChange change : new ArrayList<>(group.getGroup2GroupChanges())) {
+            // the change is applied once, whichever of its groups is updated first
+            change.getParent().getGroup2GroupChanges().remove(change);
+            change.getChild().getGroup2GroupChanges().remove(change);
+            if (change.isAdded()) {
+                group2GroupCacheDAO.insertClosure(context, change.getParent(), change.getChild());
+            } else {
+                removeFromGroupCache(context, change.getParent(), change.getChild());
+            }
+        }
+    }
 
-        // write out new one
-        for (Map.Entry<UUID, Set<UUID>> parent : parents.entrySet()) {
-            UUID key = parent.getKey();
+    /**
+     * Remove from the group cache the pairs which were only made by the membership of the child group in the parent
+     * group. Only the pairs of the parent or one of its ancestors and the child or one of its descendants can be
+     * affected: the new ancestors of each descendant are computed from its remaining direct parents, the
+     * descendants being visited after their parents.
+     *
+     * @param context The relevant DSpace Context.
+     * @param parent  the parent group
+     * @param child   the group which is no longer a member of the parent group
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void removeFromGroupCache(Context context, Group parent, Group child) throws SQLException {
+        Set<UUID> ancestors = new HashSet<>(group2GroupCacheDAO.findAncestorIds(context, parent.getID()));
+        ancestors.add(parent.getID());
+        Set<UUID> descendants = new HashSet<>(group2GroupCacheDAO.findDescendantIds(context, child.getID()));
+        descendants.add(child.getID());
+
+        // the remaining direct parents of the descendants
+        Map<UUID, Set<UUID>> directParents = new HashMap<>();
+        for (List<UUID> ids : ListUtils.partition(new ArrayList<>(descendants), MAX_IDS_PER_QUERY)) {
+            for (Pair<UUID, UUID> group2group : groupDAO.getGroup2GroupResults(context, ids)) {
+                directParents.computeIfAbsent(group2group.getRight(), id -> new HashSet<>())
+                             .add(group2group.getLeft());
+            }
+        }
 
-            for (UUID child : parent.getValue()) {
+        // the ancestors of the other direct parents didn't change, only the affected ones matter
+        Set<UUID> otherParents = new HashSet<>();
+        directParents.values().forEach(otherParents::addAll);
+        otherParents.removeAll(descendants);
+        Map<UUID, Set<UUID>> newAncestors = new HashMap<>();
+        for (List<UUID> ids : ListUtils.partition(new ArrayList<>(otherParents), MAX_IDS_PER_QUERY)) {
+            for (Pair<UUID, UUID> group2groupCache : group2GroupCacheDAO.findAncestorPairs(context, ids)) {
+                if (ancestors.contains(group2groupCache.getLeft())) {
+                    newAncestors.computeIfAbsent(group2groupCache.getRight(), id -> new HashSet<>())
+                                .add(group2groupCache.getLeft());
+                }
+            }
+        }
 
-                Group parentGroup = find(context, key);
-                Group childGroup = find(context, child);
+        // visit the descendants in topological order
+        Map<UUID, Integer> pendingParents = new HashMap<>();
+        Map<UUID, List<UUID>> children = new HashMap<>();
+        Deque<UUID> ready = new ArrayDeque<>();
+        for (UUID descendant : descendants) {
+            int count = 0;
+            for (UUID directParent : directParents.getOrDefault(descendant, Set.of())) {
+                if (descendants.contains(directParent)) {
+                    children.computeIfAbsent(directParent, id -> new ArrayList<>()).add(descendant);
+                    count++;
+                }
+            }
+            pendingParents.put(descendant, count);
+            if (count == 0) {
+                ready.add(descendant);
+            }
+        }
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            UUID descendant = ready.poll();
+            visited++;
+            Set<UUID> descendantAncestors = new HashSet<>();
+            for (UUID directParent : directParents.getOrDefault(descendant, Set.of())) {
+                if (ancestors.contains(directParent)) {
+                    descendantAncestors.add(directParent);
+                }
+                descendantAncestors.addAll(newAncestors.getOrDefault(directParent, Set.of()));
+            }
+            newAncestors.put(descendant, descendantAncestors);
 
+            Set<UUID> removed = new HashSet<>(ancestors);
+            removed.removeAll(descendantAncestors);
+            removed.remove(descendant);
+            for (List<UUID> ids : ListUtils.partition(new ArrayList<>(removed), MAX_IDS_PER_QUERY)) {
+                group2GroupCacheDAO.deleteAncestors(context, ids, descendant);
+            }
 
-                if (parentGroup != null && childGroup != null && group2GroupCacheDAO
-                    .find(context, parentGroup, childGroup) == null) {
-                    Group2GroupCache group2GroupCache = group2GroupCacheDAO.create(context, new Group2GroupCache());
-                    group2GroupCache.setParent(parentGroup);
-                    group2GroupCache.setChild(childGroup);
-                    group2GroupCacheDAO.save(context, group2GroupCache);
+            for (UUID descendantChild : children.getOrDefault(descendant, List.of())) {
+                if (pendingParents.merge(descendantChild, -1, Integer::sum) == 0) {
+                    ready.add(descendantChild);
                 }
             }
         }
+
+        if (visited < descendants.size()) {
+            // the memberships make a cycle, which the incremental update can't handle
+            log.warn("Group {} is a member of one of its subgroups, rebuilding the group cache", child.getID());
+            rethinkGroupCache(context, true);
+        }
+    }
+
+    @Override
+    public Group2GroupCacheCheck checkGroupCache(Context context) throws SQLException {
+        List<Pair<UUID, UUID>> group2groupResults = groupDAO.getGroup2GroupResults(context, true);
+        Set<Pair<UUID, UUID>> expected = new HashSet<>();
+        for (Map.Entry<UUID, Set<UUID>> parent : computeGroupClosure(group2groupResults).entrySet()) {
+            for (UUID child : parent.getValue()) {
+                expected.add(Pair.of(parent.getKey(), child));
+            }
+        }
+        int expectedSize = expected.size();
+        Set<Pair<UUID, UUID>> stale = new HashSet<>();
+        for (Pair<UUID, UUID> cached : group2GroupCacheDAO.findAllPairs(context)) {
+            if (!expected.remove(cached)) {
+                stale.add(cached);
+            }
+        }
+        // what's left of the expected pairs is missing from the cache
+        return new Group2GroupCacheCheck(group2groupResults, expectedSize, expected, stale);
+    }
+
+    @Override
+    public void rebuildGroupCache(Context context) throws SQLException {
+        rethinkGroupCache(context, true);
     }
 
     @Override
@@ -8,8 +8,11 @@
 package org.dspace.eperson.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.core.Context;
 import org.dspace.core.GenericDAO;
 import org.dspace.eperson.Group;
@@ -34,4 +37,75 @@ public interface Group2GroupCacheDAO extends GenericDAO<Group2GroupCache> {
     public Group2GroupCache find(Context context, Group parent, Group child) throws SQLException;
 
     public void deleteAll(Context context) throws SQLException;
+
+    /**
+     * Find the ids of all the groups the given group is a direct or indirect member of, according to the cache.
+     *
+     * @param context the DSpace Context object
+     * @param groupId the id of the group
+     * @return the ids of its ancestors
+     * @throws SQLException if a problem with the database occurs
+     */
+    public List<UUID> findAncestorIds(Context context, UUID groupId) throws SQLException;
+
+    /**
+     * Find the ids of all the direct and indirect subgroups of the given group, according to the cache.
+     *
+     * @param context the DSpace Context object
+     * @param groupId the id of the group
+     * @return the ids of its descendants
+     * @throws SQLException if a problem with the database occurs
+     */
+    public List<UUID> findDescendantIds(Context context, UUID groupId) throws SQLException;
+
+    /**
+     * Find the cached (ancestor, group) pairs of the given groups.
+     *
+     * @param context  the DSpace Context object
+     * @param groupIds the ids of the groups
+     * @return the pairs, the ancestor on the left
+     * @throws SQLException if a problem with the database occurs
+     */
+    public List<Pair<UUID, UUID>> findAncestorPairs(Context context, Collection<UUID> groupIds) throws SQLException;
+
+    /**
+     * Add to the cache the pairs made by the new membership of the child group in the parent group: the parent and
+     * its ancestors become ancestors of the child and of its descendants. The pairs are inserted by a single
+     * statement, the ones already cached are skipped.
+     *
+     * @param context the DSpace Context object
+     * @param parent  the parent group
+     * @param child   the new member of the parent group
+     * @return the number of inserted pairs
+     * @throws SQLException if a problem with the database occurs
+     */
+    public int insertClosure(Context context, Group parent, Group child) throws SQLException;
+
+    /**
+     * Remove from the cache the pairs made of the given ancestors and the given group.
+     *
+     * @param context     the DSpace Context object
+     * @param ancestorIds the ids of the ancestors which are no longer ancestors of the group
+     * @param groupId     the id of the group
+     * @return the number of removed pairs
+     * @throws SQLException if a problem with the database occurs
+     */
+    public int deleteAncestors(Context context, Collection<UUID> ancestorIds, UUID groupId) throws SQLException;
+
+    /**
+     * Remove from the cache all the pairs the given group is part of.
+     *
+     * @param context the DSpace Context object
+     * @param group   the group
+     * @return the number of removed pairs
+     * @throws SQLException if a problem with the database occurs
+     */
+    public int deleteByGroup(Context context, Group group) throws SQLException;
+
+    /**
+     * @param context the DSpace Context object
+     * @return all the cached (parent, child) pairs
+     * @throws SQLException if a problem with the database occurs
+     */
+    public List<Pair<UUID, UUID>> findAllPairs(Context context) throws SQLException;
 }
@@ -8,20 +8,24 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.UUID;
 import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.core.AbstractHibernateDAO;
 import org.dspace.core.Context;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.Group2GroupCache;
 import org.dspace.eperson.Group2GroupCache_;
 import org.dspace.eperson.dao.Group2GroupCacheDAO;
+import org.hibernate.query.NativeQuery;
 
 /**
  * Hibernate implementation of the Database Access Object interface class for the Group2GroupCache object.
@@ -90,4 +94,81 @@ public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCac
     public void deleteAll(Context context) throws SQLException {
         createQuery(context, "delete from Group2GroupCache").executeUpdate();
     }
+
+    @Override
+    public List<UUID> findAncestorIds(Context context, UUID groupId) throws SQLException {
+        Query query = createQuery(context, "SELECT g.parent.id FROM Group2GroupCache g WHERE g.child.id = :groupId");
+        query.setParameter("groupId", groupId);
+        @SuppressWarnings("unchecked")
+        List<UUID> results = query.getResultList();
+        return results;
+    }
+
+    @Override
+    public List<UUID> findDescendantIds(Context context, UUID groupId) throws SQLException {
+        Query query = createQuery(context, "SELECT g.child.id FROM Group2GroupCache g WHERE g.parent.id = :groupId");
+        query.setParameter("groupId", groupId);
+        @SuppressWarnings("unchecked")
+        List<UUID> results = query.getResultList();
+        return results;
+    }
+
+    @Override
+    public List<Pair<UUID, UUID>> findAncestorPairs(Context context, Collection<UUID> groupIds) throws SQLException {
+        Query query = createQuery(context,
+                                  "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.parent.id, g.child.id) "
+                                      + "FROM Group2GroupCache g WHERE g.child.id IN (:groupIds)");
+        query.setParameter("groupIds", groupIds);
+        @SuppressWarnings("unchecked")
+        List<Pair<UUID, UUID>> results = query.getResultList();
+        return results;
+    }
+
+    @Override
+    public int insertClosure(Context context, Group parent, Group child) throws SQLException {
+        // the new groups and memberships must be in the database before the statement selects them
+        getHibernateSession(context).flush();
+        NativeQuery<?> query = getHibernateSession(context).createNativeQuery(
+            "INSERT INTO group2groupcache (parent_id, child_id)"
+                + " SELECT a.uuid, d.uuid FROM epersongroup a, epersongroup d"
+                + " WHERE (a.uuid = :parentId"
+                + "   OR a.uuid IN (SELECT parent_id FROM group2groupcache WHERE child_id = :parentId))"
+                + " AND (d.uuid = :childId"
+                + "   OR d.uuid IN (SELECT child_id FROM group2groupcache WHERE parent_id = :childId))"
+                + " AND a.uuid <> d.uuid"
+                + " AND NOT EXISTS (SELECT 1 FROM group2groupcache c"
+                + "   WHERE c.parent_id = a.uuid AND c.child_id = d.uuid)");
+        query.setParameter("parentId", parent.getID());
+        query.setParameter("childId", child.getID());
+        // only the cached queries on the group2groupcache table are invalidated
+        query.addSynchronizedEntityClass(Group2GroupCache.class);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public int deleteAncestors(Context context, Collection<UUID> ancestorIds, UUID groupId) throws SQLException {
+        Query query = createQuery(context, "DELETE FROM Group2GroupCache g "
+            + "WHERE g.child.id = :groupId AND g.parent.id IN (:ancestorIds)");
+        query.setParameter("groupId", groupId);
+        query.setParameter("ancestorIds", ancestorIds);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public int deleteByGroup(Context context, Group group) throws SQLException {
+        Query query = createQuery(context,
+                                  "DELETE FROM Group2GroupCache g WHERE g.parent = :group OR g.child = :group");
+        query.setParameter("group", group);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public List<Pair<UUID, UUID>> findAllPairs(Context context) throws SQLException {
+        Query query = createQuery(context,
+                                  "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.parent.id, g.child.id) "
+                                      + "FROM Group2GroupCache g");
+        @SuppressWarnings("unchecked")
+        List<Pair<UUID, UUID>> results = query.getResultList();
+        return results;
+    }
 }
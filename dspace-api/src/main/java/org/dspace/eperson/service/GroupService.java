@@ -18,6 +18,7 @@ import org.dspace.content.service.DSpaceObjectService;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
+import org.dspace.eperson.Group2GroupCacheCheck;
 
 /**
  * Service interface class for the Group object.
@@ -407,4 +408,22 @@ public interface GroupService extends DSpaceObjectService<Group>, DSpaceObjectLe
      */
     int countByParent(Context context, Group parent)
         throws SQLException;
+
+    /**
+     * Compare the group2groupcache table, maintained incrementally when groups are added to or removed from other
+     * groups, with the transitive closure of all the group memberships.
+     *
+     * @param context The relevant DSpace Context.
+     * @return the differences between the table and the closure
+     * @throws SQLException database exception if error
+     */
+    Group2GroupCacheCheck checkGroupCache(Context context) throws SQLException;
+
+    /**
+     * Empty the group2groupcache table and fill it again with the transitive closure of all the group memberships.
+     *
+     * @param context The relevant DSpace Context.
+     * @throws SQLException database exception if error
+     */
+    void rebuildGroupCache(Context context) throws SQLException;
 }
@@ -0,0 +1,322 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+
+/**
+ * Executor of the events of an asynchronous consumer of an {@link AsyncDispatcher}, once the transaction which
+ * produced them is committed.
+ *
+ * The events are spread among lanes according to their subject, so that the events of a subject are consumed in
+ * the order of their transactions. Each lane has its own thread, its own instance of the consumer and a bounded
+ * queue: the committing thread waits for room in a full queue. The events produced by the consumers themselves are
+ * queued without waiting, beyond the bound, as their lane could be waiting for its own queue or for the lane of
+ * another consumer waiting for its queue. The events of a transaction are consumed in a new
+ * context, committed once the consumer processed them; if it fails, they are consumed again by a new instance of
+ * the consumer, up to {@code maxAttempts} times.
+ */
+public class AsyncConsumerExecutor {
+
+    private static final Logger log = LogManager.getLogger(AsyncConsumerExecutor.class);
+
+    /**
+     * Whether the current thread is the thread of a lane, of any executor
+     */
+    private static final ThreadLocal<Boolean> inLane = ThreadLocal.withInitial(() -> false);
+
+    private final String dispatcherName;
+
+    private final String consumerName;
+
+    private final int maxAttempts;
+
+    private final long retryDelay;
+
+    private final Lane[] lanes;
+
+    private final AtomicLong consumedEvents = new AtomicLong();
+
+    private final AtomicLong retries = new AtomicLong();
+
+    private final AtomicLong failedEvents = new AtomicLong();
+
+    private volatile long lastLag;
+
+    private final LongAccumulator maxLag = new LongAccumulator(Long::max, 0);
+
+    /**
+     * @param dispatcherName the name of the dispatcher
+     * @param consumerName   the name of the consumer, as configured
+     * @param threads        the number of lanes
+     * @param queueSize      the number of transactions waiting in the queue of a lane
+     * @param maxAttempts    the number of attempts to consume the events of a transaction
+     * @param retryDelay     the delay before the second attempt in milliseconds, doubled for each next attempt
+     */
+    public AsyncConsumerExecutor(String dispatcherName, String consumerName, int threads, int queueSize,
+                                 int maxAttempts, long retryDelay) {
+        this.dispatcherName = dispatcherName;
+        this.consumerName = consumerName;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelay = retryDelay;
+        this.lanes = new Lane[Math.max(1, threads)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i, Math.max(1, queueSize));
+        }
+    }
+
+    /**
+     * Hand over the events of a committed transaction to the lanes of their subjects, waiting if a lane is full,
+     * unless the events are produced by a lane.
+     *
+     * @param currentUser the id of the user who produced the events, null if anonymous
+     * @param events      the events passing the filters of the consumer
+     */
+    public void submit(UUID currentUser, List<Event> events) {
+        List<List<Event>> batches = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            batches.add(new ArrayList<>());
+        }
+        for (Event event : events) {
+            String subject = event.getSubjectType() + "-" + event.getSubjectID();
+            batches.get(Math.floorMod(subject.hashCode(), lanes.length)).add(event);
+        }
+        long submitted = System.currentTimeMillis();
+        for (int i = 0; i < lanes.length; i++) {
+            if (!batches.get(i).isEmpty()) {
+                lanes[i].submit(currentUser, batches.get(i), submitted);
+            }
+        }
+    }
+
+    /**
+     * Stop accepting events and wait for the queued ones to be consumed.
+     *
+     * @param timeout the maximum time to wait, in milliseconds
+     */
+    public void shutdown(long timeout) {
+        for (Lane lane : lanes) {
+            lane.executor.shutdown();
+        }
+        long deadline = System.currentTimeMillis() + timeout;
+        for (Lane lane : lanes) {
+            try {
+                if (!lane.executor.awaitTermination(Math.max(0, deadline - System.currentTimeMillis()),
+                                                    TimeUnit.MILLISECONDS)) {
+                    log.warn("{} transactions of the consumer {} of the dispatcher {} were not consumed",
+                             lane.executor.getQueue().size(), consumerName, dispatcherName);
+                    lane.executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public String getDispatcherName() {
+        return dispatcherName;
+    }
+
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    /**
+     * @return the number of transactions waiting to be consumed
+     */
+    public int getQueueSize() {
+        int size = 0;
+        for (Lane lane : lanes) {
+            size += lane.executor.getQueue().size();
+        }
+        return size;
+    }
+
+    /**
+     * @return the number of events consumed successfully
+     */
+    public long getConsumedEvents() {
+        return consumedEvents.get();
+    }
+
+    /**
+     * @return the number of failed attempts to consume the events of a transaction which were retried
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * @return the number of events which could not be consumed after all the attempts
+     */
+    public long getFailedEvents() {
+        return failedEvents.get();
+    }
+
+    /**
+     * @return the time between the commit and the consumption of the last transaction, in milliseconds
+     */
+    public long getLastLag() {
+        return lastLag;
+    }
+
+    /**
+     * @return the longest time between the commit and the consumption of a transaction, in milliseconds
+     */
+    public long getMaxLag() {
+        return maxLag.get();
+    }
+
+    private Consumer newConsumer() throws Exception {
+        Consumer consumer = ConsumerProfile.makeConsumerProfile(consumerName).getConsumer();
+        consumer.initialize();
+        return consumer;
+    }
+
+    /**
+     * A thread consuming in order the events of a part of the subjects.
+     */
+    private class Lane {
+
+        private final ThreadPoolExecutor executor;
+
+        /**
+         * The room left in the queue, which is not bounded itself so that the lanes never wait for it
+         */
+        private final Semaphore room;
+
+        private Consumer consumer;
+
+        Lane(int index, int queueSize) {
+            room = new Semaphore(queueSize);
+            executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new BasicThreadFactory.Builder()
+                    .namingPattern("event-" + dispatcherName + "-" + consumerName + "-" + index)
+                    .daemon(true)
+                    .build());
+        }
+
+        void submit(UUID currentUser, List<Event> events, long submitted) {
+            if (executor.isShutdown()) {
+                discard(events, new RejectedExecutionException("The executor is shut down"));
+                return;
+            }
+            boolean acquired;
+            if (inLane.get()) {
+                // a lane never waits, the lane it waits for could be waiting for it
+                acquired = room.tryAcquire();
+            } else {
+                // back pressure: the committing thread waits for room in the queue
+                try {
+                    room.acquire();
+                    acquired = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    discard(events, e);
+                    return;
+                }
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        consume(currentUser, events, submitted);
+                    } finally {
+                        if (acquired) {
+                            room.release();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (acquired) {
+                    room.release();
+                }
+                discard(events, e);
+            }
+        }
+
+        private void discard(List<Event> events, Exception e) {
+            failedEvents.addAndGet(events.size());
+            log.error("{} events of the consumer {} of the dispatcher {} were discarded", events.size(),
+                      consumerName, dispatcherName, e);
+        }
+
+        private void consume(UUID currentUser, List<Event> events, long submitted) {
+            inLane.set(true);
+            long lag = System.currentTimeMillis() - submitted;
+            lastLag = lag;
+            maxLag.accumulate(lag);
+
+            for (int attempt = 1; ; attempt++) {
+                Context context = new Context();
+                try {
+                    if (consumer == null) {
+                        consumer = newConsumer();
+                    }
+                    context.turnOffAuthorisationSystem();
+                    if (currentUser != null) {
+                        context.setCurrentUser(EPersonServiceFactory.getInstance().getEPersonService()
+                                                                    .find(context, currentUser));
+                    }
+                    for (Event event : events) {
+                        consumer.consume(context, event);
+                    }
+                    consumer.end(context);
+                    context.complete();
+                    consumedEvents.addAndGet(events.size());
+                    return;
+                } catch (Exception e) {
+                    // the state of the consumer is unknown, a new instance consumes the events again
+                    consumer = null;
+                    if (attempt >= maxAttempts) {
+                        failedEvents.addAndGet(events.size());
+                        log.error("The consumer {} of the dispatcher {} failed to consume {} events", consumerName,
+                                  dispatcherName, events.size(), e);
+                        return;
+                    }
+                    retries.incrementAndGet();
+                    log.warn("The consumer {} of the dispatcher {} failed to consume {} events, attempt {} of {}",
+                             consumerName, dispatcherName, events.size(), attempt, maxAttempts, e);
+                    if (!sleep(retryDelay << (attempt - 1))) {
+                        failedEvents.addAndGet(events.size());
+                        return;
+                    }
+                } finally {
+                    if (context.isValid()) {
+                        context.abort();
+                    }
+                }
+            }
+        }
+
+        private boolean sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Dispatcher delivering the events synchronously to some consumers, like the {@link BasicDispatcher}, and
+ * asynchronously to the consumers listed in {@code event.dispatcher.<name>.async-consumers}: the events of these
+ * consumers are handed over to their {@link AsyncConsumerExecutor} once the transaction is committed, so that the
+ * slow consumers which don't need to change the transaction don't delay the commit.
+ *
+ * The executors of a consumer are configured by the following properties, where {@code <prefix>} is
+ * {@code event.dispatcher.<name>.async} and a property of a consumer overrides the property of the dispatcher:
+ * <ul>
+ * <li>{@code <prefix>.threads}, {@code <prefix>.<consumer>.threads}: the number of threads (default 1)</li>
+ * <li>{@code <prefix>.queue-size}, {@code <prefix>.<consumer>.queue-size}: the number of transactions waiting for
+ * each thread (default 1000)</li>
+ * <li>{@code <prefix>.max-attempts}, {@code <prefix>.<consumer>.max-attempts}: the number of attempts to consume
+ * the events of a transaction (default 3)</li>
+ * <li>{@code <prefix>.retry-delay}, {@code <prefix>.<consumer>.retry-delay}: the delay before the second attempt,
+ * in milliseconds (default 1000)</li>
+ * </ul>
+ */
+public class AsyncDispatcher extends BasicDispatcher {
+
+    /**
+     * The executors of the asynchronous consumers, shared by the pooled instances of the dispatchers
+     */
+    private static final Map<String, AsyncConsumerExecutor> executors = new ConcurrentHashMap<>();
+
+    private final Set<String> asyncConsumers;
+
+    /**
+     * The events of the current transaction to hand over to each asynchronous consumer
+     */
+    private final Map<String, List<Event>> asyncEvents = new LinkedHashMap<>();
+
+    public AsyncDispatcher(String name) {
+        super(name);
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        asyncConsumers = new HashSet<>(Arrays.asList(
+            configurationService.getArrayProperty("event.dispatcher." + name + ".async-consumers")));
+    }
+
+    @Override
+    public void addConsumerProfile(ConsumerProfile cp) throws IllegalArgumentException {
+        super.addConsumerProfile(cp);
+        if (asyncConsumers.contains(cp.getName())) {
+            cp.setAsync(true);
+            getExecutor(cp.getName());
+        }
+    }
+
+    @Override
+    protected void dispatchEvent(Context ctx, Event event) {
+        super.dispatchEvent(ctx, event);
+        for (ConsumerProfile cp : consumers.values()) {
+            if (cp.isAsync() && event.pass(cp.getFilters())) {
+                asyncEvents.computeIfAbsent(cp.getName(), consumer -> new ArrayList<>()).add(event);
+            }
+        }
+    }
+
+    @Override
+    protected void end(Context ctx) {
+        super.end(ctx);
+        UUID currentUser = ctx.getCurrentUser() != null ? ctx.getCurrentUser().getID() : null;
+        for (Map.Entry<String, List<Event>> events : asyncEvents.entrySet()) {
+            AsyncConsumerExecutor executor = getExecutor(events.getKey());
+            List<Event> consumerEvents = events.getValue();
+            // the events are discarded if the transaction is rolled back
+            ctx.runAfterCommit(() -> executor.submit(currentUser, consumerEvents));
+        }
+        asyncEvents.clear();
+    }
+
+    private AsyncConsumerExecutor getExecutor(String consumer) {
+        return executors.computeIfAbsent(name + "." + consumer, key -> createExecutor(consumer));
+    }
+
+    private AsyncConsumerExecutor createExecutor(String consumer) {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        String prefix = "event.dispatcher." + name + ".async.";
+        return new AsyncConsumerExecutor(name, consumer,
+            configurationService.getIntProperty(prefix + consumer + ".threads",
+                configurationService.getIntProperty(prefix + "threads", 1)),
+            configurationService.getIntProperty(prefix + consumer + ".queue-size",
+                configurationService.getIntProperty(prefix + "queue-size", 1000)),
+            configurationService.getIntProperty(prefix + consumer + ".max-attempts",
+                configurationService.getIntProperty(prefix + "max-attempts", 3)),
+            configurationService.getLongProperty(prefix + consumer + ".retry-delay",
+                configurationService.getLongProperty(prefix + "retry-delay", 1000)));
+    }
+
+    /**
+     * @return the executors of the asynchronous consumers of all the dispatchers, with their metrics
+     */
+    public static Collection<AsyncConsumerExecutor> getExecutors() {
+        return executors.values();
+    }
+
+    /**
+     * Stop the executors of the asynchronous consumers, waiting for the queued events to be consumed.
+     *
+     * @param timeout the maximum time to wait for each executor, in milliseconds
+     */
+    public static void shutdown(long timeout) {
+        for (AsyncConsumerExecutor executor : executors.values()) {
+            executor.shutdown(timeout);
+        }
+        executors.clear();
+    }
+}
@@ -85,51 +85,70 @@ public class BasicDispatcher extends Dispatcher {
                 event.setDispatcher(getIdentifier());
                 event.setTransactionID(tid);
 
-                if (log.isDebugEnabled()) {
-                    log.debug("Iterating over "
-                                  + String.valueOf(consumers.values().size())
-                                  + " consumers...");
-                }
+                dispatchEvent(ctx, event);
+            }
 
-                for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
-                    ConsumerProfile cp = (ConsumerProfile) ci.next();
+            end(ctx);
+        }
+    }
 
-                    if (event.pass(cp.getFilters())) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("Sending event to \"" + cp.getName()
-                                          + "\": " + event.toString());
-                        }
+    /**
+     * Deliver an event to the synchronous consumers whose filters it passes.
+     *
+     * @param ctx   the execution context
+     * @param event the event to deliver
+     */
+    protected void dispatchEvent(Context ctx, Event event) {
+        if (log.isDebugEnabled()) {
+            log.debug("Iterating over "
+                          + String.valueOf(consumers.values().size())
+                          + " consumers...");
+        }
 
-                        try {
-                            cp.getConsumer().consume(ctx, event);
+        for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
+            ConsumerProfile cp = (ConsumerProfile) ci.next();
 
-                            // Record that the event has been consumed by this
-                            // consumer
-                            event.setBitSet(cp.getName());
-                        } catch (Exception e) {
-                            log.error("Consumer(\"" + cp.getName()
-                                          + "\").consume threw: " + e.toString(), e);
-                        }
-                    }
+            if (!cp.isAsync() && event.pass(cp.getFilters())) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Sending event to \"" + cp.getName()
+                                  + "\": " + event.toString());
+                }
 
+                try {
+                    cp.getConsumer().consume(ctx, event);
+
+                    // Record that the event has been consumed by this
+                    // consumer
+                    event.setBitSet(cp.getName());
+                } catch (Exception e) {
+                    log.error("Consumer(\"" + cp.getName()
+                                  + "\").consume threw: " + e.toString(), e);
                 }
             }
 
-            // Call end on the consumers that got synchronous events.
-            for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
-                ConsumerProfile cp = (ConsumerProfile) ci.next();
-                if (cp != null) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Calling end for consumer \"" + cp.getName()
-                                      + "\"");
-                    }
-
-                    try {
-                        cp.getConsumer().end(ctx);
-                    } catch (Exception e) {
-                        log.error("Error in Consumer(\"" + cp.getName()
-                                      + "\").end: " + e.toString(), e);
-                    }
+        }
+    }
+
+    /**
+     * Signal the end of the event stream to the synchronous consumers.
+     *
+     * @param ctx the execution context
+     */
+    protected void end(Context ctx) {
+        // Call end on the consumers that got synchronous events.
+        for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
+            ConsumerProfile cp = (ConsumerProfile) ci.next();
+            if (cp != null && !cp.isAsync()) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Calling end for consumer \"" + cp.getName()
+                                  + "\"");
+                }
+
+                try {
+                    cp.getConsumer().end(ctx);
+                } catch (Exception e) {
+                    log.error("Error in Consumer(\"" + cp.getName()
+                                  + "\").end: " + e.toString(), e);
                 }
             }
         }
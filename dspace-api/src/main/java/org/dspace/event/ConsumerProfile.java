@@ -43,6 +43,12 @@ public class ConsumerProfile {
      */
     private List<int[]> filters;
 
+    /**
+     * Whether the events are handed over to the consumer after the commit, in another thread, by an
+     * {@link AsyncDispatcher}
+     */
+    private boolean async = false;
+
     // Prefix of keys in DSpace Configuration.
     private static final String CONSUMER_PREFIX = "event.consumer.";
 
@@ -163,4 +169,12 @@ public class ConsumerProfile {
     public String getName() {
         return name;
     }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
 }
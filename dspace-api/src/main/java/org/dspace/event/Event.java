@@ -12,10 +12,14 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.DSpaceObject;
@@ -635,6 +639,41 @@ public class Event implements Serializable {
         return consumedBy;
     }
 
+    /**
+     * Merge an event added after this one into this one, if the consumers would learn nothing more from it: both
+     * events have the same action, subject and object, and either the same detail, or they are MODIFY_METADATA
+     * events whose details (the modified metadata fields) are merged.
+     *
+     * @param next the event added after this one
+     * @return true if the event was merged into this one, and must not be dispatched
+     */
+    public boolean coalesce(Event next) {
+        if (eventType != next.eventType || subjectType != next.subjectType
+            || !Objects.equals(subjectID, next.subjectID) || objectType != next.objectType
+            || !Objects.equals(objectID, next.objectID)) {
+            return false;
+        }
+        if (eventType == MODIFY_METADATA) {
+            detail = mergeDetails(detail, next.detail);
+        } else if (!Objects.equals(detail, next.detail)) {
+            return false;
+        }
+        timeStamp = next.timeStamp;
+        identifiers = next.identifiers;
+        return true;
+    }
+
+    private static String mergeDetails(String detail, String otherDetail) {
+        if (detail == null || otherDetail == null) {
+            return detail == null ? otherDetail : detail;
+        }
+        Set<String> details = new LinkedHashSet<>();
+        for (String d : StringUtils.splitByWholeSeparator(detail + ", " + otherDetail, ", ")) {
+            details.add(d);
+        }
+        return String.join(", ", details);
+    }
+
     /**
      * @return Detailed string representation of contents of this event, to
      * help in logging and debugging.
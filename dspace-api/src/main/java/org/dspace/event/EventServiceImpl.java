@@ -27,6 +27,7 @@ import org.dspace.core.Context;
 import org.dspace.event.service.EventService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * Class for managing the content event environment. The EventManager mainly
@@ -35,7 +36,7 @@ import org.dspace.services.factory.DSpaceServicesFactory;
  *
  * Version: $Revision$
  */
-public class EventServiceImpl implements EventService {
+public class EventServiceImpl implements EventService, DisposableBean {
     /**
      * log4j category
      */
@@ -94,6 +95,15 @@ public class EventServiceImpl implements EventService {
         }
     }
 
+    /**
+     * Wait for the events handed over to the asynchronous consumers to be consumed, up to
+     * {@code event.async.shutdown-timeout} seconds for each consumer.
+     */
+    @Override
+    public void destroy() throws Exception {
+        AsyncDispatcher.shutdown(configurationService.getLongProperty("event.async.shutdown-timeout", 60) * 1000);
+    }
+
     @Override
     public Dispatcher getDispatcher(String name) {
         if (dispatcherPool == null) {
@@ -10,15 +10,26 @@ package org.dspace.importer.external.liveimportclient.service;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Named;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
+import org.apache.http.NameValuePair;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.config.RequestConfig.Builder;
 import org.apache.http.client.methods.HttpGet;
@@ -27,44 +38,90 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.dspace.service.impl.HttpConnectionPoolService;
 import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Implementation of {@link LiveImportClient}.
  *
+ * The requests share the keep-alive connections of the {@code liveImportHttpConnectionPoolService} pool, configured
+ * by the {@code live-import.client.*} properties. The successful responses of the GET requests are kept in a cache
+ * of at most {@code live-import.cache.max-size} megabytes, each expiring {@code live-import.cache.ttl} seconds after
+ * it was stored, so that the repeated searches and lookups of the providers are not sent again. The cache is keyed by
+ * the URL, with its query parameters sorted, and the header parameters of the request.
+ *
  * @author Mykhaylo Boychuk (mykhaylo.boychuk at 4science dot com)
  */
-public class LiveImportClientImpl implements LiveImportClient {
+public class LiveImportClientImpl implements LiveImportClient, InitializingBean {
 
     private final static Logger log = LogManager.getLogger();
 
     public static final String URI_PARAMETERS = "uriParameters";
     public static final String HEADER_PARAMETERS = "headerParameters";
 
+    /**
+     * The client replacing the pooled client, e.g. a mock in the tests
+     */
     private CloseableHttpClient httpClient;
 
+    private CloseableHttpClient pooledHttpClient;
+
+    private Cache<String, String> responseCache;
+
     @Autowired
     private ConfigurationService configurationService;
 
+    @Autowired
+    @Named("liveImportHttpConnectionPoolService")
+    private HttpConnectionPoolService httpConnectionPoolService;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        pooledHttpClient = httpConnectionPoolService.getClient();
+        responseCache = CacheBuilder.newBuilder()
+                                    .maximumWeight(configurationService.getLongProperty("live-import.cache.max-size",
+                                                                                        16) * 1024 * 1024)
+                                    .weigher((String key, String response) -> key.length() + response.length())
+                                    .expireAfterWrite(configurationService.getLongProperty("live-import.cache.ttl",
+                                                                                           600), TimeUnit.SECONDS)
+                                    .recordStats()
+                                    .build();
+    }
+
     @Override
     public String executeHttpGetRequest(int timeout, String URL, Map<String, Map<String, String>> params) {
-        HttpGet method = null;
-        try (CloseableHttpClient httpClient = Optional.ofNullable(this.httpClient)
-                                                      .orElseGet(HttpClients::createDefault)) {
+        try {
+            String uri = buildUrl(URL, params.get(URI_PARAMETERS));
+            Map<String, String> headerParams = params.get(HEADER_PARAMETERS);
+            if (isCacheEnabled()) {
+                // the concurrent requests of a response wait for the first one, the failures are not cached
+                return responseCache.get(getCacheKey(uri, headerParams),
+                                         () -> doHttpGetRequest(timeout, uri, headerParams));
+            }
+            return doHttpGetRequest(timeout, uri, headerParams);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            log.error(e.getCause().getMessage(), e.getCause());
+        } catch (Exception e1) {
+            log.error(e1.getMessage(), e1);
+        }
+        return StringUtils.EMPTY;
+    }
 
+    private String doHttpGetRequest(int timeout, String uri, Map<String, String> headerParams) throws Exception {
+        HttpGet method = null;
+        try {
             Builder requestConfigBuilder = RequestConfig.custom();
             requestConfigBuilder.setConnectionRequestTimeout(timeout);
             RequestConfig defaultRequestConfig = requestConfigBuilder.build();
 
-            String uri = buildUrl(URL, params.get(URI_PARAMETERS));
             method = new HttpGet(uri);
             method.setConfig(defaultRequestConfig);
 
-            Map<String, String> headerParams = params.get(HEADER_PARAMETERS);
             if (MapUtils.isNotEmpty(headerParams)) {
                 for (String param : headerParams.keySet()) {
                     method.setHeader(param, headerParams.get(param));
@@ -75,29 +132,25 @@ public class LiveImportClientImpl implements LiveImportClient {
             if (log.isDebugEnabled()) {
                 log.debug("Performing GET request to \"" + uri + "\"...");
             }
-            HttpResponse httpResponse = httpClient.execute(method);
+            HttpResponse httpResponse = getClient().execute(method);
             if (isNotSuccessfull(httpResponse)) {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
                 throw new RuntimeException("The request failed with: " + getStatusCode(httpResponse) + " code, reason= "
                                            + httpResponse.getStatusLine().getReasonPhrase());
             }
             InputStream inputStream = httpResponse.getEntity().getContent();
             return IOUtils.toString(inputStream, Charset.defaultCharset());
-        } catch (Exception e1) {
-            log.error(e1.getMessage(), e1);
         } finally {
             if (Objects.nonNull(method)) {
                 method.releaseConnection();
             }
         }
-        return StringUtils.EMPTY;
     }
 
     @Override
     public String executeHttpPostRequest(String URL, Map<String, Map<String, String>> params, String entry) {
         HttpPost method = null;
-        try (CloseableHttpClient httpClient = Optional.ofNullable(this.httpClient)
-                                                      .orElseGet(HttpClients::createDefault)) {
-
+        try {
             Builder requestConfigBuilder = RequestConfig.custom();
             RequestConfig defaultRequestConfig = requestConfigBuilder.build();
 
@@ -113,8 +166,9 @@ public class LiveImportClientImpl implements LiveImportClient {
             if (log.isDebugEnabled()) {
                 log.debug("Performing POST request to \"" + uri + "\"..." );
             }
-            HttpResponse httpResponse = httpClient.execute(method);
+            HttpResponse httpResponse = getClient().execute(method);
             if (isNotSuccessfull(httpResponse)) {
+                EntityUtils.consumeQuietly(httpResponse.getEntity());
                 throw new RuntimeException();
             }
             InputStream inputStream = httpResponse.getEntity().getContent();
@@ -174,6 +228,58 @@ public class LiveImportClientImpl implements LiveImportClient {
         return uriBuilder.toString();
     }
 
+    /**
+     * @return the key of the cached response of a GET request: the URL with its query parameters sorted, and the
+     *         header parameters sorted by name
+     */
+    private String getCacheKey(String uri, Map<String, String> headerParams) throws URISyntaxException {
+        URIBuilder uriBuilder = new URIBuilder(uri);
+        List<NameValuePair> queryParams = new ArrayList<>(uriBuilder.getQueryParams());
+        if (!queryParams.isEmpty()) {
+            queryParams.sort(Comparator.comparing(NameValuePair::getName)
+                                       .thenComparing(NameValuePair::getValue,
+                                                      Comparator.nullsFirst(Comparator.naturalOrder())));
+            uriBuilder.setParameters(queryParams);
+        }
+        if (StringUtils.isNotEmpty(uriBuilder.getHost())) {
+            uriBuilder.setHost(uriBuilder.getHost().toLowerCase());
+        }
+        String key = uriBuilder.toString();
+        if (MapUtils.isNotEmpty(headerParams)) {
+            key += " " + new TreeMap<>(headerParams);
+        }
+        return key;
+    }
+
+    private boolean isCacheEnabled() {
+        return configurationService.getBooleanProperty("live-import.cache.enabled", true);
+    }
+
+    private CloseableHttpClient getClient() {
+        return Objects.nonNull(httpClient) ? httpClient : pooledHttpClient;
+    }
+
+    /**
+     * Remove all the cached responses.
+     */
+    public void invalidateCache() {
+        responseCache.invalidateAll();
+    }
+
+    /**
+     * @return the number of cached responses
+     */
+    public long getCacheSize() {
+        return responseCache.size();
+    }
+
+    /**
+     * @return the hit, miss and eviction counts of the response cache since startup
+     */
+    public CacheStats getCacheStats() {
+        return responseCache.stats();
+    }
+
     private boolean isNotSuccessfull(HttpResponse response) {
         int statusCode = getStatusCode(response);
         return statusCode < 200 || statusCode > 299;
@@ -189,6 +295,10 @@ public class LiveImportClientImpl implements LiveImportClient {
 
     public void setHttpClient(CloseableHttpClient httpClient) {
         this.httpClient = httpClient;
+        // the cached responses came from the previous client
+        if (Objects.nonNull(responseCache)) {
+            invalidateCache();
+        }
     }
 
 }
@@ -9,6 +9,7 @@ package org.dspace.layout.service;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.EntityType;
@@ -26,6 +27,11 @@ import org.dspace.service.DSpaceCRUDService;
  */
 public interface CrisLayoutBoxService extends DSpaceCRUDService<CrisLayoutBox> {
 
+    /**
+     * Name of the search field holding the content of the costly boxes of an item, as shortname=true|false values
+     */
+    public static final String BOX_CONTENT_FIELD = "layout.box.content";
+
     /**
      * This method stores in the database a CrisLayoutBox {@Link CrisLayoutBox} instance
      * @param context The relevant DSpace Context
@@ -72,6 +78,18 @@ public interface CrisLayoutBoxService extends DSpaceCRUDService<CrisLayoutBox> {
      */
     public boolean hasContent(Context context, CrisLayoutBox box, Item item);
 
+    /**
+     * Check which boxes of the entity type of the item have content to show, among the boxes whose content is costly
+     * to find and doesn't depend on the user: the boxes with bitstream fields. The result is stored in the search
+     * index, in the {@link #BOX_CONTENT_FIELD} field, so that {@link #hasContent(Context, CrisLayoutBox, Item)}
+     * doesn't have to compute it again when the item is displayed.
+     *
+     * @param context The relevant DSpace Context
+     * @param item    the item
+     * @return whether the boxes have content to show, by box shortname
+     */
+    public Map<String, Boolean> computeCostlyContent(Context context, Item item);
+
     /**
      * Establishes wether or not, current user is enabled to have access to layout data
      * contained in a layout box for a given Item.
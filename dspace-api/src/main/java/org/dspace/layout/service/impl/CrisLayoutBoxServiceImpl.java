@@ -7,11 +7,12 @@
  */
 package org.dspace.layout.service.impl;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -20,6 +21,13 @@ import java.util.Set;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.util.ClientUtils;
+import org.apache.solr.common.SolrDocumentList;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.DSpaceObject;
@@ -32,7 +40,10 @@ import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.exception.SQLRuntimeException;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.SolrSearchCore;
 import org.dspace.discovery.configuration.DiscoveryConfigurationUtilsService;
+import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.layout.CrisLayoutBox;
 import org.dspace.layout.CrisLayoutBoxConfiguration;
 import org.dspace.layout.CrisLayoutField;
@@ -41,6 +52,8 @@ import org.dspace.layout.dao.CrisLayoutBoxDAO;
 import org.dspace.layout.service.CrisLayoutBoxAccessService;
 import org.dspace.layout.service.CrisLayoutBoxService;
 import org.dspace.metrics.CrisItemMetricsService;
+import org.dspace.services.RequestService;
+import org.dspace.services.model.Request;
 import org.dspace.versioning.service.VersionHistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -51,6 +64,13 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
 
+    private static final Logger log = LogManager.getLogger(CrisLayoutBoxServiceImpl.class);
+
+    /**
+     * Prefix of the request attribute holding the indexed box contents of an item
+     */
+    private static final String INDEXED_CONTENT_ATTRIBUTE = CrisLayoutBoxServiceImpl.class.getName() + ".content.";
+
     @Autowired
     private CrisLayoutBoxDAO dao;
 
@@ -75,6 +95,12 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
     @Autowired
     private VersionHistoryService versionHistoryService;
 
+    @Autowired
+    private SolrSearchCore solrSearchCore;
+
+    @Autowired
+    private RequestService requestService;
+
     public CrisLayoutBoxServiceImpl() {
     }
 
@@ -153,6 +179,89 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
 
     @Override
     public boolean hasContent(Context context, CrisLayoutBox box, Item item) {
+        // only a box with content is trusted, bitstreams may have been added since the item was indexed without
+        // reindexing it
+        if (isContentCostly(box) && Boolean.TRUE.equals(getIndexedContent(item).get(box.getShortname()))) {
+            return true;
+        }
+        return computeContent(context, box, item);
+    }
+
+    @Override
+    public Map<String, Boolean> computeCostlyContent(Context context, Item item) {
+        Map<String, Boolean> content = new HashMap<>();
+        String entityType = itemService.getEntityTypeLabel(item);
+        if (StringUtils.isBlank(entityType)) {
+            return content;
+        }
+        try {
+            for (CrisLayoutBox box : findByEntityType(context, entityType, null, null)) {
+                if (isContentCostly(box) && StringUtils.isNotBlank(box.getShortname())) {
+                    content.put(box.getShortname(), computeContent(context, box, item));
+                }
+            }
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+        return content;
+    }
+
+    /**
+     * @return true for the boxes whose content is found with a query of the bitstreams by field: their content
+     *         doesn't depend on the user viewing the item. The relation boxes are not indexed as their content is
+     *         restricted to the related items the user can read.
+     */
+    private boolean isContentCostly(CrisLayoutBox box) {
+        return !isRelationBox(box) && box.getLayoutFields().stream().anyMatch(CrisLayoutField::isBitstreamField);
+    }
+
+    private boolean isRelationBox(CrisLayoutBox box) {
+        return "RELATION".equalsIgnoreCase(box.getType());
+    }
+
+    /**
+     * Read the box contents stored in the search index by {@link #computeCostlyContent(Context, Item)}, once per
+     * request.
+     *
+     * @return whether the costly boxes have content, by shortname, empty if the item isn't indexed
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Boolean> getIndexedContent(Item item) {
+        Request request = requestService.getCurrentRequest();
+        String attribute = INDEXED_CONTENT_ATTRIBUTE + item.getID();
+        if (request != null && request.getAttribute(attribute) instanceof Map) {
+            return (Map<String, Boolean>) request.getAttribute(attribute);
+        }
+
+        Map<String, Boolean> content = new HashMap<>();
+        SolrClient solrClient = solrSearchCore.getSolr();
+        if (solrClient != null) {
+            SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":"
+                + ClientUtils.escapeQueryChars(IndexableItem.TYPE + "-" + item.getID()));
+            query.setFields(BOX_CONTENT_FIELD);
+            query.setRows(1);
+            try {
+                SolrDocumentList documents = solrClient.query(query).getResults();
+                Collection<Object> values = documents.isEmpty() ? null
+                    : documents.get(0).getFieldValues(BOX_CONTENT_FIELD);
+                if (values != null) {
+                    for (Object value : values) {
+                        content.put(StringUtils.substringBeforeLast(value.toString(), "="),
+                                    Boolean.valueOf(StringUtils.substringAfterLast(value.toString(), "=")));
+                    }
+                }
+            } catch (SolrServerException | IOException e) {
+                log.warn("Unable to read the indexed box contents of item {}", item.getID(), e);
+            }
+        }
+
+        if (request != null) {
+            request.setAttribute(attribute, content);
+        }
+        return content;
+    }
+
+    private boolean computeContent(Context context, CrisLayoutBox box, Item item) {
         String boxType = box.getType();
 
         if (StringUtils.isEmpty(boxType)) {
@@ -236,8 +345,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
     }
 
     private boolean hasRelationBoxContent(Context context, CrisLayoutBox box, Item item) {
-        Iterator<Item> relatedItems = searchConfigurationUtilsService.findByRelation(context, item, box.getShortname());
-        return relatedItems.hasNext();
+        return searchConfigurationUtilsService.hasRelatedItems(context, item, box.getShortname());
     }
 
     protected boolean hasMetricsBoxContent(Context context, CrisLayoutBox box, Item item) {
@@ -10,13 +10,17 @@ package org.dspace.layout.service.impl;
 import static org.dspace.util.FunctionalUtils.throwingMapperWrapper;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.collections.CollectionUtils;
 import org.dspace.app.util.SubmissionConfigReader;
 import org.dspace.app.util.SubmissionConfigReaderException;
@@ -25,6 +29,7 @@ import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.EntityType;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataField;
+import org.dspace.content.MetadataValue;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.layout.CrisLayoutTab;
@@ -58,9 +63,21 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
     @Autowired
     CrisLayoutTabAccessService crisLayoutTabAccessService;
 
+    /**
+     * Whether tabs are configured, by entity type and custom filter. The tabs of an item are looked up with several
+     * custom filters, most of them matching no tab, on every display of the item.
+     */
+    private Cache<String, Boolean> tabsConfigured;
+
     @PostConstruct
     private void setup() throws SubmissionConfigReaderException {
         submissionConfigReader = new SubmissionConfigReader();
+        long maxSize = configurationService.getLongProperty("cris.layout.tab.cache.max-size", 1000);
+        long ttl = configurationService.getLongProperty("cris.layout.tab.cache.ttl", 300);
+        tabsConfigured = CacheBuilder.newBuilder()
+                                     .maximumSize(maxSize)
+                                     .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                                     .build();
     }
 
     @Override
@@ -69,6 +86,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to create a Tab");
         }
+        invalidateTabsConfigured(c);
         return dao.create(c, tab);
     }
 
@@ -78,6 +96,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to create a Tab");
         }
+        invalidateTabsConfigured(context);
         return dao.create(context, new CrisLayoutTab());
     }
 
@@ -97,6 +116,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to update a Tab");
         }
+        invalidateTabsConfigured(context);
         dao.save(context, tab);
     }
 
@@ -115,6 +135,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to delete a Tab");
         }
+        invalidateTabsConfigured(context);
         dao.delete(context, tab);
     }
 
@@ -128,6 +149,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
         CrisLayoutTab tab = new CrisLayoutTab();
         tab.setEntity(eType);
         tab.setPriority(priority);
+        invalidateTabsConfigured(context);
         return dao.create(context, tab);
     }
 
@@ -198,23 +220,30 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
         String entityTypeValue = itemService.getMetadata(item, "dspace.entity.type");
         String submissionName = getSubmissionDefinitionName(item);
 
-        List<CrisLayoutTab> layoutTabs =
+        // the custom filters to try, in order, before the tabs without custom filter
+        List<String> customFilters = new ArrayList<>();
+        MetadataValue metadata =
             Optional.ofNullable(this.configurationService.getProperty("dspace.metadata.layout.tab"))
                     .map(metadataField -> this.itemService.getMetadataByMetadataString(item, metadataField))
                     .filter(metadatas -> !metadatas.isEmpty())
                     .map(metadatas -> metadatas.get(0))
-                    .map(metadata ->
-                            findValidEntityType(context, entityTypeValue, submissionName + "." +
-                                metadata.getAuthority())
-                                .orElse(
-                                    findValidEntityType(context, entityTypeValue, submissionName + "." +
-                                        metadata.getValue())
-                                        .orElse(findValidEntityType(context, entityTypeValue, metadata.getAuthority())
-                                            .orElse(findValidEntityType(context, entityTypeValue, metadata.getValue())
-                                                .orElse(null))))
-                    )
-                    .orElse(findValidEntityType(context, entityTypeValue, submissionName)
-                    .orElse(findByEntityType(context, entityTypeValue, null)));
+                    .orElse(null);
+        if (metadata != null) {
+            customFilters.add(submissionName + "." + metadata.getAuthority());
+            customFilters.add(submissionName + "." + metadata.getValue());
+            customFilters.add(metadata.getAuthority());
+            customFilters.add(metadata.getValue());
+        }
+        customFilters.add(submissionName);
+
+        for (String customFilter : customFilters) {
+            Optional<List<CrisLayoutTab>> layoutTabs = findValidEntityType(context, entityTypeValue, customFilter);
+            if (layoutTabs.isPresent()) {
+                return layoutTabs.get();
+            }
+        }
+
+        List<CrisLayoutTab> layoutTabs = findByEntityType(context, entityTypeValue, null);
         if (layoutTabs == null) {
             return Collections.emptyList();
         }
@@ -236,14 +265,28 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
 
     private Optional<List<CrisLayoutTab>> findValidEntityType(Context context, String entityTypeValue,
                                                               String customFilter) {
+        String key = entityTypeValue + "\n" + customFilter;
         return Optional.ofNullable(customFilter)
+                       .filter(value -> !Boolean.FALSE.equals(tabsConfigured.getIfPresent(key)))
                        .map(
                            throwingMapperWrapper(
                                value -> findByEntityType(context, entityTypeValue, value),
                                null
                            )
                        )
-                       .filter(tabs -> tabs != null && !tabs.isEmpty());
+                       .filter(tabs -> {
+                           boolean configured = tabs != null && !tabs.isEmpty();
+                           tabsConfigured.put(key, configured);
+                           return configured;
+                       });
     }
 
+    /**
+     * Forget whether tabs are configured, for the reads of the current transaction, and again once it is committed:
+     * in the meantime, a concurrent request may have cached the state before the change.
+     */
+    private void invalidateTabsConfigured(Context context) {
+        tabsConfigured.invalidateAll();
+        context.runAfterCommit(tabsConfigured::invalidateAll);
+    }
 }
@@ -104,6 +104,7 @@ import org.dspace.service.ClientInfoService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.LocationUtils;
+import org.dspace.statistics.util.ReverseDnsResolver;
 import org.dspace.statistics.util.SpiderDetector;
 import org.dspace.usage.UsageWorkflowEvent;
 import org.dspace.util.SolrUtils;
@@ -154,6 +155,10 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     private GeoIpService geoIpService;
     @Autowired
     private AuthorizeService authorizeService;
+    @Autowired(required = false)
+    private SolrStatisticsAsyncWriter asyncWriter;
+    @Autowired(required = false)
+    private ReverseDnsResolver dnsResolver;
 
     /** URL to the current-year statistics core.  Prior-year shards will have a year suffixed. */
     private String statisticsCoreURL;
@@ -265,12 +270,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            writeUsageDocument(doc1);
 
         } catch (RuntimeException re) {
             throw re;
@@ -311,12 +311,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            writeUsageDocument(doc1);
 
         } catch (RuntimeException re) {
             throw re;
@@ -343,13 +338,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             document.addField("statistics_type", StatisticsType.LOGIN.text());
 
-            solr.add(document);
-
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            writeUsageDocument(document);
 
         } catch (RuntimeException re) {
             throw re;
@@ -421,11 +410,13 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 String dns;
                 if (!configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
                     ipAddress = InetAddress.getByName(ip);
-                    dns = ipAddress.getHostName();
+                    dns = getHostName(ipAddress);
                 } else {
                     dns = configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized");
                 }
-                doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
+                if (dns != null) {
+                    doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
+                }
             } catch (UnknownHostException e) {
                 log.info("Failed DNS Lookup for IP:  {}", ip);
                 log.debug(e.getMessage(), e);
@@ -513,11 +504,13 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             String dns;
             if (!configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
                 ipAddress = InetAddress.getByName(ip);
-                dns = ipAddress.getHostName();
+                dns = getHostName(ipAddress);
             } else {
                 dns = configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized");
             }
-            doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
+            if (dns != null) {
+                doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
+            }
         } catch (UnknownHostException e) {
             log.info("Failed DNS Lookup for IP:  {}", ip);
             log.debug(e.getMessage(), e);
@@ -614,7 +607,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            writeUsageDocument(solrDoc);
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -674,13 +667,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             solrDoc.addField("previousActionRequiresUI", usageWorkflowEvent.isPreviousActionRequiresUI());
 
-            solr.add(solrDoc);
-
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            writeUsageDocument(solrDoc);
 
         } catch (Exception e) {
             //Log the exception, no need to send it through, the workflow shouldn't crash because of this !
@@ -689,6 +676,67 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     }
 
+    /**
+     * Write a usage event document to the statistics core, through the {@link SolrStatisticsAsyncWriter} when
+     * configured. When the host name of the client is resolved later, the document is written by the
+     * {@link ReverseDnsResolver} once the name is known.
+     *
+     * @param document the usage event document
+     * @throws IOException         if an I/O error occurs while writing synchronously
+     * @throws SolrServerException if Solr reports an error while writing synchronously
+     */
+    protected void writeUsageDocument(SolrInputDocument document) throws IOException, SolrServerException {
+        if (isHostNamePending(document)) {
+            // send the document once its host name is known, without holding the request thread
+            dnsResolver.resolveLater((String) document.getFieldValue("ip"), dns -> {
+                document.addField("dns", dns.toLowerCase(Locale.ROOT));
+                try {
+                    sendUsageDocument(document);
+                } catch (IOException | SolrServerException | RuntimeException e) {
+                    log.error("Error saving usage event to Solr", e);
+                }
+            });
+            return;
+        }
+        sendUsageDocument(document);
+    }
+
+    private void sendUsageDocument(SolrInputDocument document) throws IOException, SolrServerException {
+        if (asyncWriter != null && asyncWriter.isEnabled()) {
+            asyncWriter.write(document);
+            return;
+        }
+        solr.add(document);
+        // commits are executed automatically using the solr autocommit
+        boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
+        if (!useAutoCommit) {
+            solr.commit(false, false);
+        }
+    }
+
+    /**
+     * Find the host name of the client address, through the {@link ReverseDnsResolver} when configured.
+     *
+     * @param ipAddress the client address
+     * @return the host name, or the address if it has none, or null if it will be resolved when the usage event is
+     *         written
+     */
+    protected String getHostName(InetAddress ipAddress) {
+        if (dnsResolver == null) {
+            return ipAddress.getHostName();
+        }
+        if (dnsResolver.isResolveLater()) {
+            return dnsResolver.getCached(ipAddress.getHostAddress());
+        }
+        return dnsResolver.resolve(ipAddress.getHostAddress());
+    }
+
+    private boolean isHostNamePending(SolrInputDocument document) {
+        return dnsResolver != null && dnsResolver.isResolveLater()
+            && document.getFieldValue("ip") != null && document.getFieldValue("dns") == null
+            && !configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false);
+    }
+
     @Override
     public void storeParents(SolrInputDocument doc1, DSpaceObject dso)
         throws SQLException {
@@ -1706,6 +1754,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     @Override
     public void commit() throws IOException, SolrServerException {
+        if (asyncWriter != null) {
+            asyncWriter.flush();
+        }
         solr.commit();
     }
 
@@ -0,0 +1,259 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.EnumUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Writes the usage statistics documents to the statistics core.
+ *
+ * When {@code solr-statistics.async.enabled} is true the documents are put in a bounded in-memory queue and sent
+ * to Solr by a background thread in batches of {@code solr-statistics.async.flushSize} documents, or after
+ * {@code solr-statistics.async.flushInterval} milliseconds, so that the request threads never wait for Solr.
+ * When the queue is full the {@code solr-statistics.async.overflowPolicy} applies:
+ * <ul>
+ * <li>{@code drop}: the document is discarded and counted as dropped</li>
+ * <li>{@code block}: the caller waits up to {@code solr-statistics.async.blockTimeout} milliseconds for a free
+ * slot, then the document is dropped</li>
+ * <li>{@code caller}: the caller sends the document to Solr itself</li>
+ * </ul>
+ * When disabled every document is sent immediately by the calling thread.
+ *
+ * The documents queued when the application stops are flushed before shutdown, the ones still queued at a crash
+ * are lost.
+ */
+public class SolrStatisticsAsyncWriter implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LogManager.getLogger(SolrStatisticsAsyncWriter.class);
+
+    private static final long MAX_POLL_WAIT = 500;
+
+    public enum OverflowPolicy {
+        DROP, BLOCK, CALLER
+    }
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private SolrStatisticsCore solrStatisticsCore;
+
+    private boolean enabled;
+    private int flushSize;
+    private long flushInterval;
+    private long blockTimeout;
+    private OverflowPolicy overflowPolicy;
+
+    private BlockingQueue<SolrInputDocument> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        enabled = configurationService.getBooleanProperty("solr-statistics.async.enabled", false);
+        flushSize = Math.max(1, configurationService.getIntProperty("solr-statistics.async.flushSize", 500));
+        flushInterval = Math.max(1, configurationService.getLongProperty("solr-statistics.async.flushInterval", 1000));
+        blockTimeout = configurationService.getLongProperty("solr-statistics.async.blockTimeout", 100);
+        overflowPolicy = EnumUtils.getEnumIgnoreCase(OverflowPolicy.class,
+            configurationService.getProperty("solr-statistics.async.overflowPolicy"), OverflowPolicy.DROP);
+
+        if (enabled) {
+            int queueSize = Math.max(flushSize,
+                configurationService.getIntProperty("solr-statistics.async.queueSize", 10000));
+            queue = new ArrayBlockingQueue<>(queueSize);
+            running = true;
+            writerThread = new Thread(this::processQueue, "solr-statistics-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+            log.info("Asynchronous statistics writer started (queue size {}, flush size {}, flush interval {} ms, "
+                         + "overflow policy {})", queueSize, flushSize, flushInterval, overflowPolicy);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        // the writer thread flushes the remaining documents before exiting
+        writerThread.join(30000);
+        if (writerThread.isAlive()) {
+            log.warn("The statistics writer did not stop in time, {} queued documents are lost", queue.size());
+            writerThread.interrupt();
+        }
+    }
+
+    /**
+     * Write the given document to the statistics core, asynchronously if enabled.
+     *
+     * @param document the usage event document
+     * @throws IOException         if the document is written synchronously and an I/O error occurs
+     * @throws SolrServerException if the document is written synchronously and Solr reports an error
+     */
+    public void write(SolrInputDocument document) throws IOException, SolrServerException {
+        if (!enabled || !running) {
+            send(List.of(document));
+            return;
+        }
+
+        boolean queued;
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queued = queue.offer(document, blockTimeout, MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    queued = false;
+                }
+                break;
+            case CALLER:
+                queued = queue.offer(document);
+                if (!queued) {
+                    send(List.of(document));
+                    return;
+                }
+                break;
+            default:
+                queued = queue.offer(document);
+                break;
+        }
+
+        if (!queued && droppedCount.incrementAndGet() % 1000 == 1) {
+            log.warn("The statistics queue is full, {} usage events dropped so far", droppedCount.get());
+        }
+    }
+
+    /**
+     * Synchronously send all the queued documents to Solr.
+     */
+    public void flush() {
+        if (queue == null) {
+            return;
+        }
+        List<SolrInputDocument> batch = new ArrayList<>(flushSize);
+        while (queue.drainTo(batch, flushSize) > 0) {
+            sendBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Loop of the writer thread: collect the queued documents and send them once the batch is full or the
+     * flush interval, counted from the first document of the batch, is elapsed.
+     */
+    protected void processQueue() {
+        List<SolrInputDocument> batch = new ArrayList<>(flushSize);
+        long deadline = 0;
+        while (running) {
+            try {
+                // wake up regularly to notice the shutdown
+                long wait = Math.min(MAX_POLL_WAIT,
+                    batch.isEmpty() ? flushInterval : deadline - System.currentTimeMillis());
+                SolrInputDocument document = wait > 0 ? queue.poll(wait, MILLISECONDS) : null;
+                if (document != null) {
+                    if (batch.isEmpty()) {
+                        deadline = System.currentTimeMillis() + flushInterval;
+                    }
+                    batch.add(document);
+                    queue.drainTo(batch, flushSize - batch.size());
+                }
+                if (batch.size() >= flushSize || (!batch.isEmpty() && System.currentTimeMillis() >= deadline)) {
+                    sendBatch(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        sendBatch(batch);
+        flush();
+    }
+
+    private void sendBatch(List<SolrInputDocument> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            send(batch);
+        } catch (IOException | SolrServerException | RuntimeException e) {
+            failedCount.addAndGet(batch.size());
+            log.error("Error saving {} usage events to Solr", batch.size(), e);
+        }
+    }
+
+    private void send(Collection<SolrInputDocument> documents) throws IOException, SolrServerException {
+        SolrClient solr = solrStatisticsCore.getSolr();
+        if (solr == null) {
+            return;
+        }
+        solr.add(documents);
+        // commits are executed automatically using the solr autocommit
+        if (!configurationService.getBooleanProperty("solr-statistics.autoCommit", true)) {
+            solr.commit(false, false);
+        }
+        writtenCount.addAndGet(documents.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the number of documents waiting to be sent to Solr
+     */
+    public int getQueueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * @return the number of documents sent to Solr
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * @return the number of documents discarded because the queue was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return the number of documents lost because Solr rejected the batch they belonged to
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+}
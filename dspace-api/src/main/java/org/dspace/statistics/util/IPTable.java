@@ -9,8 +9,12 @@ package org.dspace.statistics.util;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -29,6 +33,9 @@ public class IPTable {
     /* A lookup tree for IP addresses and SubnetRanges */
     private final Set<IPRange> ipRanges = new HashSet<>();
 
+    /* Merged ranges sorted by lowest address, rebuilt on the first lookup after a change */
+    private volatile SortedRanges sortedRanges;
+
     /**
      * Internal class representing an IP range
      */
@@ -93,7 +100,7 @@ public class IPTable {
             try {
                 long ipLo = ipToLong(InetAddress.getByName(start));
                 long ipHi = ipToLong(InetAddress.getByName(end));
-                ipRanges.add(new IPRange(ipLo, ipHi));
+                addRange(ipLo, ipHi);
                 return;
             } catch (UnknownHostException e) {
                 throw new IPFormatException(ip + " - Range format should be similar to 1.2.3.0-1.2.3.255");
@@ -116,7 +123,7 @@ public class IPTable {
                     long mask = (long) Math.pow(2, 32 - Integer.parseInt(parts[1]));
                     long ipLo = (ipLong / mask) * mask;
                     long ipHi = (( (ipLong / mask) + 1) * mask) - 1;
-                    ipRanges.add(new IPRange(ipLo, ipHi));
+                    addRange(ipLo, ipHi);
                     return;
                 } catch (Exception e) {
                     throw new IPFormatException(ip + " - Range format should be similar to 172.16.0.0/12");
@@ -124,7 +131,7 @@ public class IPTable {
             } else {
                 try {
                     long ipLo = ipToLong(InetAddress.getByName(ip));
-                    ipRanges.add(new IPRange(ipLo, ipLo));
+                    addRange(ipLo, ipLo);
                     return;
                 } catch (UnknownHostException e) {
                     throw new IPFormatException(ip + " - IP address format should be similar to 1.2.3.14");
@@ -133,6 +140,64 @@ public class IPTable {
         }
     }
 
+    private void addRange(long ipLo, long ipHi) {
+        ipRanges.add(new IPRange(ipLo, ipHi));
+        sortedRanges = null;
+    }
+
+    private SortedRanges getSortedRanges() {
+        SortedRanges ranges = sortedRanges;
+        if (ranges == null) {
+            ranges = new SortedRanges(ipRanges);
+            sortedRanges = ranges;
+        }
+        return ranges;
+    }
+
+    /**
+     * Immutable lookup structure holding the IP ranges merged and sorted in two parallel arrays,
+     * so that an address is found with a binary search instead of a scan over all the ranges.
+     */
+    private static class SortedRanges {
+
+        private final long[] lows;
+        private final long[] highs;
+
+        SortedRanges(Set<IPRange> ipRanges) {
+            List<IPRange> ranges = new ArrayList<>(ipRanges);
+            ranges.sort(Comparator.comparingLong(IPRange::getIpLo));
+
+            long[] mergedLows = new long[ranges.size()];
+            long[] mergedHighs = new long[ranges.size()];
+            int size = 0;
+            for (IPRange range : ranges) {
+                if (range.getIpLo() > range.getIpHi()) {
+                    // an inverted range never matches
+                    continue;
+                }
+                if (size > 0 && range.getIpLo() <= mergedHighs[size - 1] + 1) {
+                    mergedHighs[size - 1] = Math.max(mergedHighs[size - 1], range.getIpHi());
+                } else {
+                    mergedLows[size] = range.getIpLo();
+                    mergedHighs[size] = range.getIpHi();
+                    size++;
+                }
+            }
+            lows = Arrays.copyOf(mergedLows, size);
+            highs = Arrays.copyOf(mergedHighs, size);
+        }
+
+        boolean contains(long ip) {
+            int index = Arrays.binarySearch(lows, ip);
+            if (index >= 0) {
+                return true;
+            }
+            // the range that may contain the address is the last one starting before it
+            int candidate = -index - 2;
+            return candidate >= 0 && ip <= highs[candidate];
+        }
+    }
+
     /**
      * Convert an IP address to a long integer
      * @param ip    the IP address
@@ -177,8 +242,7 @@ public class IPTable {
 
         try {
             long ipToTest = ipToLong(InetAddress.getByName(ip));
-            return ipRanges.stream()
-                    .anyMatch(ipRange -> (ipToTest >= ipRange.getIpLo() && ipToTest <= ipRange.getIpHi()));
+            return getSortedRanges().contains(ipToTest);
         } catch (UnknownHostException e) {
             throw new IPFormatException("ip not valid");
         }
@@ -0,0 +1,342 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Tells whether a text contains a match of any pattern of a set, as {@link java.util.regex.Matcher#find()} does
+ * for each of them, without evaluating every pattern.
+ *
+ * A literal string that every match must contain is extracted from each pattern, and all these literals are
+ * compiled in a single Aho-Corasick automaton. The text is scanned once by the automaton and only the patterns
+ * whose literal was found, plus those for which no literal could be extracted, are evaluated.
+ */
+public class PatternSetMatcher {
+
+    private static final int[] NO_PATTERNS = new int[0];
+
+    /* Escapes matching a class of characters or a position, they don't take any argument */
+    private static final String CLASS_ESCAPES = "dDsSwWbBAzZGRhHvVX";
+
+    private final Pattern[] patterns;
+
+    /* Patterns without literal, always evaluated */
+    private final int[] unfiltered;
+
+    /* Automaton: for each state the sorted transition characters, the target states, the failure link and the
+     * patterns whose literal ends in that state */
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    private final int[][] outputs;
+
+    public PatternSetMatcher(Collection<Pattern> patternCollection) {
+        List<Pattern> compiled = new ArrayList<>(patternCollection.size());
+        for (Pattern pattern : patternCollection) {
+            // the original loop skipped null patterns as well
+            if (pattern != null) {
+                compiled.add(pattern);
+            }
+        }
+        patterns = compiled.toArray(new Pattern[0]);
+
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        trieOutputs.add(new ArrayList<>());
+        List<Integer> noLiteral = new ArrayList<>();
+        for (int i = 0; i < patterns.length; i++) {
+            String literal = requiredLiteral(patterns[i]);
+            if (literal == null) {
+                noLiteral.add(i);
+                continue;
+            }
+            int state = 0;
+            for (char c : literal.toCharArray()) {
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    trieOutputs.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            trieOutputs.get(state).add(i);
+        }
+        unfiltered = noLiteral.stream().mapToInt(Integer::intValue).toArray();
+
+        int size = trie.size();
+        transitionChars = new char[size][];
+        transitionTargets = new int[size][];
+        failure = new int[size];
+        outputs = new int[size][];
+        for (int state = 0; state < size; state++) {
+            Map<Character, Integer> transitions = trie.get(state);
+            transitionChars[state] = new char[transitions.size()];
+            transitionTargets[state] = new int[transitions.size()];
+            int index = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                transitionChars[state][index] = transition.getKey();
+                transitionTargets[state][index] = transition.getValue();
+                index++;
+            }
+        }
+
+        // breadth first computation of the failure links, a state also reports the literals of its failure state
+        outputs[0] = toArray(trieOutputs.get(0));
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int target : transitionTargets[0]) {
+            failure[target] = 0;
+            outputs[target] = toArray(trieOutputs.get(target));
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                char c = transitionChars[state][i];
+                int target = transitionTargets[state][i];
+                int fallback = failure[state];
+                int next = transition(fallback, c);
+                while (next < 0 && fallback != 0) {
+                    fallback = failure[fallback];
+                    next = transition(fallback, c);
+                }
+                failure[target] = next < 0 ? 0 : next;
+                outputs[target] = merge(toArray(trieOutputs.get(target)), outputs[failure[target]]);
+                queue.add(target);
+            }
+        }
+    }
+
+    /**
+     * Check whether any of the patterns is found in the given text.
+     *
+     * @param text the text to test
+     * @return true if at least one pattern is found in the text
+     */
+    public boolean find(String text) {
+        BitSet evaluated = null;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = transition(state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? 0 : next;
+
+            for (int candidate : outputs[state]) {
+                if (evaluated == null) {
+                    evaluated = new BitSet(patterns.length);
+                }
+                if (!evaluated.get(candidate)) {
+                    evaluated.set(candidate);
+                    if (patterns[candidate].matcher(text).find()) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        for (int candidate : unfiltered) {
+            if (patterns[candidate].matcher(text).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of patterns in this set
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * @return true if this set holds no pattern
+     */
+    public boolean isEmpty() {
+        return patterns.length == 0;
+    }
+
+    /**
+     * Extract the longest literal string that the text matched by the given pattern always contains. The analysis
+     * is conservative: patterns with flags, alternations, special groups, back references or quoting get no
+     * literal, and so does any construct that is not understood.
+     *
+     * @param pattern the compiled pattern
+     * @return the required literal, or null if none could be determined
+     */
+    static String requiredLiteral(Pattern pattern) {
+        if (pattern.flags() != 0) {
+            return null;
+        }
+        String regex = pattern.pattern();
+        StringBuilder current = new StringBuilder();
+        String longest = "";
+        int depth = 0;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 >= regex.length()) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(i + 1);
+                    if (CLASS_ESCAPES.indexOf(escaped) >= 0) {
+                        longest = longest(longest, current, depth);
+                    } else if (Character.isLetterOrDigit(escaped)) {
+                        // hexadecimal, unicode, property, quoting escapes and back references take arguments
+                        return null;
+                    } else {
+                        current.append(escaped);
+                    }
+                    i += 2;
+                    break;
+                case '[':
+                    longest = longest(longest, current, depth);
+                    i = skipCharacterClass(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    break;
+                case '(':
+                    if (i + 1 < regex.length() && regex.charAt(i + 1) == '?') {
+                        return null;
+                    }
+                    longest = longest(longest, current, depth);
+                    depth++;
+                    i++;
+                    break;
+                case ')':
+                    longest = longest(longest, current, depth);
+                    depth--;
+                    i++;
+                    break;
+                case '|':
+                    return null;
+                case '?':
+                case '*':
+                    // the preceding character is optional
+                    dropLast(current);
+                    longest = longest(longest, current, depth);
+                    i++;
+                    break;
+                case '{':
+                    dropLast(current);
+                    longest = longest(longest, current, depth);
+                    i = regex.indexOf('}', i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    i++;
+                    break;
+                case '+':
+                    // the preceding character is required, but may be repeated
+                    longest = longest(longest, current, depth);
+                    i++;
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                    longest = longest(longest, current, depth);
+                    i++;
+                    break;
+                default:
+                    current.append(c);
+                    i++;
+                    break;
+            }
+        }
+        longest = longest(longest, current, depth);
+        return longest.isEmpty() ? null : longest;
+    }
+
+    /**
+     * End the current run of literal characters, keeping it if it is the longest one found at the top level. The
+     * content of the groups is ignored because the group may be optional.
+     */
+    private static String longest(String longest, StringBuilder current, int depth) {
+        String result = longest;
+        if (depth == 0 && current.length() > longest.length()) {
+            result = current.toString();
+        }
+        current.setLength(0);
+        return result;
+    }
+
+    private static void dropLast(StringBuilder current) {
+        if (current.length() > 0) {
+            current.setLength(current.length() - 1);
+        }
+    }
+
+    /**
+     * @return the index following the character class starting at the given index, or -1 if it is not closed
+     */
+    private static int skipCharacterClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                // a closing bracket at the start of a class is a literal
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(transitionChars[state], c);
+        return index >= 0 ? transitionTargets[state][index] : -1;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.isEmpty() ? NO_PATTERNS : values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] merge(int[] first, int[] second) {
+        if (second.length == 0) {
+            return first;
+        }
+        if (first.length == 0) {
+            return second;
+        }
+        int[] merged = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, merged, first.length, second.length);
+        return merged;
+    }
+}
@@ -0,0 +1,274 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.EnumUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Resolves the host names of the client addresses stored with the usage events.
+ *
+ * The lookups are done by a small dedicated pool of threads, and the callers wait at most
+ * {@code usage-statistics.resolver.timeout} milliseconds for them, so that a slow DNS server doesn't stall the
+ * request threads. A lookup that times out goes on in the background. The results are kept in a bounded cache,
+ * resolved names for {@code usage-statistics.resolver.cache.ttl} seconds, addresses without name or whose lookup
+ * failed for {@code usage-statistics.resolver.cache.negativeTtl} seconds.
+ *
+ * As {@link InetAddress#getHostName()}, this resolver answers the textual address itself when the address has no
+ * host name, or when it couldn't be found in time.
+ */
+public class ReverseDnsResolver implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LogManager.getLogger(ReverseDnsResolver.class);
+
+    public enum Mode {
+        SYNC, LATER
+    }
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private Mode mode;
+    private long timeout;
+    private long ttl;
+    private long negativeTtl;
+
+    private ThreadPoolExecutor executor;
+
+    private Map<String, CachedName> cache;
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * Host name of an address and the time it expires.
+     */
+    private static class CachedName {
+        private final String name;
+        private final long expires;
+
+        CachedName(String name, long expires) {
+            this.name = name;
+            this.expires = expires;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        mode = EnumUtils.getEnumIgnoreCase(Mode.class,
+            configurationService.getProperty("usage-statistics.resolver.mode"), Mode.SYNC);
+        timeout = configurationService.getLongProperty("usage-statistics.resolver.timeout", 200);
+        ttl = configurationService.getLongProperty("usage-statistics.resolver.cache.ttl", 3600) * 1000;
+        negativeTtl = configurationService.getLongProperty("usage-statistics.resolver.cache.negativeTtl", 300) * 1000;
+
+        int cacheSize = configurationService.getIntProperty("usage-statistics.resolver.cache.size", 10000);
+        Map<String, CachedName> names = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedName> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        cache = Collections.synchronizedMap(names);
+
+        int threads = Math.max(1, configurationService.getIntProperty("usage-statistics.resolver.threads", 4));
+        int queueSize = Math.max(1, configurationService.getIntProperty("usage-statistics.resolver.queueSize", 1000));
+        executor = new ThreadPoolExecutor(threads, threads, 0L, MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+            new BasicThreadFactory.Builder().namingPattern("statistics-dns-%d").daemon(true).build());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return true if the usage events should not wait for the host name lookup, see {@link #resolveLater}
+     */
+    public boolean isResolveLater() {
+        return mode == Mode.LATER;
+    }
+
+    /**
+     * Resolve the host name of an address, waiting at most {@code usage-statistics.resolver.timeout} milliseconds.
+     *
+     * @param ip the textual address
+     * @return the host name, or the address if it has no name or the lookup didn't complete in time
+     */
+    public String resolve(String ip) {
+        CompletableFuture<String> lookup = lookup(ip);
+        try {
+            return lookup.get(timeout, MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeoutCount.incrementAndGet();
+            log.debug("Reverse DNS lookup of {} timed out", ip);
+        } catch (ExecutionException e) {
+            log.debug("Reverse DNS lookup of {} failed", ip, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ip;
+    }
+
+    /**
+     * Resolve the host name of an address without waiting. The callback gets the host name, or the address if it
+     * has no name or the lookup didn't complete within {@code usage-statistics.resolver.timeout} milliseconds. It
+     * runs in the calling thread if the name is known already, in a resolver thread otherwise.
+     *
+     * @param ip       the textual address
+     * @param callback the consumer of the host name
+     */
+    public void resolveLater(String ip, Consumer<String> callback) {
+        CompletableFuture<String> lookup = lookup(ip);
+        if (lookup.isDone()) {
+            callback.accept(lookup.getNow(ip));
+            return;
+        }
+        lookup.completeOnTimeout(null, timeout, MILLISECONDS)
+              .thenAcceptAsync(name -> {
+                  if (name == null) {
+                      timeoutCount.incrementAndGet();
+                  }
+                  callback.accept(name != null ? name : ip);
+              }, callbackExecutor());
+    }
+
+    /**
+     * @param ip the textual address
+     * @return the cached host name of the address, or null if it isn't known
+     */
+    public String getCached(String ip) {
+        CachedName cached = cache.get(ip);
+        if (cached == null || cached.expires < System.currentTimeMillis()) {
+            return null;
+        }
+        return cached.name;
+    }
+
+    /**
+     * Find the host name of the address in the cache, or start its lookup. Concurrent requests for the same
+     * address share the same lookup.
+     */
+    private CompletableFuture<String> lookup(String ip) {
+        String cached = getCached(ip);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+        missCount.incrementAndGet();
+
+        CompletableFuture<String> lookup = new CompletableFuture<>();
+        CompletableFuture<String> running = pending.putIfAbsent(ip, lookup);
+        if (running != null) {
+            return running.copy();
+        }
+        try {
+            executor.execute(() -> {
+                String name = ip;
+                try {
+                    name = getHostName(ip);
+                    cache.put(ip, new CachedName(name,
+                        System.currentTimeMillis() + (name.equals(ip) ? negativeTtl : ttl)));
+                } catch (RuntimeException | UnknownHostException e) {
+                    log.debug("Reverse DNS lookup of {} failed", ip, e);
+                    cache.put(ip, new CachedName(ip, System.currentTimeMillis() + negativeTtl));
+                } finally {
+                    pending.remove(ip);
+                    lookup.complete(name);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // too many lookups waiting, don't resolve this one
+            rejectedCount.incrementAndGet();
+            pending.remove(ip);
+            lookup.complete(ip);
+        }
+        // the caller may give up waiting, the pending lookup must not be cancelled
+        return lookup.copy();
+    }
+
+    /**
+     * Reverse resolve the address, blocking until the system resolver answers.
+     *
+     * @param ip the textual address
+     * @return the host name, or the address itself if it has no name
+     * @throws UnknownHostException if the address is not valid
+     */
+    protected String getHostName(String ip) throws UnknownHostException {
+        return InetAddress.getByName(ip).getHostName();
+    }
+
+    /**
+     * Callbacks run in the resolver threads, or in the completing thread when all of them are busy.
+     */
+    private Executor callbackExecutor() {
+        return command -> {
+            try {
+                executor.execute(command);
+            } catch (RejectedExecutionException e) {
+                command.run();
+            }
+        };
+    }
+
+    /**
+     * @return the number of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of lookups not found in the cache
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of lookups which didn't complete in time
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * @return the number of lookups skipped because too many were waiting for a thread
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -14,7 +14,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import javax.servlet.http.HttpServletRequest;
@@ -43,11 +45,14 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     private Boolean useCaseInsensitiveMatching;
 
-    private final List<Pattern> agents
-        = Collections.synchronizedList(new ArrayList<>());
+    private volatile PatternSetMatcher agents;
 
-    private final List<Pattern> domains
-        = Collections.synchronizedList(new ArrayList<>());
+    private volatile PatternSetMatcher domains;
+
+    /**
+     * Most recently seen User-Agent values, with whether they matched an agent pattern.
+     */
+    private Map<String, Boolean> agentVerdicts;
 
     private final ConfigurationService configurationService;
     private final ClientInfoService clientInfoService;
@@ -84,25 +89,13 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     public boolean isSpider(String clientIP, String proxyIPs, String hostname, String agent) {
         // See if any agent patterns match
         if (null != agent) {
-            synchronized (agents) {
-                if (agents.isEmpty()) {
-                    loadPatterns("agents", agents);
-                }
-            }
-
             if (isUseCaseInsensitiveMatching()) {
                 agent = StringUtils.lowerCase(agent);
                 hostname = StringUtils.lowerCase(hostname);
             }
 
-            for (Pattern candidate : agents) {
-
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(agent).find()) {
-                    return true;
-                }
-
-
+            if (isSpiderAgent(agent)) {
+                return true;
             }
         }
 
@@ -122,16 +115,15 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
         // No.  See if any DNS names match
         if (null != hostname) {
-            synchronized (domains) {
-                if (domains.isEmpty()) {
-                    loadPatterns("domains", domains);
+            if (domains == null) {
+                synchronized (this) {
+                    if (domains == null) {
+                        domains = loadPatterns("domains");
+                    }
                 }
             }
-            for (Pattern candidate : domains) {
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(hostname).find()) {
-                    return true;
-                }
+            if (domains.find(hostname)) {
+                return true;
             }
         }
 
@@ -139,6 +131,45 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         return false;
     }
 
+    /**
+     * Check whether the given User-Agent matches any agent pattern. The verdicts of the most recently seen
+     * agents are cached, as the same few agents make most of the traffic.
+     *
+     * @param agent User-Agent header value, already lowercased if case insensitive matching is enabled.
+     * @return true if the agent matches an agent pattern.
+     */
+    private boolean isSpiderAgent(String agent) {
+        if (agents == null) {
+            synchronized (this) {
+                if (agents == null) {
+                    int cacheSize = configurationService.getIntProperty("usage-statistics.bots.agent-cache-size",
+                                                                        1000);
+                    if (cacheSize > 0) {
+                        // access ordered, so that the least recently seen agent is evicted first
+                        Map<String, Boolean> verdicts = new LinkedHashMap<>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                                return size() > cacheSize;
+                            }
+                        };
+                        agentVerdicts = Collections.synchronizedMap(verdicts);
+                    }
+                    agents = loadPatterns("agents");
+                }
+            }
+        }
+
+        if (agentVerdicts == null) {
+            return agents.find(agent);
+        }
+        Boolean verdict = agentVerdicts.get(agent);
+        if (verdict == null) {
+            verdict = agents.find(agent);
+            agentVerdicts.put(agent, verdict);
+        }
+        return verdict;
+    }
+
     /**
      * Utility method which reads lines from a file & returns them in a Set.
      *
@@ -180,10 +211,10 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
      * @param directory   simple directory name (e.g. "agents").
      *                    "${dspace.dir}/config/spiders" will be prepended to yield the path to
      *                    the directory of pattern files.
-     * @param patternList patterns read from the files in {@code directory} will
-     *                    be added to this List.
+     * @return a matcher for all the patterns read from the files in {@code directory}.
      */
-    private void loadPatterns(String directory, List<Pattern> patternList) {
+    private PatternSetMatcher loadPatterns(String directory) {
+        List<Pattern> patternList = new ArrayList<>();
         String dspaceHome = configurationService.getProperty("dspace.dir");
         File spidersDir = new File(dspaceHome, "config/spiders");
         File patternsDir = new File(spidersDir, directory);
@@ -211,6 +242,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         } else {
             log.info("No patterns loaded from {}", patternsDir::getPath);
         }
+        return new PatternSetMatcher(patternList);
     }
 
     /**
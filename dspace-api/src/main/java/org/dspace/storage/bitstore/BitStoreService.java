@@ -9,9 +9,12 @@ package org.dspace.storage.bitstore;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.dspace.content.Bitstream;
 
 /**
@@ -45,6 +48,45 @@ public interface BitStoreService {
      */
     public InputStream get(Bitstream bitstream) throws IOException;
 
+    /**
+     * Retrieve a range of the bits for bitstream.
+     *
+     * The default implementation skips the leading bytes of the full stream, stores able to
+     * seek or to request partial content from a remote service should override it.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @param offset    the position of the first byte to retrieve
+     * @param length    the maximum number of bytes to retrieve, a negative value reads until the end
+     * @return The stream of bits starting at offset
+     * @throws java.io.IOException If a problem occurs while retrieving the bits, or if no
+     *                             asset with ID exists in the store
+     */
+    public default InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        InputStream in = get(bitstream);
+        try {
+            IOUtils.skipFully(in, offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return length < 0 ? in : new BoundedInputStream(in, length);
+    }
+
+    /**
+     * Get the file holding the bits for bitstream, so that they can be sent by the
+     * operating system without being read by the JVM.
+     *
+     * The default implementation returns null, stores which keep the bits in the local
+     * filesystem should override it.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return the path of the readable file holding the bits, or null if there is none
+     * @throws java.io.IOException If a problem occurs while determining the file
+     */
+    public default Path getLocalPath(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -41,6 +41,8 @@ import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
@@ -54,7 +56,6 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
 import org.apache.logging.log4j.LogManager;
@@ -96,6 +97,11 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     static final String CSA = "MD5";
 
+    /**
+     * User metadata of the S3 objects holding the checksum computed at upload time
+     */
+    public static final String CHECKSUM_USER_METADATA = "dspace-checksum";
+
     // These settings control the way an identifier is hashed into
     // directory and file names
     //
@@ -119,6 +125,17 @@ public class S3BitStoreService extends BaseBitStoreService {
     private Integer connectionTimeout;
     private String endpoint;
 
+    /**
+     * when true the content is streamed straight from the S3 object instead of being
+     * downloaded into a temporary file first
+     */
+    private boolean streaming = false;
+
+    /**
+     * strategy used to compute the checksum requested to {@link #about(Bitstream, List)}
+     */
+    private S3ChecksumStrategy checksumStrategy = new S3StreamingChecksumStrategy();
+
     /**
      * container for all the assets
      */
@@ -401,10 +418,9 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     @Override
     public InputStream get(Bitstream bitstream) throws IOException {
-        String key = getFullKey(bitstream.getInternalId());
-        // Strip -R from bitstream key if it's registered
-        if (isRegisteredBitstream(key)) {
-            key = key.substring(REGISTERED_FLAG.length());
+        String key = getObjectKey(bitstream);
+        if (streaming) {
+            return getObjectContent(new GetObjectRequest(bucketName, key), key);
         }
         try {
             File tempFile = File.createTempFile("s3-disk-copy-" + UUID.randomUUID(), "temp");
@@ -422,6 +438,66 @@ public class S3BitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Retrieve a range of the bits for the asset with ID, using an S3 ranged GET so that
+     * neither the preceding bytes nor a temporary copy of the object are needed.
+     *
+     * @param bitstream The ID of the asset to retrieve
+     * @param offset    The position of the first byte to retrieve
+     * @param length    The maximum number of bytes to retrieve, a negative value reads until the end
+     * @return The stream of bits starting at offset
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        if (length == 0) {
+            return InputStream.nullInputStream();
+        }
+        String key = getObjectKey(bitstream);
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key);
+        if (length < 0) {
+            getObjectRequest.setRange(offset);
+        } else {
+            getObjectRequest.setRange(offset, offset + length - 1);
+        }
+        return getObjectContent(getObjectRequest, key);
+    }
+
+    /**
+     * Open the content of the requested S3 object, the returned stream keeps the http
+     * connection busy until it is closed.
+     *
+     * @param getObjectRequest the request to send
+     * @param key              the key of the object, used for logging
+     * @return the object content stream
+     * @throws IOException if the object cannot be retrieved
+     */
+    protected InputStream getObjectContent(GetObjectRequest getObjectRequest, String key) throws IOException {
+        try {
+            S3Object s3Object = s3Service.getObject(getObjectRequest);
+            return s3Object.getObjectContent();
+        } catch (AmazonClientException e) {
+            log.error("get(" + key + ")", e);
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Utility Method: compute the key of the S3 object holding the bits of the given bitstream,
+     * stripping the registered flag if any
+     *
+     * @param bitstream DSpace bitstream
+     * @return the S3 object key
+     */
+    protected String getObjectKey(Bitstream bitstream) {
+        String key = getFullKey(bitstream.getInternalId());
+        // Strip -R from bitstream key if it's registered
+        if (isRegisteredBitstream(key)) {
+            key = key.substring(REGISTERED_FLAG.length());
+        }
+        return key;
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -446,14 +522,20 @@ public class S3BitStoreService extends BaseBitStoreService {
             Utils.bufferedCopy(dis, fos);
             in.close();
 
-            Upload upload = tm.upload(bucketName, key, scratchFile);
+            // we cannot use the S3 ETAG here as it could be not a MD5 in case of multipart upload (large files) or if
+            // the bucket is encrypted
+            String checksum = Utils.toHex(dis.getMessageDigest().digest());
+
+            // keep the checksum with the object, so that it can be read back without downloading the content
+            ObjectMetadata objectMetadata = new ObjectMetadata();
+            objectMetadata.addUserMetadata(CHECKSUM_USER_METADATA, checksum);
+
+            Upload upload = tm.upload(new PutObjectRequest(bucketName, key, scratchFile).withMetadata(objectMetadata));
 
             upload.waitForUploadResult();
 
             bitstream.setSizeBytes(scratchFile.length());
-            // we cannot use the S3 ETAG here as it could be not a MD5 in case of multipart upload (large files) or if
-            // the bucket is encrypted
-            bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
+            bitstream.setChecksum(checksum);
             bitstream.setChecksumAlgorithm(CSA);
 
         } catch (AmazonClientException | IOException | InterruptedException e) {
@@ -472,8 +554,8 @@ public class S3BitStoreService extends BaseBitStoreService {
     /**
      * Obtain technical metadata about an asset in the asset store.
      *
-     * Checksum used is (ETag) hex encoded 128-bit MD5 digest of an object's content as calculated by Amazon S3
-     * (Does not use getContentMD5, as that is 128-bit MD5 digest calculated on caller's side)
+     * The checksum is the hex encoded 128-bit MD5 digest of the object's content, obtained through the configured
+     * {@link S3ChecksumStrategy}
      *
      * @param bitstream The asset to describe
      * @param attrs     A List of desired metadata fields
@@ -485,11 +567,7 @@ public class S3BitStoreService extends BaseBitStoreService {
     @Override
     public Map<String, Object> about(Bitstream bitstream, List<String> attrs) throws IOException {
 
-        String key = getFullKey(bitstream.getInternalId());
-        // If this is a registered bitstream, strip the -R prefix before retrieving
-        if (isRegisteredBitstream(key)) {
-            key = key.substring(REGISTERED_FLAG.length());
-        }
+        String key = getObjectKey(bitstream);
 
         Map<String, Object> metadata = new HashMap<>();
 
@@ -504,16 +582,7 @@ public class S3BitStoreService extends BaseBitStoreService {
             putValueIfExistsKey(attrs, metadata, "checksum_algorithm", CSA);
 
             if (attrs.contains("checksum")) {
-                try (InputStream in = get(bitstream);
-                     DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA))
-                ) {
-                    Utils.copy(dis, NullOutputStream.NULL_OUTPUT_STREAM);
-                    byte[] md5Digest = dis.getMessageDigest().digest();
-                    metadata.put("checksum", Utils.toHex(md5Digest));
-                } catch (NoSuchAlgorithmException nsae) {
-                    // Should never happen
-                    log.warn("Caught NoSuchAlgorithmException", nsae);
-                }
+                metadata.put("checksum", checksumStrategy.getChecksum(s3Service, bucketName, key, objectMetadata));
             }
 
             return metadata;
@@ -676,6 +745,22 @@ public class S3BitStoreService extends BaseBitStoreService {
         this.endpoint = endpoint;
     }
 
+    public S3ChecksumStrategy getChecksumStrategy() {
+        return checksumStrategy;
+    }
+
+    public void setChecksumStrategy(S3ChecksumStrategy checksumStrategy) {
+        this.checksumStrategy = checksumStrategy;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     /**
      * Contains a command-line testing tool. Expects arguments:
      * -a accessKey -s secretKey -f assetFileName
@@ -0,0 +1,37 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.IOException;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+
+/**
+ * Strategy used by the {@link S3BitStoreService} to obtain the checksum of a stored object,
+ * as requested by {@link S3BitStoreService#about(org.dspace.content.Bitstream, java.util.List)}.
+ *
+ * Implementations must return the hex encoded digest computed with the algorithm used by the store
+ * when the bitstream was uploaded (see {@link S3BitStoreService#CSA}).
+ */
+public interface S3ChecksumStrategy {
+
+    /**
+     * Compute the checksum of the S3 object with the given key.
+     *
+     * @param s3Service      the S3 client
+     * @param bucketName     the bucket containing the object
+     * @param key            the key of the object
+     * @param objectMetadata the metadata of the object, already retrieved by the store
+     * @return the hex encoded checksum of the object content
+     * @throws IOException if the checksum cannot be computed
+     */
+    public String getChecksum(AmazonS3 s3Service, String bucketName, String key, ObjectMetadata objectMetadata)
+        throws IOException;
+
+}
@@ -0,0 +1,88 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.IOException;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * {@link S3ChecksumStrategy} that returns the checksum stored alongside the object, without reading its content:
+ * <ul>
+ * <li>the checksum saved by {@link S3BitStoreService} in the object user metadata at upload time</li>
+ * <li>otherwise, if a {@link #getSidecarSuffix() sidecar suffix} is configured, the checksum written in the
+ * object with the same key plus that suffix (e.g. the output of {@code md5sum})</li>
+ * </ul>
+ * When no stored checksum is found the computation is delegated to the fallback strategy.
+ *
+ * Note that a stored checksum reflects the content at upload time: this strategy trades the verification of
+ * the actual stored bits for not transferring them.
+ */
+public class S3StoredChecksumStrategy implements S3ChecksumStrategy {
+
+    private static final Logger log = LogManager.getLogger(S3StoredChecksumStrategy.class);
+
+    private S3ChecksumStrategy fallbackStrategy = new S3StreamingChecksumStrategy();
+
+    private String sidecarSuffix;
+
+    @Override
+    public String getChecksum(AmazonS3 s3Service, String bucketName, String key, ObjectMetadata objectMetadata)
+        throws IOException {
+        if (objectMetadata != null) {
+            String checksum = objectMetadata.getUserMetaDataOf(S3BitStoreService.CHECKSUM_USER_METADATA);
+            if (StringUtils.isNotBlank(checksum)) {
+                return checksum;
+            }
+        }
+        if (StringUtils.isNotBlank(sidecarSuffix)) {
+            String checksum = getSidecarChecksum(s3Service, bucketName, key + sidecarSuffix);
+            if (StringUtils.isNotBlank(checksum)) {
+                return checksum;
+            }
+        }
+        log.debug("No stored checksum found for {}, computing it", key);
+        return fallbackStrategy.getChecksum(s3Service, bucketName, key, objectMetadata);
+    }
+
+    private String getSidecarChecksum(AmazonS3 s3Service, String bucketName, String sidecarKey) {
+        try {
+            // the sidecar may follow the md5sum format: "<checksum>  <filename>"
+            String content = StringUtils.trimToEmpty(s3Service.getObjectAsString(bucketName, sidecarKey));
+            return StringUtils.lowerCase(StringUtils.substringBefore(content, " "));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    public S3ChecksumStrategy getFallbackStrategy() {
+        return fallbackStrategy;
+    }
+
+    public void setFallbackStrategy(S3ChecksumStrategy fallbackStrategy) {
+        this.fallbackStrategy = fallbackStrategy;
+    }
+
+    public String getSidecarSuffix() {
+        return sidecarSuffix;
+    }
+
+    public void setSidecarSuffix(String sidecarSuffix) {
+        this.sidecarSuffix = sidecarSuffix;
+    }
+
+}
@@ -0,0 +1,161 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Utils;
+
+/**
+ * {@link S3ChecksumStrategy} that hashes the object content while it is read from S3, without any
+ * temporary copy on the local disk.
+ *
+ * Objects larger than {@link #getPartSize()} can be fetched with up to {@link #getParallelism()} concurrent
+ * ranged requests: the parts are downloaded ahead in parallel and fed to the digest in order, so the
+ * result is the same digest of the whole object while the network transfer is spread over several
+ * connections. Each in-flight part is kept in memory, so at most {@code parallelism * partSize} bytes
+ * are buffered for a single object.
+ */
+public class S3StreamingChecksumStrategy implements S3ChecksumStrategy {
+
+    private static final Logger log = LogManager.getLogger(S3StreamingChecksumStrategy.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * size in bytes of the ranges used to read large objects in parallel
+     */
+    private int partSize = 16 * 1024 * 1024;
+
+    /**
+     * maximum number of parts read at the same time, 1 disables the parallel reads
+     */
+    private int parallelism = 1;
+
+    private ExecutorService executorService;
+
+    @Override
+    public String getChecksum(AmazonS3 s3Service, String bucketName, String key, ObjectMetadata objectMetadata)
+        throws IOException {
+        MessageDigest digest = newDigest();
+        long contentLength = objectMetadata != null ? objectMetadata.getContentLength() : -1;
+        if (parallelism > 1 && partSize > 0 && contentLength > partSize) {
+            digestParts(digest, s3Service, bucketName, key, contentLength);
+        } else {
+            try (S3Object s3Object = s3Service.getObject(bucketName, key);
+                 InputStream in = s3Object.getObjectContent()) {
+                update(digest, in);
+            }
+        }
+        return Utils.toHex(digest.digest());
+    }
+
+    /**
+     * Read the object with ranged requests, keeping up to {@code parallelism} parts in flight,
+     * and update the digest with each part in order.
+     */
+    protected void digestParts(MessageDigest digest, AmazonS3 s3Service, String bucketName, String key,
+                               long contentLength) throws IOException {
+        Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        long next = 0;
+        try {
+            while (next < contentLength || !pending.isEmpty()) {
+                while (next < contentLength && pending.size() < parallelism) {
+                    long start = next;
+                    long end = Math.min(contentLength, start + partSize) - 1;
+                    pending.add(getExecutorService().submit(() -> readPart(s3Service, bucketName, key, start, end)));
+                    next = end + 1;
+                }
+                digest.update(pending.poll().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AmazonClientException) {
+                throw (AmazonClientException) e.getCause();
+            }
+            log.error("Unable to read the parts of " + key, e.getCause());
+            throw new IOException(e.getCause());
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private byte[] readPart(AmazonS3 s3Service, String bucketName, String key, long start, long end)
+        throws IOException {
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key).withRange(start, end);
+        try (S3Object s3Object = s3Service.getObject(getObjectRequest);
+             InputStream in = s3Object.getObjectContent()) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    private void update(MessageDigest digest, InputStream in) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int count;
+        while ((count = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, count);
+        }
+    }
+
+    private MessageDigest newDigest() throws IOException {
+        try {
+            return MessageDigest.getInstance(S3BitStoreService.CSA);
+        } catch (NoSuchAlgorithmException e) {
+            // Should never happen
+            log.warn("Caught NoSuchAlgorithmException", e);
+            throw new IOException("Invalid checksum algorithm");
+        }
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = Executors.newFixedThreadPool(parallelism, new BasicThreadFactory.Builder()
+                .namingPattern("s3-checksum-%d")
+                .daemon(true)
+                .build());
+        }
+        return executorService;
+    }
+
+    public int getPartSize() {
+        return partSize;
+    }
+
+    public void setPartSize(int partSize) {
+        this.partSize = partSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+}
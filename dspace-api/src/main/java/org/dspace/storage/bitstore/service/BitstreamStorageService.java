@@ -9,6 +9,7 @@ package org.dspace.storage.bitstore.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.UUID;
@@ -129,6 +130,33 @@ public interface BitstreamStorageService {
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException;
 
+    /**
+     * Retrieve a range of the bits for the bitstream with ID, without reading the
+     * preceding bytes when the underlying asset store supports it.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to retrieve
+     * @param offset    The position of the first byte to retrieve
+     * @param length    The maximum number of bytes to retrieve, a negative value reads until the end
+     * @return The stream of bits starting at offset
+     * @throws IOException  If a problem occurs while retrieving the bits
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws SQLException, IOException;
+
+    /**
+     * Get the file holding the bits for the bitstream when its asset store keeps
+     * them in the local filesystem, e.g. to send them with a zero-copy transfer.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream
+     * @return The path of the readable file, or null if the asset store is not local
+     * @throws IOException  If a problem occurs while determining the file
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public Path getLocalPath(Context context, Bitstream bitstream) throws SQLException, IOException;
+
     /**
      * Clean up the bitstream storage area. This method deletes any bitstreams
      * which are more than 1 hour old and marked deleted. The deletions cannot
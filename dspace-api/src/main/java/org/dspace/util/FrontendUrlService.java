@@ -69,6 +69,7 @@ public class FrontendUrlService {
         DiscoverQuery entityQuery = new DiscoverQuery();
         entityQuery.setQuery("search.uniqueid:\"Item-" + item.getID() + "\" and entityType:*");
         entityQuery.addSearchField("entityType");
+        entityQuery.setIndexOnly(true);
 
         try {
             DiscoverResult discoverResult = searchService.search(context, entityQuery);
@@ -0,0 +1,25 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create TABLE discovery_index_queue
+-- Changes waiting to be applied to the discovery index, one row per search unique id
+-----------------------------------------------------------------------------------
+
+CREATE TABLE discovery_index_queue
+(
+    unique_id     VARCHAR(255)  NOT NULL  PRIMARY KEY,
+    unindex       BOOLEAN       NOT NULL,
+    reindex       BOOLEAN       NOT NULL,
+    predb         BOOLEAN       NOT NULL,
+    revision      INTEGER       NOT NULL,
+    attempts      INTEGER       NOT NULL,
+    date_queued   TIMESTAMP     NOT NULL,
+    next_attempt  TIMESTAMP
+);
+CREATE INDEX idx_discovery_index_queue_date_queued ON discovery_index_queue(date_queued);
@@ -0,0 +1,103 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.service.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl.DeduplicationFlag;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.deduplication.MockSolrDedupCore;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the potential matches found by {@link SolrDedupServiceImpl}.
+ */
+public class SolrDedupServiceImplIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String TITLE = "A study of the deduplication of the records of an institutional repository";
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private MockSolrDedupCore dedupService;
+
+    private Collection collection;
+
+    @Before
+    public void setUpDedupCore() throws Exception {
+        dedupService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                            .getServiceByName(null, MockSolrDedupCore.class);
+        configurationService.setProperty("deduplication.near-duplicate.enabled", true);
+        // several pages of candidates
+        configurationService.setProperty("deduplication.potential-match.page-size", 5);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection").build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void resetDedupCore() throws Exception {
+        configurationService.setProperty("deduplication.near-duplicate.enabled", false);
+        configurationService.setProperty("deduplication.potential-match.page-size", null);
+        dedupService.reset();
+        dedupService.commit();
+    }
+
+    @Test
+    public void testAllTheNearDuplicatesSharingABandAreMatched() throws Exception {
+        context.turnOffAuthorisationSystem();
+        // more candidates in the same buckets than the default number of rows of the dedup core
+        List<Item> nearDuplicates = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            nearDuplicates.add(ItemBuilder.createItem(context, collection)
+                                          .withTitle(TITLE + ", part " + i)
+                                          .withAuthor("Smith, John")
+                                          .withIssueDate("2020")
+                                          .build());
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+        for (Item nearDuplicate : nearDuplicates) {
+            dedupService.indexContent(context, context.reloadEntity(nearDuplicate), true);
+        }
+        dedupService.commit();
+
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle(TITLE)
+                               .withAuthor("Smith, John")
+                               .withIssueDate("2020")
+                               .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        dedupService.indexContent(context, context.reloadEntity(item), true);
+        dedupService.commit();
+
+        for (Item nearDuplicate : nearDuplicates) {
+            assertEquals("No match with " + nearDuplicate.getID(), 1, dedupService.find("*:*",
+                SolrDedupServiceImpl.RESOURCE_FLAG_FIELD + ":" + DeduplicationFlag.MATCH.getDescription(),
+                SolrDedupServiceImpl.RESOURCE_IDS_FIELD + ":" + item.getID(),
+                SolrDedupServiceImpl.RESOURCE_IDS_FIELD + ":" + nearDuplicate.getID())
+                .getResults().getNumFound());
+        }
+    }
+}
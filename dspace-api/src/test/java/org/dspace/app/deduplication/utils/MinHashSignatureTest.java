@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.AbstractUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MinHashSignature}.
+ */
+public class MinHashSignatureTest extends AbstractUnitTest {
+
+    private MinHashSignature signature;
+
+    @Before
+    public void setUp() {
+        signature = new MinHashSignature();
+    }
+
+    @Test
+    public void testSketchOfEqualDescriptions() {
+        List<String> bands = sketch("Near-duplicate detection", "Smith, John", "2020-01-01");
+        List<String> otherBands = sketch("Near duplicate detection!", "Smith, J.", "2020");
+
+        assertThat(bands, hasSize(signature.getBands()));
+        assertThat(bands, is(otherBands));
+        assertThat(MinHashSignature.estimateSimilarity(bands, otherBands), is(1.0));
+    }
+
+    @Test
+    public void testSimilarityOfNearDuplicates() {
+        List<String> bands = sketch("Near-duplicate detection in digital libraries", "Müller, Jürgen", "2020");
+        List<String> withSubtitle = sketch("Near-duplicate detection in digital libraries: a survey",
+                                           "Muller, J.", "2020");
+        List<String> other = sketch("Deep learning for protein folding", "Doe, Jane", "2018");
+
+        assertThat(MinHashSignature.estimateSimilarity(bands, withSubtitle),
+                   greaterThan(signature.getThreshold()));
+        assertThat(MinHashSignature.estimateSimilarity(bands, other), lessThan(signature.getThreshold()));
+    }
+
+    @Test
+    public void testTransliteratedAuthor() {
+        List<String> bands = sketch("Course of theoretical physics", "Ландау, Лев Давидович", "1948");
+        List<String> transliterated = sketch("Course of theoretical physics", "Landau, L. D.", "1948");
+
+        assertThat(MinHashSignature.estimateSimilarity(bands, transliterated), is(1.0));
+    }
+
+    @Test
+    public void testNoFeatures() {
+        assertThat(sketch("", "", ""), hasSize(0));
+        assertThat(MinHashSignature.estimateSimilarity(new ArrayList<String>(), sketch("Title", "", "")), is(0.0));
+    }
+
+    private List<String> sketch(String title, String author, String year) {
+        return signature.getBands(signature.getFeatures(List.of(title), List.of(author), List.of(year)));
+    }
+}
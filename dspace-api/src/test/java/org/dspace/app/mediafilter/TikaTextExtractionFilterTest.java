@@ -62,6 +62,48 @@ public class TikaTextExtractionFilterTest extends AbstractUnitTest {
                      inMemoryExtractedText, tempFileExtractedText);
     }
 
+    /**
+     * Test of getDestinationStream method streaming the text extraction
+     *
+     * @throws java.lang.Exception passed through.
+     */
+    @Test
+    public void testGetDestinationStreamWithStreaming()
+        throws Exception {
+        TikaTextExtractionFilter instance = new TikaTextExtractionFilter();
+        configurationService.setProperty("textextractor.max-chars", "-1");
+
+        // Extract text from file with "streaming=true"
+        configurationService.setProperty("textextractor.streaming", "true");
+        InputStream source = getClass().getResourceAsStream("test.pdf");
+        InputStream result = instance.getDestinationStream(null, source, false);
+        String streamedText = readAll(result);
+
+        // Verify text extracted successfully
+        assertTrue("Known content was not found in .pdf", streamedText.contains("quick brown fox"));
+
+        // Now, extract text from same file using default, in-memory
+        configurationService.setProperty("textextractor.streaming", "false");
+        source = getClass().getResourceAsStream("test.pdf");
+        result = instance.getDestinationStream(null, source, false);
+        String inMemoryExtractedText = readAll(result);
+
+        // Verify the two results are equal
+        assertEquals("Extracted text via streaming is the same as in-memory.",
+                     inMemoryExtractedText, streamedText);
+
+        // Set "max-chars" to a small value of 100 chars, which is less than the text size of the file.
+        configurationService.setProperty("textextractor.max-chars", "100");
+        configurationService.setProperty("textextractor.streaming", "true");
+        source = getClass().getResourceAsStream("test.pdf");
+        result = instance.getDestinationStream(null, source, false);
+        String truncatedText = readAll(result);
+        configurationService.setProperty("textextractor.streaming", "false");
+
+        // Verify we have exactly the first 100 characters
+        assertEquals(inMemoryExtractedText.substring(0, 100), truncatedText);
+    }
+
     /**
      * Test of getDestinationStream method when max characters is less than file size
      *
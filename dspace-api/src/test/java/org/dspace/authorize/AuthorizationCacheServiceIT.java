@@ -0,0 +1,133 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizationCacheService;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the {@link AuthorizationCacheService}.
+ */
+public class AuthorizationCacheServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private final AuthorizationCacheService authorizationCacheService =
+        AuthorizeServiceFactory.getInstance().getAuthorizationCacheService();
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    private Item item;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty("authorization.cache.enabled", true);
+
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Public item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        authorizationCacheService.invalidateAll();
+    }
+
+    @After
+    @Override
+    public void destroy() throws Exception {
+        configurationService.setProperty("authorization.cache.enabled", false);
+        super.destroy();
+    }
+
+    @Test
+    public void testAnonymousDecisionIsSharedBetweenContexts() throws Exception {
+        context.setCurrentUser(null);
+        assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+        assertEquals(1, authorizationCacheService.size());
+
+        long hits = authorizationCacheService.getStats().hitCount();
+        // another request, in its own thread as a context shares the Hibernate session of its thread
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertTrue(executor.submit(() -> {
+                Context otherContext = new Context(Context.Mode.READ_ONLY);
+                try {
+                    return authorizeService.authorizeActionBoolean(otherContext, otherContext.reloadEntity(item),
+                                                                   Constants.READ);
+                } finally {
+                    otherContext.abort();
+                }
+            }).get());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(hits + 1, authorizationCacheService.getStats().hitCount());
+    }
+
+    @Test
+    public void testAuthenticatedDecisionIsNotShared() throws Exception {
+        context.setCurrentUser(eperson);
+        assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+        assertEquals(0, authorizationCacheService.size());
+    }
+
+    @Test
+    public void testPolicyChangeInvalidatesDecision() throws Exception {
+        context.setCurrentUser(null);
+        assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+
+        context.turnOffAuthorisationSystem();
+        item = context.reloadEntity(item);
+        authorizeService.removeAllPolicies(context, item);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertEquals(0, authorizationCacheService.size());
+        assertFalse(authorizeService.authorizeActionBoolean(context, context.reloadEntity(item), Constants.READ));
+    }
+
+    @Test
+    public void testGroupChangeInvalidatesAllDecisions() throws Exception {
+        context.setCurrentUser(null);
+        assertTrue(authorizeService.authorizeActionBoolean(context, item, Constants.READ));
+
+        context.turnOffAuthorisationSystem();
+        GroupBuilder.createGroup(context).withName("New group").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertEquals(0, authorizationCacheService.size());
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.Query;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.app.checker.ChecksumChecker;
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+import org.dspace.core.CoreHelpers;
+import org.dspace.core.HibernateDBConnection;
+import org.junit.Test;
+
+/**
+ * Tests of the concurrent checks of {@link CheckerCommand} and of {@link ChecksumChecker} with several threads.
+ */
+public class CheckerCommandTest extends AbstractUnitTest {
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private final MostRecentChecksumService checksumService =
+        CheckerServiceFactory.getInstance().getMostRecentChecksumService();
+
+    /**
+     * Create bitstreams with their checksum records, checked before the returned start of the process.
+     */
+    private List<Bitstream> createBitstreams(int count) throws Exception {
+        List<Bitstream> bitstreams = new ArrayList<>();
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < count; i++) {
+            Bitstream bitstream = bitstreamService.create(context,
+                new ByteArrayInputStream(("content " + i).getBytes(StandardCharsets.UTF_8)));
+            bitstreamService.update(context, bitstream);
+            bitstreams.add(bitstream);
+        }
+        context.restoreAuthSystemState();
+        checksumService.updateMissingBitstreams(context);
+        // the workers only see the committed bitstreams
+        context.commit();
+        // the records are created at the current time, which must be before the start of the process
+        Thread.sleep(10);
+        return bitstreams;
+    }
+
+    private long countResults(Bitstream bitstream, Date processStart) throws SQLException {
+        HibernateDBConnection dbc = (HibernateDBConnection) CoreHelpers.getDBConnection(context);
+        Query query = dbc.getSession().createQuery(
+            "SELECT COUNT(*) FROM ChecksumHistory WHERE bitstream.id = :id AND processStartDate >= :date");
+        query.setParameter("id", bitstream.getID());
+        query.setParameter("date", processStart);
+        return (Long) query.getSingleResult();
+    }
+
+    @Test
+    public void testProcessConcurrentlyChecksEachBitstreamOnce() throws Exception {
+        List<Bitstream> bitstreams = createBitstreams(12);
+        Date processStart = new Date();
+
+        RecordingCollector collector = new RecordingCollector();
+        CheckerCommand checker = new CheckerCommand(context);
+        checker.setProcessStartDate(processStart);
+        checker.setDispatcher(new ConcurrentDispatcher(context, processStart, false, 2));
+        checker.setCollector(collector);
+        checker.setReportVerbose(true);
+        checker.setThreads(3);
+        checker.process();
+
+        assertEquals("A bitstream was checked twice", collector.checked.size(),
+                     new HashSet<>(collector.checked).size());
+        assertEquals(collector.collected.get(), checker.getCheckedCount());
+        for (Bitstream bitstream : bitstreams) {
+            assertTrue(collector.checked.contains(bitstream.getID()));
+            assertEquals(1, countResults(bitstream, processStart));
+        }
+    }
+
+    @Test
+    public void testProcessConcurrentlyStopsTheWorkersWhenOneFails() throws Exception {
+        createBitstreams(20);
+        Date processStart = new Date();
+        ConcurrentDispatcher dispatcher = new ConcurrentDispatcher(context, processStart, false, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        CheckerCommand checker = new CheckerCommand(context);
+        checker.setProcessStartDate(processStart);
+        checker.setDispatcher(new BitstreamDispatcher() {
+            @Override
+            public Bitstream next() throws SQLException {
+                if (calls.incrementAndGet() == 3) {
+                    throw new SQLException("Failure of the dispatcher");
+                }
+                return dispatcher.next();
+            }
+
+            @Override
+            public void release(Bitstream bitstream) {
+                dispatcher.release(bitstream);
+            }
+        });
+        checker.setCollector(new RecordingCollector());
+        checker.setThreads(3);
+        try {
+            checker.process();
+            fail("The failure of a worker is not reported");
+        } catch (SQLException e) {
+            assertEquals("Failure of the dispatcher", e.getMessage());
+        }
+        // the other workers stopped instead of checking the 20 bitstreams
+        assertTrue("The workers went on after the failure: " + calls.get(), calls.get() < 10);
+    }
+
+    @Test
+    public void testProcessConcurrentlyDispatchesFromTheCallingThreadOnly() throws Exception {
+        List<Bitstream> bitstreams = createBitstreams(10);
+        Date processStart = new Date();
+        ConcurrentDispatcher dispatcher = new ConcurrentDispatcher(context, processStart, false, 3);
+        Set<Thread> dispatchingThreads = Collections.synchronizedSet(new HashSet<>());
+
+        CheckerCommand checker = new CheckerCommand(context);
+        checker.setProcessStartDate(processStart);
+        checker.setDispatcher(new BitstreamDispatcher() {
+            @Override
+            public Bitstream next() throws SQLException {
+                dispatchingThreads.add(Thread.currentThread());
+                return dispatcher.next();
+            }
+
+            @Override
+            public void release(Bitstream bitstream) {
+                dispatcher.release(bitstream);
+            }
+        });
+        checker.setCollector(new RecordingCollector());
+        checker.setThreads(3);
+        checker.process();
+
+        // the context of the dispatcher, cleared between its batches, is never used by the workers
+        assertEquals(Collections.singleton(Thread.currentThread()), dispatchingThreads);
+        for (Bitstream bitstream : bitstreams) {
+            assertEquals(1, countResults(bitstream, processStart));
+        }
+    }
+
+    @Test
+    public void testChecksumCheckerWithThreadsChecksEachBitstreamOnce() throws Exception {
+        List<Bitstream> bitstreams = createBitstreams(8);
+        Date processStart = new Date();
+
+        ChecksumChecker.main(new String[] {"-l", "-t", "3"});
+
+        for (Bitstream bitstream : bitstreams) {
+            assertEquals(1, countResults(bitstream, processStart));
+        }
+    }
+
+    /**
+     * Collector recording the ids of the checked bitstreams.
+     */
+    private static class RecordingCollector implements ChecksumResultsCollector {
+
+        private final List<UUID> checked = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicInteger collected = new AtomicInteger();
+
+        @Override
+        public void collect(Context context, MostRecentChecksum info) {
+            collected.incrementAndGet();
+            if (info.getBitstream() != null) {
+                checked.add(info.getBitstream().getID());
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.core.Context;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ConcurrentDispatcher}, reading the records of a simulated most_recent_checksum table.
+ */
+public class ConcurrentDispatcherTest extends AbstractUnitTest {
+
+    private final Context dispatcherContext = mock(Context.class);
+
+    private final MostRecentChecksumService checksumService = mock(MostRecentChecksumService.class);
+
+    /**
+     * The committed records, by id of their bitstream.
+     */
+    private final Map<UUID, MostRecentChecksum> records = new HashMap<>();
+
+    private Date processStart;
+
+    @Before
+    public void setUp() throws Exception {
+        long lastCheck = System.currentTimeMillis() - 100000;
+        for (int i = 0; i < 20; i++) {
+            Bitstream bitstream = mock(Bitstream.class);
+            when(bitstream.getID()).thenReturn(UUID.randomUUID());
+            MostRecentChecksum record = new MostRecentChecksum();
+            record.setBitstream(bitstream);
+            record.setProcessStartDate(new Date(lastCheck + i));
+            record.setProcessEndDate(new Date(lastCheck + i));
+            records.put(bitstream.getID(), record);
+        }
+        processStart = new Date();
+
+        // the records checked before the given date, the least recently checked first
+        when(checksumService.findOldestRecords(any(), any(), anyInt())).thenAnswer(invocation -> {
+            Date lessThanDate = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            synchronized (records) {
+                return records.values().stream()
+                              .filter(record -> lessThanDate == null
+                                  || record.getProcessStartDate().before(lessThanDate))
+                              .sorted(Comparator.comparing(MostRecentChecksum::getProcessEndDate))
+                              .limit(limit)
+                              .collect(Collectors.toList());
+            }
+        });
+    }
+
+    private ConcurrentDispatcher newDispatcher(int batchSize) {
+        ConcurrentDispatcher dispatcher = new ConcurrentDispatcher(dispatcherContext, processStart, false, batchSize);
+        dispatcher.checksumService = checksumService;
+        return dispatcher;
+    }
+
+    /**
+     * Commit the result of the check of the bitstream, as a worker does before releasing it.
+     */
+    private void commit(Bitstream bitstream) {
+        synchronized (records) {
+            MostRecentChecksum record = records.get(bitstream.getID());
+            record.setProcessStartDate(new Date());
+            record.setProcessEndDate(new Date());
+        }
+    }
+
+    @Test
+    public void testNextNeverHandsOutABitstreamInFlight() throws Exception {
+        ConcurrentDispatcher dispatcher = newDispatcher(3);
+
+        Set<UUID> dispatched = new HashSet<>();
+        for (int i = 0; i < records.size(); i++) {
+            Bitstream bitstream = dispatcher.next();
+            assertTrue("Bitstream " + bitstream.getID() + " dispatched twice", dispatched.add(bitstream.getID()));
+        }
+        // all the bitstreams are being checked, none of them is committed yet
+        assertNull(dispatcher.next());
+        assertEquals(records.keySet(), dispatched);
+    }
+
+    @Test
+    public void testNextDoesNotDispatchReleasedBitstreamsAgain() throws Exception {
+        ConcurrentDispatcher dispatcher = newDispatcher(3);
+
+        List<UUID> dispatched = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                workers.add(executor.submit(() -> {
+                    Bitstream bitstream;
+                    while ((bitstream = dispatcher.next()) != null) {
+                        dispatched.add(bitstream.getID());
+                        commit(bitstream);
+                        dispatcher.release(bitstream);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(records.size(), dispatched.size());
+        assertEquals(records.keySet(), new HashSet<>(dispatched));
+    }
+
+    @Test
+    public void testNextClearsTheContextBetweenBatches() throws Exception {
+        ConcurrentDispatcher dispatcher = newDispatcher(5);
+
+        Bitstream bitstream;
+        while ((bitstream = dispatcher.next()) != null) {
+            commit(bitstream);
+            dispatcher.release(bitstream);
+        }
+
+        // 4 batches of 5 bitstreams, then an empty one
+        verify(dispatcherContext, times(4)).clear();
+    }
+}
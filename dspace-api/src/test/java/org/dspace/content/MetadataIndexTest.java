@@ -0,0 +1,111 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link MetadataIndex}, comparing its lookups with a scan of all the values of a large item.
+ */
+public class MetadataIndexTest {
+
+    private final List<MetadataValue> metadata = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        MetadataSchema dc = schema("dc");
+        MetadataSchema cris = schema("cris");
+        List<MetadataField> fields = List.of(field(dc, "title", null), field(dc, "contributor", "author"),
+                                             field(dc, "contributor", "editor"), field(dc, "contributor", null),
+                                             field(dc, "subject", null), field(cris, "owner", null),
+                                             field(cris, "contributor", "author"));
+        // the values of the fields are interleaved, as after edits
+        for (int i = 0; i < 5000; i++) {
+            MetadataValue metadataValue = new MetadataValue();
+            metadataValue.setMetadataField(fields.get((i * 7 + i / 3) % fields.size()));
+            metadataValue.setValue("value " + i);
+            metadata.add(metadataValue);
+        }
+    }
+
+    @Test
+    public void findExactFieldTest() {
+        MetadataIndex index = new MetadataIndex(metadata);
+        assertFind(index, "dc", "title", null);
+        assertFind(index, "dc", "contributor", "author");
+        assertFind(index, "dc", "contributor", "");
+        assertFind(index, "cris", "owner", null);
+        assertTrue(index.find("dc", "description", null, matcher("dc", "description", null)).isEmpty());
+    }
+
+    @Test
+    public void findWithWildcardsTest() {
+        MetadataIndex index = new MetadataIndex(metadata);
+        assertFind(index, "dc", "contributor", Item.ANY);
+        assertFind(index, "dc", Item.ANY, Item.ANY);
+        assertFind(index, Item.ANY, "contributor", "author");
+        assertFind(index, Item.ANY, Item.ANY, null);
+        assertFind(index, Item.ANY, Item.ANY, Item.ANY);
+    }
+
+    @Test
+    public void isIndexOfTest() {
+        MetadataIndex index = new MetadataIndex(metadata);
+        assertTrue(index.isIndexOf(metadata));
+        assertFalse(index.isIndexOf(new ArrayList<>(metadata)));
+        metadata.remove(0);
+        assertFalse(index.isIndexOf(metadata));
+    }
+
+    private void assertFind(MetadataIndex index, String schema, String element, String qualifier) {
+        Predicate<MetadataValue> matcher = matcher(schema, element, qualifier);
+        List<MetadataValue> expected = new ArrayList<>();
+        for (MetadataValue metadataValue : metadata) {
+            if (matcher.test(metadataValue)) {
+                expected.add(metadataValue);
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, index.find(schema, element, qualifier, matcher));
+    }
+
+    private Predicate<MetadataValue> matcher(String schema, String element, String qualifier) {
+        return metadataValue -> {
+            MetadataField field = metadataValue.getMetadataField();
+            return (Item.ANY.equals(schema) || schema.equals(field.getMetadataSchema().getName()))
+                && (Item.ANY.equals(element) || element.equals(field.getElement()))
+                && (Item.ANY.equals(qualifier)
+                    || Objects.equals(StringUtils.trimToNull(qualifier), field.getQualifier()));
+        };
+    }
+
+    private MetadataSchema schema(String name) {
+        MetadataSchema schema = new MetadataSchema();
+        schema.setName(name);
+        return schema;
+    }
+
+    private MetadataField field(MetadataSchema schema, String element, String qualifier) {
+        MetadataField field = new MetadataField();
+        field.setMetadataSchema(schema);
+        field.setElement(element);
+        field.setQualifier(qualifier);
+        return field;
+    }
+}
@@ -1015,4 +1015,26 @@ public class ItemServiceIT extends AbstractIntegrationTestWithDatabase {
         context.restoreAuthSystemState();
     }
 
+    @Test
+    public void testFindAllByIds() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item first = ItemBuilder.createItem(context, collection1)
+                                .withTitle("First item")
+                                .withAuthor("Smith, John")
+                                .build();
+        Item second = ItemBuilder.createItem(context, collection1)
+                                 .withTitle("Second item")
+                                 .build();
+        context.restoreAuthSystemState();
+
+        List<Item> items = itemService.findAllByIds(context, List.of(first.getID(), second.getID(), UUID.randomUUID()));
+        assertThat(items, hasSize(2));
+        assertThat(items.stream().map(Item::getID).sorted().collect(Collectors.toList()),
+                   equalTo(List.of(first.getID(), second.getID()).stream().sorted().collect(Collectors.toList())));
+        Item found = items.stream().filter(i -> i.getID().equals(first.getID())).findFirst().get();
+        assertEquals("Smith, John", itemService.getMetadataFirstValue(found, "dc", "contributor", "author", Item.ANY));
+
+        assertTrue(itemService.findAllByIds(context, List.of()).isEmpty());
+    }
+
 }
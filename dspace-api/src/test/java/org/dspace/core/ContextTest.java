@@ -33,6 +33,9 @@ import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.event.Event;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -558,4 +561,66 @@ public class ContextTest extends AbstractUnitTest {
         cleanupContext(instance);
     }
 
+    /**
+     * Test of addEvent method, of class Context: the events which bring nothing new are coalesced.
+     */
+    @Test
+    public void testAddEventCoalescing() throws SQLException {
+        Context instance = new Context();
+        UUID itemId = UUID.randomUUID();
+        UUID otherItemId = UUID.randomUUID();
+
+        instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, itemId, "dc.title"));
+        instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, otherItemId, "dc.title"));
+        instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, itemId, "dc.subject, dc.title"));
+        instance.addEvent(new Event(Event.MODIFY, Constants.ITEM, itemId, "WITHDRAW"));
+        instance.addEvent(new Event(Event.MODIFY, Constants.ITEM, itemId, "WITHDRAW"));
+        instance.addEvent(new Event(Event.MODIFY, Constants.ITEM, itemId, "REINSTATE"));
+        // not merged into the first event, as other events of the item came in between
+        instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, itemId, "dc.date"));
+
+        assertThat("testAddEventCoalescing 0", instance.getEvents().size(), equalTo(5));
+        assertThat("testAddEventCoalescing 1", instance.getEvents().get(0).getDetail(),
+                   equalTo("dc.title, dc.subject"));
+        assertThat("testAddEventCoalescing 2", instance.getRawEventCount(), equalTo(7L));
+        assertThat("testAddEventCoalescing 3", instance.getCoalescedEventCount(), equalTo(2L));
+
+        // an event added once the previous event of its subject was dispatched is not coalesced
+        Event event = instance.pollEvent();
+        instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, otherItemId, "dc.title"));
+        instance.pollEvent();
+        instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, otherItemId, "dc.title"));
+        assertThat("testAddEventCoalescing 4", instance.getEvents().size(), equalTo(4));
+        assertThat("testAddEventCoalescing 5", event.getSubjectID(), equalTo(itemId));
+        assertThat("testAddEventCoalescing 6", instance.getCoalescedEventCount(), equalTo(3L));
+
+        cleanupContext(instance);
+    }
+
+    /**
+     * Test of addEvent method, of class Context: the events of a huge transaction are summarized.
+     */
+    @Test
+    public void testAddEventSummarizing() throws SQLException {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("context.events.summarize-threshold", 3);
+        Context instance = new Context();
+        try {
+            UUID itemId = UUID.randomUUID();
+            instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, itemId, "dc.title"));
+            for (int i = 0; i < 10; i++) {
+                instance.addEvent(new Event(Event.MODIFY, Constants.ITEM, itemId, "detail " + i));
+                instance.addEvent(new Event(Event.MODIFY_METADATA, Constants.ITEM, itemId, "dc.subject"));
+            }
+
+            // the MODIFY events are kept, the MODIFY_METADATA ones are merged into the first one
+            assertThat("testAddEventSummarizing 0", instance.getEvents().size(), equalTo(12));
+            assertThat("testAddEventSummarizing 1", instance.getEvents().get(0).getDetail(),
+                       equalTo("dc.title, dc.subject"));
+        } finally {
+            configurationService.setProperty("context.events.summarize-threshold", null);
+            cleanupContext(instance);
+        }
+    }
+
 }
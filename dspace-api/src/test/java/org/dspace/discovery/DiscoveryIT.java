@@ -10,8 +10,12 @@ package org.dspace.discovery;
 import static org.dspace.discovery.SolrServiceWorkspaceWorkflowRestrictionPlugin.DISCOVER_WORKSPACE_CONFIGURATION_NAME;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -48,6 +52,7 @@ import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
 import org.dspace.discovery.indexobject.IndexableClaimedTask;
 import org.dspace.discovery.indexobject.IndexableCollection;
+import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.discovery.indexobject.IndexablePoolTask;
 import org.dspace.discovery.indexobject.IndexableWorkflowItem;
@@ -738,6 +743,58 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void cursorSearchServiceTest() throws SearchServiceException {
+        int numberItems = 23;
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < numberItems; i++) {
+            // the same title for all the items, so that the unique id must break the ties of the sort
+            items.add(ItemBuilder.createItem(context, collection)
+                                 .withTitle("cursor item")
+                                 .withSubject("cursor")
+                                 .build());
+        }
+        context.restoreAuthSystemState();
+
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.addFilterQueries("subject:cursor");
+        discoverQuery.setSortField("dc.title_sort", DiscoverQuery.SORT_ORDER.asc);
+        discoverQuery.setMaxResults(5);
+        discoverQuery.setCursorMark(DiscoverQuery.CURSOR_MARK_START);
+
+        List<IndexableObject> foundObjects = new ArrayList<>();
+        int pages = 0;
+        DiscoverResult discoverResult;
+        do {
+            discoverResult = searchService.search(context, discoverQuery);
+            assertEquals(numberItems, discoverResult.getTotalSearchResults());
+            foundObjects.addAll(discoverResult.getIndexableObjects());
+            pages++;
+        } while (discoverQuery.moveCursor(discoverResult));
+
+        // four full pages, a partial one and an empty one showing the end of the results
+        assertEquals(6, pages);
+        assertEquals(numberItems, foundObjects.size());
+        assertEquals(numberItems, foundObjects.stream().distinct().count());
+        for (IndexableObject foundObject : foundObjects) {
+            assertTrue(items.contains(foundObject.getIndexedObject()));
+        }
+
+        discoverQuery = new DiscoverQuery();
+        discoverQuery.addFilterQueries("subject:cursor");
+        discoverQuery.setMaxResults(5);
+        Iterator<Item> itemIterator = new DiscoverResultItemIterator(context, discoverQuery, false);
+        List<Item> foundItems = new ArrayList<>();
+        while (itemIterator.hasNext()) {
+            foundItems.add(itemIterator.next());
+        }
+        assertEquals(numberItems, foundItems.size());
+        assertTrue(foundItems.containsAll(items));
+    }
+
     /**
      * Test designed to check if default sort option for Discovery is working, using <code>workspace</code>
      * DiscoveryConfiguration <br/>
@@ -796,6 +853,250 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void parallelUpdateIndexTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection col = CollectionBuilder.createCollection(context, community)
+                                          .withName("Collection")
+                                          .build();
+        for (int i = 0; i < 5; i++) {
+            ItemBuilder.createItem(context, col)
+                       .withTitle("Item " + i)
+                       .build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        indexer.deleteIndex();
+        assertSearchQuery(IndexableItem.TYPE, 0);
+
+        File checkpoint = new File(configurationService.getProperty("dspace.dir"),
+                                   "var/discovery-reindex.checkpoint");
+        indexer.updateIndex(context, true, null, 2, 2, false);
+
+        assertSearchQuery(IndexableItem.TYPE, 5);
+        assertSearchQuery(IndexableCollection.TYPE, 1);
+        assertSearchQuery(IndexableCommunity.TYPE, 1);
+        assertFalse(checkpoint.exists());
+
+        // resuming without checkpoint indexes everything again
+        indexer.deleteIndex();
+        indexer.updateIndex(context, true, IndexableItem.TYPE, 2, 2, true);
+        assertSearchQuery(IndexableItem.TYPE, 5);
+        assertSearchQuery(IndexableCollection.TYPE, 0);
+    }
+
+    @Test
+    public void batchedIndexingOfCommittedChangesTest() throws Exception {
+        configurationService.setProperty("discovery.consumer.batch-size", 2);
+        try {
+            context.turnOffAuthorisationSystem();
+            Community community = CommunityBuilder.createCommunity(context)
+                                                  .withName("Parent Community")
+                                                  .build();
+            Collection col = CollectionBuilder.createCollection(context, community)
+                                              .withName("Collection")
+                                              .build();
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                items.add(ItemBuilder.createItem(context, col)
+                                     .withTitle("Item " + i)
+                                     .build());
+            }
+            context.restoreAuthSystemState();
+            assertSearchQuery(IndexableItem.TYPE, 5);
+
+            // modify and delete several items in the same transaction
+            context.turnOffAuthorisationSystem();
+            for (int i = 0; i < 3; i++) {
+                Item item = context.reloadEntity(items.get(i));
+                itemService.addMetadata(context, item, "dc", "subject", null, null, "batched");
+                itemService.update(context, item);
+            }
+            itemService.delete(context, context.reloadEntity(items.get(3)));
+            itemService.delete(context, context.reloadEntity(items.get(4)));
+            context.commit();
+            context.restoreAuthSystemState();
+
+            assertSearchQuery(IndexableItem.TYPE, 3);
+            DiscoverQuery discoverQuery = new DiscoverQuery();
+            discoverQuery.setQuery("dc.subject:batched");
+            assertEquals(3, searchService.search(context, discoverQuery).getTotalSearchResults());
+        } finally {
+            configurationService.setProperty("discovery.consumer.batch-size", null);
+        }
+    }
+
+    @Test
+    public void asynchronousIndexingOfCommittedChangesTest() throws Exception {
+        configurationService.setProperty("discovery.consumer.async", true);
+        try {
+            context.turnOffAuthorisationSystem();
+            Community community = CommunityBuilder.createCommunity(context)
+                                                  .withName("Parent Community")
+                                                  .build();
+            Collection col = CollectionBuilder.createCollection(context, community)
+                                              .withName("Collection")
+                                              .build();
+            ItemBuilder.createItem(context, col)
+                       .withTitle("Item indexed in the background")
+                       .build();
+            context.restoreAuthSystemState();
+
+            DiscoverQuery discoverQuery = new DiscoverQuery();
+            discoverQuery.setQuery("*:*");
+            discoverQuery.addFilterQueries("search.resourcetype:" + IndexableItem.TYPE);
+            long deadline = System.currentTimeMillis() + 10000;
+            while (searchService.search(context, discoverQuery).getTotalSearchResults() == 0
+                   && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            assertSearchQuery(IndexableItem.TYPE, 1);
+        } finally {
+            configurationService.setProperty("discovery.consumer.async", false);
+        }
+    }
+
+    @Test
+    public void queuedIndexingOfCommittedChangesTest() throws Exception {
+        IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+        configurationService.setProperty("discovery.consumer.queue", true);
+        try {
+            context.turnOffAuthorisationSystem();
+            Community community = CommunityBuilder.createCommunity(context)
+                                                  .withName("Parent Community")
+                                                  .build();
+            Collection col = CollectionBuilder.createCollection(context, community)
+                                              .withName("Collection")
+                                              .build();
+            Item item = ItemBuilder.createItem(context, col)
+                                   .withTitle("Item indexed from the queue")
+                                   .build();
+            context.commit();
+            String uniqueId = IndexableItem.TYPE + "-" + item.getID();
+
+            // the changes are queued, not indexed
+            assertSearchQuery(IndexableItem.TYPE, 0);
+            long pending = indexQueueService.countPending(context);
+            assertTrue(pending > 0);
+
+            // the changes of the same item are coalesced in its entry
+            for (String subject : new String[] { "first", "second" }) {
+                item = context.reloadEntity(item);
+                itemService.addMetadata(context, item, "dc", "subject", null, null, subject);
+                itemService.update(context, item);
+                context.commit();
+            }
+            assertEquals(pending, indexQueueService.countPending(context));
+            assertEquals(1, indexQueueService.findAll(context, 1000, 0).stream()
+                .filter(entry -> entry.getUniqueId().equals(uniqueId))
+                .count());
+            context.restoreAuthSystemState();
+
+            while (indexQueueService.process(context) > 0) {
+                // drain the queue
+            }
+            assertSearchQuery(IndexableItem.TYPE, 1);
+            assertEquals(0, indexQueueService.countPending(context));
+        } finally {
+            configurationService.setProperty("discovery.consumer.queue", false);
+        }
+    }
+
+    @Test
+    public void queuedIndexingKeepsTheUncommittedChangesOfTheCallerTest() throws Exception {
+        IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+        configurationService.setProperty("discovery.consumer.queue", true);
+        try {
+            context.turnOffAuthorisationSystem();
+            Community community = CommunityBuilder.createCommunity(context)
+                                                  .withName("Parent Community")
+                                                  .build();
+            Collection col = CollectionBuilder.createCollection(context, community)
+                                              .withName("Collection")
+                                              .build();
+            Item item = ItemBuilder.createItem(context, col)
+                                   .withTitle("Item indexed from the queue")
+                                   .build();
+            context.commit();
+
+            // a change not committed yet when the queue is processed
+            item = context.reloadEntity(item);
+            itemService.addMetadata(context, item, "dc", "subject", null, null, "uncommitted");
+            itemService.update(context, item);
+            context.restoreAuthSystemState();
+
+            assertTrue(indexQueueService.process(context) > 0);
+
+            // the session of the caller was neither closed nor cleared by the workers
+            assertTrue(context.isValid());
+            assertEquals("uncommitted",
+                itemService.getMetadataFirstValue(context.reloadEntity(item), "dc", "subject", null, Item.ANY));
+            while (indexQueueService.process(context) > 0) {
+                // drain the queue
+            }
+            assertSearchQuery(IndexableItem.TYPE, 1);
+        } finally {
+            configurationService.setProperty("discovery.consumer.queue", false);
+        }
+    }
+
+    @Test
+    public void queuedChangesSurviveSolrOutageTest() throws Exception {
+        IndexQueueServiceImpl indexQueueService = (IndexQueueServiceImpl) DSpaceServicesFactory.getInstance()
+            .getServiceManager().getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+        IndexingService failingIndexer = mock(IndexingService.class);
+        doThrow(new SearchServiceException("Solr is down")).when(failingIndexer).commit();
+        configurationService.setProperty("discovery.consumer.queue", true);
+        configurationService.setProperty("discovery.index-queue.retry-delay", 500);
+        try {
+            context.turnOffAuthorisationSystem();
+            Community community = CommunityBuilder.createCommunity(context)
+                                                  .withName("Parent Community")
+                                                  .build();
+            Collection col = CollectionBuilder.createCollection(context, community)
+                                              .withName("Collection")
+                                              .build();
+            ItemBuilder.createItem(context, col)
+                       .withTitle("Item queued during an outage")
+                       .build();
+            context.commit();
+            context.restoreAuthSystemState();
+            long pending = indexQueueService.countPending(context);
+            assertTrue(pending > 0);
+
+            // a failed batch stops the draining loops, and its entries wait before being tried again
+            indexQueueService.setIndexingService(failingIndexer);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(0, indexQueueService.process(context));
+            }
+            assertEquals(pending, indexQueueService.countPending(context));
+            assertEquals(0, indexQueueService.countFailed(context));
+            for (IndexQueueEntry entry : indexQueueService.findAll(context, 1000, 0)) {
+                assertEquals(1, entry.getAttempts());
+                assertNotNull(entry.getNextAttempt());
+            }
+
+            // once Solr is back and the delay elapsed, the entries are still eligible
+            indexQueueService.setIndexingService(indexer);
+            Thread.sleep(1000);
+            while (indexQueueService.process(context) > 0) {
+                // drain the queue
+            }
+            assertSearchQuery(IndexableItem.TYPE, 1);
+            assertEquals(0, indexQueueService.countPending(context));
+        } finally {
+            indexQueueService.setIndexingService(indexer);
+            configurationService.setProperty("discovery.consumer.queue", false);
+            configurationService.setProperty("discovery.index-queue.retry-delay", null);
+        }
+    }
+
     private void assertSearchQuery(String resourceType, int size) throws SearchServiceException {
         assertSearchQuery(resourceType, size, size, 0, -1);
     }
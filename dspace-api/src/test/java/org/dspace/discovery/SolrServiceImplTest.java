@@ -0,0 +1,88 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.solr.common.SolrDocument;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.IndexableSolrDocument;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SolrServiceImplTest {
+
+    private static final String ITEM_ID = "0b6f1ef6-6d1f-4b41-9c6b-7b0b9d5d1a10";
+
+    private SolrServiceImpl solrService;
+    private Context context = mock(Context.class);
+    private IndexableItem indexableItem = new IndexableItem(mock(Item.class));
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        IndexFactory itemFactory = mock(IndexFactory.class);
+        when(itemFactory.findIndexableObjects(eq(context), any())).thenReturn(Map.of(ITEM_ID, indexableItem));
+        solrService = new SolrServiceImpl();
+        solrService.indexObjectServiceFactory = mock(IndexObjectFactoryFactory.class);
+        when(solrService.indexObjectServiceFactory.getIndexFactoryByType("Item")).thenReturn(itemFactory);
+    }
+
+    private SolrDocument document(String type, String id) {
+        SolrDocument doc = new SolrDocument();
+        if (type != null) {
+            doc.addField(SearchUtils.RESOURCE_TYPE_FIELD, type);
+        }
+        doc.addField(SearchUtils.RESOURCE_ID_FIELD, id);
+        return doc;
+    }
+
+    @Test
+    public void findIndexableObjectsSkipsTheDocumentsWithoutObject() throws Exception {
+        List<IndexableObject> indexableObjects = solrService.findIndexableObjects(context, List.of(
+            document("Item", ITEM_ID), document(null, ITEM_ID), document("Unknown", ITEM_ID)));
+
+        assertEquals(3, indexableObjects.size());
+        assertSame(indexableItem, indexableObjects.get(0));
+        assertNull(indexableObjects.get(1));
+        assertNull(indexableObjects.get(2));
+    }
+
+    @Test
+    public void toIndexableSolrDocumentsSkipsTheDocumentsWithoutType() {
+        List<IndexableObject> indexableObjects = solrService.toIndexableSolrDocuments(List.of(
+            document("Item", ITEM_ID), document(null, ITEM_ID)));
+
+        assertEquals(2, indexableObjects.size());
+        assertEquals("Item-" + ITEM_ID, indexableObjects.get(0).getUniqueIndexID());
+        assertNull(indexableObjects.get(1));
+    }
+
+    @Test
+    public void setIndexedObjectOfAnIndexOnlyResultDoesNothing() {
+        IndexableSolrDocument indexableObject = new IndexableSolrDocument("Item", ITEM_ID);
+
+        indexableObject.setIndexedObject(null);
+
+        assertNull(indexableObject.getIndexedObject());
+        assertEquals(ITEM_ID, indexableObject.getID());
+    }
+}
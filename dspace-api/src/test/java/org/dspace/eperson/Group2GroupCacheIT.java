@@ -0,0 +1,136 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the incremental maintenance of the group2groupcache table.
+ */
+public class Group2GroupCacheIT extends AbstractIntegrationTestWithDatabase {
+
+    private final GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+
+    private Group top;
+    private Group left;
+    private Group right;
+    private Group bottom;
+    private Group leaf;
+
+    /**
+     * Build the groups: top contains left and right, which both contain bottom, which contains leaf.
+     */
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        top = GroupBuilder.createGroup(context).withName("top").build();
+        left = GroupBuilder.createGroup(context).withName("left").withParent(top).build();
+        right = GroupBuilder.createGroup(context).withName("right").withParent(top).build();
+        bottom = GroupBuilder.createGroup(context).withName("bottom").withParent(left).build();
+        groupService.addMember(context, right, bottom);
+        groupService.update(context, right);
+        leaf = GroupBuilder.createGroup(context).withName("leaf").withParent(bottom).build();
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void addedMembershipsAreCachedTest() throws Exception {
+        assertTrue(groupService.isParentOf(context, top, left));
+        assertTrue(groupService.isParentOf(context, top, bottom));
+        assertTrue(groupService.isParentOf(context, top, leaf));
+        assertTrue(groupService.isParentOf(context, left, leaf));
+        assertTrue(groupService.isParentOf(context, right, leaf));
+        assertFalse(groupService.isParentOf(context, left, right));
+        assertFalse(groupService.isParentOf(context, leaf, top));
+        assertTrue(groupService.checkGroupCache(context).isConsistent());
+    }
+
+    @Test
+    public void removedMembershipKeepsOtherPathsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        groupService.removeMember(context, left, bottom);
+        groupService.update(context, left);
+        context.restoreAuthSystemState();
+
+        assertFalse(groupService.isParentOf(context, left, bottom));
+        assertFalse(groupService.isParentOf(context, left, leaf));
+        // still through the right group
+        assertTrue(groupService.isParentOf(context, top, bottom));
+        assertTrue(groupService.isParentOf(context, top, leaf));
+        assertTrue(groupService.isParentOf(context, right, leaf));
+        assertTrue(groupService.checkGroupCache(context).isConsistent());
+
+        context.turnOffAuthorisationSystem();
+        groupService.removeMember(context, right, bottom);
+        groupService.update(context, right);
+        context.restoreAuthSystemState();
+
+        assertFalse(groupService.isParentOf(context, top, bottom));
+        assertFalse(groupService.isParentOf(context, top, leaf));
+        assertFalse(groupService.isParentOf(context, right, leaf));
+        assertTrue(groupService.isParentOf(context, bottom, leaf));
+        assertTrue(groupService.checkGroupCache(context).isConsistent());
+    }
+
+    @Test
+    public void membershipUpdatedFromTheChildGroupTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        groupService.removeMember(context, top, right);
+        groupService.update(context, right);
+        context.restoreAuthSystemState();
+
+        assertFalse(groupService.isParentOf(context, top, right));
+        assertTrue(groupService.isParentOf(context, top, leaf));
+        assertTrue(groupService.checkGroupCache(context).isConsistent());
+
+        context.turnOffAuthorisationSystem();
+        groupService.addMember(context, left, right);
+        groupService.update(context, right);
+        context.restoreAuthSystemState();
+
+        assertTrue(groupService.isParentOf(context, top, right));
+        assertTrue(groupService.isParentOf(context, left, right));
+        assertFalse(groupService.isParentOf(context, bottom, right));
+        assertTrue(groupService.checkGroupCache(context).isConsistent());
+    }
+
+    @Test
+    public void deletedGroupIsRemovedFromTheCacheTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        groupService.delete(context, bottom);
+        context.restoreAuthSystemState();
+
+        assertFalse(groupService.isParentOf(context, top, leaf));
+        assertFalse(groupService.isParentOf(context, left, leaf));
+        assertTrue(groupService.isParentOf(context, top, right));
+        assertTrue(groupService.checkGroupCache(context).isConsistent());
+    }
+
+    @Test
+    public void rebuildMatchesIncrementalCacheTest() throws Exception {
+        Group2GroupCacheCheck before = groupService.checkGroupCache(context);
+        assertTrue(before.isConsistent());
+
+        groupService.rebuildGroupCache(context);
+
+        Group2GroupCacheCheck after = groupService.checkGroupCache(context);
+        assertTrue(after.isConsistent());
+        assertEquals(before.getExpected(), after.getExpected());
+    }
+}
@@ -0,0 +1,197 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link AsyncConsumerExecutor}.
+ */
+public class AsyncConsumerExecutorTest extends AbstractUnitTest {
+
+    private static final List<Event> consumed = Collections.synchronizedList(new ArrayList<>());
+
+    private static final AtomicInteger failures = new AtomicInteger();
+
+    private static AsyncConsumerExecutor producingExecutor;
+
+    private static CountDownLatch produced;
+
+    private ConfigurationService configurationService;
+
+    @Before
+    public void setUp() {
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("event.consumer.asynctest.class", RecordingConsumer.class.getName());
+        configurationService.setProperty("event.consumer.asynctest.filters", "All+All");
+        consumed.clear();
+        failures.set(0);
+    }
+
+    @After
+    public void tearDown() {
+        configurationService.setProperty("event.consumer.asynctest.class", null);
+        configurationService.setProperty("event.consumer.asynctest.filters", null);
+    }
+
+    @Test
+    public void testSubmitKeepsTheOrderOfEachSubject() {
+        AsyncConsumerExecutor executor = new AsyncConsumerExecutor("test", "asynctest", 3, 10, 1, 0);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            events.add(new Event(Event.MODIFY, Constants.ITEM, first, "first " + i));
+            events.add(new Event(Event.MODIFY, Constants.ITEM, second, "second " + i));
+        }
+        executor.submit(null, events.subList(0, 6));
+        executor.submit(null, events.subList(6, 10));
+        executor.shutdown(10000);
+
+        assertThat(consumed, hasSize(10));
+        assertThat(details(first), contains("first 0", "first 1", "first 2", "first 3", "first 4"));
+        assertThat(details(second), contains("second 0", "second 1", "second 2", "second 3", "second 4"));
+        assertThat(executor.getConsumedEvents(), equalTo(10L));
+        assertThat(executor.getFailedEvents(), equalTo(0L));
+    }
+
+    @Test
+    public void testSubmitRetriesTheFailedEvents() {
+        failures.set(1);
+        AsyncConsumerExecutor executor = new AsyncConsumerExecutor("test", "asynctest", 1, 10, 2, 0);
+        executor.submit(null, List.of(new Event(Event.MODIFY, Constants.ITEM, UUID.randomUUID(), "retried")));
+        executor.shutdown(10000);
+
+        assertThat(consumed, hasSize(1));
+        assertThat(executor.getRetries(), equalTo(1L));
+        assertThat(executor.getConsumedEvents(), equalTo(1L));
+
+        failures.set(2);
+        executor = new AsyncConsumerExecutor("test", "asynctest", 1, 10, 2, 0);
+        executor.submit(null, List.of(new Event(Event.MODIFY, Constants.ITEM, UUID.randomUUID(), "failed")));
+        executor.shutdown(10000);
+
+        assertThat(consumed, hasSize(1));
+        assertThat(executor.getFailedEvents(), equalTo(1L));
+    }
+
+    @Test
+    public void testSubmitFromTheConsumerDoesNotWaitForItsOwnLane() throws Exception {
+        configurationService.setProperty("event.consumer.asynctest.class", ProducingConsumer.class.getName());
+        // a single lane with room for a single transaction, taken by the one producing the events
+        AsyncConsumerExecutor executor = new AsyncConsumerExecutor("test", "asynctest", 1, 1, 1, 0);
+        producingExecutor = executor;
+        produced = new CountDownLatch(1);
+        executor.submit(null, List.of(new Event(Event.MODIFY, Constants.ITEM, UUID.randomUUID(), "produce")));
+
+        assertTrue("The lane waits for its own queue", produced.await(10, TimeUnit.SECONDS));
+        executor.shutdown(10000);
+
+        assertThat(consumed, hasSize(4));
+        assertThat(executor.getConsumedEvents(), equalTo(4L));
+        assertThat(executor.getFailedEvents(), equalTo(0L));
+    }
+
+    private List<String> details(UUID subject) {
+        synchronized (consumed) {
+            return consumed.stream()
+                           .filter(event -> subject.equals(event.getSubjectID()))
+                           .map(Event::getDetail)
+                           .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Consumer recording the events it consumed, failing as long as {@link #failures} is positive.
+     */
+    public static class RecordingConsumer implements Consumer {
+
+        private final List<Event> events = new ArrayList<>();
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void consume(Context ctx, Event event) throws Exception {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("Failure of the consumer");
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void end(Context ctx) {
+            consumed.addAll(events);
+            events.clear();
+        }
+
+        @Override
+        public void finish(Context ctx) {
+        }
+    }
+
+    /**
+     * Consumer recording the events it consumed, producing new events for itself once the transaction of an event
+     * with the detail "produce" is committed, as a consumer changing the content it is notified of.
+     */
+    public static class ProducingConsumer implements Consumer {
+
+        private boolean produce;
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void consume(Context ctx, Event event) {
+            consumed.add(event);
+            produce |= "produce".equals(event.getDetail());
+        }
+
+        @Override
+        public void end(Context ctx) {
+            if (produce) {
+                produce = false;
+                ctx.runAfterCommit(() -> {
+                    for (int i = 0; i < 3; i++) {
+                        producingExecutor.submit(null, List.of(
+                            new Event(Event.MODIFY, Constants.ITEM, UUID.randomUUID(), "produced " + i)));
+                    }
+                    produced.countDown();
+                });
+            }
+        }
+
+        @Override
+        public void finish(Context ctx) {
+        }
+    }
+}
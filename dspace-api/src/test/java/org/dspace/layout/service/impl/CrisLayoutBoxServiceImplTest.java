@@ -7,8 +7,6 @@
  */
 package org.dspace.layout.service.impl;
 
-import static org.apache.commons.collections4.IteratorUtils.arrayIterator;
-import static org.apache.commons.collections4.IteratorUtils.emptyIterator;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertFalse;
@@ -21,7 +19,6 @@ import static org.mockito.Mockito.when;
 
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -39,6 +36,7 @@ import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.discovery.SolrSearchCore;
 import org.dspace.discovery.configuration.DiscoveryConfigurationUtilsService;
 import org.dspace.layout.CrisLayoutBox;
 import org.dspace.layout.CrisLayoutBoxTypes;
@@ -48,6 +46,7 @@ import org.dspace.layout.CrisLayoutMetric2Box;
 import org.dspace.layout.dao.CrisLayoutBoxDAO;
 import org.dspace.metrics.CrisItemMetricsService;
 import org.dspace.metrics.embeddable.model.EmbeddableCrisMetrics;
+import org.dspace.services.RequestService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -87,6 +86,12 @@ public class CrisLayoutBoxServiceImplTest {
     @Mock
     private BitstreamService bitstreamService;
 
+    @Mock
+    private RequestService requestService;
+
+    @Mock
+    private SolrSearchCore solrSearchCore;
+
     @Test
     public void testHasContentWithMetadataBox() {
 
@@ -105,8 +110,7 @@ public class CrisLayoutBoxServiceImplTest {
         CrisLayoutBox box = crisLayoutBox("authors", CrisLayoutBoxTypes.RELATION.name());
         Item item = item();
 
-        Iterator<Item> relatedItems = arrayIterator(item(), item());
-        when(searchConfigurationUtilsService.findByRelation(context, item, "authors")).thenReturn(relatedItems);
+        when(searchConfigurationUtilsService.hasRelatedItems(context, item, "authors")).thenReturn(true);
         assertThat(crisLayoutBoxService.hasContent(context, box, item), is(true));
 
     }
@@ -117,7 +121,7 @@ public class CrisLayoutBoxServiceImplTest {
         CrisLayoutBox box = crisLayoutBox("authors", CrisLayoutBoxTypes.RELATION.name());
         Item item = item();
 
-        when(searchConfigurationUtilsService.findByRelation(context, item, "authors")).thenReturn(emptyIterator());
+        when(searchConfigurationUtilsService.hasRelatedItems(context, item, "authors")).thenReturn(false);
         assertThat(crisLayoutBoxService.hasContent(context, box, item), is(false));
 
     }
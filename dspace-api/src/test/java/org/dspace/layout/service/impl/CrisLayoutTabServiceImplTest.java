@@ -14,6 +14,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.SQLException;
@@ -22,6 +23,8 @@ import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataValue;
@@ -33,11 +36,14 @@ import org.dspace.layout.CrisLayoutRow;
 import org.dspace.layout.CrisLayoutTab;
 import org.dspace.layout.dao.CrisLayoutTabDAO;
 import org.dspace.services.ConfigurationService;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * Unit tests for {@link CrisLayoutTabServiceImpl} class.
@@ -62,6 +68,14 @@ public class CrisLayoutTabServiceImplTest {
     @InjectMocks
     private CrisLayoutTabServiceImpl crisLayoutTabService;
 
+    private Cache<String, Boolean> tabsConfigured = CacheBuilder.newBuilder().build();
+
+    @Before
+    public void setUp() {
+        // built by the @PostConstruct method, not called by Mockito
+        ReflectionTestUtils.setField(crisLayoutTabService, "tabsConfigured", tabsConfigured);
+    }
+
     @Test
     public void allTabsAreReturned() throws SQLException {
         String itemUuid = UUID.randomUUID().toString();
@@ -160,6 +174,23 @@ public class CrisLayoutTabServiceImplTest {
     }
 
 
+    @Test
+    public void updateInvalidatesTheTabsConfiguredAgainAfterTheCommit() throws Exception {
+        when(authorizeService.isAdmin(context)).thenReturn(true);
+        tabsConfigured.put("Publication\nfilter", false);
+
+        crisLayoutTabService.update(context, new CrisLayoutTab());
+        assertThat(tabsConfigured.size(), is(0L));
+
+        // a concurrent request caches the state before the commit
+        tabsConfigured.put("Publication\nfilter", false);
+        ArgumentCaptor<Runnable> afterCommit = ArgumentCaptor.forClass(Runnable.class);
+        verify(context).runAfterCommit(afterCommit.capture());
+        afterCommit.getValue().run();
+
+        assertThat(tabsConfigured.size(), is(0L));
+    }
+
     private CrisLayoutTab grantedAccessTab(String shortName, CrisLayoutBox... boxes) throws SQLException {
         return tab(shortName, true, boxes);
     }
@@ -0,0 +1,138 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.services.ConfigurationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link SolrStatisticsAsyncWriter}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class SolrStatisticsAsyncWriterTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @Mock
+    private SolrStatisticsCore solrStatisticsCore;
+
+    @Mock
+    private SolrClient solr;
+
+    @InjectMocks
+    private SolrStatisticsAsyncWriter writer;
+
+    @Before
+    public void setUp() {
+        when(solrStatisticsCore.getSolr()).thenReturn(solr);
+        when(configurationService.getBooleanProperty(eq("solr-statistics.autoCommit"), anyBoolean()))
+            .thenReturn(true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        writer.destroy();
+    }
+
+    @Test
+    public void testDisabledWritesSynchronously() throws Exception {
+        configure(false, 10, 10, 60000);
+
+        writer.write(new SolrInputDocument());
+
+        verify(solr).add(argThat((Collection<SolrInputDocument> docs) -> docs.size() == 1));
+        assertThat(writer.getWrittenCount(), is(1L));
+    }
+
+    @Test
+    public void testDocumentsAreSentInBatches() throws Exception {
+        configure(true, 10, 3, 60000);
+
+        for (int i = 0; i < 3; i++) {
+            writer.write(new SolrInputDocument());
+        }
+
+        verify(solr, timeout(5000)).add(argThat((Collection<SolrInputDocument> docs) -> docs.size() == 3));
+    }
+
+    @Test
+    public void testIncompleteBatchIsSentAfterFlushInterval() throws Exception {
+        configure(true, 10, 100, 50);
+
+        writer.write(new SolrInputDocument());
+
+        verify(solr, timeout(5000)).add(argThat((Collection<SolrInputDocument> docs) -> docs.size() == 1));
+    }
+
+    @Test
+    public void testDocumentsAreDroppedWhenQueueIsFull() throws Exception {
+        CountDownLatch addStarted = new CountDownLatch(1);
+        CountDownLatch releaseAdd = new CountDownLatch(1);
+        when(solr.add(anyCollection())).then(invocation -> {
+            addStarted.countDown();
+            releaseAdd.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        configure(true, 1, 1, 60000);
+
+        // taken by the writer thread, which stays blocked in solr.add
+        writer.write(new SolrInputDocument());
+        addStarted.await(5, TimeUnit.SECONDS);
+
+        // the first one fills the queue, the second one is dropped
+        writer.write(new SolrInputDocument());
+        writer.write(new SolrInputDocument());
+
+        assertThat(writer.getQueueDepth(), is(1));
+        assertThat(writer.getDroppedCount(), is(1L));
+
+        releaseAdd.countDown();
+        verify(solr, timeout(5000).times(2)).add(anyCollection());
+    }
+
+    private void configure(boolean enabled, int queueSize, int flushSize, long flushInterval) throws Exception {
+        when(configurationService.getBooleanProperty(eq("solr-statistics.async.enabled"), anyBoolean()))
+            .thenReturn(enabled);
+        when(configurationService.getIntProperty(eq("solr-statistics.async.queueSize"), anyInt()))
+            .thenReturn(queueSize);
+        when(configurationService.getIntProperty(eq("solr-statistics.async.flushSize"), anyInt()))
+            .thenReturn(flushSize);
+        when(configurationService.getLongProperty(eq("solr-statistics.async.flushInterval"), anyLong()))
+            .thenReturn(flushInterval);
+        when(configurationService.getProperty("solr-statistics.async.overflowPolicy")).thenReturn("drop");
+        writer.afterPropertiesSet();
+        Mockito.clearInvocations(solr);
+    }
+
+}
@@ -163,6 +163,30 @@ public class IPTableTest {
         assertFalse("Range should not contain value above upper limit", instance.contains("192.168.2.0"));
     }
 
+    /**
+     * Test of contains method with overlapping and adjacent ranges, and ranges added after a lookup.
+     * @throws Exception passed through.
+     */
+    @Test
+    public void testOverlappingRangesContains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("10.0.0.10-10.0.0.20");
+        instance.add("10.0.0.15-10.0.0.30");
+        instance.add("10.0.0.31");
+        instance.add("10.0.1.0/24");
+
+        assertTrue(instance.contains("10.0.0.10"));
+        assertTrue(instance.contains("10.0.0.25"));
+        assertTrue(instance.contains("10.0.0.31"));
+        assertTrue(instance.contains("10.0.1.128"));
+        assertFalse(instance.contains("10.0.0.9"));
+        assertFalse(instance.contains("10.0.0.32"));
+        assertFalse(instance.contains("10.0.2.0"));
+
+        instance.add("10.0.0.32-10.0.0.40");
+        assertTrue("Range added after a lookup should be found", instance.contains("10.0.0.35"));
+    }
+
     /**
      * Test of isEmpty method, of class IPTable.
      * @throws java.lang.Exception passed through.
@@ -0,0 +1,102 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Test of the {@link PatternSetMatcher}, which must give the same answer as evaluating every pattern in turn.
+ */
+public class PatternSetMatcherTest {
+
+    private static final List<String> AGENT_PATTERNS = Arrays.asList(
+        "bot", "^Buck\\/[0-9]", "spider", "crawl", "^.?$", "[^a]fish", "^IDA$", "^@ozilla\\/\\d",
+        "Alexandria(\\s|\\+)prototype(\\s|\\+)project", "API[\\+\\s]scraper", "aria2\\/\\d", "^Array$",
+        "Mozilla/4\\.0 \\(compatible; MSIE 6\\.0; Googlebot/2\\.1 \\(\\+http://www\\.googlebot\\.com/bot\\.html\\)",
+        "Wget", "curl\\/", "python-requests", "libwww-perl", "Java\\/\\d", "ht?tps?-?client", "[]a]x",
+        "ia_archiver", "(?i)yandex", "a{2,3}rdvark");
+
+    private static final List<String> AGENTS = Arrays.asList(
+        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36",
+        "Mozilla/5.0 (X11; Linux x86_64; rv:91.0) Gecko/20100101 Firefox/91.0",
+        "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)",
+        "Buck/2.2", "Buck", "IDA", "IDAX", "x", "", "@ozilla/5", "goldfish", "afish", "Alexandria+prototype project",
+        "API scraper", "aria2/1.36", "Array", "Wget/1.21", "curl/8.0", "python-requests/2.31", "Java/17",
+        "Apache-HttpClient/4.5", "htps-client", "tpsclient", "]x", "ax", "YandexBot/3.0", "aardvark", "aaardvark",
+        "ardvark", "Spidermonkey", "webcrawler", "ia_archiver");
+
+    @Test
+    public void testSameVerdictAsPatternLoop() {
+        List<Pattern> patterns = AGENT_PATTERNS.stream().map(Pattern::compile).collect(Collectors.toList());
+        PatternSetMatcher matcher = new PatternSetMatcher(patterns);
+
+        for (String agent : AGENTS) {
+            boolean expected = patterns.stream().anyMatch(pattern -> pattern.matcher(agent).find());
+            assertEquals("Verdict for '" + agent + "'", expected, matcher.find(agent));
+        }
+    }
+
+    @Test
+    public void testEachPatternMatchesAlone() {
+        for (String agent : AGENTS) {
+            for (String regex : AGENT_PATTERNS) {
+                Pattern pattern = Pattern.compile(regex);
+                PatternSetMatcher matcher = new PatternSetMatcher(List.of(pattern));
+                assertEquals("Verdict of '" + regex + "' for '" + agent + "'",
+                             pattern.matcher(agent).find(), matcher.find(agent));
+            }
+        }
+    }
+
+    @Test
+    public void testRequiredLiteral() {
+        assertEquals("bot", literal("bot"));
+        assertEquals("Buck/", literal("^Buck\\/[0-9]"));
+        assertEquals("fish", literal("[^a]fish"));
+        assertEquals("cd", literal("ab?cd"));
+        assertEquals("abc", literal("abc+d"));
+        assertEquals("yz", literal("x(abc)?yz"));
+        assertEquals("cdef", literal("ab{2}cdef"));
+        assertEquals("foo.bar", literal("foo\\.bar"));
+        assertEquals("x", literal("[]a]x"));
+        assertNull(literal("^.?$"));
+        assertNull(literal("bot|spider"));
+        assertNull(literal("(?i)bot"));
+        assertNull(literal("\\x41bc"));
+        assertNull(PatternSetMatcher.requiredLiteral(Pattern.compile("bot", Pattern.CASE_INSENSITIVE)));
+    }
+
+    @Test
+    public void testEmptySet() {
+        PatternSetMatcher matcher = new PatternSetMatcher(new ArrayList<>());
+        assertTrue(matcher.isEmpty());
+        assertFalse(matcher.find("bot"));
+    }
+
+    @Test
+    public void testNullPatternsAreIgnored() {
+        PatternSetMatcher matcher = new PatternSetMatcher(Arrays.asList(null, Pattern.compile("bot")));
+        assertEquals(1, matcher.size());
+        assertTrue(matcher.find("a bot"));
+    }
+
+    private static String literal(String regex) {
+        return PatternSetMatcher.requiredLiteral(Pattern.compile(regex));
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dspace.services.ConfigurationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link ReverseDnsResolver}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ReverseDnsResolverTest {
+
+    private static final String IP = "192.0.2.1";
+    private static final String NAME = "crawler.example.org";
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final CountDownLatch releaseLookup = new CountDownLatch(1);
+    private volatile boolean slowLookup = false;
+
+    private final ReverseDnsResolver resolver = new ReverseDnsResolver() {
+        @Override
+        protected String getHostName(String ip) throws UnknownHostException {
+            lookups.incrementAndGet();
+            if (slowLookup) {
+                try {
+                    releaseLookup.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if ("invalid".equals(ip)) {
+                throw new UnknownHostException(ip);
+            }
+            return IP.equals(ip) ? NAME : ip;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        when(configurationService.getLongProperty(eq("usage-statistics.resolver.timeout"), anyLong()))
+            .thenReturn(200L);
+        when(configurationService.getLongProperty(eq("usage-statistics.resolver.cache.ttl"), anyLong()))
+            .thenReturn(3600L);
+        when(configurationService.getLongProperty(eq("usage-statistics.resolver.cache.negativeTtl"), anyLong()))
+            .thenReturn(300L);
+        when(configurationService.getIntProperty(eq("usage-statistics.resolver.cache.size"), anyInt()))
+            .thenReturn(100);
+        when(configurationService.getIntProperty(eq("usage-statistics.resolver.threads"), anyInt()))
+            .thenReturn(2);
+        when(configurationService.getIntProperty(eq("usage-statistics.resolver.queueSize"), anyInt()))
+            .thenReturn(10);
+        ReflectionTestUtils.setField(resolver, "configurationService", configurationService);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        releaseLookup.countDown();
+        resolver.destroy();
+    }
+
+    @Test
+    public void testResolvedNamesAreCached() throws Exception {
+        resolver.afterPropertiesSet();
+
+        assertThat(resolver.resolve(IP), is(NAME));
+        assertThat(resolver.resolve(IP), is(NAME));
+
+        assertThat(lookups.get(), is(1));
+        assertThat(resolver.getCached(IP), is(NAME));
+        assertThat(resolver.getHitCount(), is(1L));
+    }
+
+    @Test
+    public void testUnresolvedAddressesAreCached() throws Exception {
+        resolver.afterPropertiesSet();
+
+        assertThat(resolver.resolve("198.51.100.7"), is("198.51.100.7"));
+        assertThat(resolver.resolve("invalid"), is("invalid"));
+        assertThat(resolver.resolve("198.51.100.7"), is("198.51.100.7"));
+        assertThat(resolver.resolve("invalid"), is("invalid"));
+
+        assertThat(lookups.get(), is(2));
+    }
+
+    @Test
+    public void testSlowLookupTimesOutAndCompletesInBackground() throws Exception {
+        slowLookup = true;
+        resolver.afterPropertiesSet();
+
+        assertThat(resolver.resolve(IP), is(IP));
+        assertThat(resolver.getTimeoutCount(), is(1L));
+        assertThat(resolver.getCached(IP), nullValue());
+
+        releaseLookup.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (resolver.getCached(IP) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(resolver.getCached(IP), is(NAME));
+        assertThat(lookups.get(), is(1));
+    }
+
+    @Test
+    public void testResolveLaterDoesNotWait() throws Exception {
+        slowLookup = true;
+        when(configurationService.getProperty("usage-statistics.resolver.mode")).thenReturn("later");
+        when(configurationService.getLongProperty(eq("usage-statistics.resolver.timeout"), anyLong()))
+            .thenReturn(5000L);
+        resolver.afterPropertiesSet();
+        assertThat(resolver.isResolveLater(), is(true));
+
+        CompletableFuture<String> name = new CompletableFuture<>();
+        long start = System.currentTimeMillis();
+        resolver.resolveLater(IP, name::complete);
+        assertThat(name.isDone(), is(false));
+        assertThat(System.currentTimeMillis() - start < 1000, is(true));
+
+        releaseLookup.countDown();
+        assertThat(name.get(5, TimeUnit.SECONDS), is(NAME));
+    }
+
+    @Test
+    public void testResolveLaterGivesAddressAfterTimeout() throws Exception {
+        slowLookup = true;
+        when(configurationService.getProperty("usage-statistics.resolver.mode")).thenReturn("later");
+        resolver.afterPropertiesSet();
+
+        CompletableFuture<String> name = new CompletableFuture<>();
+        resolver.resolveLater(IP, name::complete);
+
+        assertThat(name.get(5, TimeUnit.SECONDS), is(IP));
+        assertThat(resolver.getTimeoutCount(), is(1L));
+    }
+}
@@ -17,6 +17,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertEquals;
@@ -215,6 +216,52 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testBitstreamStreamingGet() throws IOException {
+
+        s3BitStoreService.setStreaming(true);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+            assertThat(inputStream, not(instanceOf(DeleteOnCloseFileInputStream.class)));
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+        }
+
+    }
+
+    @Test
+    public void testBitstreamRangedGet() throws IOException {
+
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 5, 9)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is("bitstream"));
+        }
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 15, -1)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is("content"));
+        }
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 5, 0)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(""));
+        }
+
+    }
+
     @Test
     public void testBitstreamDeletion() throws IOException {
 
@@ -278,6 +325,83 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testAboutChecksumWithParallelParts() throws IOException {
+
+        S3StreamingChecksumStrategy checksumStrategy = new S3StreamingChecksumStrategy();
+        checksumStrategy.setParallelism(3);
+        checksumStrategy.setPartSize(5);
+        s3BitStoreService.setChecksumStrategy(checksumStrategy);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        Map<String, Object> about = s3BitStoreService.about(bitstream, List.of("checksum"));
+        assertThat(about, hasEntry("checksum", Utils.toHex(generateChecksum(content))));
+
+    }
+
+    @Test
+    public void testAboutChecksumFromStoredMetadata() throws IOException {
+
+        S3StoredChecksumStrategy checksumStrategy = new S3StoredChecksumStrategy();
+        checksumStrategy.setFallbackStrategy((s3Service, bucketName, key, objectMetadata) -> {
+            throw new IOException("The content should not be read");
+        });
+        s3BitStoreService.setChecksumStrategy(checksumStrategy);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        String expectedChecksum = Utils.toHex(generateChecksum(content));
+
+        String key = s3BitStoreService.getFullKey(bitstream.getInternalId());
+        ObjectMetadata objectMetadata = amazonS3Client.getObjectMetadata(DEFAULT_BUCKET_NAME, key);
+        assertThat(objectMetadata.getUserMetaDataOf(S3BitStoreService.CHECKSUM_USER_METADATA), is(expectedChecksum));
+
+        Map<String, Object> about = s3BitStoreService.about(bitstream, List.of("checksum"));
+        assertThat(about, hasEntry("checksum", expectedChecksum));
+
+    }
+
+    @Test
+    public void testAboutChecksumFromSidecar() throws IOException {
+
+        S3StoredChecksumStrategy checksumStrategy = new S3StoredChecksumStrategy();
+        checksumStrategy.setSidecarSuffix(".md5");
+        checksumStrategy.setFallbackStrategy((s3Service, bucketName, key, objectMetadata) -> {
+            throw new IOException("The content should not be read");
+        });
+        s3BitStoreService.setChecksumStrategy(checksumStrategy);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        String expectedChecksum = Utils.toHex(generateChecksum(content));
+
+        // an object uploaded without the checksum metadata, with its md5sum sidecar
+        String key = s3BitStoreService.getFullKey(bitstream.getInternalId());
+        amazonS3Client.putObject(DEFAULT_BUCKET_NAME, key, content);
+        amazonS3Client.putObject(DEFAULT_BUCKET_NAME, key + ".md5", expectedChecksum + "  " + key + "\n");
+
+        Map<String, Object> about = s3BitStoreService.about(bitstream, List.of("checksum"));
+        assertThat(about, hasEntry("checksum", expectedChecksum));
+
+    }
+
     @Test
     public void handleRegisteredIdentifierPrefixInS3() {
         String trueBitStreamId = "012345";
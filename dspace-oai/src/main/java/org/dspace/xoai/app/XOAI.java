@@ -17,17 +17,31 @@ import static org.dspace.xoai.util.ItemUtils.retrieveMetadata;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.xml.stream.XMLStreamException;
 
+import com.lyncode.xoai.dataprovider.OAIDataProvider;
+import com.lyncode.xoai.dataprovider.OAIRequestParameters;
+import com.lyncode.xoai.dataprovider.core.XOAIManager;
 import com.lyncode.xoai.dataprovider.exceptions.ConfigurationException;
 import com.lyncode.xoai.dataprovider.exceptions.WritingXmlException;
 import com.lyncode.xoai.dataprovider.xml.XmlOutputContext;
@@ -37,11 +51,13 @@ import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.Options;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrQuery.ORDER;
+import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
@@ -65,12 +81,19 @@ import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.util.SolrUtils;
 import org.dspace.utils.DSpace;
+import org.dspace.xoai.data.DSpaceItem;
 import org.dspace.xoai.exceptions.CompilingException;
 import org.dspace.xoai.services.api.CollectionsService;
 import org.dspace.xoai.services.api.cache.XOAICacheService;
 import org.dspace.xoai.services.api.cache.XOAIItemCacheService;
 import org.dspace.xoai.services.api.cache.XOAILastCompilationCacheService;
+import org.dspace.xoai.services.api.config.XOAIManagerResolver;
 import org.dspace.xoai.services.api.solr.SolrServerResolver;
+import org.dspace.xoai.services.api.xoai.IdentifyResolver;
+import org.dspace.xoai.services.api.xoai.ItemRepositoryResolver;
+import org.dspace.xoai.services.api.xoai.SetRepositoryResolver;
+import org.dspace.xoai.services.impl.context.DSpaceContextService;
+import org.dspace.xoai.services.impl.xoai.DSpaceResumptionTokenFormatter;
 import org.dspace.xoai.solr.DSpaceSolrSearch;
 import org.dspace.xoai.solr.exceptions.DSpaceSolrException;
 import org.dspace.xoai.solr.exceptions.DSpaceSolrIndexerException;
@@ -106,7 +129,12 @@ public class XOAI {
 
     private final List<XOAIExtensionItemCompilePlugin> extensionPlugins;
 
-    private List<String> getFileFormats(Item item) {
+    /**
+     * OAI identifiers of the items indexed by this run, whose cached responses must be deleted.
+     */
+    private final Set<String> indexedIdentifiers = ConcurrentHashMap.newKeySet();
+
+    private List<String> getFileFormats(Context context, Item item) {
         List<String> formats = new ArrayList<>();
         try {
             for (Bundle b : itemService.getBundles(item, "ORIGINAL")) {
@@ -270,61 +298,57 @@ public class XOAI {
     }
 
     /**
-     * Check if an item is already indexed. Using this, it is possible to check if
-     * withdrawn or nondiscoverable items have to be indexed at all.
+     * Read the visibility of the given items in the index, with a single query. Using this, it is possible to check
+     * if withdrawn or nondiscoverable items have to be indexed at all, and to keep their current visibility.
      *
-     * @param item Item that should be checked for its presence in the index.
-     * @return has it been indexed?
+     * @param items Items whose visibility should be read.
+     * @return the value of the item.public flag of the indexed items, by id. The items which are not indexed are
+     *         not in the map.
      */
-    private boolean checkIfIndexed(Item item) throws IOException {
-        SolrQuery params = new SolrQuery("item.id:" + item.getID().toString()).addField("item.id");
-        try {
-            SolrDocumentList documents = DSpaceSolrSearch.query(solrServerResolver.getServer(), params);
-            return documents.getNumFound() == 1;
-        } catch (DSpaceSolrException | SolrServerException e) {
-            return false;
+    private Map<UUID, Boolean> findVisibilityInOAI(List<Item> items) throws IOException {
+        Map<UUID, Boolean> visibility = new HashMap<>();
+        if (items.isEmpty()) {
+            return visibility;
         }
-    }
-
-    /**
-     * Check if an item is flagged visible in the index.
-     *
-     * @param item Item that should be checked for its presence in the index.
-     * @return has it been indexed?
-     */
-    private boolean checkIfVisibleInOAI(Item item) throws IOException {
-        SolrQuery params = new SolrQuery("item.id:" + item.getID().toString()).addField("item.public");
+        List<String> ids = new ArrayList<>(items.size());
+        for (Item item : items) {
+            ids.add(item.getID().toString());
+        }
+        // the terms query parser isn't limited by the maximum number of boolean clauses
+        SolrQuery params = new SolrQuery("{!terms f=item.id}" + String.join(",", ids))
+                .setFields("item.id", "item.public").setRows(ids.size());
         try {
-            SolrDocumentList documents = DSpaceSolrSearch.query(solrServerResolver.getServer(), params);
-            if (documents.getNumFound() == 1) {
-                return (boolean) documents.get(0).getFieldValue("item.public");
-            } else {
-                return false;
+            QueryResponse response = solrServerResolver.getServer().query(params, SolrRequest.METHOD.POST);
+            for (SolrDocument document : response.getResults()) {
+                Object isPublic = document.getFieldValue("item.public");
+                visibility.put(UUID.fromString((String) document.getFieldValue("item.id")),
+                               isPublic != null && (boolean) isPublic);
             }
-        } catch (DSpaceSolrException | SolrServerException e) {
-            return false;
+        } catch (SolrServerException e) {
+            log.error("Error reading the visibility of {} items in the index", ids.size(), e);
         }
+        return visibility;
     }
 
     private int index(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
+        int threads = Math.max(1, configurationService.getIntProperty("oai.import.threads", 1));
+        ExecutorService executor = null;
+        if (threads > 1) {
+            executor = Executors.newFixedThreadPool(threads,
+                new BasicThreadFactory.Builder().namingPattern("oai-import-%d").build());
+        }
         try {
             int i = 0;
             int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
             SolrClient server = solrServerResolver.getServer();
-            ArrayList<SolrInputDocument> list = new ArrayList<>();
+            List<Item> batch = new ArrayList<>();
             while (iterator.hasNext()) {
-                try {
-                    Item item = iterator.next();
-                    if (item.getHandle() == null) {
-                        log.warn("Skipped item without handle: " + item.getID());
-                    } else {
-                        list.add(this.index(item));
-                    }
-                    // Uncache the item to keep memory consumption low
-                    context.uncacheEntity(item);
-
-                } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
-                    log.error(ex.getMessage(), ex);
+                Item item = iterator.next();
+                if (item.getHandle() == null) {
+                    log.warn("Skipped item without handle: " + item.getID());
+                    uncache(item);
+                } else {
+                    batch.add(item);
                 }
                 i++;
                 if (i % 1000 == 0 && batchSize != 1000) {
@@ -332,22 +356,110 @@ public class XOAI {
                 }
                 if (i % batchSize == 0) {
                     System.out.println(i + " items imported so far...");
-                    server.add(list);
+                    indexBatch(server, batch, executor, threads);
                     server.commit();
-                    list.clear();
                 }
             }
             System.out.println("Total: " + i + " items");
             if (i > 0) {
-                if (!list.isEmpty()) {
-                    server.add(list);
-                }
+                indexBatch(server, batch, executor, threads);
                 server.commit(true, true);
-                list.clear();
             }
             return i;
         } catch (SolrServerException | IOException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Compile the given items and add them to the index, then empty the list. The current visibility of the items
+     * is read once for the whole batch. With several threads, the items are split among them, each thread
+     * compiling its items in its own context.
+     */
+    private void indexBatch(SolrClient server, List<Item> items, ExecutorService executor, int threads)
+            throws DSpaceSolrIndexerException, SolrServerException, IOException {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<UUID, Boolean> visibility = findVisibilityInOAI(items);
+        List<SolrInputDocument> list = new ArrayList<>(items.size());
+        if (executor == null || items.size() == 1) {
+            for (Item item : items) {
+                SolrInputDocument doc = compileItem(context, item, visibility);
+                if (doc != null) {
+                    list.add(doc);
+                }
+                // Uncache the item to keep memory consumption low
+                uncache(item);
+            }
+        } else {
+            List<List<UUID>> partitions = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                partitions.add(new ArrayList<>());
+            }
+            for (int n = 0; n < items.size(); n++) {
+                partitions.get(n % threads).add(items.get(n).getID());
+                uncache(items.get(n));
+            }
+            List<Future<List<SolrInputDocument>>> results = new ArrayList<>(threads);
+            for (List<UUID> partition : partitions) {
+                results.add(executor.submit(() -> compileItems(partition, visibility)));
+            }
+            try {
+                for (Future<List<SolrInputDocument>> result : results) {
+                    list.addAll(result.get());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+            } catch (ExecutionException ex) {
+                throw new DSpaceSolrIndexerException(ex.getCause().getMessage(), ex.getCause());
+            }
+        }
+        if (!list.isEmpty()) {
+            server.add(list);
+        }
+        items.clear();
+    }
+
+    /**
+     * Compile the items with the given ids in a new context.
+     */
+    private List<SolrInputDocument> compileItems(List<UUID> ids, Map<UUID, Boolean> visibility) throws SQLException {
+        List<SolrInputDocument> list = new ArrayList<>(ids.size());
+        try (Context workerContext = new Context(Context.Mode.READ_ONLY)) {
+            for (UUID id : ids) {
+                Item item = itemService.find(workerContext, id);
+                if (item != null) {
+                    SolrInputDocument doc = compileItem(workerContext, item, visibility);
+                    if (doc != null) {
+                        list.add(doc);
+                    }
+                    workerContext.uncacheEntity(item);
+                }
+            }
+        }
+        return list;
+    }
+
+    private SolrInputDocument compileItem(Context context, Item item, Map<UUID, Boolean> visibility) {
+        try {
+            return this.index(context, item, visibility);
+        } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
+            log.error(ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    private void uncache(Item item) {
+        try {
+            context.uncacheEntity(item);
+        } catch (SQLException ex) {
+            log.error(ex.getMessage(), ex);
         }
     }
 
@@ -360,7 +472,7 @@ public class XOAI {
      * @return date
      * @throws SQLException e
      */
-    private Date getMostRecentModificationDate(Item item) throws SQLException {
+    private Date getMostRecentModificationDate(Context context, Item item) throws SQLException {
         List<Date> dates = new LinkedList<>();
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
@@ -386,7 +498,7 @@ public class XOAI {
         return lastChange;
     }
 
-    private SolrInputDocument index(Item item)
+    private SolrInputDocument index(Context context, Item item, Map<UUID, Boolean> visibility)
             throws SQLException, IOException, XMLStreamException, WritingXmlException {
         SolrInputDocument doc = new SolrInputDocument();
         doc.addField("item.id", item.getID().toString());
@@ -397,10 +509,11 @@ public class XOAI {
         if (StringUtils.isNotEmpty(legacyOaiId)) {
             doc.addField("item.legacyoaiidentifier", legacyOaiId.split(":")[2]);
         }
+        indexedIdentifiers.add(StringUtils.isNotEmpty(legacyOaiId) ? legacyOaiId : DSpaceItem.buildIdentifier(handle));
 
-        boolean isEmbargoed = !this.isPublic(item);
-        boolean isCurrentlyVisible = this.checkIfVisibleInOAI(item);
-        boolean isIndexed = this.checkIfIndexed(item);
+        boolean isEmbargoed = !this.isPublic(context, item);
+        boolean isIndexed = visibility.containsKey(item.getID());
+        boolean isCurrentlyVisible = isIndexed && visibility.get(item.getID());
 
         /*
          * If the item is not under embargo, it should be visible. If it is, make it
@@ -421,7 +534,7 @@ public class XOAI {
         // if the visibility of the item will change in the future due to an
         // embargo, mark it as such.
 
-        doc.addField("item.willChangeStatus", willChangeStatus(item));
+        doc.addField("item.willChangeStatus", willChangeStatus(context, item));
 
         /*
          * Mark an item as deleted not only if it is withdrawn, but also if it is made
@@ -441,7 +554,7 @@ public class XOAI {
          * date and take the most recent of those which have already passed.
          */
         doc.addField("item.lastmodified",
-                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(item)));
+                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(context, item)));
 
         if (item.getSubmitter() != null) {
             doc.addField("item.submitter", item.getSubmitter().getEmail());
@@ -478,7 +591,7 @@ public class XOAI {
             }
         }
 
-        for (String f : getFileFormats(item)) {
+        for (String f : getFileFormats(context, item)) {
             doc.addField("metadata.dc.format.mimetype", f);
         }
 
@@ -508,7 +621,7 @@ public class XOAI {
         return doc;
     }
 
-    private boolean willChangeStatus(Item item) throws SQLException {
+    private boolean willChangeStatus(Context context, Item item) throws SQLException {
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
             if ((policy.getGroup() != null) && (policy.getGroup().getName().equals("Anonymous"))) {
@@ -524,7 +637,7 @@ public class XOAI {
         return false;
     }
 
-    private boolean isPublic(Item item) {
+    private boolean isPublic(Context context, Item item) {
         boolean pub = false;
         try {
             // Check if READ access allowed on this Item
@@ -573,6 +686,109 @@ public class XOAI {
         xoaiCacheService.deleteAll();
     }
 
+    private static void cleanCache(XOAIItemCacheService xoaiItemCacheService, XOAICacheService xoaiCacheService,
+                                   Set<String> identifiers) throws IOException {
+        System.out.println("Purging cached OAI responses of " + identifiers.size() + " items.");
+        xoaiItemCacheService.deleteAll();
+        xoaiCacheService.deleteByIdentifiers(identifiers);
+    }
+
+    private static final Pattern METADATA_PREFIX = Pattern.compile("<metadataPrefix>([^<]+)</metadataPrefix>");
+    private static final Pattern SET_SPEC = Pattern.compile("<setSpec>([^<]+)</setSpec>");
+    private static final Pattern RESUMPTION_TOKEN = Pattern.compile("<resumptionToken[^>]*>([^<]+)</resumptionToken>");
+    private static final String[] PRECOMPUTED_VERBS = { "ListRecords", "ListIdentifiers" };
+
+    /**
+     * Store in the cache the responses which harvesters request first: the first page of the lists of records and
+     * identifiers, for each set and metadata format of the contexts listed in {@code oai.cache.precompute.contexts}.
+     * The responses are rendered as the controller would do.
+     */
+    private static void precomputeCache(AnnotationConfigApplicationContext applicationContext,
+                                        XOAICacheService cacheService) throws Exception {
+        if (!cacheService.isActive()) {
+            return;
+        }
+        XOAIManager manager = applicationContext.getBean(XOAIManagerResolver.class).getManager();
+        IdentifyResolver identifyResolver = applicationContext.getBean(IdentifyResolver.class);
+        SetRepositoryResolver setRepositoryResolver = applicationContext.getBean(SetRepositoryResolver.class);
+        ItemRepositoryResolver itemRepositoryResolver = applicationContext.getBean(ItemRepositoryResolver.class);
+
+        int count = 0;
+        // the resolvers find the context of the request through the context service
+        Context context = new Context(Context.Mode.READ_ONLY);
+        DSpaceContextService.bind(context);
+        try {
+            for (String xoaiContext : configurationService.getArrayProperty("oai.cache.precompute.contexts",
+                                                                            new String[] { "request" })) {
+                System.out.println("Precomputing the OAI responses of the context " + xoaiContext);
+                OAIDataProvider dataProvider = new OAIDataProvider(manager, xoaiContext,
+                                                                   identifyResolver.getIdentify(),
+                                                                   setRepositoryResolver.getSetRepository(),
+                                                                   itemRepositoryResolver.getItemRepository(),
+                                                                   new DSpaceResumptionTokenFormatter());
+
+                List<String> prefixes = find(METADATA_PREFIX,
+                    precompute(cacheService, dataProvider, xoaiContext, "verb", "ListMetadataFormats"));
+
+                String response = precompute(cacheService, dataProvider, xoaiContext, "verb", "ListSets");
+                List<String> sets = new ArrayList<>(find(SET_SPEC, response));
+                List<String> tokens = find(RESUMPTION_TOKEN, response);
+                while (!tokens.isEmpty()) {
+                    response = precompute(cacheService, dataProvider, xoaiContext, "verb", "ListSets",
+                                          "resumptionToken", tokens.get(0));
+                    sets.addAll(find(SET_SPEC, response));
+                    tokens = find(RESUMPTION_TOKEN, response);
+                }
+
+                for (String prefix : prefixes) {
+                    for (String verb : PRECOMPUTED_VERBS) {
+                        precompute(cacheService, dataProvider, xoaiContext, "verb", verb, "metadataPrefix", prefix);
+                        count++;
+                        for (String set : sets) {
+                            precompute(cacheService, dataProvider, xoaiContext, "verb", verb, "metadataPrefix",
+                                       prefix, "set", set);
+                            count++;
+                        }
+                    }
+                }
+            }
+        } finally {
+            DSpaceContextService.unbind();
+            context.abort();
+        }
+        System.out.println(count + " OAI lists precomputed");
+    }
+
+    /**
+     * Store the response to the request with the given parameters in the cache, unless it is already there.
+     *
+     * @return the cached response
+     */
+    private static String precompute(XOAICacheService cacheService, OAIDataProvider dataProvider, String xoaiContext,
+                                     String... parameters) throws Exception {
+        Map<String, List<String>> map = new HashMap<>();
+        for (int i = 0; i + 1 < parameters.length; i += 2) {
+            map.put(parameters[i], Collections.singletonList(parameters[i + 1]));
+        }
+        OAIRequestParameters request = new OAIRequestParameters(map);
+        String identification = xoaiContext + request.requestID();
+        if (!cacheService.hasCache(identification)) {
+            cacheService.store(identification, dataProvider.handle(request));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cacheService.handle(identification, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> find(Pattern pattern, String response) {
+        List<String> values = new ArrayList<>();
+        Matcher matcher = pattern.matcher(response);
+        while (matcher.find()) {
+            values.add(matcher.group(1).trim());
+        }
+        return values;
+    }
+
     private static final String COMMAND_IMPORT = "import";
     private static final String COMMAND_CLEAN_CACHE = "clean-cache";
     private static final String COMMAND_COMPILE_ITEMS = "compile-items";
@@ -630,7 +846,14 @@ public class XOAI {
 
                     int imported = indexer.index();
                     if (imported > 0) {
-                        cleanCache(itemCacheService, cacheService);
+                        if (line.hasOption('c')) {
+                            cleanCache(itemCacheService, cacheService);
+                        } else {
+                            cleanCache(itemCacheService, cacheService, indexer.indexedIdentifiers);
+                        }
+                    }
+                    if (configurationService.getBooleanProperty("oai.cache.precompute", false)) {
+                        precomputeCache(applicationContext, cacheService);
                     }
                 } else if (COMMAND_CLEAN_CACHE.equals(command)) {
                     cleanCache(itemCacheService, cacheService);
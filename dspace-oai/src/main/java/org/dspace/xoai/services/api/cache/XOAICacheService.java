@@ -9,6 +9,7 @@ package org.dspace.xoai.services.api.cache;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collection;
 
 import com.lyncode.xoai.dataprovider.xml.oaipmh.OAIPMH;
 
@@ -24,5 +25,14 @@ public interface XOAICacheService {
 
     void delete(String requestID);
 
+    /**
+     * Delete the cached responses which may have changed with the given items, that is all of them but the records
+     * of the other items.
+     *
+     * @param identifiers the OAI identifiers of the changed items
+     * @throws IOException if the cache cannot be read
+     */
+    void deleteByIdentifiers(Collection<String> identifiers) throws IOException;
+
     void deleteAll() throws IOException;
 }
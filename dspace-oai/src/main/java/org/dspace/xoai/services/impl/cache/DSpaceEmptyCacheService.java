@@ -9,6 +9,7 @@ package org.dspace.xoai.services.impl.cache;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collection;
 
 import com.lyncode.xoai.dataprovider.xml.oaipmh.OAIPMH;
 import org.dspace.xoai.services.api.cache.XOAICacheService;
@@ -39,6 +40,11 @@ public class DSpaceEmptyCacheService implements XOAICacheService {
 
     }
 
+    @Override
+    public void deleteByIdentifiers(Collection<String> identifiers) {
+
+    }
+
     @Override
     public void deleteAll() {
 
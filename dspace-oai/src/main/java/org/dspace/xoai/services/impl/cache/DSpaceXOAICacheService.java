@@ -12,39 +12,95 @@ import static org.apache.commons.io.FileUtils.deleteDirectory;
 import static org.apache.commons.io.IOUtils.copy;
 import static org.apache.commons.io.IOUtils.write;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.xml.stream.XMLStreamException;
 
 import com.lyncode.xoai.dataprovider.core.XOAIManager;
 import com.lyncode.xoai.dataprovider.exceptions.WritingXmlException;
 import com.lyncode.xoai.dataprovider.xml.XmlOutputContext;
 import com.lyncode.xoai.dataprovider.xml.oaipmh.OAIPMH;
-import com.lyncode.xoai.util.Base64Utils;
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.dspace.xoai.services.api.cache.XOAICacheService;
 import org.dspace.xoai.services.api.config.ConfigurationService;
 import org.dspace.xoai.util.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
-
+/**
+ * Cache of the OAI-PMH responses on disk.
+ *
+ * The responses are stored in files named after the SHA-256 hash of their request, in two levels of directories
+ * named after the first characters of the hash, so that no directory holds too many files. The first line of a file
+ * holds the verb of the request and the identifiers of the items in the response, so that the records of unchanged
+ * items can be kept by {@link #deleteByIdentifiers(Collection)}.
+ *
+ * The cache is bounded by {@code oai.cache.max-size} (in megabytes) and {@code oai.cache.max-entries}, the least
+ * recently used responses being deleted first, and the responses older than {@code oai.cache.ttl} (in seconds) are
+ * not used.
+ *
+ * The command line deletes responses in another process than the web application: it then touches a marker file in
+ * the cache directory, and the other processes reload their index of the cache when they see it changed.
+ */
 public class DSpaceXOAICacheService implements XOAICacheService {
+    private static final Logger log = LogManager.getLogger(DSpaceXOAICacheService.class);
+
     private static final String REQUEST_DIR = File.separator + "requests";
-    private static String baseDir;
+    private static final Pattern VERB = Pattern.compile("verb=\"([A-Za-z]+)\"");
+    private static final Pattern IDENTIFIER =
+        Pattern.compile("<header(?:\\s[^>]*)?>\\s*<identifier>([^<]+)</identifier>");
+    private static final String GET_RECORD = "GetRecord";
+    private static final String MODIFIED_MARKER = ".modified";
+
     private static String staticHead;
 
     @Autowired
     ConfigurationService configurationService;
 
+    private String baseDir;
+
+    /**
+     * The size of the cached responses, by hash of their request, least recently used first.
+     * Loaded from the cache directory when first needed.
+     */
+    private LinkedHashMap<String, Long> entries;
+    private long totalSize;
+    /**
+     * Last modification of the marker file when the entries were loaded.
+     */
+    private long entriesModified;
+
     private String getBaseDir() {
         if (baseDir == null) {
-            String dir = configurationService.getProperty("oai.cache.dir") + REQUEST_DIR;
-            baseDir = dir;
+            baseDir = configurationService.getProperty("oai.cache.dir") + REQUEST_DIR;
         }
         return baseDir;
     }
@@ -69,14 +125,30 @@ public class DSpaceXOAICacheService implements XOAICacheService {
         this.manager = manager;
     }
 
-    private File getCacheFile(String id) {
-        File dir = new File(getBaseDir());
-        if (!dir.exists()) {
-            dir.mkdirs();
+    private File getCacheFile(String hash) {
+        return new File(getBaseDir() + File.separator + hash.substring(0, 2) + File.separator + hash.substring(2, 4)
+                            + File.separator + hash);
+    }
+
+    private static String hash(String requestID) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(requestID.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
+    }
+
+    private long getMaxSize() {
+        return NumberUtils.toLong(configurationService.getProperty("oai.cache.max-size"), 1024) * 1024 * 1024;
+    }
 
-        String name = File.separator + Base64Utils.encode(id);
-        return new File(getBaseDir() + name);
+    private long getMaxEntries() {
+        return NumberUtils.toLong(configurationService.getProperty("oai.cache.max-entries"), 100000);
+    }
+
+    private long getTimeToLive() {
+        return NumberUtils.toLong(configurationService.getProperty("oai.cache.ttl"), 0) * 1000;
     }
 
     @Override
@@ -86,15 +158,35 @@ public class DSpaceXOAICacheService implements XOAICacheService {
 
     @Override
     public boolean hasCache(String requestID) {
-        return this.getCacheFile(requestID).exists();
+        String hash = hash(requestID);
+        File file = this.getCacheFile(hash);
+        long ttl = getTimeToLive();
+        if (file.exists() && (ttl <= 0 || System.currentTimeMillis() - file.lastModified() < ttl)) {
+            synchronized (this) {
+                // mark the response as the most recently used one, it may have been stored by another process
+                Long previous = getEntries().put(hash, file.length());
+                totalSize += file.length() - (previous != null ? previous : 0);
+            }
+            return true;
+        }
+        if (file.exists()) {
+            log.debug("Expired OAI response {}", requestID);
+        }
+        remove(hash);
+        return false;
     }
 
     @Override
     public void handle(String requestID, OutputStream out) throws IOException {
-        InputStream in = new FileInputStream(this.getCacheFile(requestID));
-        write(getStaticHead(manager, new Date()), out);
-        copy(in, out);
-        in.close();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(getCacheFile(hash(requestID)).toPath()))) {
+            // skip the line describing the response
+            int c;
+            while ((c = in.read()) != -1 && c != '\n') {
+                continue;
+            }
+            write(getStaticHead(manager, new Date()), out);
+            copy(in, out);
+        }
     }
 
     @Override
@@ -115,7 +207,23 @@ public class DSpaceXOAICacheService implements XOAICacheService {
                 xoaiResponse = xoaiResponse.substring(pos + (end.length()));
             }
 
-            FileUtils.write(this.getCacheFile(requestID), xoaiResponse);
+            String hash = hash(requestID);
+            File file = getCacheFile(hash);
+            Files.createDirectories(file.getParentFile().toPath());
+            // write a temporary file first, so that a response is never read while it is written
+            Path tmp = Files.createTempFile(file.getParentFile().toPath(), hash, ".tmp");
+            try {
+                Files.write(tmp, (describe(xoaiResponse) + "\n" + xoaiResponse).getBytes(StandardCharsets.UTF_8));
+                Files.move(tmp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+
+            synchronized (this) {
+                Long previous = getEntries().put(hash, file.length());
+                totalSize += file.length() - (previous != null ? previous : 0);
+                evict();
+            }
         } catch (XMLStreamException e) {
             throw new IOException(e);
         } catch (WritingXmlException e) {
@@ -123,14 +231,156 @@ public class DSpaceXOAICacheService implements XOAICacheService {
         }
     }
 
+    /**
+     * @return the first line of the cache file of the response: its verb followed by the identifiers of its items
+     */
+    private String describe(String xoaiResponse) {
+        StringBuilder description = new StringBuilder();
+        Matcher verb = VERB.matcher(xoaiResponse);
+        description.append(verb.find() ? verb.group(1) : "");
+        Matcher identifier = IDENTIFIER.matcher(xoaiResponse);
+        while (identifier.find()) {
+            description.append(' ').append(identifier.group(1).trim());
+        }
+        return description.toString();
+    }
+
+    /**
+     * Delete the least recently used responses until the cache is within its bounds.
+     */
+    private void evict() {
+        long maxSize = getMaxSize();
+        long maxEntries = getMaxEntries();
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && (totalSize > maxSize || entries.size() > maxEntries)) {
+            Map.Entry<String, Long> entry = iterator.next();
+            getCacheFile(entry.getKey()).delete();
+            totalSize -= entry.getValue();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * @return the cached responses, read from the cache directory the first time and whenever another process
+     *         deleted some of them
+     */
+    private Map<String, Long> getEntries() {
+        long modified = getModifiedMarker().lastModified();
+        if (entries == null || modified != entriesModified) {
+            entriesModified = modified;
+            deleteFlatFiles();
+            entries = new LinkedHashMap<>(16, 0.75f, true);
+            totalSize = 0;
+            for (File file : listCacheFiles().stream()
+                                             .sorted(Comparator.comparingLong(File::lastModified))
+                                             .collect(Collectors.toList())) {
+                entries.put(file.getName(), file.length());
+                totalSize += file.length();
+            }
+            evict();
+        }
+        return entries;
+    }
+
+    private File getModifiedMarker() {
+        return new File(getBaseDir(), MODIFIED_MARKER);
+    }
+
+    /**
+     * Touch the marker file, so that the other processes reload their index of the cache.
+     */
+    private synchronized void markModified() throws IOException {
+        File marker = getModifiedMarker();
+        Files.createDirectories(marker.getParentFile().toPath());
+        if (!marker.createNewFile()) {
+            marker.setLastModified(System.currentTimeMillis());
+        }
+        if (entries != null) {
+            // this process is up to date
+            entriesModified = marker.lastModified();
+        }
+    }
+
+    /**
+     * Delete the responses cached by the previous versions, in files stored directly in the cache directory.
+     */
+    private void deleteFlatFiles() {
+        File[] files = new File(getBaseDir()).listFiles(file -> file.isFile()
+                                                                && !MODIFIED_MARKER.equals(file.getName()));
+        if (files != null && files.length > 0) {
+            for (File file : files) {
+                file.delete();
+            }
+            log.info("Deleted {} OAI responses cached by a previous version", files.length);
+        }
+    }
+
+    private List<File> listCacheFiles() {
+        Path dir = new File(getBaseDir()).toPath();
+        if (!Files.isDirectory(dir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> paths = Files.walk(dir, 3)) {
+            return paths.filter(path -> dir.relativize(path).getNameCount() == 3 && Files.isRegularFile(path))
+                        .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                        .map(Path::toFile)
+                        .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("Unable to list the cached OAI responses", e);
+            return new ArrayList<>();
+        }
+    }
+
+    private synchronized void remove(String hash) {
+        if (entries != null) {
+            Long size = entries.remove(hash);
+            if (size != null) {
+                totalSize -= size;
+            }
+        }
+        getCacheFile(hash).delete();
+    }
+
     @Override
     public void delete(String requestID) {
-        this.getCacheFile(requestID).delete();
+        remove(hash(requestID));
+    }
+
+    @Override
+    public void deleteByIdentifiers(Collection<String> identifiers) throws IOException {
+        Set<String> changed = new HashSet<>(identifiers);
+        int deleted = 0;
+        for (File file : listCacheFiles()) {
+            String description;
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                description = StringUtils.defaultString(reader.readLine());
+            } catch (IOException e) {
+                // deleted meanwhile
+                continue;
+            }
+            String[] tokens = StringUtils.split(description, ' ');
+            // only the records of the unchanged items are kept, the other responses may change with any item
+            boolean stale = tokens.length < 2 || !GET_RECORD.equals(tokens[0]);
+            for (int i = 1; i < tokens.length && !stale; i++) {
+                stale = changed.contains(tokens[i]);
+            }
+            if (stale) {
+                remove(file.getName());
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            markModified();
+        }
+        log.info("Deleted {} cached OAI responses for {} changed items", deleted, changed.size());
     }
 
     @Override
-    public void deleteAll() throws IOException {
+    public synchronized void deleteAll() throws IOException {
         deleteDirectory(new File(getBaseDir()));
+        entries = null;
+        totalSize = 0;
+        markModified();
     }
 
 }
@@ -18,8 +18,35 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 public class DSpaceContextService implements ContextService {
     private static final String OAI_CONTEXT = "OAI_CONTEXT";
 
+    /**
+     * Context bound to the current thread outside of a web request, e.g. when the command line precomputes the
+     * cache. Its owner opens and closes it, see {@link #bind(Context)}.
+     */
+    private static final ThreadLocal<Context> boundContext = new ThreadLocal<>();
+
+    /**
+     * Use the given context for the OAI requests handled by the current thread until {@link #unbind()} is called.
+     * The caller remains responsible for closing the context.
+     *
+     * @param context the context to use outside of a web request
+     */
+    public static void bind(Context context) {
+        boundContext.set(context);
+    }
+
+    /**
+     * Stop using the context bound to the current thread by {@link #bind(Context)}.
+     */
+    public static void unbind() {
+        boundContext.remove();
+    }
+
     @Override
     public Context getContext() throws ContextServiceException {
+        Context context = boundContext.get();
+        if (context != null) {
+            return context;
+        }
         HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
             .getRequest();
         Object value = request.getAttribute(OAI_CONTEXT);
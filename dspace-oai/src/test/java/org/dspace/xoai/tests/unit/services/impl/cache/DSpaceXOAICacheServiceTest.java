@@ -0,0 +1,192 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.services.impl.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.lyncode.xoai.dataprovider.core.XOAIManager;
+import com.lyncode.xoai.dataprovider.xml.XmlOutputContext;
+import com.lyncode.xoai.dataprovider.xml.oaipmh.OAIPMH;
+import org.dspace.xoai.services.api.config.ConfigurationService;
+import org.dspace.xoai.services.impl.cache.DSpaceXOAICacheService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class DSpaceXOAICacheServiceTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ConfigurationService configurationService = mock(ConfigurationService.class);
+    private DSpaceXOAICacheService cacheService;
+
+    @Before
+    public void setUp() {
+        when(configurationService.getProperty("oai.cache.dir")).thenReturn(folder.getRoot().getAbsolutePath());
+        cacheService = newCacheService();
+    }
+
+    private DSpaceXOAICacheService newCacheService() {
+        DSpaceXOAICacheService service = new DSpaceXOAICacheService(mock(XOAIManager.class));
+        ReflectionTestUtils.setField(service, "configurationService", configurationService);
+        return service;
+    }
+
+    @Test
+    public void storesResponsesInShardedDirectories() throws Exception {
+        cacheService.store("request", response("GetRecord", "oai:test:1"));
+
+        String hash = sha256("request");
+        File file = new File(folder.getRoot(), "requests/" + hash.substring(0, 2) + "/" + hash.substring(2, 4)
+            + "/" + hash);
+        assertTrue(file.isFile());
+        assertTrue(cacheService.hasCache("request"));
+        assertFalse(cacheService.hasCache("other request"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cacheService.handle("request", out);
+        String handled = out.toString(StandardCharsets.UTF_8);
+        assertThat(handled, containsString("<responseDate>"));
+        assertThat(handled, containsString("<identifier>oai:test:1</identifier>"));
+        assertThat(handled, endsWith("</OAI-PMH>"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedResponses() throws Exception {
+        when(configurationService.getProperty("oai.cache.max-entries")).thenReturn("2");
+
+        cacheService.store("first", response("GetRecord", "oai:test:1"));
+        cacheService.store("second", response("GetRecord", "oai:test:2"));
+        // the first response becomes the most recently used one
+        assertTrue(cacheService.hasCache("first"));
+        cacheService.store("third", response("GetRecord", "oai:test:3"));
+
+        assertTrue(cacheService.hasCache("first"));
+        assertFalse(cacheService.hasCache("second"));
+        assertTrue(cacheService.hasCache("third"));
+    }
+
+    @Test
+    public void deleteByIdentifiersKeepsTheRecordsOfUnchangedItems() throws Exception {
+        cacheService.store("record 1", response("GetRecord", "oai:test:1"));
+        cacheService.store("record 2", response("GetRecord", "oai:test:2"));
+        cacheService.store("list", response("ListRecords", "oai:test:1"));
+        cacheService.store("empty list", response("ListRecords"));
+
+        cacheService.deleteByIdentifiers(Collections.singletonList("oai:test:2"));
+
+        assertTrue(cacheService.hasCache("record 1"));
+        assertFalse(cacheService.hasCache("record 2"));
+        // the lists may change with any item
+        assertFalse(cacheService.hasCache("list"));
+        assertFalse(cacheService.hasCache("empty list"));
+    }
+
+    @Test
+    public void reloadsTheIndexWhenAnotherProcessDeletesResponses() throws Exception {
+        when(configurationService.getProperty("oai.cache.max-entries")).thenReturn("2");
+        cacheService.store("record 1", response("GetRecord", "oai:test:1"));
+        cacheService.store("record 2", response("GetRecord", "oai:test:2"));
+
+        // the command line deletes the first record in its own process
+        newCacheService().deleteByIdentifiers(Arrays.asList("oai:test:1"));
+
+        // the deleted record no longer counts, so that the second one is not evicted
+        cacheService.store("record 3", response("GetRecord", "oai:test:3"));
+        assertFalse(cacheService.hasCache("record 1"));
+        assertTrue(cacheService.hasCache("record 2"));
+        assertTrue(cacheService.hasCache("record 3"));
+    }
+
+    @Test
+    public void reloadsTheIndexWhenAnotherProcessDeletesAllResponses() throws Exception {
+        when(configurationService.getProperty("oai.cache.max-entries")).thenReturn("2");
+        cacheService.store("record 1", response("GetRecord", "oai:test:1"));
+        cacheService.store("record 2", response("GetRecord", "oai:test:2"));
+
+        newCacheService().deleteAll();
+
+        cacheService.store("record 3", response("GetRecord", "oai:test:3"));
+        cacheService.store("record 4", response("GetRecord", "oai:test:4"));
+        assertFalse(cacheService.hasCache("record 1"));
+        assertFalse(cacheService.hasCache("record 2"));
+        assertTrue(cacheService.hasCache("record 3"));
+        assertTrue(cacheService.hasCache("record 4"));
+    }
+
+    @Test
+    public void deletesTheFlatFilesOfPreviousVersions() throws Exception {
+        File requests = folder.newFolder("requests");
+        File flat = new File(requests, "dmVyYj1JZGVudGlmeQ==");
+        Files.write(flat.toPath(), "<Identify/>".getBytes(StandardCharsets.UTF_8));
+
+        cacheService.store("request", response("GetRecord", "oai:test:1"));
+
+        assertFalse(flat.exists());
+        assertTrue(cacheService.hasCache("request"));
+        assertEquals(0, requests.listFiles(File::isFile).length);
+    }
+
+    /**
+     * @return a response to the given verb, listing the items with the given identifiers
+     */
+    private OAIPMH response(String verb, String... identifiers) throws Exception {
+        OAIPMH response = mock(OAIPMH.class);
+        doAnswer(invocation -> {
+            XmlOutputContext context = invocation.getArgument(0);
+            XMLStreamWriter writer = context.getWriter();
+            writer.writeStartElement("OAI-PMH");
+            writer.writeStartElement("responseDate");
+            writer.writeCharacters("2026-10-18T00:00:00Z");
+            writer.writeEndElement();
+            writer.writeStartElement("request");
+            writer.writeAttribute("verb", verb);
+            writer.writeEndElement();
+            writer.writeStartElement(verb);
+            for (String identifier : identifiers) {
+                writer.writeStartElement("record");
+                writer.writeStartElement("header");
+                writer.writeStartElement("identifier");
+                writer.writeCharacters(identifier);
+                writer.writeEndElement();
+                writer.writeEndElement();
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+            writer.writeEndElement();
+            return null;
+        }).when(response).write(any(XmlOutputContext.class));
+        return response;
+    }
+
+    private static String sha256(String value) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        return String.format("%064x", new BigInteger(1, digest));
+    }
+}
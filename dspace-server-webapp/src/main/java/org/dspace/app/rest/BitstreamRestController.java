@@ -12,6 +12,7 @@ import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFI
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +29,7 @@ import org.dspace.app.rest.model.BitstreamRest;
 import org.dspace.app.rest.model.hateoas.BitstreamResource;
 import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.app.rest.utils.HttpHeadersInitializer;
+import org.dspace.app.rest.utils.SendfileTransfer;
 import org.dspace.app.rest.utils.Utils;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
@@ -137,6 +139,13 @@ public class BitstreamRestController {
             Boolean citationEnabledForBitstream = citationDocumentService.isCitationEnabledForBitstream(bit, context);
             context.turnOffAuthorisationSystem();
 
+            // the files of a local asset store can be sent by the container without going through the JVM
+            Path localPath = null;
+            if (!citationEnabledForBitstream && SendfileTransfer.isSupported(request)
+                && configurationService.getBooleanProperty("rest.bitstream.sendfile.enabled", true)) {
+                localPath = bitstreamService.getLocalPath(context, bit);
+            }
+
             HttpHeadersInitializer httpHeadersInitializer = new HttpHeadersInitializer()
                 .withBufferSize(BUFFER_SIZE)
                 .withFileName(name)
@@ -176,6 +185,14 @@ public class BitstreamRestController {
                     return ResponseEntity.ok().headers(httpHeaders).build();
                 }
 
+                if (localPath != null) {
+                    ResponseEntity<Void> sendfileResponse = SendfileTransfer.send(request, httpHeaders, localPath,
+                                                                                  filesize);
+                    if (sendfileResponse != null) {
+                        return sendfileResponse;
+                    }
+                }
+
                 return ResponseEntity.ok().headers(httpHeaders).body(bitstreamResource);
             }
 
@@ -53,6 +53,7 @@ import org.dspace.app.rest.model.hateoas.HALResource;
 import org.dspace.app.rest.model.patch.Patch;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.repository.LinkRestRepository;
+import org.dspace.app.rest.utils.ConditionalRequestHelper;
 import org.dspace.app.rest.utils.RestRepositoryUtils;
 import org.dspace.app.rest.utils.Utils;
 import org.dspace.authorize.AuthorizeException;
@@ -83,6 +84,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -110,6 +112,9 @@ public class RestResourceController implements InitializingBean {
     @Autowired
     RestRepositoryUtils repositoryUtils;
 
+    @Autowired
+    private ConditionalRequestHelper conditionalRequestHelper;
+
     @Autowired
     private ObjectMapper mapper;
 
@@ -150,7 +155,8 @@ public class RestResourceController implements InitializingBean {
      *
      * Please see {@link RestResourceController#findOne(String, String, String)} for findOne with string as
      * identifier
-     * and see {@link RestResourceController#findOne(String, String, UUID)} for uuid as identifier
+     * and see {@link RestResourceController#findOne(String, String, UUID, ServletWebRequest)} for uuid as
+     * identifier
      *
      * @param apiCategory category from request
      * @param model model from request
@@ -181,7 +187,8 @@ public class RestResourceController implements InitializingBean {
      *
      * Please see {@link RestResourceController#findOne(String, String, Integer)} for findOne with number as
      * identifier
-     * and see {@link RestResourceController#findOne(String, String, UUID)} for uuid as identifier
+     * and see {@link RestResourceController#findOne(String, String, UUID, ServletWebRequest)} for uuid as
+     * identifier
      *
      * @param apiCategory category from request
      * @param model model from request
@@ -199,6 +206,9 @@ public class RestResourceController implements InitializingBean {
      *
      * Note that the regular expression in the request mapping accept a UUID as identifier;
      *
+     * The conditional requests of resources which didn't change are answered with 304 Not Modified, without
+     * rendering the resource, see {@link ConditionalRequestHelper}.
+     *
      * Please see {@link RestResourceController#findOne(String, String, Integer)} for findOne with number as
      * identifier
      * and see {@link RestResourceController#findOne(String, String, String)} for string as identifier
@@ -206,11 +216,19 @@ public class RestResourceController implements InitializingBean {
      * @param apiCategory category from request
      * @param model model from request
      * @param uuid Identifier from request
-     * @return single DSpaceResource
+     * @param webRequest current request
+     * @return single DSpaceResource, or null if the response was already completed
      */
     @RequestMapping(method = RequestMethod.GET, value = REGEX_REQUESTMAPPING_IDENTIFIER_AS_UUID)
     public HALResource<RestAddressableModel> findOne(@PathVariable String apiCategory, @PathVariable String model,
-                                                        @PathVariable UUID uuid) {
+                                                        @PathVariable UUID uuid, ServletWebRequest webRequest) {
+        try {
+            if (conditionalRequestHelper.handleConditionalGet(apiCategory, model, uuid, webRequest)) {
+                return null;
+            }
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
         return findOneInternal(apiCategory, model, uuid);
     }
 
@@ -13,7 +13,11 @@ import java.util.Arrays;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.app.rest.DiscoverableEndpointsService;
+import org.dspace.app.rest.health.AuthorizationCacheHealthIndicator;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
+import org.dspace.app.rest.health.IndexQueueHealthIndicator;
+import org.dspace.app.rest.health.LiveImportCacheHealthIndicator;
+import org.dspace.app.rest.health.SolrStatisticsQueueHealthIndicator;
 import org.dspace.authority.AuthoritySolrServiceImpl;
 import org.dspace.discovery.SolrSearchCore;
 import org.dspace.statistics.SolrStatisticsCore;
@@ -88,6 +92,34 @@ public class ActuatorConfiguration {
         return new GeoIpHealthIndicator();
     }
 
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("solrStatisticsQueue")
+    @ConditionalOnProperty("solr-statistics.async.enabled")
+    public SolrStatisticsQueueHealthIndicator solrStatisticsQueueHealthIndicator() {
+        return new SolrStatisticsQueueHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("discoveryIndexQueue")
+    @ConditionalOnProperty("discovery.consumer.queue")
+    public IndexQueueHealthIndicator indexQueueHealthIndicator() {
+        return new IndexQueueHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("authorizationCache")
+    @ConditionalOnProperty("authorization.cache.enabled")
+    public AuthorizationCacheHealthIndicator authorizationCacheHealthIndicator() {
+        return new AuthorizationCacheHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("liveImportCache")
+    @ConditionalOnProperty(value = "live-import.cache.enabled", matchIfMissing = true)
+    public LiveImportCacheHealthIndicator liveImportCacheHealthIndicator() {
+        return new LiveImportCacheHealthIndicator();
+    }
+
     public String getActuatorBasePath() {
         return actuatorBasePath;
     }
@@ -0,0 +1,54 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.discovery;
+
+import java.sql.SQLException;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the changes waiting in the discovery index queue, see {@link IndexQueueService}. Only one DSpace
+ * instance sharing the database should run it.
+ */
+@Component
+@ConditionalOnProperty("discovery.index-queue.poller.enabled")
+public class IndexQueuePoller {
+    private static final Logger log = LoggerFactory.getLogger(IndexQueuePoller.class);
+
+    @Autowired
+    private IndexQueueService indexQueueService;
+
+    @Scheduled(fixedDelayString = "${discovery.index-queue.poller.delay:1000}")
+    public void processQueue() {
+        Context context = new Context();
+        try {
+            context.turnOffAuthorisationSystem();
+            int processed;
+            while ((processed = indexQueueService.process(context)) > 0) {
+                log.debug("index queue poller applied {} changes", processed);
+            }
+            context.restoreAuthSystemState();
+            context.complete();
+        } catch (SQLException e) {
+            log.error("Error processing the discovery index queue", e);
+        } finally {
+            context.abort();
+        }
+    }
+
+    public void setIndexQueueService(IndexQueueService indexQueueService) {
+        this.indexQueueService = indexQueueService;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.filter;
+
+import static org.dspace.app.rest.utils.ConditionalRequestHelper.CACHED_OBJECT_ATTRIBUTE;
+import static org.dspace.app.rest.utils.ConditionalRequestHelper.CACHED_VARIANT_ATTRIBUTE;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.dspace.app.util.CachedResponse;
+import org.dspace.app.util.service.ResponseCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * This filter stores the serialized responses about single items sent to the anonymous users in the
+ * {@link ResponseCacheService}, when the {@link org.dspace.app.rest.utils.ConditionalRequestHelper} marked them as
+ * cacheable. Only the GET requests of single items are buffered, and only when the cache is enabled.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern ITEM_PATH = Pattern.compile(".*/api/core/items/[0-9a-fA-F-]{36}/?");
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !responseCacheService.isEnabled()
+            || !ITEM_PATH.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            Object uuid = request.getAttribute(CACHED_OBJECT_ATTRIBUTE);
+            Object variant = request.getAttribute(CACHED_VARIANT_ATTRIBUTE);
+            if (uuid instanceof UUID && variant instanceof String
+                && wrapper.getStatus() == HttpServletResponse.SC_OK) {
+                responseCacheService.put((UUID) uuid, (String) variant,
+                                         new CachedResponse(wrapper.getContentType(),
+                                                            wrapper.getContentAsByteArray()));
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
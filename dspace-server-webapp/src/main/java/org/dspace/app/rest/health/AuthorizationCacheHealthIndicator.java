@@ -0,0 +1,42 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import com.google.common.cache.CacheStats;
+import org.dspace.authorize.service.AuthorizationCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the usage of the
+ * authorization decision cache: its size, and its hit, miss and eviction
+ * counts since startup.
+ *
+ */
+public class AuthorizationCacheHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private AuthorizationCacheService authorizationCacheService;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+
+        CacheStats stats = authorizationCacheService.getStats();
+
+        builder.up()
+               .withDetail("size", authorizationCacheService.size())
+               .withDetail("hitRate", stats.hitRate())
+               .withDetail("hits", stats.hitCount())
+               .withDetail("misses", stats.missCount())
+               .withDetail("evictions", stats.evictionCount());
+
+    }
+
+}
@@ -0,0 +1,60 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.dspace.app.rest.configuration.ActuatorConfiguration.UP_WITH_ISSUES_STATUS;
+
+import java.util.Date;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the state of the
+ * discovery index queue: the number of queued changes, the age in seconds of
+ * the oldest one and the number of changes which failed too many times. The
+ * status is UP_WITH_ISSUES if some changes failed, or if the oldest change is
+ * older than discovery.index-queue.max-lag seconds.
+ *
+ */
+public class IndexQueueHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private IndexQueueService indexQueueService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+
+        try (Context context = new Context(Context.Mode.READ_ONLY)) {
+            long pending = indexQueueService.countPending(context);
+            long failed = indexQueueService.countFailed(context);
+            Date oldest = indexQueueService.findOldestDateQueued(context);
+            long lag = oldest != null ? (System.currentTimeMillis() - oldest.getTime()) / 1000 : 0;
+
+            if (failed > 0 || lag > configurationService.getLongProperty("discovery.index-queue.max-lag", 300)) {
+                builder.status(UP_WITH_ISSUES_STATUS);
+            } else {
+                builder.up();
+            }
+
+            builder.withDetail("pending", pending)
+                   .withDetail("lagSeconds", lag)
+                   .withDetail("failed", failed);
+        }
+
+    }
+
+}
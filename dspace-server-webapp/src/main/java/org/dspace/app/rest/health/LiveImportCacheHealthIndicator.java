@@ -0,0 +1,42 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import com.google.common.cache.CacheStats;
+import org.dspace.importer.external.liveimportclient.service.LiveImportClientImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the usage of the
+ * cache of the responses of the live import providers: its size, and its hit,
+ * miss and eviction counts since startup.
+ *
+ */
+public class LiveImportCacheHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private LiveImportClientImpl liveImportClient;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+
+        CacheStats stats = liveImportClient.getCacheStats();
+
+        builder.up()
+               .withDetail("size", liveImportClient.getCacheSize())
+               .withDetail("hitRate", stats.hitRate())
+               .withDetail("hits", stats.hitCount())
+               .withDetail("misses", stats.missCount())
+               .withDetail("evictions", stats.evictionCount());
+
+    }
+
+}
@@ -0,0 +1,49 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.dspace.app.rest.configuration.ActuatorConfiguration.UP_WITH_ISSUES_STATUS;
+
+import org.dspace.statistics.SolrStatisticsAsyncWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the state of the
+ * asynchronous usage statistics queue: the number of queued, written, dropped
+ * and failed usage events. The status is UP_WITH_ISSUES if some events were
+ * lost.
+ *
+ */
+public class SolrStatisticsQueueHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private SolrStatisticsAsyncWriter solrStatisticsAsyncWriter;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+
+        long dropped = solrStatisticsAsyncWriter.getDroppedCount();
+        long failed = solrStatisticsAsyncWriter.getFailedCount();
+
+        if (dropped > 0 || failed > 0) {
+            builder.status(UP_WITH_ISSUES_STATUS);
+        } else {
+            builder.up();
+        }
+
+        builder.withDetail("queueDepth", solrStatisticsAsyncWriter.getQueueDepth())
+               .withDetail("written", solrStatisticsAsyncWriter.getWrittenCount())
+               .withDetail("dropped", dropped)
+               .withDetail("failed", failed);
+
+    }
+
+}
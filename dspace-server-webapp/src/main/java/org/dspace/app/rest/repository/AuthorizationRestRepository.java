@@ -15,8 +15,9 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -32,6 +33,7 @@ import org.dspace.app.rest.model.AuthorizationRest;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.eperson.EPerson;
@@ -175,13 +177,39 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
         return converter.toRestPage(authorizations, pageable, utils.obtainProjection());
     }
 
+    /**
+     * It returns the list of matching available authorizations granted to the specified eperson or to the anonymous
+     * user on a list of objects, identified either by their type and uuids or by their uris. The policies of the
+     * objects and the groups of the user are loaded once for the whole list, so that all the pairs of objects and
+     * features are evaluated with a few queries.
+     *
+     * @param uuidList
+     *            the uuids of the objects of the given type
+     * @param type
+     *            the type of the objects identified by uuid, as category.model
+     * @param uriList
+     *            the uris of the objects, of any type
+     * @param epersonUuid
+     *            the eperson uuid to use in the authorization evaluation
+     * @param featureNames
+     *            the features to evaluate
+     * @param pageable
+     *            the pagination options
+     * @return the list of matching authorization available for the requested user and objects
+     * @throws AuthorizeException
+     * @throws SQLException
+     */
     @PreAuthorize("#epersonUuid==null || hasPermission(#epersonUuid, 'EPERSON', 'READ')")
     @SearchRestMethod(name = "objects")
-    public Page<AuthorizationRest> findByObjects(@Parameter(value = "uuid", required = true) List<String> uuidList,
-            @Parameter(value = "type", required = true) String type,
+    public Page<AuthorizationRest> findByObjects(@Parameter(value = "uuid") List<String> uuidList,
+            @Parameter(value = "type") String type, @Parameter(value = "uri") List<String> uriList,
             @Parameter(value = "eperson") UUID epersonUuid, @Parameter(value = "feature") List<String> featureNames,
             Pageable pageable) throws AuthorizeException, SQLException {
 
+        if (CollectionUtils.isEmpty(uuidList) && CollectionUtils.isEmpty(uriList)) {
+            throw new IllegalArgumentException("The uuid or uri parameter is required");
+        }
+
         Context context = obtainContext();
 
         EPerson currUser = context.getCurrentUser();
@@ -195,7 +223,7 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
         }
 
         List<Authorization> authorizations =
-                findAuthorizationsByUUIDList(context, type, uuidList, user, featureNames);
+                findAuthorizationsByObjects(context, type, uuidList, uriList, user, featureNames);
 
         if (ObjectUtils.notEqual(currUser, user)) {
             // restore the real current user
@@ -204,33 +232,56 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
         return converter.toRestPage(authorizations, pageable, utils.obtainProjection());
     }
 
-    private List<Authorization> findAuthorizationsByUUIDList(
+    private List<Authorization> findAuthorizationsByObjects(
         Context context,
-        String type, List<String> uuidList, EPerson user,
-        List<String> featureNames) {
+        String type, List<String> uuidList, List<String> uriList, EPerson user,
+        List<String> featureNames) throws SQLException {
 
-        if (featureNames.isEmpty()) {
+        if (CollectionUtils.isEmpty(featureNames)) {
             return new ArrayList<>();
         }
 
         List<Authorization> authorizations = new ArrayList<>();
 
-        List<BaseObjectRest> objects = uuidList.stream()
-            .map(uuid -> utils.getBaseObjectRestFromTypeAndUUID(context, type, uuid))
-            .collect(Collectors.toList());
-
-        objects.forEach(object ->
-            featureNames.forEach(featureName -> {
-                try {
-                    authorizations.addAll(authorizationsForObject(context, user, featureName, object));
-                } catch (Exception ex) {
-                    log.error("An error occurred during authorizations check");
-                    throw new RuntimeException(ex);
-                }
-            }));
+        List<BaseObjectRest> objects = new ArrayList<>();
+        for (String uuid : ListUtils.emptyIfNull(uuidList)) {
+            objects.add(utils.getBaseObjectRestFromTypeAndUUID(context, type, uuid));
+        }
+        for (String uri : ListUtils.emptyIfNull(uriList)) {
+            objects.add(utils.getBaseObjectRestFromUri(context, uri));
+        }
+
+        // the policies preloaded for the objects are only kept by a read-only context
+        Context.Mode originalMode = context.getCurrentMode();
+        context.setMode(Context.Mode.READ_ONLY);
+        try {
+            authorizeService.preloadPolicies(context, getDSpaceObjects(context, objects));
+            objects.forEach(object ->
+                featureNames.forEach(featureName -> {
+                    try {
+                        authorizations.addAll(authorizationsForObject(context, user, featureName, object));
+                    } catch (Exception ex) {
+                        log.error("An error occurred during authorizations check");
+                        throw new RuntimeException(ex);
+                    }
+                }));
+        } finally {
+            context.setMode(originalMode);
+        }
         return authorizations;
     }
 
+    private List<DSpaceObject> getDSpaceObjects(Context context, List<BaseObjectRest> objects) throws SQLException {
+        List<DSpaceObject> dsos = new ArrayList<>();
+        for (BaseObjectRest object : objects) {
+            Object dso = object != null ? utils.getDSpaceAPIObjectFromRest(context, object) : null;
+            if (dso instanceof DSpaceObject) {
+                dsos.add((DSpaceObject) dso);
+            }
+        }
+        return dsos;
+    }
+
     private List<Authorization> findAuthorizationsForUri(
         Context context,
         EPerson user,
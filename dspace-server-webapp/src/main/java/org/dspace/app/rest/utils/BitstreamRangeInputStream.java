@@ -0,0 +1,82 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * This class is an {@link InputStream} that opens the bitstream content only when the first byte is read.
+ * Any {@link #skip(long)} done before that moment, as Spring does to serve the
+ * {@link org.springframework.core.io.support.ResourceRegion} of an HTTP Range request, is turned into the
+ * offset of a ranged retrieval from the asset store, so the preceding bytes are never read nor transferred.
+ */
+public class BitstreamRangeInputStream extends InputStream {
+
+    /**
+     * Opens the bitstream content starting at the given offset
+     */
+    @FunctionalInterface
+    public interface ContentOpener {
+        InputStream open(long offset) throws IOException;
+    }
+
+    private final ContentOpener opener;
+    private long offset = 0;
+    private InputStream delegate;
+    private boolean closed = false;
+
+    public BitstreamRangeInputStream(ContentOpener opener) {
+        this.opener = opener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return getDelegate().read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return getDelegate().read(b, off, len);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (delegate != null) {
+            return delegate.skip(n);
+        }
+        if (n <= 0) {
+            return 0;
+        }
+        offset += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return delegate != null ? delegate.available() : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+
+    private InputStream getDelegate() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (delegate == null) {
+            delegate = opener.open(offset);
+        }
+        return delegate;
+    }
+}
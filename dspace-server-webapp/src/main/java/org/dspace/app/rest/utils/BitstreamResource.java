@@ -89,6 +89,10 @@ public class BitstreamResource extends AbstractResource {
 
     @Override
     public InputStream getInputStream() throws IOException {
+        if (!shouldGenerateCoverPage) {
+            // the content is opened on first read, so that a range request only retrieves the requested bytes
+            return new BitstreamRangeInputStream(this::retrieve);
+        }
         try (Context context = initializeContext()) {
 
             if (skipAuthCheck) {
@@ -97,13 +101,7 @@ public class BitstreamResource extends AbstractResource {
             EPerson currentUser = ePersonService.find(context, currentUserUUID);
             context.setCurrentUser(currentUser);
             Bitstream bitstream = bitstreamService.find(context, uuid);
-            InputStream out;
-
-            if (shouldGenerateCoverPage) {
-                out = new ByteArrayInputStream(getCoverpageByteArray(context, bitstream));
-            } else {
-                out = bitstreamService.retrieve(context, bitstream);
-            }
+            InputStream out = new ByteArrayInputStream(getCoverpageByteArray(context, bitstream));
 
             this.file = null;
             return out;
@@ -112,6 +110,28 @@ public class BitstreamResource extends AbstractResource {
         }
     }
 
+    /**
+     * Retrieve the bitstream content starting at the given offset
+     *
+     * @param offset the position of the first byte to retrieve
+     * @return the stream of bits
+     */
+    private InputStream retrieve(long offset) throws IOException {
+        try (Context context = initializeContext()) {
+
+            if (skipAuthCheck) {
+                context.turnOffAuthorisationSystem();
+            }
+            Bitstream bitstream = bitstreamService.find(context, uuid);
+            if (offset > 0) {
+                return bitstreamService.retrieve(context, bitstream, offset, -1);
+            }
+            return bitstreamService.retrieve(context, bitstream);
+        } catch (SQLException | AuthorizeException e) {
+            throw new IOException(e);
+        }
+    }
+
     @Override
     public String getFilename() {
         return name;
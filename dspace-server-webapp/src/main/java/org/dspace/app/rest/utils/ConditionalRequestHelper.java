@@ -0,0 +1,150 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.dspace.app.rest.model.ItemRest;
+import org.dspace.app.util.CachedResponse;
+import org.dspace.app.util.service.ResponseCacheService;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.eperson.Group;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Answers the GET requests of single items without converting them when possible: with 304 Not Modified when the
+ * client sent the validators of the current version, or with the response cached for the anonymous users by the
+ * {@link org.dspace.app.rest.filter.ResponseCacheFilter}.
+ *
+ * The weak ETag of a response is derived from the last modification date of the item, the user and its special
+ * groups, the base URL the links of the response are built from (scheme, host, port and context path, as resolved
+ * from the X-Forwarded-* headers), the parameters of the request (projection, embeds...) and its Accept and
+ * Accept-Language headers. The ETag is also the variant of the cached anonymous responses.
+ */
+@Component
+public class ConditionalRequestHelper {
+
+    /**
+     * Request attributes asking the {@link org.dspace.app.rest.filter.ResponseCacheFilter} to cache the response,
+     * for the object and with the variant they hold
+     */
+    public static final String CACHED_OBJECT_ATTRIBUTE = ConditionalRequestHelper.class.getName() + ".object";
+    public static final String CACHED_VARIANT_ATTRIBUTE = ConditionalRequestHelper.class.getName() + ".variant";
+
+    /**
+     * Headers changing the base URL of the links, when they were not already applied to the request by the
+     * ForwardedHeaderFilter
+     */
+    private static final List<String> FORWARDED_HEADERS = List.of("Forwarded", "X-Forwarded-Host",
+        "X-Forwarded-Port", "X-Forwarded-Proto", "X-Forwarded-Ssl", "X-Forwarded-Prefix");
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private AuthorizeService authorizeService;
+
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * Complete the response to the GET request of a single resource if it doesn't need to be rendered. Otherwise
+     * the validators of the resource are set on the response, which is marked to be cached if it is anonymous.
+     *
+     * @param apiCategory the category of the resource
+     * @param model       the model of the resource
+     * @param uuid        the id of the resource
+     * @param webRequest  the current request
+     * @return true if the response is complete, false if the resource must be rendered
+     * @throws SQLException if a database error occurs
+     * @throws IOException  if the cached response can't be written
+     */
+    public boolean handleConditionalGet(String apiCategory, String model, UUID uuid, ServletWebRequest webRequest)
+        throws SQLException, IOException {
+        if (!configurationService.getBooleanProperty("rest.conditional-get.enabled", true)
+            || !ItemRest.CATEGORY.equals(apiCategory) || !ItemRest.PLURAL_NAME.equals(model)) {
+            return false;
+        }
+
+        HttpServletRequest request = webRequest.getRequest();
+        HttpServletResponse response = webRequest.getResponse();
+        Context context = ContextUtil.obtainContext(request);
+        Item item = itemService.find(context, uuid);
+        // the items which can't be read are handled as usual, with their own access checks
+        if (item == null || item.getLastModified() == null
+            || !authorizeService.authorizeActionBoolean(context, item, Constants.READ)) {
+            return false;
+        }
+
+        String etag = getETag(context, item, request);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (webRequest.checkNotModified(etag, item.getLastModified().getTime())) {
+            return true;
+        }
+
+        if (context.getCurrentUser() == null && responseCacheService.isEnabled()) {
+            CachedResponse cached = responseCacheService.get(uuid, etag);
+            if (cached != null) {
+                response.setContentType(cached.getContentType());
+                response.setContentLength(cached.getBody().length);
+                response.getOutputStream().write(cached.getBody());
+                response.flushBuffer();
+                return true;
+            }
+            request.setAttribute(CACHED_OBJECT_ATTRIBUTE, uuid);
+            request.setAttribute(CACHED_VARIANT_ATTRIBUTE, etag);
+        }
+        return false;
+    }
+
+    private String getETag(Context context, Item item, HttpServletRequest request) {
+        StringBuilder variant = new StringBuilder();
+        variant.append(item.getID()).append('\n').append(item.getLastModified().getTime()).append('\n');
+        variant.append(context.getCurrentUser() != null ? context.getCurrentUser().getID() : "").append('\n');
+        TreeSet<String> specialGroups = new TreeSet<>();
+        for (Group group : context.getSpecialGroups()) {
+            specialGroups.add(group.getID().toString());
+        }
+        variant.append(specialGroups).append('\n');
+        // the links of the response are built from the request
+        variant.append(ServletUriComponentsBuilder.fromContextPath(request).toUriString()).append('\n');
+        for (String header : FORWARDED_HEADERS) {
+            variant.append(StringUtils.defaultString(request.getHeader(header))).append('\n');
+        }
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            variant.append(parameter.getKey()).append('=').append(Arrays.toString(parameter.getValue())).append('\n');
+        }
+        variant.append(StringUtils.defaultString(request.getHeader(HttpHeaders.ACCEPT))).append('\n');
+        variant.append(StringUtils.defaultString(request.getHeader(HttpHeaders.ACCEPT_LANGUAGE)));
+        return "W/\"" + DigestUtils.md5DigestAsHex(variant.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
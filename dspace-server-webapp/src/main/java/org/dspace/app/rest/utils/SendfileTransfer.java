@@ -0,0 +1,93 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import java.nio.file.Path;
+import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * This class hands the sending of a local file over to the servlet container, using the sendfile support of Tomcat:
+ * the file, or the requested range of it, is written to the socket by the operating system, without being read
+ * into the JVM heap. It is used for the bitstreams kept in the local filesystem asset store.
+ * Requests this class can't serve (other containers, multiple or unsatisfiable ranges, If-Range conditions) are
+ * left to Spring, which streams the {@link BitstreamResource}.
+ */
+public class SendfileTransfer {
+
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_FILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private SendfileTransfer() {
+    }
+
+    /**
+     * @param request the current request
+     * @return true if the container can send a file for this request
+     */
+    public static boolean isSupported(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR));
+    }
+
+    /**
+     * Ask the container to send the file, or the range of it requested by the Range header, once the response
+     * headers are written.
+     *
+     * @param request the current request
+     * @param headers the headers of a full response, as initialised by {@link HttpHeadersInitializer}
+     * @param path    the file to send
+     * @param length  the length of the file
+     * @return the response without body to return, or null if the request must be served by Spring
+     */
+    public static ResponseEntity<Void> send(HttpServletRequest request, HttpHeaders headers, Path path,
+                                            long length) {
+        if (length <= 0) {
+            return null;
+        }
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.putAll(headers);
+
+        if (StringUtils.isNotBlank(rangeHeader)) {
+            if (StringUtils.isNotBlank(request.getHeader(HttpHeaders.IF_RANGE))) {
+                return null;
+            }
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() != 1) {
+                    return null;
+                }
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                // invalid or unsatisfiable range, answered by Spring
+                return null;
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            responseHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        responseHeaders.setContentLength(end - start + 1);
+
+        request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_FILE_START_ATTR, start);
+        // the end of the sendfile range is exclusive
+        request.setAttribute(SENDFILE_FILE_END_ATTR, end + 1);
+        return ResponseEntity.status(status).headers(responseHeaders).build();
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.oai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.solr.MockSolrServer;
+import org.dspace.xoai.app.XOAI;
+import org.dspace.xoai.services.api.cache.XOAILastCompilationCacheService;
+import org.dspace.xoai.services.api.solr.SolrServerResolver;
+import org.dspace.xoai.services.impl.DSpaceCollectionsService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration tests of the import of the items into the OAI index by {@link XOAI}, with an embedded OAI core.
+ */
+public class XOAIIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private MockSolrServer oaiSolrServer;
+
+    private SolrClient solr;
+
+    private Collection collection;
+
+    @Before
+    public void setUpOaiCore() throws Exception {
+        oaiSolrServer = new MockSolrServer("oai");
+        solr = oaiSolrServer.getSolrServer();
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection").build();
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void destroyOaiCore() throws Exception {
+        configurationService.setProperty("oai.import.threads", null);
+        oaiSolrServer.reset();
+        solr.commit();
+        oaiSolrServer.destroy();
+    }
+
+    @Test
+    public void testFindVisibilityInOAIMatchesTheQueriesOfEachItem() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item visible = ItemBuilder.createItem(context, collection).withTitle("Visible").build();
+        Item hidden = ItemBuilder.createItem(context, collection).withTitle("Hidden").build();
+        Item missing = ItemBuilder.createItem(context, collection).withTitle("Missing").build();
+        context.restoreAuthSystemState();
+
+        solr.add(document(visible, true));
+        solr.add(document(hidden, false));
+        solr.commit();
+
+        List<Item> items = List.of(visible, hidden, missing);
+        Map<UUID, Boolean> visibility = ReflectionTestUtils.invokeMethod(newXOAI(context, false),
+                                                                         "findVisibilityInOAI", items);
+
+        for (Item item : items) {
+            // the previous lookup: one query for each item
+            SolrDocumentList documents = solr.query(new SolrQuery("item.id:" + item.getID())
+                                                        .addField("item.public")).getResults();
+            boolean indexed = documents.getNumFound() == 1;
+            boolean visibleInOAI = indexed && (boolean) documents.get(0).getFieldValue("item.public");
+
+            assertEquals(indexed, visibility.containsKey(item.getID()));
+            assertEquals(visibleInOAI, indexed && visibility.get(item.getID()));
+        }
+        assertEquals(Boolean.TRUE, visibility.get(visible.getID()));
+        assertEquals(Boolean.FALSE, visibility.get(hidden.getID()));
+        assertFalse(visibility.containsKey(missing.getID()));
+    }
+
+    @Test
+    public void testImportWithSeveralThreadsIndexesTheSameRecordsAsOneThread() throws Exception {
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < 6; i++) {
+            ItemBuilder.createItem(context, collection)
+                       .withTitle("Item " + i)
+                       .withAuthor("Author, " + i)
+                       .withIssueDate("2020-0" + (i + 1))
+                       .withSubject("subject " + (i % 2))
+                       .build();
+        }
+        ItemBuilder.createItem(context, collection)
+                   .withTitle("Embargoed item")
+                   .withEmbargoPeriod(Period.ofMonths(6))
+                   .build();
+        ItemBuilder.createItem(context, collection)
+                   .withTitle("Withdrawn item")
+                   .withdrawn()
+                   .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        configurationService.setProperty("oai.import.threads", 1);
+        List<Map<String, Object>> singleThread = importItems();
+        configurationService.setProperty("oai.import.threads", 3);
+        List<Map<String, Object>> severalThreads = importItems();
+
+        assertEquals(8, singleThread.size());
+        assertEquals(singleThread, severalThreads);
+    }
+
+    /**
+     * Run a full import of the items in its own thread and context, as the command line does.
+     *
+     * @return the fields of the indexed records, ordered by handle
+     */
+    private List<Map<String, Object>> importItems() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> {
+                Context importContext = new Context(Context.Mode.READ_ONLY);
+                try {
+                    newXOAI(importContext, true).index();
+                } finally {
+                    importContext.abort();
+                }
+                return null;
+            }).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Map<String, Object>> records = new ArrayList<>();
+        for (SolrDocument document : solr.query(new SolrQuery("*:*").setRows(100)
+                                                    .addSort("item.handle", SolrQuery.ORDER.asc)).getResults()) {
+            Map<String, Object> fields = new TreeMap<>();
+            for (String name : document.getFieldNames()) {
+                if (!"_version_".equals(name)) {
+                    fields.put(name, new ArrayList<>(document.getFieldValues(name)));
+                }
+            }
+            records.add(fields);
+        }
+        return records;
+    }
+
+    private XOAI newXOAI(Context context, boolean clean) {
+        XOAI xoai = new XOAI(context, clean, false);
+        ReflectionTestUtils.setField(xoai, "solrServerResolver", (SolrServerResolver) () -> solr);
+        ReflectionTestUtils.setField(xoai, "xoaiLastCompilationCacheService",
+                                     mock(XOAILastCompilationCacheService.class));
+        ReflectionTestUtils.setField(xoai, "collectionsService", new DSpaceCollectionsService());
+        return xoai;
+    }
+
+    private SolrInputDocument document(Item item, boolean isPublic) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("item.id", item.getID().toString());
+        document.addField("item.handle", item.getHandle());
+        document.addField("item.public", isPublic);
+        document.addField("item.deleted", false);
+        document.addField("item.lastmodified", new Date());
+        return document;
+    }
+}
@@ -2369,6 +2369,62 @@ public class AuthorizationRestRepositoryIT extends AbstractControllerIntegration
             .andExpect(jsonPath("$.page.totalElements", is(0)));
     }
 
+    @Test
+    /**
+     * Verify that the find by multiple objects and features accepts the uris of objects of different types and
+     * evaluates the policies inherited from their parents
+     *
+     * @throws Exception
+     */
+    public void findByMultipleObjectUrisAndFeaturesTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community com = CommunityBuilder.createCommunity(context).withName("A test community")
+                                        .withAdminGroup(eperson).build();
+        Collection col = CollectionBuilder.createCollection(context, com).withName("A test collection").build();
+        Item item = ItemBuilder.createItem(context, col).withTitle("An item").build();
+        Community otherCom = CommunityBuilder.createCommunity(context).withName("Another test community").build();
+        context.restoreAuthSystemState();
+
+        CommunityRest comRest = communityConverter.convert(com, DefaultProjection.DEFAULT);
+        ItemRest itemRest = itemConverter.convert(item, DefaultProjection.DEFAULT);
+        CommunityRest otherComRest = communityConverter.convert(otherCom, DefaultProjection.DEFAULT);
+        String comUri = utils.linkToSingleResource(comRest, "self").getHref();
+        String itemUri = utils.linkToSingleResource(itemRest, "self").getHref();
+        String otherComUri = utils.linkToSingleResource(otherComRest, "self").getHref();
+
+        String epersonToken = getAuthToken(eperson.getEmail(), password);
+
+        getClient(epersonToken).perform(get("/api/authz/authorizations/search/objects")
+            .param("uri", comUri)
+            .param("uri", itemUri)
+            .param("uri", otherComUri)
+            .param("feature", "administratorOf")
+            .param("feature", alwaysFalse.getName()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.page.totalElements", is(2)))
+            .andExpect(jsonPath("$._embedded.authorizations[*].id", containsInAnyOrder(
+                eperson.getID().toString() + "_administratorOf_" + comRest.getUniqueType() + "_" + comRest.getId(),
+                eperson.getID().toString() + "_administratorOf_" + itemRest.getUniqueType() + "_" + itemRest.getId()
+            )));
+
+        // the uris can be combined with uuids of a given type
+        getClient(epersonToken).perform(get("/api/authz/authorizations/search/objects")
+            .param("type", "core.communities")
+            .param("uuid", otherCom.getID().toString())
+            .param("uri", itemUri)
+            .param("feature", "administratorOf"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.page.totalElements", is(1)))
+            .andExpect(jsonPath("$._embedded.authorizations[0].id", is(eperson.getID().toString()
+                + "_administratorOf_" + itemRest.getUniqueType() + "_" + itemRest.getId())));
+
+        // an uri which isn't ours is a bad request
+        getClient(epersonToken).perform(get("/api/authz/authorizations/search/objects")
+            .param("uri", "http://example.com/api/core/items/" + item.getID())
+            .param("feature", "administratorOf"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     /**
      * Verify that the find by multiple objects and features
@@ -13,9 +13,11 @@ import static org.hamcrest.Matchers.is;
 import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.GroupBuilder;
 import org.dspace.builder.ItemBuilder;
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
+import org.dspace.eperson.Group;
 import org.dspace.layout.CrisLayoutBox;
 import org.dspace.layout.CrisLayoutBoxTypes;
 import org.dspace.layout.service.impl.CrisLayoutBoxServiceImpl;
@@ -79,6 +81,43 @@ public class CrisLayoutBoxServiceImplIT extends AbstractControllerIntegrationTes
         context.restoreAuthSystemState();
     }
 
+    @Test
+    public void testRelationBoxWithPrivateRelatedItemIsHiddenForAnonymous() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection people = CollectionBuilder.createCollection(context, parentCommunity)
+            .withName("People")
+            .withEntityType("Person")
+            .build();
+        Collection publications = CollectionBuilder.createCollection(context, parentCommunity)
+            .withName("Publications")
+            .withEntityType("Publication")
+            .build();
+        Group staff = GroupBuilder.createGroup(context)
+            .withName("Staff")
+            .build();
+
+        Item person = ItemBuilder.createItem(context, people)
+            .withEntityType("Person")
+            .withTitle("Smith, Donald")
+            .build();
+
+        ItemBuilder.createItem(context, publications)
+            .withTitle("Private publication")
+            .withAuthor("Smith, Donald", person.getID().toString())
+            .withReaderGroup(staff)
+            .build();
+        context.restoreAuthSystemState();
+
+        CrisLayoutBox box = crisLayoutBox("researchoutputs", CrisLayoutBoxTypes.RELATION.name());
+
+        context.setCurrentUser(null);
+        assertThat(crisLayoutBoxService.hasContent(context, box, person), is(false));
+
+        context.setCurrentUser(admin);
+        assertThat(crisLayoutBoxService.hasContent(context, box, person), is(true));
+    }
+
     private CrisLayoutBox crisLayoutVersioningBox(String shortname) {
         return crisLayoutBox(shortname, CrisLayoutBoxTypes.VERSIONING.name());
     }
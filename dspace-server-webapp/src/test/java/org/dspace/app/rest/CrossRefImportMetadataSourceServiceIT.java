@@ -9,6 +9,8 @@ package org.dspace.app.rest;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.InputStream;
@@ -135,6 +137,35 @@ public class CrossRefImportMetadataSourceServiceIT extends AbstractLiveImportInt
         }
     }
 
+    @Test
+    public void crossRefImportMetadataGetRecordByIdCachedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        CloseableHttpClient originalHttpClient = liveImportClientImpl.getHttpClient();
+        CloseableHttpClient httpClient = Mockito.mock(CloseableHttpClient.class);
+
+        try (InputStream crossRefResp = getClass().getResourceAsStream("crossRef-by-id.json")) {
+
+            String crossRefRespXmlResp = IOUtils.toString(crossRefResp, Charset.defaultCharset());
+
+            liveImportClientImpl.setHttpClient(httpClient);
+            CloseableHttpResponse response = mockResponse(crossRefRespXmlResp, 200, "OK");
+            when(httpClient.execute(ArgumentMatchers.any())).thenReturn(response);
+
+            context.restoreAuthSystemState();
+            long hits = liveImportClientImpl.getCacheStats().hitCount();
+            ImportRecord recordImported = crossRefServiceImpl.getRecord("10.26693/jmbs01.02.184");
+            ImportRecord cachedRecordImported = crossRefServiceImpl.getRecord("10.26693/jmbs01.02.184");
+            assertNotNull(recordImported);
+            assertNotNull(cachedRecordImported);
+            matchRecords(new ArrayList<ImportRecord>(Arrays.asList(cachedRecordImported)),
+                         new ArrayList<ImportRecord>(Arrays.asList(recordImported)));
+            assertEquals(hits + 1, liveImportClientImpl.getCacheStats().hitCount());
+            verify(httpClient, times(1)).execute(ArgumentMatchers.any());
+        } finally {
+            liveImportClientImpl.setHttpClient(originalHttpClient);
+        }
+    }
+
     @Test(expected = MethodNotFoundException.class)
     public void crossRefImportMetadataFindMatchingRecordsTest() throws Exception {
         context.turnOffAuthorisationSystem();
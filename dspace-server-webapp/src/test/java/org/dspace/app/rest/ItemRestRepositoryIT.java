@@ -27,12 +27,16 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -98,6 +102,7 @@ import org.dspace.orcid.OrcidHistory;
 import org.dspace.orcid.OrcidQueue;
 import org.dspace.orcid.service.OrcidHistoryService;
 import org.dspace.orcid.service.OrcidQueueService;
+import org.dspace.app.util.service.ResponseCacheService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.versioning.Version;
 import org.dspace.versioning.service.VersioningService;
@@ -132,6 +137,9 @@ public class ItemRestRepositoryIT extends AbstractControllerIntegrationTest {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ResponseCacheService responseCacheService;
+
     private Item publication1;
     private Item author1;
     private Item author2;
@@ -506,6 +514,131 @@ public class ItemRestRepositoryIT extends AbstractControllerIntegrationTest {
                 .andExpect(jsonPath("$", publicItem1Matcher));
     }
 
+    @Test
+    public void findOneConditionalGetTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+        Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                      .withTitle("Public item 1")
+                                      .withIssueDate("2017-10-17")
+                                      .build();
+        context.restoreAuthSystemState();
+
+        String etag = getClient().perform(get("/api/core/items/" + publicItem1.getID()))
+                                 .andExpect(status().isOk())
+                                 .andExpect(header().exists("ETag"))
+                                 .andReturn().getResponse().getHeader("ETag");
+
+        // an unchanged item is not sent again
+        getClient().perform(get("/api/core/items/" + publicItem1.getID())
+                   .header("If-None-Match", etag))
+                   .andExpect(status().isNotModified());
+
+        // the representation depends on the user
+        String token = getAuthToken(admin.getEmail(), password);
+        getClient(token).perform(get("/api/core/items/" + publicItem1.getID())
+                        .header("If-None-Match", etag))
+                        .andExpect(status().isOk());
+
+        // and on the item
+        context.turnOffAuthorisationSystem();
+        publicItem1 = context.reloadEntity(publicItem1);
+        itemService.addMetadata(context, publicItem1, "dc", "description", null, null, "Changed");
+        itemService.update(context, publicItem1);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        getClient().perform(get("/api/core/items/" + publicItem1.getID())
+                   .header("If-None-Match", etag))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.metadata['dc.description'][0].value", is("Changed")));
+    }
+
+    @Test
+    public void findOneCachedAnonymousResponseTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+        Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                      .withTitle("Public item 1")
+                                      .withIssueDate("2017-10-17")
+                                      .build();
+        context.restoreAuthSystemState();
+
+        configurationService.setProperty("rest.cache.anonymous.enabled", true);
+        responseCacheService.invalidateAll();
+        try {
+            String body = getClient().perform(get("/api/core/items/" + publicItem1.getID()))
+                                     .andExpect(status().isOk())
+                                     .andReturn().getResponse().getContentAsString();
+            long hits = responseCacheService.getStats().hitCount();
+
+            // the cached response is written as is, without rendering the item again
+            getClient().perform(get("/api/core/items/" + publicItem1.getID()))
+                       .andExpect(status().isOk())
+                       .andExpect(content().string(body))
+                       .andExpect(jsonPath("$.name", is("Public item 1")))
+                       .andExpect(jsonPath("$._links.self.href",
+                                           is("http://localhost/api/core/items/" + publicItem1.getID())));
+            assertEquals(hits + 1, responseCacheService.getStats().hitCount());
+        } finally {
+            configurationService.setProperty("rest.cache.anonymous.enabled", false);
+            responseCacheService.invalidateAll();
+        }
+    }
+
+    @Test
+    public void findOneCachedAnonymousResponseByHostTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+        Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                      .withTitle("Public item 1")
+                                      .withIssueDate("2017-10-17")
+                                      .build();
+        context.restoreAuthSystemState();
+
+        configurationService.setProperty("rest.cache.anonymous.enabled", true);
+        responseCacheService.invalidateAll();
+        try {
+            String internalUrl = "http://internal.example.org/api/core/items/" + publicItem1.getID();
+            String publicUrl = "https://repository.example.org/api/core/items/" + publicItem1.getID();
+            String internalETag = getClient().perform(get(internalUrl))
+                                             .andExpect(status().isOk())
+                                             .andExpect(jsonPath("$._links.self.href", is(internalUrl)))
+                                             .andReturn().getResponse().getHeader("ETag");
+            long hits = responseCacheService.getStats().hitCount();
+
+            // the response cached for the internal host is not served to the public host
+            String publicETag = getClient().perform(get(publicUrl))
+                                           .andExpect(status().isOk())
+                                           .andExpect(jsonPath("$._links.self.href", is(publicUrl)))
+                                           .andExpect(jsonPath("$._links.bundles.href", startsWith(publicUrl)))
+                                           .andReturn().getResponse().getHeader("ETag");
+            assertEquals(hits, responseCacheService.getStats().hitCount());
+            assertNotEquals(internalETag, publicETag);
+
+            // each host gets its own cached response
+            getClient().perform(get(publicUrl))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$._links.self.href", is(publicUrl)));
+            getClient().perform(get(internalUrl))
+                       .andExpect(status().isOk())
+                       .andExpect(jsonPath("$._links.self.href", is(internalUrl)));
+            assertEquals(hits + 2, responseCacheService.getStats().hitCount());
+        } finally {
+            configurationService.setProperty("rest.cache.anonymous.enabled", false);
+            responseCacheService.invalidateAll();
+        }
+    }
+
     @Test
     public void findOneFullProjectionTest() throws Exception {
         context.turnOffAuthorisationSystem();